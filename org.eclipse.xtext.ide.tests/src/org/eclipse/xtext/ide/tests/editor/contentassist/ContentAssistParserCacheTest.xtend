@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.tests.editor.contentassist
+
+import com.google.inject.AbstractModule
+import com.google.inject.Guice
+import com.google.inject.Inject
+import com.google.inject.Injector
+import com.google.inject.Module
+import com.google.inject.name.Names
+import java.util.List
+import org.antlr.runtime.ANTLRStringStream
+import org.antlr.runtime.CharStream
+import org.antlr.runtime.Token
+import org.antlr.runtime.TokenSource
+import org.eclipse.xtext.ide.LexerIdeBindings
+import org.eclipse.xtext.ide.editor.contentassist.antlr.AbstractContentAssistParser
+import org.eclipse.xtext.ide.editor.contentassist.antlr.ContentAssistParserCache
+import org.eclipse.xtext.ide.editor.contentassist.antlr.IContentAssistParser
+import org.eclipse.xtext.ide.editor.contentassist.antlr.internal.Lexer
+import org.eclipse.xtext.ide.tests.testlanguage.TestLanguageRuntimeModule
+import org.eclipse.xtext.ide.tests.testlanguage.ide.TestLanguageIdeModule
+import org.eclipse.xtext.ide.tests.testlanguage.ide.TestLanguageIdeSetup
+import org.eclipse.xtext.ide.tests.testlanguage.ide.contentassist.antlr.TestLanguageParser
+import org.eclipse.xtext.ide.tests.testlanguage.ide.contentassist.antlr.internal.InternalTestLanguageLexer
+import org.eclipse.xtext.util.Modules2
+import org.junit.Before
+import org.junit.Test
+
+import static org.junit.Assert.*
+
+/**
+ * @since 2.11
+ */
+class ContentAssistParserCacheTest {
+
+	static val INPUTS = #[
+		'type Foo { int bar }',
+		'type Foo { int bar } type Bar',
+		'type Foo { int ba',
+		'type Foo { int baz } type',
+		'type Fo { string bar }',
+		'type Foo {\n\tint bar\n}\ntype Baz {\n',
+		'type Foo {\n\tint bar\n}\ntype Baz {\n\tBaz[] ',
+		'type Foo {\n\tint bar\n}\ntype Baz {\n\tBaz[] baz\n}'
+	]
+
+	@Inject IContentAssistParser parser
+
+	@Inject ContentAssistParserCache cache
+
+	@Before def void setUp() {
+		createInjector(new AbstractModule() {
+			override protected configure() {
+				bind(ContentAssistParserCache).annotatedWith(Names.named(ContentAssistParserCache.NAMED_CACHE)).to(ContentAssistParserCache)
+			}
+		}).injectMembers(this)
+	}
+
+	@Test def void testReplayedTokens() {
+		for (input : INPUTS) {
+			assertEquals(input, tokens(new ContentAssistParserCache, input), tokens(cache, input))
+		}
+	}
+
+	@Test def void testFollowElements() {
+		val input = 'type Foo { int bar } type Bar { '
+		val expected = parser.getFollowElements(input, false)
+		assertNotNull(cache.getFollowElements(input, false))
+		assertNull(cache.getFollowElements(input, true))
+		assertEquals(expected, parser.getFollowElements(input, false))
+		(parser as AbstractContentAssistParser).cache = null
+		assertEquals(expected, parser.getFollowElements(input, false))
+	}
+
+	@Test def void testStatefulLexerIsNotCachedByDefault() {
+		val parser = createInjector(new AbstractModule() {
+			override protected configure() {
+				bind(Lexer).annotatedWith(Names.named(LexerIdeBindings.CONTENT_ASSIST)).to(BraceDepthLexer)
+			}
+		}).getInstance(TokenSourceParser)
+		assertNull(parser.cache)
+		for (input : INPUTS) {
+			assertEquals(input, tokens(parser.createLexer(new ANTLRStringStream(input))), tokens(parser.createTokenSource(input)))
+		}
+	}
+
+	def private Injector createInjector(Module module) {
+		return new TestLanguageIdeSetup() {
+			override createInjector() {
+				return Guice.createInjector(Modules2.mixin(new TestLanguageRuntimeModule, new TestLanguageIdeModule, module))
+			}
+		}.createInjectorAndDoEMFRegistration
+	}
+
+	def private List<String> tokens(ContentAssistParserCache cache, String input) {
+		return tokens(cache.createTokenSource(input, parser as AbstractContentAssistParser))
+	}
+
+	def private static List<String> tokens(TokenSource tokenSource) {
+		val result = newArrayList
+		var token = tokenSource.nextToken
+		while (token.type != Token.EOF) {
+			result += token.toString
+			token = tokenSource.nextToken
+		}
+		return result
+	}
+
+	/**
+	 * Makes the token sources accessible to the test.
+	 */
+	static class TokenSourceParser extends TestLanguageParser {
+
+		override protected TokenSource createTokenSource(String input) {
+			return super.createTokenSource(input)
+		}
+
+		override protected TokenSource createLexer(CharStream stream) {
+			return super.createLexer(stream)
+		}
+
+	}
+
+	/**
+	 * A lexer whose tokens depend on the braces it has seen before.
+	 */
+	static class BraceDepthLexer extends InternalTestLanguageLexer {
+
+		int depth
+
+		override Token nextToken() {
+			val token = super.nextToken
+			switch token.text {
+				case '{': depth++
+				case '}': depth--
+			}
+			if (token.type != Token.EOF) {
+				token.text = depth + ':' + token.text
+			}
+			return token
+		}
+
+	}
+
+}
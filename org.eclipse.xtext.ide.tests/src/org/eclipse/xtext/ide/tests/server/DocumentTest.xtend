@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.ide.tests.server
 
+import io.typefox.lsapi.Position
 import io.typefox.lsapi.PositionImpl
 import io.typefox.lsapi.RangeImpl
 import io.typefox.lsapi.TextEditImpl
@@ -107,6 +108,41 @@ class DocumentTest {
         ]
     }
     
+    @Test def void testUpdate_multipleChanges() {
+        new Document(1, "hello world\nfoo\nbar") => [
+            val result = applyChanges(#[
+                change(position(0,11), position(0,11), "\nnew"),
+                change(position(2,0), position(2,3), "baz")
+            ])
+            assertEquals("hello world\nnew\nbaz\nbar", result.contents)
+            assertEquals(2, result.version)
+            assertEquals(16, result.getOffSet(position(2,0)))
+            assertEquals(23, result.getOffSet(position(3,3)))
+            assertPosition(3, 3, result.getPosition(23))
+        ]
+    }
+    
+    @Test def void testPosition() {
+        new Document(1, "hello world\nfoo\n\nbar") => [
+            assertPosition(0, 0, getPosition(0))
+            assertPosition(0, 11, getPosition(11))
+            assertPosition(1, 0, getPosition(12))
+            assertPosition(2, 0, getPosition(16))
+            assertPosition(3, 3, getPosition(20))
+            try {
+                getPosition(21)
+                fail()
+            } catch (IndexOutOfBoundsException e) {
+                //expected
+            }
+        ]
+    }
+    
+    private def assertPosition(int line, int character, Position actual) {
+        assertEquals(line, actual.line)
+        assertEquals(character, actual.character)
+    }
+    
     private def change(PositionImpl startPos, PositionImpl endPos, String newText) {
         new TextEditImpl => [
               if (startPos !== null) {
@@ -9,14 +9,20 @@ package org.eclipse.xtext.ide.tests.server
 
 import com.google.inject.Guice
 import com.google.inject.Inject
+import io.typefox.lsapi.PositionImpl
+import io.typefox.lsapi.RangeImpl
+import io.typefox.lsapi.TextEditImpl
 import java.io.File
 import java.io.FileWriter
 import java.util.List
 import java.util.Map
 import org.eclipse.emf.common.util.URI
+import org.eclipse.xtext.EcoreUtil2
 import org.eclipse.xtext.ide.server.ServerModule
 import org.eclipse.xtext.ide.server.WorkspaceManager
+import org.eclipse.xtext.util.CancelIndicator
 import org.eclipse.xtext.util.Files
+import org.eclipse.xtext.util.internal.Stopwatches
 import org.eclipse.xtext.validation.Issue
 import org.junit.Assert
 import org.junit.Before
@@ -47,6 +53,180 @@ class WorkspaceManagerTest {
         Assert.assertEquals(inMemContents, workspaceManger.doRead(path, [$0.contents]))
     }
 
+    @Test def void testDidChangeReusesResource() {
+        val path = 'MyType1.testlang' -> '''
+            type Test {
+                string foo
+            }
+        '''
+        
+        val String original = '''
+            type Test {
+                string foo
+            }
+        '''
+        workspaceManger.doBuild(#[path], emptyList, null)
+        workspaceManger.didOpen(path, 1, original, null)
+        val resource = workspaceManger.doRead(path, [$1])
+        
+        workspaceManger.didChangeTextDocumentContent(path, 2, #[new TextEditImpl => [
+            range = new RangeImpl => [
+                start = new PositionImpl => [line = 1 character = 4]
+                end = new PositionImpl => [line = 1 character = 10]
+            ]
+            newText = 'Test'
+        ]], CancelIndicator.NullImpl)
+        
+        val String expected = '''
+            type Test {
+                Test foo
+            }
+        '''
+        // the change is applied to the resource before the next build
+        Assert.assertSame(resource, workspaceManger.doRead(path, [$1]))
+        Assert.assertEquals(expected, resource.parseResult.rootNode.text)
+        
+        workspaceManger.doBuild(CancelIndicator.NullImpl)
+        
+        // the build reuses the resource and links it against its resource set
+        Assert.assertSame(resource, workspaceManger.doRead(path, [$1]))
+        Assert.assertEquals(expected, workspaceManger.doRead(path, [$0.contents]))
+        EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl)
+        Assert.assertTrue(resource.errors.toString, resource.errors.empty)
+    }
+
+    @Test def void testDidChangeParsesDocumentOnce() {
+        val path = 'MyType1.testlang' -> '''
+            type Test {
+                string foo
+            }
+        '''
+        workspaceManger.doBuild(#[path], emptyList, null)
+        
+        Stopwatches.resetAll
+        Stopwatches.enabled = true
+        try {
+            workspaceManger.didOpen(path, 1, '''
+                type Test {
+                    string foo
+                }
+            ''', null)
+            Assert.assertEquals(1, fullParses)
+            
+            for (i : 2..4) {
+                workspaceManger.didChangeTextDocumentContent(path, i, #[new TextEditImpl => [
+                    range = new RangeImpl => [
+                        start = new PositionImpl => [line = 1 character = 14]
+                        end = new PositionImpl => [line = 1 character = 14]
+                    ]
+                    newText = 'o'
+                ]], CancelIndicator.NullImpl)
+                workspaceManger.doBuild(CancelIndicator.NullImpl)
+            }
+            
+            // the changes were applied by the partial parser and the builds reused the resource
+            Assert.assertEquals(1, fullParses)
+        } finally {
+            Stopwatches.enabled = false
+            Stopwatches.resetAll
+        }
+        
+        val String expected = '''
+            type Test {
+                string fooooo
+            }
+        '''
+        Assert.assertEquals(expected, workspaceManger.doRead(path, [$1.parseResult.rootNode.text]))
+    }
+
+    @Test def void testCancelledDidChangeDiscardsResource() {
+        val path = 'MyType1.testlang' -> '''
+            type Test {
+                string foo
+            }
+        '''
+        workspaceManger.doBuild(#[path], emptyList, null)
+        workspaceManger.didOpen(path, 1, '''
+            type Test {
+                string foo
+            }
+        ''', null)
+        val resource = workspaceManger.doRead(path, [$1])
+        
+        workspaceManger.didChangeTextDocumentContent(path, 2, #[new TextEditImpl => [
+            range = new RangeImpl => [
+                start = new PositionImpl => [line = 1 character = 4]
+                end = new PositionImpl => [line = 1 character = 10]
+            ]
+            newText = 'Test'
+        ]], [true])
+        
+        // read requests load the changed document again
+        val String expected = '''
+            type Test {
+                Test foo
+            }
+        '''
+        val reloaded = workspaceManger.doRead(path, [$1])
+        Assert.assertNotSame(resource, reloaded)
+        Assert.assertEquals(expected, reloaded.parseResult.rootNode.text)
+    }
+
+    @Test def void testDoValidate() {
+        val first = 'MyType1.testlang' -> '''
+            type Test {
+                NonExisting foo
+            }
+        '''
+        val second = 'MyType2.testlang' -> '''
+            type Test2 {
+                string foo
+            }
+        '''
+        
+        workspaceManger.doBuild(#[first, second], emptyList, null)
+        Assert.assertTrue(diagnostics.empty)
+        
+        workspaceManger.didOpen(second, 1, '''
+            type Test2 {
+                string foo
+            }
+        ''', null)
+        
+        Assert.assertEquals(#[second, first], workspaceManger.doValidate(CancelIndicator.NullImpl))
+        Assert.assertEquals(1, diagnostics.get(first).size)
+        Assert.assertTrue(diagnostics.get(second).empty)
+        Assert.assertTrue(workspaceManger.doValidate(CancelIndicator.NullImpl).empty)
+    }
+
+    @Test def void testDoValidateKeepsUnloadableResourcesQueued() {
+        val first = 'MyType1.testlang' -> '''
+            type Test {
+                NonExisting foo
+            }
+        '''
+        val second = 'MyType2.testlang' -> '''
+            type Test2 {
+                string foo
+            }
+        '''
+        
+        workspaceManger.doBuild(#[first, second], emptyList, null)
+        workspaceManger.getProjectManager(first).resourceSet.getResource(first, false).unload
+        Assert.assertTrue(new File(first.toFileString).delete)
+        
+        Assert.assertEquals(#[second], workspaceManger.doValidate(CancelIndicator.NullImpl))
+        Assert.assertFalse(diagnostics.containsKey(first))
+        
+        'MyType1.testlang' -> '''
+            type Test {
+                NonExisting foo
+            }
+        '''
+        Assert.assertEquals(#[first], workspaceManger.doValidate(CancelIndicator.NullImpl))
+        Assert.assertEquals(1, diagnostics.get(first).size)
+    }
+
     @Inject protected WorkspaceManager workspaceManger
 
     @Before
@@ -77,4 +257,14 @@ class WorkspaceManagerTest {
         return URI.createFileURI(file.absolutePath)
     }
 
+    /**
+     * @return the number of documents that were parsed completely since the {@link Stopwatches} were reset
+     */
+    protected def int getFullParses() {
+        val numbers = Stopwatches.allNumbers.get('AbstractParser.parse')
+        if (numbers === null)
+            return 0
+        return numbers.numberOfMeasurements
+    }
+
 }
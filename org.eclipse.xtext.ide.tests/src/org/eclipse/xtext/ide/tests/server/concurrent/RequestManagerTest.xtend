@@ -7,11 +7,15 @@
  *******************************************************************************/
 package org.eclipse.xtext.ide.tests.server.concurrent
 
+import com.google.inject.AbstractModule
 import com.google.inject.Guice
 import com.google.inject.Inject
+import com.google.inject.name.Names
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.atomic.AtomicInteger
 import org.eclipse.xtext.ide.server.ServerModule
 import org.eclipse.xtext.ide.server.concurrent.RequestManager
+import org.eclipse.xtext.util.Modules2
 import org.junit.After
 import org.junit.Before
 import org.junit.Test
@@ -105,6 +109,22 @@ class RequestManagerTest {
 		assertEquals(2, sharedState.get)
 	}
 
+	@Test(timeout = 1000)
+	def void testRunWriteDoesNotWaitForRunningReads() {
+		requestManager.runRead [
+			while (sharedState.get == 0) {
+			}
+			sharedState.incrementAndGet
+		]
+		val write = requestManager.runWrite [
+			assertEquals(2, sharedState.get)
+			sharedState.incrementAndGet
+		]
+		sharedState.incrementAndGet
+		write.join
+		assertEquals(3, sharedState.get)
+	}
+
 	@Test
 	def void testCancelWrite() {
 		requestManager.runWrite [ cancelIndicator |
@@ -132,4 +152,75 @@ class RequestManagerTest {
 		assertEquals(1, future.get)
 	}
 
+	@Test
+	def void testRunReadAfter() {
+		val write = requestManager.runWrite [
+			while (sharedState.get == 0) {
+			}
+			sharedState.incrementAndGet
+		]
+		val future = requestManager.runReadAfter(write) [
+			sharedState.get
+		]
+		sharedState.incrementAndGet
+		assertEquals(2, future.get)
+	}
+
+	@Test
+	def void testRunWriteAndBuild() {
+		requestManager.runWriteAndBuild([
+			sharedState.incrementAndGet
+		], [
+			assertEquals(1, sharedState.get)
+			sharedState.incrementAndGet
+		]).join
+		assertEquals(2, sharedState.get)
+	}
+
+	@Test(timeout = 1000)
+	def void testRunWriteAndBuildCancelsUpdate() {
+		val first = requestManager.runWriteAndBuild([ cancelIndicator |
+			while (!cancelIndicator.canceled) {
+			}
+			sharedState.incrementAndGet
+		], [
+			fail('The build was superseded by the next update')
+		])
+		requestManager.runWriteAndBuild([
+			sharedState.incrementAndGet
+		], [
+			assertEquals(2, sharedState.get)
+		]).join
+		first.join
+		assertEquals(2, sharedState.get)
+	}
+
+	@Test
+	def void testRunWriteAndBuildCoalescesBuilds() {
+		val debouncingRequestManager = Guice.createInjector(Modules2.mixin(new ServerModule, new AbstractModule() {
+			override protected configure() {
+				bindConstant.annotatedWith(Names.named(RequestManager.BUILD_DEBOUNCE_DELAY)).to(500L)
+			}
+		})).getInstance(RequestManager)
+		try {
+			val builds = new AtomicInteger
+			val futures = <CompletableFuture<Void>>newArrayList
+			for (i : 1..3) {
+				futures += debouncingRequestManager.runWriteAndBuild([
+					sharedState.incrementAndGet
+				], [
+					assertEquals(3, sharedState.get)
+					builds.incrementAndGet
+				])
+			}
+			for (future : futures) {
+				future.join
+			}
+			assertEquals(1, builds.get)
+			assertEquals(2, debouncingRequestManager.coalescedBuilds)
+		} finally {
+			debouncingRequestManager.shutdown
+		}
+	}
+
 }
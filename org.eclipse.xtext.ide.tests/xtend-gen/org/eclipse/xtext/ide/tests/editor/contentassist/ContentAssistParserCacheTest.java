@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.ide.tests.editor.contentassist;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.binder.AnnotatedBindingBuilder;
+import com.google.inject.binder.LinkedBindingBuilder;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.CharStream;
+import org.antlr.runtime.Token;
+import org.antlr.runtime.TokenSource;
+import org.eclipse.xtext.ide.LexerIdeBindings;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.AbstractContentAssistParser;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.ContentAssistParserCache;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.FollowElement;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.IContentAssistParser;
+import org.eclipse.xtext.ide.editor.contentassist.antlr.internal.Lexer;
+import org.eclipse.xtext.ide.tests.testlanguage.TestLanguageRuntimeModule;
+import org.eclipse.xtext.ide.tests.testlanguage.ide.TestLanguageIdeModule;
+import org.eclipse.xtext.ide.tests.testlanguage.ide.TestLanguageIdeSetup;
+import org.eclipse.xtext.ide.tests.testlanguage.ide.contentassist.antlr.TestLanguageParser;
+import org.eclipse.xtext.ide.tests.testlanguage.ide.contentassist.antlr.internal.InternalTestLanguageLexer;
+import org.eclipse.xtext.util.Modules2;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since 2.11
+ */
+@SuppressWarnings("all")
+public class ContentAssistParserCacheTest {
+  /**
+   * Makes the token sources accessible to the test.
+   */
+  public static class TokenSourceParser extends TestLanguageParser {
+    @Override
+    protected TokenSource createTokenSource(final String input) {
+      return super.createTokenSource(input);
+    }
+    
+    @Override
+    protected TokenSource createLexer(final CharStream stream) {
+      return super.createLexer(stream);
+    }
+  }
+  
+  /**
+   * A lexer whose tokens depend on the braces it has seen before.
+   */
+  public static class BraceDepthLexer extends InternalTestLanguageLexer {
+    private int depth;
+    
+    @Override
+    public Token nextToken() {
+      final Token token = super.nextToken();
+      String _text = token.getText();
+      if (_text != null) {
+        switch (_text) {
+          case "{":
+            this.depth++;
+            break;
+          case "}":
+            this.depth--;
+            break;
+        }
+      }
+      int _type = token.getType();
+      boolean _notEquals = (_type != Token.EOF);
+      if (_notEquals) {
+        String _text_1 = token.getText();
+        String _plus = ((this.depth + ":") + _text_1);
+        token.setText(_plus);
+      }
+      return token;
+    }
+  }
+  
+  private final static List<String> INPUTS = Collections.<String>unmodifiableList(CollectionLiterals.<String>newArrayList("type Foo { int bar }", "type Foo { int bar } type Bar", "type Foo { int ba", "type Foo { int baz } type", "type Fo { string bar }", "type Foo {\n\tint bar\n}\ntype Baz {\n", "type Foo {\n\tint bar\n}\ntype Baz {\n\tBaz[] ", "type Foo {\n\tint bar\n}\ntype Baz {\n\tBaz[] baz\n}"));
+  
+  @Inject
+  private IContentAssistParser parser;
+  
+  @Inject
+  private ContentAssistParserCache cache;
+  
+  @Before
+  public void setUp() {
+    Injector _createInjector = this.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        AnnotatedBindingBuilder<ContentAssistParserCache> _bind = this.<ContentAssistParserCache>bind(ContentAssistParserCache.class);
+        Named _named = Names.named(ContentAssistParserCache.NAMED_CACHE);
+        LinkedBindingBuilder<ContentAssistParserCache> _annotatedWith = _bind.annotatedWith(_named);
+        _annotatedWith.to(ContentAssistParserCache.class);
+      }
+    });
+    _createInjector.injectMembers(this);
+  }
+  
+  @Test
+  public void testReplayedTokens() {
+    for (final String input : ContentAssistParserCacheTest.INPUTS) {
+      ContentAssistParserCache _contentAssistParserCache = new ContentAssistParserCache();
+      List<String> _tokens = this.tokens(_contentAssistParserCache, input);
+      List<String> _tokens_1 = this.tokens(this.cache, input);
+      Assert.assertEquals(input, _tokens, _tokens_1);
+    }
+  }
+  
+  @Test
+  public void testFollowElements() {
+    final String input = "type Foo { int bar } type Bar { ";
+    final Collection<FollowElement> expected = this.parser.getFollowElements(input, false);
+    Collection<FollowElement> _followElements = this.cache.getFollowElements(input, false);
+    Assert.assertNotNull(_followElements);
+    Collection<FollowElement> _followElements_1 = this.cache.getFollowElements(input, true);
+    Assert.assertNull(_followElements_1);
+    Collection<FollowElement> _followElements_2 = this.parser.getFollowElements(input, false);
+    Assert.assertEquals(expected, _followElements_2);
+    ((AbstractContentAssistParser) this.parser).setCache(null);
+    Collection<FollowElement> _followElements_3 = this.parser.getFollowElements(input, false);
+    Assert.assertEquals(expected, _followElements_3);
+  }
+  
+  @Test
+  public void testStatefulLexerIsNotCachedByDefault() {
+    Injector _createInjector = this.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        AnnotatedBindingBuilder<Lexer> _bind = this.<Lexer>bind(Lexer.class);
+        Named _named = Names.named(LexerIdeBindings.CONTENT_ASSIST);
+        LinkedBindingBuilder<Lexer> _annotatedWith = _bind.annotatedWith(_named);
+        _annotatedWith.to(ContentAssistParserCacheTest.BraceDepthLexer.class);
+      }
+    });
+    final ContentAssistParserCacheTest.TokenSourceParser parser = _createInjector.<ContentAssistParserCacheTest.TokenSourceParser>getInstance(ContentAssistParserCacheTest.TokenSourceParser.class);
+    ContentAssistParserCache _cache = parser.getCache();
+    Assert.assertNull(_cache);
+    for (final String input : ContentAssistParserCacheTest.INPUTS) {
+      ANTLRStringStream _aNTLRStringStream = new ANTLRStringStream(input);
+      TokenSource _createLexer = parser.createLexer(_aNTLRStringStream);
+      List<String> _tokens = ContentAssistParserCacheTest.tokens(_createLexer);
+      TokenSource _createTokenSource = parser.createTokenSource(input);
+      List<String> _tokens_1 = ContentAssistParserCacheTest.tokens(_createTokenSource);
+      Assert.assertEquals(input, _tokens, _tokens_1);
+    }
+  }
+  
+  private Injector createInjector(final Module module) {
+    return new TestLanguageIdeSetup() {
+      @Override
+      public Injector createInjector() {
+        TestLanguageRuntimeModule _testLanguageRuntimeModule = new TestLanguageRuntimeModule();
+        TestLanguageIdeModule _testLanguageIdeModule = new TestLanguageIdeModule();
+        Module _mixin = Modules2.mixin(_testLanguageRuntimeModule, _testLanguageIdeModule, module);
+        return Guice.createInjector(_mixin);
+      }
+    }.createInjectorAndDoEMFRegistration();
+  }
+  
+  private List<String> tokens(final ContentAssistParserCache cache, final String input) {
+    TokenSource _createTokenSource = cache.createTokenSource(input, ((AbstractContentAssistParser) this.parser));
+    return ContentAssistParserCacheTest.tokens(_createTokenSource);
+  }
+  
+  private static List<String> tokens(final TokenSource tokenSource) {
+    final ArrayList<String> result = CollectionLiterals.<String>newArrayList();
+    Token token = tokenSource.nextToken();
+    while ((token.getType() != Token.EOF)) {
+      {
+        String _string = token.toString();
+        result.add(_string);
+        Token _nextToken = tokenSource.nextToken();
+        token = _nextToken;
+      }
+    }
+    return result;
+  }
+}
@@ -7,6 +7,7 @@
  */
 package org.eclipse.xtext.ide.tests.server;
 
+import io.typefox.lsapi.Position;
 import io.typefox.lsapi.PositionImpl;
 import io.typefox.lsapi.RangeImpl;
 import io.typefox.lsapi.TextEdit;
@@ -193,6 +194,69 @@ public class DocumentTest {
     ObjectExtensions.<Document>operator_doubleArrow(_document, _function);
   }
   
+  @Test
+  public void testUpdate_multipleChanges() {
+    Document _document = new Document(1, "hello world\nfoo\nbar");
+    final Procedure1<Document> _function = (Document it) -> {
+      PositionImpl _position = this.position(0, 11);
+      PositionImpl _position_1 = this.position(0, 11);
+      TextEditImpl _change = this.change(_position, _position_1, "\nnew");
+      PositionImpl _position_2 = this.position(2, 0);
+      PositionImpl _position_3 = this.position(2, 3);
+      TextEditImpl _change_1 = this.change(_position_2, _position_3, "baz");
+      final Document result = it.applyChanges(
+        Collections.<TextEdit>unmodifiableList(CollectionLiterals.<TextEdit>newArrayList(_change, _change_1)));
+      String _contents = result.getContents();
+      Assert.assertEquals("hello world\nnew\nbaz\nbar", _contents);
+      int _version = result.getVersion();
+      Assert.assertEquals(2, _version);
+      PositionImpl _position_4 = this.position(2, 0);
+      int _offSet = result.getOffSet(_position_4);
+      Assert.assertEquals(16, _offSet);
+      PositionImpl _position_5 = this.position(3, 3);
+      int _offSet_1 = result.getOffSet(_position_5);
+      Assert.assertEquals(23, _offSet_1);
+      PositionImpl _position_6 = result.getPosition(23);
+      this.assertPosition(3, 3, _position_6);
+    };
+    ObjectExtensions.<Document>operator_doubleArrow(_document, _function);
+  }
+  
+  @Test
+  public void testPosition() {
+    Document _document = new Document(1, "hello world\nfoo\n\nbar");
+    final Procedure1<Document> _function = (Document it) -> {
+      PositionImpl _position = it.getPosition(0);
+      this.assertPosition(0, 0, _position);
+      PositionImpl _position_1 = it.getPosition(11);
+      this.assertPosition(0, 11, _position_1);
+      PositionImpl _position_2 = it.getPosition(12);
+      this.assertPosition(1, 0, _position_2);
+      PositionImpl _position_3 = it.getPosition(16);
+      this.assertPosition(2, 0, _position_3);
+      PositionImpl _position_4 = it.getPosition(20);
+      this.assertPosition(3, 3, _position_4);
+      try {
+        it.getPosition(21);
+        Assert.fail();
+      } catch (final Throwable _t) {
+        if (_t instanceof IndexOutOfBoundsException) {
+          final IndexOutOfBoundsException e = (IndexOutOfBoundsException)_t;
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+    };
+    ObjectExtensions.<Document>operator_doubleArrow(_document, _function);
+  }
+  
+  private void assertPosition(final int line, final int character, final Position actual) {
+    int _line = actual.getLine();
+    Assert.assertEquals(line, _line);
+    int _character = actual.getCharacter();
+    Assert.assertEquals(character, _character);
+  }
+  
   private TextEditImpl change(final PositionImpl startPos, final PositionImpl endPos, final String newText) {
     TextEditImpl _textEditImpl = new TextEditImpl();
     final Procedure1<TextEditImpl> _function = (TextEditImpl it) -> {
@@ -10,22 +10,36 @@ package org.eclipse.xtext.ide.tests.server;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import io.typefox.lsapi.PositionImpl;
+import io.typefox.lsapi.RangeImpl;
+import io.typefox.lsapi.TextEdit;
+import io.typefox.lsapi.TextEditImpl;
 import java.io.File;
 import java.io.FileWriter;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtend2.lib.StringConcatenation;
+import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.ide.server.Document;
+import org.eclipse.xtext.ide.server.ProjectManager;
 import org.eclipse.xtext.ide.server.ServerModule;
 import org.eclipse.xtext.ide.server.WorkspaceManager;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.XtextResource;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.Files;
+import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function2;
+import org.eclipse.xtext.xbase.lib.IntegerRange;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
@@ -69,6 +83,347 @@ public class WorkspaceManagerTest {
     Assert.assertEquals(inMemContents, _doRead);
   }
   
+  @Test
+  public void testDidChangeReusesResource() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("type Test {");
+    _builder.newLine();
+    _builder.append("    ");
+    _builder.append("string foo");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final URI path = this.operator_mappedTo("MyType1.testlang", _builder);
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("type Test {");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("string foo");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    final String original = _builder_1.toString();
+    List<URI> _emptyList = CollectionLiterals.<URI>emptyList();
+    this.workspaceManger.doBuild(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(path)), _emptyList, null);
+    this.workspaceManger.didOpen(path, 1, original, null);
+    final Function2<Document, XtextResource, XtextResource> _function = (Document $0, XtextResource $1) -> {
+      return $1;
+    };
+    final XtextResource resource = this.workspaceManger.<XtextResource>doRead(path, _function);
+    TextEditImpl _textEditImpl = new TextEditImpl();
+    final Procedure1<TextEditImpl> _function_1 = (TextEditImpl it) -> {
+      RangeImpl _rangeImpl = new RangeImpl();
+      final Procedure1<RangeImpl> _function_2 = (RangeImpl it_1) -> {
+        PositionImpl _positionImpl = new PositionImpl();
+        final Procedure1<PositionImpl> _function_3 = (PositionImpl it_2) -> {
+          it_2.setLine(1);
+          it_2.setCharacter(4);
+        };
+        PositionImpl _doubleArrow = ObjectExtensions.<PositionImpl>operator_doubleArrow(_positionImpl, _function_3);
+        it_1.setStart(_doubleArrow);
+        PositionImpl _positionImpl_1 = new PositionImpl();
+        final Procedure1<PositionImpl> _function_4 = (PositionImpl it_2) -> {
+          it_2.setLine(1);
+          it_2.setCharacter(10);
+        };
+        PositionImpl _doubleArrow_1 = ObjectExtensions.<PositionImpl>operator_doubleArrow(_positionImpl_1, _function_4);
+        it_1.setEnd(_doubleArrow_1);
+      };
+      RangeImpl _doubleArrow = ObjectExtensions.<RangeImpl>operator_doubleArrow(_rangeImpl, _function_2);
+      it.setRange(_doubleArrow);
+      it.setNewText("Test");
+    };
+    TextEditImpl _doubleArrow = ObjectExtensions.<TextEditImpl>operator_doubleArrow(_textEditImpl, _function_1);
+    this.workspaceManger.didChangeTextDocumentContent(path, 2, Collections.<TextEdit>unmodifiableList(CollectionLiterals.<TextEdit>newArrayList(_doubleArrow)), CancelIndicator.NullImpl);
+    StringConcatenation _builder_2 = new StringConcatenation();
+    _builder_2.append("type Test {");
+    _builder_2.newLine();
+    _builder_2.append("    ");
+    _builder_2.append("Test foo");
+    _builder_2.newLine();
+    _builder_2.append("}");
+    _builder_2.newLine();
+    final String expected = _builder_2.toString();
+    final Function2<Document, XtextResource, XtextResource> _function_2 = (Document $0, XtextResource $1) -> {
+      return $1;
+    };
+    XtextResource _doRead = this.workspaceManger.<XtextResource>doRead(path, _function_2);
+    Assert.assertSame(resource, _doRead);
+    IParseResult _parseResult = resource.getParseResult();
+    ICompositeNode _rootNode = _parseResult.getRootNode();
+    String _text = _rootNode.getText();
+    Assert.assertEquals(expected, _text);
+    this.workspaceManger.doBuild(CancelIndicator.NullImpl);
+    final Function2<Document, XtextResource, XtextResource> _function_3 = (Document $0, XtextResource $1) -> {
+      return $1;
+    };
+    XtextResource _doRead_1 = this.workspaceManger.<XtextResource>doRead(path, _function_3);
+    Assert.assertSame(resource, _doRead_1);
+    final Function2<Document, XtextResource, String> _function_4 = (Document $0, XtextResource $1) -> {
+      return $0.getContents();
+    };
+    String _doRead_2 = this.workspaceManger.<String>doRead(path, _function_4);
+    Assert.assertEquals(expected, _doRead_2);
+    EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
+    EList<Resource.Diagnostic> _errors = resource.getErrors();
+    String _string = _errors.toString();
+    EList<Resource.Diagnostic> _errors_1 = resource.getErrors();
+    boolean _isEmpty = _errors_1.isEmpty();
+    Assert.assertTrue(_string, _isEmpty);
+  }
+  
+  @Test
+  public void testDidChangeParsesDocumentOnce() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("type Test {");
+    _builder.newLine();
+    _builder.append("    ");
+    _builder.append("string foo");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final URI path = this.operator_mappedTo("MyType1.testlang", _builder);
+    List<URI> _emptyList = CollectionLiterals.<URI>emptyList();
+    this.workspaceManger.doBuild(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(path)), _emptyList, null);
+    Stopwatches.resetAll();
+    Stopwatches.setEnabled(true);
+    try {
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("type Test {");
+      _builder_1.newLine();
+      _builder_1.append("    ");
+      _builder_1.append("string foo");
+      _builder_1.newLine();
+      _builder_1.append("}");
+      _builder_1.newLine();
+      this.workspaceManger.didOpen(path, 1, _builder_1.toString(), null);
+      int _fullParses = this.getFullParses();
+      Assert.assertEquals(1, _fullParses);
+      IntegerRange _upTo = new IntegerRange(2, 4);
+      for (final Integer i : _upTo) {
+        {
+          TextEditImpl _textEditImpl = new TextEditImpl();
+          final Procedure1<TextEditImpl> _function = (TextEditImpl it) -> {
+            RangeImpl _rangeImpl = new RangeImpl();
+            final Procedure1<RangeImpl> _function_1 = (RangeImpl it_1) -> {
+              PositionImpl _positionImpl = new PositionImpl();
+              final Procedure1<PositionImpl> _function_2 = (PositionImpl it_2) -> {
+                it_2.setLine(1);
+                it_2.setCharacter(14);
+              };
+              PositionImpl _doubleArrow = ObjectExtensions.<PositionImpl>operator_doubleArrow(_positionImpl, _function_2);
+              it_1.setStart(_doubleArrow);
+              PositionImpl _positionImpl_1 = new PositionImpl();
+              final Procedure1<PositionImpl> _function_3 = (PositionImpl it_2) -> {
+                it_2.setLine(1);
+                it_2.setCharacter(14);
+              };
+              PositionImpl _doubleArrow_1 = ObjectExtensions.<PositionImpl>operator_doubleArrow(_positionImpl_1, _function_3);
+              it_1.setEnd(_doubleArrow_1);
+            };
+            RangeImpl _doubleArrow = ObjectExtensions.<RangeImpl>operator_doubleArrow(_rangeImpl, _function_1);
+            it.setRange(_doubleArrow);
+            it.setNewText("o");
+          };
+          TextEditImpl _doubleArrow = ObjectExtensions.<TextEditImpl>operator_doubleArrow(_textEditImpl, _function);
+          this.workspaceManger.didChangeTextDocumentContent(path, (i).intValue(), Collections.<TextEdit>unmodifiableList(CollectionLiterals.<TextEdit>newArrayList(_doubleArrow)), CancelIndicator.NullImpl);
+          this.workspaceManger.doBuild(CancelIndicator.NullImpl);
+        }
+      }
+      int _fullParses_1 = this.getFullParses();
+      Assert.assertEquals(1, _fullParses_1);
+    } finally {
+      Stopwatches.setEnabled(false);
+      Stopwatches.resetAll();
+    }
+    StringConcatenation _builder_2 = new StringConcatenation();
+    _builder_2.append("type Test {");
+    _builder_2.newLine();
+    _builder_2.append("    ");
+    _builder_2.append("string fooooo");
+    _builder_2.newLine();
+    _builder_2.append("}");
+    _builder_2.newLine();
+    final String expected = _builder_2.toString();
+    final Function2<Document, XtextResource, String> _function = (Document $0, XtextResource $1) -> {
+      IParseResult _parseResult = $1.getParseResult();
+      ICompositeNode _rootNode = _parseResult.getRootNode();
+      return _rootNode.getText();
+    };
+    String _doRead = this.workspaceManger.<String>doRead(path, _function);
+    Assert.assertEquals(expected, _doRead);
+  }
+  
+  @Test
+  public void testCancelledDidChangeDiscardsResource() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("type Test {");
+    _builder.newLine();
+    _builder.append("    ");
+    _builder.append("string foo");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final URI path = this.operator_mappedTo("MyType1.testlang", _builder);
+    List<URI> _emptyList = CollectionLiterals.<URI>emptyList();
+    this.workspaceManger.doBuild(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(path)), _emptyList, null);
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("type Test {");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("string foo");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    this.workspaceManger.didOpen(path, 1, _builder_1.toString(), null);
+    final Function2<Document, XtextResource, XtextResource> _function = (Document $0, XtextResource $1) -> {
+      return $1;
+    };
+    final XtextResource resource = this.workspaceManger.<XtextResource>doRead(path, _function);
+    TextEditImpl _textEditImpl = new TextEditImpl();
+    final Procedure1<TextEditImpl> _function_1 = (TextEditImpl it) -> {
+      RangeImpl _rangeImpl = new RangeImpl();
+      final Procedure1<RangeImpl> _function_2 = (RangeImpl it_1) -> {
+        PositionImpl _positionImpl = new PositionImpl();
+        final Procedure1<PositionImpl> _function_3 = (PositionImpl it_2) -> {
+          it_2.setLine(1);
+          it_2.setCharacter(4);
+        };
+        PositionImpl _doubleArrow = ObjectExtensions.<PositionImpl>operator_doubleArrow(_positionImpl, _function_3);
+        it_1.setStart(_doubleArrow);
+        PositionImpl _positionImpl_1 = new PositionImpl();
+        final Procedure1<PositionImpl> _function_4 = (PositionImpl it_2) -> {
+          it_2.setLine(1);
+          it_2.setCharacter(10);
+        };
+        PositionImpl _doubleArrow_1 = ObjectExtensions.<PositionImpl>operator_doubleArrow(_positionImpl_1, _function_4);
+        it_1.setEnd(_doubleArrow_1);
+      };
+      RangeImpl _doubleArrow = ObjectExtensions.<RangeImpl>operator_doubleArrow(_rangeImpl, _function_2);
+      it.setRange(_doubleArrow);
+      it.setNewText("Test");
+    };
+    TextEditImpl _doubleArrow = ObjectExtensions.<TextEditImpl>operator_doubleArrow(_textEditImpl, _function_1);
+    final CancelIndicator _function_2 = () -> {
+      return true;
+    };
+    this.workspaceManger.didChangeTextDocumentContent(path, 2, Collections.<TextEdit>unmodifiableList(CollectionLiterals.<TextEdit>newArrayList(_doubleArrow)), _function_2);
+    StringConcatenation _builder_2 = new StringConcatenation();
+    _builder_2.append("type Test {");
+    _builder_2.newLine();
+    _builder_2.append("    ");
+    _builder_2.append("Test foo");
+    _builder_2.newLine();
+    _builder_2.append("}");
+    _builder_2.newLine();
+    final String expected = _builder_2.toString();
+    final Function2<Document, XtextResource, XtextResource> _function_3 = (Document $0, XtextResource $1) -> {
+      return $1;
+    };
+    final XtextResource reloaded = this.workspaceManger.<XtextResource>doRead(path, _function_3);
+    Assert.assertNotSame(resource, reloaded);
+    IParseResult _parseResult = reloaded.getParseResult();
+    ICompositeNode _rootNode = _parseResult.getRootNode();
+    String _text = _rootNode.getText();
+    Assert.assertEquals(expected, _text);
+  }
+  
+  @Test
+  public void testDoValidate() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("type Test {");
+    _builder.newLine();
+    _builder.append("    ");
+    _builder.append("NonExisting foo");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final URI first = this.operator_mappedTo("MyType1.testlang", _builder);
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("type Test2 {");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("string foo");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    final URI second = this.operator_mappedTo("MyType2.testlang", _builder_1);
+    List<URI> _emptyList = CollectionLiterals.<URI>emptyList();
+    this.workspaceManger.doBuild(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(first, second)), _emptyList, null);
+    boolean _isEmpty = this.diagnostics.isEmpty();
+    Assert.assertTrue(_isEmpty);
+    StringConcatenation _builder_2 = new StringConcatenation();
+    _builder_2.append("type Test2 {");
+    _builder_2.newLine();
+    _builder_2.append("    ");
+    _builder_2.append("string foo");
+    _builder_2.newLine();
+    _builder_2.append("}");
+    _builder_2.newLine();
+    this.workspaceManger.didOpen(second, 1, _builder_2.toString(), null);
+    List<URI> _doValidate = this.workspaceManger.doValidate(CancelIndicator.NullImpl);
+    Assert.assertEquals(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(second, first)), _doValidate);
+    List<Issue> _get = this.diagnostics.get(first);
+    int _size = _get.size();
+    Assert.assertEquals(1, _size);
+    List<Issue> _get_1 = this.diagnostics.get(second);
+    boolean _isEmpty_1 = _get_1.isEmpty();
+    Assert.assertTrue(_isEmpty_1);
+    List<URI> _doValidate_1 = this.workspaceManger.doValidate(CancelIndicator.NullImpl);
+    boolean _isEmpty_2 = _doValidate_1.isEmpty();
+    Assert.assertTrue(_isEmpty_2);
+  }
+  
+  @Test
+  public void testDoValidateKeepsUnloadableResourcesQueued() {
+    StringConcatenation _builder = new StringConcatenation();
+    _builder.append("type Test {");
+    _builder.newLine();
+    _builder.append("    ");
+    _builder.append("NonExisting foo");
+    _builder.newLine();
+    _builder.append("}");
+    _builder.newLine();
+    final URI first = this.operator_mappedTo("MyType1.testlang", _builder);
+    StringConcatenation _builder_1 = new StringConcatenation();
+    _builder_1.append("type Test2 {");
+    _builder_1.newLine();
+    _builder_1.append("    ");
+    _builder_1.append("string foo");
+    _builder_1.newLine();
+    _builder_1.append("}");
+    _builder_1.newLine();
+    final URI second = this.operator_mappedTo("MyType2.testlang", _builder_1);
+    List<URI> _emptyList = CollectionLiterals.<URI>emptyList();
+    this.workspaceManger.doBuild(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(first, second)), _emptyList, null);
+    ProjectManager _projectManager = this.workspaceManger.getProjectManager(first);
+    XtextResourceSet _resourceSet = _projectManager.getResourceSet();
+    Resource _resource = _resourceSet.getResource(first, false);
+    _resource.unload();
+    String _fileString = first.toFileString();
+    File _file = new File(_fileString);
+    boolean _delete = _file.delete();
+    Assert.assertTrue(_delete);
+    List<URI> _doValidate = this.workspaceManger.doValidate(CancelIndicator.NullImpl);
+    Assert.assertEquals(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(second)), _doValidate);
+    boolean _containsKey = this.diagnostics.containsKey(first);
+    Assert.assertFalse(_containsKey);
+    StringConcatenation _builder_2 = new StringConcatenation();
+    _builder_2.append("type Test {");
+    _builder_2.newLine();
+    _builder_2.append("    ");
+    _builder_2.append("NonExisting foo");
+    _builder_2.newLine();
+    _builder_2.append("}");
+    _builder_2.newLine();
+    this.operator_mappedTo("MyType1.testlang", _builder_2);
+    List<URI> _doValidate_1 = this.workspaceManger.doValidate(CancelIndicator.NullImpl);
+    Assert.assertEquals(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(first)), _doValidate_1);
+    List<Issue> _get = this.diagnostics.get(first);
+    int _size = _get.size();
+    Assert.assertEquals(1, _size);
+  }
+  
   @Inject
   protected WorkspaceManager workspaceManger;
   
@@ -125,4 +480,15 @@ public class WorkspaceManagerTest {
       throw Exceptions.sneakyThrow(_e);
     }
   }
+  
+  /**
+   * @return the number of documents that were parsed completely since the {@link Stopwatches} were reset
+   */
+  protected int getFullParses() {
+    final Stopwatches.NumbersForTask numbers = Stopwatches.allNumbers().get("AbstractParser.parse");
+    if ((numbers == null)) {
+      return 0;
+    }
+    return numbers.getNumberOfMeasurements();
+  }
 }
@@ -7,16 +7,26 @@
  */
 package org.eclipse.xtext.ide.tests.server.concurrent;
 
+import com.google.inject.AbstractModule;
 import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.binder.AnnotatedConstantBindingBuilder;
+import com.google.inject.binder.ConstantBindingBuilder;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.util.ArrayList;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.xtext.ide.server.ServerModule;
 import org.eclipse.xtext.ide.server.concurrent.RequestManager;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Modules2;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IntegerRange;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.junit.After;
 import org.junit.Assert;
@@ -148,6 +158,30 @@ public class RequestManagerTest {
     Assert.assertEquals(2, _get);
   }
   
+  @Test(timeout = 1000)
+  public void testRunWriteDoesNotWaitForRunningReads() {
+    final Function1<CancelIndicator, Integer> _function = (CancelIndicator it) -> {
+      int _xblockexpression = (int) 0;
+      {
+        while ((this.sharedState.get() == 0)) {
+        }
+        _xblockexpression = this.sharedState.incrementAndGet();
+      }
+      return Integer.valueOf(_xblockexpression);
+    };
+    this.requestManager.<Integer>runRead(_function);
+    final Procedure1<CancelIndicator> _function_1 = (CancelIndicator it) -> {
+      int _get = this.sharedState.get();
+      Assert.assertEquals(2, _get);
+      this.sharedState.incrementAndGet();
+    };
+    final CompletableFuture<Void> write = this.requestManager.runWrite(_function_1);
+    this.sharedState.incrementAndGet();
+    write.join();
+    int _get = this.sharedState.get();
+    Assert.assertEquals(3, _get);
+  }
+  
   @Test
   public void testCancelWrite() {
     final Procedure1<CancelIndicator> _function = (CancelIndicator cancelIndicator) -> {
@@ -190,4 +224,108 @@ public class RequestManagerTest {
       throw Exceptions.sneakyThrow(_e);
     }
   }
+  
+  @Test
+  public void testRunReadAfter() {
+    try {
+      final Procedure1<CancelIndicator> _function = (CancelIndicator it) -> {
+        while ((this.sharedState.get() == 0)) {
+        }
+        this.sharedState.incrementAndGet();
+      };
+      final CompletableFuture<Void> write = this.requestManager.runWrite(_function);
+      final Function1<CancelIndicator, Integer> _function_1 = (CancelIndicator it) -> {
+        return Integer.valueOf(this.sharedState.get());
+      };
+      final CompletableFuture<Integer> future = this.requestManager.<Integer>runReadAfter(write, _function_1);
+      this.sharedState.incrementAndGet();
+      Integer _get = future.get();
+      Assert.assertEquals(2, (_get).intValue());
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testRunWriteAndBuild() {
+    final Procedure1<CancelIndicator> _function = (CancelIndicator it) -> {
+      this.sharedState.incrementAndGet();
+    };
+    final Procedure1<CancelIndicator> _function_1 = (CancelIndicator it) -> {
+      int _get = this.sharedState.get();
+      Assert.assertEquals(1, _get);
+      this.sharedState.incrementAndGet();
+    };
+    CompletableFuture<Void> _runWriteAndBuild = this.requestManager.runWriteAndBuild(_function, _function_1);
+    _runWriteAndBuild.join();
+    int _get = this.sharedState.get();
+    Assert.assertEquals(2, _get);
+  }
+  
+  @Test(timeout = 1000)
+  public void testRunWriteAndBuildCancelsUpdate() {
+    final Procedure1<CancelIndicator> _function = (CancelIndicator cancelIndicator) -> {
+      while ((!cancelIndicator.isCanceled())) {
+      }
+      this.sharedState.incrementAndGet();
+    };
+    final Procedure1<CancelIndicator> _function_1 = (CancelIndicator it) -> {
+      Assert.fail("The build was superseded by the next update");
+    };
+    final CompletableFuture<Void> first = this.requestManager.runWriteAndBuild(_function, _function_1);
+    final Procedure1<CancelIndicator> _function_2 = (CancelIndicator it) -> {
+      this.sharedState.incrementAndGet();
+    };
+    final Procedure1<CancelIndicator> _function_3 = (CancelIndicator it) -> {
+      int _get = this.sharedState.get();
+      Assert.assertEquals(2, _get);
+    };
+    CompletableFuture<Void> _runWriteAndBuild = this.requestManager.runWriteAndBuild(_function_2, _function_3);
+    _runWriteAndBuild.join();
+    first.join();
+    int _get = this.sharedState.get();
+    Assert.assertEquals(2, _get);
+  }
+  
+  @Test
+  public void testRunWriteAndBuildCoalescesBuilds() {
+    ServerModule _serverModule = new ServerModule();
+    Module _mixin = Modules2.mixin(_serverModule, new AbstractModule() {
+      @Override
+      protected void configure() {
+        AnnotatedConstantBindingBuilder _bindConstant = this.bindConstant();
+        Named _named = Names.named(RequestManager.BUILD_DEBOUNCE_DELAY);
+        ConstantBindingBuilder _annotatedWith = _bindConstant.annotatedWith(_named);
+        _annotatedWith.to(500L);
+      }
+    });
+    Injector _createInjector = Guice.createInjector(_mixin);
+    final RequestManager debouncingRequestManager = _createInjector.<RequestManager>getInstance(RequestManager.class);
+    try {
+      final AtomicInteger builds = new AtomicInteger();
+      final ArrayList<CompletableFuture<Void>> futures = CollectionLiterals.<CompletableFuture<Void>>newArrayList();
+      IntegerRange _upTo = new IntegerRange(1, 3);
+      for (final Integer i : _upTo) {
+        final Procedure1<CancelIndicator> _function = (CancelIndicator it) -> {
+          this.sharedState.incrementAndGet();
+        };
+        final Procedure1<CancelIndicator> _function_1 = (CancelIndicator it) -> {
+          int _get = this.sharedState.get();
+          Assert.assertEquals(3, _get);
+          builds.incrementAndGet();
+        };
+        CompletableFuture<Void> _runWriteAndBuild = debouncingRequestManager.runWriteAndBuild(_function, _function_1);
+        futures.add(_runWriteAndBuild);
+      }
+      for (final CompletableFuture<Void> future : futures) {
+        future.join();
+      }
+      int _get = builds.get();
+      Assert.assertEquals(1, _get);
+      int _coalescedBuilds = debouncingRequestManager.getCoalescedBuilds();
+      Assert.assertEquals(2, _coalescedBuilds);
+    } finally {
+      debouncingRequestManager.shutdown();
+    }
+  }
 }
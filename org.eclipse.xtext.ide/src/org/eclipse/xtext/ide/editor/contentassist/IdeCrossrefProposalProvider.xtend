@@ -32,6 +32,8 @@ class IdeCrossrefProposalProvider {
 	
 	@Inject IdeContentProposalPriorities proposalPriorities
 	
+	@Inject IPrefixMatcher prefixMatcher
+	
 	def void lookupCrossReference(IScope scope, CrossReference crossReference, ContentAssistContext context,
 			IIdeContentProposalAcceptor acceptor, Predicate<IEObjectDescription> filter) {
 		try {
@@ -50,9 +52,44 @@ class IdeCrossrefProposalProvider {
 	}
 	
 	protected def queryScope(IScope scope, CrossReference crossReference, ContentAssistContext context) {
+		if (scope instanceof IScope.IPrefixAware) {
+			if (!context.prefix.nullOrEmpty && prefixQuerySupported) {
+				return scope.getElementsByPrefix(getQueryPrefix(context))
+			}
+		}
 		return scope.allElements
 	}
 	
+	/**
+	 * Whether the prefix matcher only accepts names with a segment that starts with the prefix, ignoring case. Only
+	 * then the prefix can be pushed into {@link IScope.IPrefixAware prefix aware} scopes. Subclasses that create
+	 * proposals from other strings than the names of the candidates have to return <code>false</code>.
+	 * 
+	 * @since 2.11
+	 */
+	protected def boolean isPrefixQuerySupported() {
+		if (prefixMatcher.class == FQNPrefixMatcher) {
+			return (prefixMatcher as FQNPrefixMatcher).delegate.class == IPrefixMatcher.IgnoreCase
+		}
+		return prefixMatcher.class == IPrefixMatcher.IgnoreCase
+	}
+	
+	/**
+	 * Returns the prefix up to the first delimiter of qualified names, since their segments are matched one by one.
+	 * 
+	 * @since 2.11
+	 */
+	protected def String getQueryPrefix(ContentAssistContext context) {
+		val prefix = context.prefix
+		val delimiter = if (prefixMatcher instanceof FQNPrefixMatcher) prefixMatcher.delimiter else '.'
+		if (delimiter.nullOrEmpty)
+			return ''
+		val index = prefix.indexOf(delimiter)
+		if (index >= 0)
+			return prefix.substring(0, index)
+		return prefix
+	}
+	
 	protected def ContentAssistEntry createProposal(IEObjectDescription candidate, CrossReference crossRef, ContentAssistContext context) {
 		proposalCreator.createProposal(qualifiedNameConverter.toString(candidate.name), context) [
 			source = candidate
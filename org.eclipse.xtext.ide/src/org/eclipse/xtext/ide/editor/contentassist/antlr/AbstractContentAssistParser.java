@@ -53,7 +53,14 @@ public abstract class AbstractContentAssistParser implements IContentAssistParse
 	@Inject
 	private RequiredRuleNameComputer requiredRuleNameComputer;
 	
+	@Inject(optional = true)
+	@Named(ContentAssistParserCache.NAMED_CACHE)
+	private ContentAssistParserCache cache;
+	
 	protected TokenSource createTokenSource(String input) {
+		if (cache != null) {
+			return cache.createTokenSource(input, this);
+		}
 		return createLexer(new ANTLRStringStream(input));
 	}
 	
@@ -308,6 +315,21 @@ public abstract class AbstractContentAssistParser implements IContentAssistParse
 	
 	@Override
 	public Collection<FollowElement> getFollowElements(String input, boolean strict) {
+		if (cache == null) {
+			return doGetFollowElements(input, strict);
+		}
+		Collection<FollowElement> result = cache.getFollowElements(input, strict);
+		if (result == null) {
+			result = doGetFollowElements(input, strict);
+			cache.putFollowElements(input, strict, result);
+		}
+		return Lists.newArrayList(result);
+	}
+	
+	/**
+	 * @since 2.11
+	 */
+	protected Collection<FollowElement> doGetFollowElements(String input, boolean strict) {
 		TokenSource tokenSource = createTokenSource(input);
 		AbstractInternalContentAssistParser parser = createParser();
 		parser.setStrict(strict);
@@ -340,4 +362,18 @@ public abstract class AbstractContentAssistParser implements IContentAssistParse
 	public RequiredRuleNameComputer getRequiredRuleNameComputer() {
 		return requiredRuleNameComputer;
 	}
+	
+	/**
+	 * @since 2.11
+	 */
+	public void setCache(ContentAssistParserCache cache) {
+		this.cache = cache;
+	}
+	
+	/**
+	 * @since 2.11
+	 */
+	public ContentAssistParserCache getCache() {
+		return cache;
+	}
 }
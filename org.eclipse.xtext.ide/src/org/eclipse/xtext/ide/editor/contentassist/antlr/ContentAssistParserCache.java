@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.ide.editor.contentassist.antlr;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.CommonToken;
+import org.antlr.runtime.Lexer;
+import org.antlr.runtime.Token;
+import org.antlr.runtime.TokenSource;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.Tuples;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.inject.Singleton;
+
+/**
+ * Caches the results of the {@link AbstractContentAssistParser content assist parser} across completion requests.
+ *
+ * The follow elements are remembered for the most recently parsed inputs, e.g. the document prefix before an
+ * identifier that is being typed is the same for each keystroke. The lexer tokens of the most recently lexed inputs
+ * are remembered, too. If a new input shares a common prefix with one of them, the tokens that were produced by
+ * looking at the common prefix only are replayed and the lexer resumes from there instead of starting at offset 0.
+ *
+ * Tokens are only reused if the content assist lexer is a plain {@link Lexer} whose state between two tokens is
+ * defined by its position in the input. Since this cannot be checked, the cache is not used unless a language
+ * declares that its lexer is stateless by binding the cache explicitly:
+ *
+ * <pre>
+ * binder.bind(ContentAssistParserCache.class).annotatedWith(Names.named(ContentAssistParserCache.NAMED_CACHE))
+ * 		.to(ContentAssistParserCache.class);
+ * </pre>
+ *
+ * @since 2.11
+ */
+@Beta
+@Singleton
+public class ContentAssistParserCache {
+
+	/**
+	 * The name of the binding that enables the cache for the {@link AbstractContentAssistParser content assist
+	 * parser}.
+	 */
+	public static final String NAMED_CACHE = "org.eclipse.xtext.ide.editor.contentassist.antlr.ContentAssistParserCache.cache";
+
+	private static final int MAX_FOLLOW_ELEMENTS = 16;
+
+	private static final int MAX_LEXED_INPUTS = 4;
+
+	private final Map<Pair<String, Boolean>, List<FollowElement>> followElements = new LinkedHashMap<Pair<String, Boolean>, List<FollowElement>>(
+			MAX_FOLLOW_ELEMENTS, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Pair<String, Boolean>, List<FollowElement>> eldest) {
+			return size() > MAX_FOLLOW_ELEMENTS;
+		}
+	};
+
+	private final LinkedList<LexedInput> lexedInputs = new LinkedList<LexedInput>();
+
+	/**
+	 * @return the follow elements that were computed for the given input or <code>null</code>.
+	 */
+	public Collection<FollowElement> getFollowElements(String input, boolean strict) {
+		synchronized (followElements) {
+			return followElements.get(Tuples.create(input, strict));
+		}
+	}
+
+	public void putFollowElements(String input, boolean strict, Collection<FollowElement> result) {
+		List<FollowElement> copy = ImmutableList.copyOf(result);
+		synchronized (followElements) {
+			followElements.put(Tuples.create(input, strict), copy);
+		}
+	}
+
+	/**
+	 * Creates the token source for the given input. The lexer is obtained from
+	 * {@link AbstractContentAssistParser#createLexer(org.antlr.runtime.CharStream)}.
+	 */
+	public TokenSource createTokenSource(String input, AbstractContentAssistParser parser) {
+		TrackingStringStream stream = new TrackingStringStream(input);
+		TokenSource lexer = parser.createLexer(stream);
+		if (!(lexer instanceof Lexer)) {
+			return lexer;
+		}
+		LexedInput best = null;
+		int reusable = 0;
+		synchronized (lexedInputs) {
+			for (LexedInput candidate : lexedInputs) {
+				int candidateReusable = candidate.getReusableTokenCount(input);
+				if (candidateReusable > reusable) {
+					best = candidate;
+					reusable = candidateReusable;
+				}
+			}
+		}
+		List<CommonToken> replayed;
+		int[] replayedLookAhead;
+		if (best != null) {
+			CommonToken resumeAt = best.tokens.get(reusable);
+			stream.resume(resumeAt.getStartIndex(), resumeAt.getLine(), resumeAt.getCharPositionInLine(),
+					best.lookAhead[reusable - 1]);
+			replayed = best.tokens.subList(0, reusable);
+			replayedLookAhead = best.lookAhead;
+		} else {
+			replayed = ImmutableList.of();
+			replayedLookAhead = new int[0];
+		}
+		return new CachingTokenSource(input, (Lexer) lexer, stream, replayed, replayedLookAhead);
+	}
+
+	protected void addLexedInput(LexedInput lexedInput) {
+		synchronized (lexedInputs) {
+			lexedInputs.addFirst(lexedInput);
+			if (lexedInputs.size() > MAX_LEXED_INPUTS) {
+				lexedInputs.removeLast();
+			}
+		}
+	}
+
+	/**
+	 * The tokens of a completely lexed input. For each token, the highest index of a character that the lexer looked
+	 * at until the token was emitted is recorded.
+	 */
+	protected static class LexedInput {
+
+		private final String input;
+
+		private final List<CommonToken> tokens;
+
+		private final int[] lookAhead;
+
+		protected LexedInput(String input, List<CommonToken> tokens, int[] lookAhead) {
+			this.input = input;
+			this.tokens = tokens;
+			this.lookAhead = lookAhead;
+		}
+
+		/**
+		 * @return the number of leading tokens that the lexer would produce for the given input, too. At least one
+		 *         token is left so the lexer can resume at its position.
+		 */
+		protected int getReusableTokenCount(String other) {
+			int commonPrefix = 0;
+			int max = Math.min(input.length(), other.length());
+			while (commonPrefix < max && input.charAt(commonPrefix) == other.charAt(commonPrefix)) {
+				commonPrefix++;
+			}
+			int low = 0;
+			int high = tokens.size() - 1;
+			while (low < high) {
+				int mid = (low + high + 1) >>> 1;
+				if (lookAhead[mid - 1] < commonPrefix) {
+					low = mid;
+				} else {
+					high = mid - 1;
+				}
+			}
+			return low;
+		}
+	}
+
+	/**
+	 * A string stream that records the highest index the lexer looked at and that can continue lexing at a given
+	 * position.
+	 */
+	protected static class TrackingStringStream extends ANTLRStringStream {
+
+		private int maxLookAhead = -1;
+
+		protected TrackingStringStream(String input) {
+			super(input);
+		}
+
+		@Override
+		public int LA(int i) {
+			int index = p + i - 1;
+			if (index > maxLookAhead) {
+				maxLookAhead = index;
+			}
+			return super.LA(i);
+		}
+
+		protected void resume(int index, int line, int charPositionInLine, int maxLookAhead) {
+			this.p = index;
+			this.line = line;
+			this.charPositionInLine = charPositionInLine;
+			this.maxLookAhead = maxLookAhead;
+		}
+
+		protected int getMaxLookAhead() {
+			return maxLookAhead;
+		}
+	}
+
+	/**
+	 * Replays the reusable tokens before it delegates to the lexer. The tokens are recorded until the end of the input
+	 * is reached.
+	 */
+	protected class CachingTokenSource implements TokenSource {
+
+		private final String input;
+
+		private final Lexer lexer;
+
+		private final TrackingStringStream stream;
+
+		private final List<CommonToken> replayed;
+
+		private final List<CommonToken> tokens;
+
+		private int[] lookAhead;
+
+		private int next;
+
+		private boolean done;
+
+		protected CachingTokenSource(String input, Lexer lexer, TrackingStringStream stream, List<CommonToken> replayed,
+				int[] replayedLookAhead) {
+			this.input = input;
+			this.lexer = lexer;
+			this.stream = stream;
+			this.replayed = replayed;
+			this.tokens = Lists.newArrayList(replayed);
+			this.lookAhead = new int[Math.max(16, replayed.size() * 2)];
+			System.arraycopy(replayedLookAhead, 0, lookAhead, 0, replayed.size());
+		}
+
+		@Override
+		public Token nextToken() {
+			if (next < replayed.size()) {
+				// the stream modifies the channel and the index of the tokens
+				return new CommonToken(replayed.get(next++));
+			}
+			Token result = lexer.nextToken();
+			if (done) {
+				return result;
+			}
+			if (result == Token.EOF_TOKEN || result.getType() == Token.EOF) {
+				done = true;
+				int size = tokens.size();
+				int[] trimmed = new int[size];
+				System.arraycopy(lookAhead, 0, trimmed, 0, size);
+				addLexedInput(new LexedInput(input, tokens, trimmed));
+			} else if (result instanceof CommonToken) {
+				int size = tokens.size();
+				if (size == lookAhead.length) {
+					int[] grown = new int[size * 2];
+					System.arraycopy(lookAhead, 0, grown, 0, size);
+					lookAhead = grown;
+				}
+				lookAhead[size] = stream.getMaxLookAhead();
+				tokens.add(new CommonToken(result));
+			} else {
+				// cannot copy custom tokens
+				done = true;
+			}
+			return result;
+		}
+
+		@Override
+		public String getSourceName() {
+			return lexer.getSourceName();
+		}
+	}
+
+}
@@ -8,53 +8,126 @@
 package org.eclipse.xtext.ide.server
 
 import io.typefox.lsapi.Position
+import io.typefox.lsapi.PositionImpl
 import io.typefox.lsapi.TextEdit
+import java.util.Arrays
 import org.eclipse.xtend.lib.annotations.Data
 
+import static io.typefox.lsapi.util.LsapiFactories.*
+
 /**
  * @author Sven Efftinge - Initial contribution and API
  * @since 2.11
  */
 @Data class Document {
     
+    static val char NL = '\n'
+    
     int version
     String contents
     
+    /**
+     * The offsets of the first character of each line, computed on demand.
+     */
+    volatile transient int[] lineStarts
+    
     def int getOffSet(Position position) {
-        val l = contents.length
-        val char NL = '\n'
-        var line = 0
-        var column = 0
-        for (var i = 0; i < l; i++) {
-            val ch = contents.charAt(i)
-            if (position.line === line && position.character === column) {
-                return i
-            }
-            if (ch === NL) {
-                line++
-                column = 0
-            } else {
-                column++
-            }
+        return getOffSet(contents, getLineStarts, position)
+    }
+    
+    /**
+     * @return the zero based line and character of the given offset.
+     */
+    def PositionImpl getPosition(int offset) {
+        if (offset < 0 || offset > contents.length) {
+            throw new IndexOutOfBoundsException(offset + " text was : " + contents)
         }
-        if (position.line === line && position.character === column) {
-            return l
+        val starts = getLineStarts
+        var line = Arrays.binarySearch(starts, offset)
+        if (line < 0) {
+            line = -line - 2
         }
-        throw new IndexOutOfBoundsException(position.toString + " text was : "+contents)
+        return newPosition(line, offset - starts.get(line))
     }
     
     def Document applyChanges(Iterable<? extends TextEdit> changes) {
-        var newContent = contents
+        val text = new StringBuilder(contents)
+        var starts = getLineStarts
         for (change : changes) {
             if (change.range === null) {
-                newContent = change.newText
+                text.setLength(0)
+                text.append(change.newText)
+                starts = computeLineStarts(change.newText)
             } else {
-                val start = getOffSet(change.range.start)
-                val end = getOffSet(change.range.end)
-                newContent = newContent.substring(0, start) + change.newText + newContent.substring(end)
+                val start = getOffSet(text, starts, change.range.start)
+                val end = getOffSet(text, starts, change.range.end)
+                text.replace(start, end, change.newText)
+                starts = updateLineStarts(starts, start, end, change.newText)
             }
         }
-        return new Document(version + 1, newContent)
+        val result = new Document(version + 1, text.toString)
+        result.lineStarts = starts
+        return result
+    }
+    
+    protected def int[] getLineStarts() {
+        if (lineStarts === null) {
+            lineStarts = computeLineStarts(contents)
+        }
+        return lineStarts
+    }
+    
+    def private static int getOffSet(CharSequence text, int[] starts, Position position) {
+        val line = position.line
+        if (line >= 0 && line < starts.length) {
+            val start = starts.get(line)
+            val end = if (line + 1 < starts.length) starts.get(line + 1) - 1 else text.length
+            if (position.character >= 0 && position.character <= end - start) {
+                return start + position.character
+            }
+        }
+        throw new IndexOutOfBoundsException(position.toString + " text was : " + text)
+    }
+    
+    def private static int[] computeLineStarts(String text) {
+        var count = 1
+        var index = text.indexOf(NL)
+        while (index !== -1) {
+            count++
+            index = text.indexOf(NL, index + 1)
+        }
+        val result = newIntArrayOfSize(count)
+        var line = 1
+        index = text.indexOf(NL)
+        while (index !== -1) {
+            result.set(line, index + 1)
+            line++
+            index = text.indexOf(NL, index + 1)
+        }
+        return result
+    }
+    
+    /**
+     * Line starts up to the start of the replaced range are kept, the ones within the range are dropped and the
+     * ones after it are shifted. The line breaks of the new text are inserted in between.
+     */
+    def private static int[] updateLineStarts(int[] starts, int start, int end, String newText) {
+        var keep = Arrays.binarySearch(starts, start)
+        keep = if (keep < 0) -keep - 1 else keep + 1
+        var skip = Arrays.binarySearch(starts, end)
+        skip = if (skip < 0) -skip - 1 else skip + 1
+        val inserted = computeLineStarts(newText)
+        val result = newIntArrayOfSize(keep + inserted.length - 1 + starts.length - skip)
+        System.arraycopy(starts, 0, result, 0, keep)
+        for (var i = 1; i < inserted.length; i++) {
+            result.set(keep + i - 1, start + inserted.get(i))
+        }
+        val delta = newText.length - (end - start)
+        val offset = keep + inserted.length - 1
+        for (var i = skip; i < starts.length; i++) {
+            result.set(offset + i - skip, starts.get(i) + delta)
+        }
+        return result
     }
     
 }
\ No newline at end of file
@@ -45,6 +45,17 @@ class DocumentExtensions {
 		return null
 	}
 
+	/**
+	 * Uses the line index of the document, which is cheaper than the node model if the document is at hand.
+	 */
+	def PositionImpl newPosition(Document document, int offset) {
+		return document.getPosition(offset)
+	}
+
+	def RangeImpl newRange(Document document, int startOffset, int endOffset) {
+		return newRange(document.getPosition(startOffset), document.getPosition(endOffset))
+	}
+
 	def RangeImpl newRange(Resource resource, int startOffset, int endOffset) {
 		val startPosition = resource.newPosition(startOffset)
 		val endPosition = resource.newPosition(endOffset)
@@ -131,10 +131,10 @@ import org.eclipse.xtext.resource.IMimeTypeProvider
 		    result.supportedLanguages.add(language)
 		}
 
-		requestManager.runWrite([ cancelIndicator |
+		validateAfter(requestManager.runWrite([ cancelIndicator |
 			val rootURI = URI.createFileURI(params.rootPath)
 			workspaceManager.initialize(rootURI, [this.publishDiagnostics($0, $1)], cancelIndicator)
-		], CancellableIndicator.NullImpl)
+		], CancellableIndicator.NullImpl))
 
 		return CompletableFuture.completedFuture(result)
 	}
@@ -173,23 +173,25 @@ import org.eclipse.xtext.resource.IMimeTypeProvider
 	// end notification callbacks
 	// file/content change events
 	override didOpen(DidOpenTextDocumentParams params) {
-		requestManager.runWrite [ cancelIndicator |
+		validateAfter(requestManager.runWrite [ cancelIndicator |
 			workspaceManager.didOpen(params.textDocument.uri.toUri, params.textDocument.version, params.textDocument.text, cancelIndicator)
-		]
+		])
 	}
 
 	override didChange(DidChangeTextDocumentParams params) {
-		requestManager.runWrite [ cancelIndicator |
-			workspaceManager.didChange(params.textDocument.uri.toUri, params.textDocument.version, params.contentChanges.map [ event |
+		validateAfter(requestManager.runWriteAndBuild([ cancelIndicator |
+			workspaceManager.didChangeTextDocumentContent(params.textDocument.uri.toUri, params.textDocument.version, params.contentChanges.map [ event |
 				newTextEdit(event.range as RangeImpl, event.text)
 			], cancelIndicator)
-		]
+		], [ cancelIndicator |
+			workspaceManager.doBuild(cancelIndicator)
+		]))
 	}
 
 	override didClose(DidCloseTextDocumentParams params) {
-		requestManager.runWrite [ cancelIndicator |
+		validateAfter(requestManager.runWrite [ cancelIndicator |
 			workspaceManager.didClose(params.textDocument.uri.toUri, cancelIndicator)
-		]
+		])
 	}
 
 	override didSave(DidSaveTextDocumentParams params) {
@@ -199,7 +201,7 @@ import org.eclipse.xtext.resource.IMimeTypeProvider
 	}
 
 	override didChangeWatchedFiles(DidChangeWatchedFilesParams params) {
-		requestManager.runWrite [ cancelIndicator |
+		validateAfter(requestManager.runWriteAndBuild([
 			val dirtyFiles = newArrayList
 			val deletedFiles = newArrayList
 			for (fileEvent : params.changes) {
@@ -209,7 +211,19 @@ import org.eclipse.xtext.resource.IMimeTypeProvider
 					dirtyFiles += toUri(fileEvent.uri)
 				}
 			}
-			workspaceManager.doBuild(dirtyFiles, deletedFiles, cancelIndicator)
+			workspaceManager.queueBuild(dirtyFiles, deletedFiles)
+		], [ cancelIndicator |
+			workspaceManager.doBuild(cancelIndicator)
+		]))
+	}
+
+	/**
+	 * Validates the resources affected by the given build as a read request, so the validation neither delays
+	 * the build nor the requests that only need the index. A newer build cancels the validation.
+	 */
+	protected def void validateAfter(CompletableFuture<?> build) {
+		requestManager.runReadAfter(build) [ cancelIndicator |
+			workspaceManager.doValidate(cancelIndicator)
 		]
 	}
 
@@ -9,23 +9,30 @@ package org.eclipse.xtext.ide.server
 
 import com.google.inject.Inject
 import com.google.inject.Provider
+import io.typefox.lsapi.TextEdit
 import java.util.List
 import java.util.Map
 import org.eclipse.emf.common.util.URI
+import org.eclipse.emf.common.util.WrappedException
 import org.eclipse.emf.ecore.resource.Resource
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.build.BuildRequest
 import org.eclipse.xtext.build.IncrementalBuilder
 import org.eclipse.xtext.build.IncrementalBuilder.Result
 import org.eclipse.xtext.build.IndexState
+import org.eclipse.xtext.build.Source2GeneratedMapping
 import org.eclipse.xtext.resource.IExternalContentSupport
 import org.eclipse.xtext.resource.IExternalContentSupport.IExternalContentProvider
 import org.eclipse.xtext.resource.IResourceServiceProvider
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet
+import org.eclipse.xtext.resource.XtextResource
 import org.eclipse.xtext.resource.XtextResourceSet
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions
+import org.eclipse.xtext.resource.impl.PersistentResourceDescriptionsData
 import org.eclipse.xtext.resource.impl.ProjectDescription
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
 import org.eclipse.xtext.util.IFileSystemScanner
+import org.eclipse.xtext.validation.CheckMode
 import org.eclipse.xtext.validation.Issue
 import org.eclipse.xtext.util.CancelIndicator
 
@@ -42,7 +49,7 @@ class ProjectManager {
     @Inject protected IExternalContentSupport externalContentSupport
     
     @Accessors(PUBLIC_GETTER)
-    IndexState indexState = new IndexState
+    IndexState indexState = new IndexState(new PersistentResourceDescriptionsData(emptyList), new Source2GeneratedMapping)
     URI baseDir
     (URI, Iterable<Issue>)=>void issueAcceptor
     Provider<Map<String, ResourceDescriptionsData>> indexProvider
@@ -51,6 +58,12 @@ class ProjectManager {
     @Accessors(PUBLIC_GETTER)
     XtextResourceSet resourceSet
     
+    /**
+     * The resources of the open documents. They are kept across builds, thus a document is only parsed once and its
+     * changes are applied to its resource by the partial parser.
+     */
+    val Map<URI, XtextResource> openResources = newHashMap
+    
     def Result initialize(URI baseDir, (URI, Iterable<Issue>)=>void acceptor, IExternalContentProvider openedDocumentsContentProvider, Provider<Map<String, ResourceDescriptionsData>> indexProvider, CancelIndicator cancelIndicator) {
         val uris = newArrayList
         this.baseDir = baseDir
@@ -68,6 +81,11 @@ class ProjectManager {
         ])
         indexState = result.indexState
         resourceSet = request.resourceSet
+        for (resource : resourceSet.resources) {
+            if (resource instanceof XtextResource && resource.isLoaded
+                    && openedDocumentsContentProvider.hasContent(resource.URI))
+                openResources.put(resource.URI, resource as XtextResource)
+        }
         return result;
     }
 
@@ -77,12 +95,17 @@ class ProjectManager {
             it.resourceSet = createFreshResourceSet(new ResourceDescriptionsData(emptyList))
             it.state = new IndexState(indexState.resourceDescriptions.copy, indexState.fileMappings.copy)
             it.resourceSet = createFreshResourceSet(state.resourceDescriptions)
+            reuseOpenResources(it.resourceSet)
+            val newIndex = state.resourceDescriptions
+            it.resourceSetFactory = [createFreshResourceSet(newIndex)]
             it.dirtyFiles = changedFiles
             it.deletedFiles = deletedFiles
             afterValidate = [ uri, issues |
                 issueAcceptor.apply(uri, issues)
                 return true
             ]
+            // the workspace manager validates the affected resources after the build
+            skipValidation = true
             it.cancelIndicator = cancelIndicator
         ]
     }
@@ -99,8 +122,116 @@ class ProjectManager {
         ]
     }
     
+    /**
+     * Moves the resources of the open documents into the resource set of the next build, so they are not parsed
+     * again. Their links were computed in the previous resource set, thus they are relinked. The resources of
+     * documents that were closed or whose text does not match the open document anymore are dropped.
+     */
+    protected def void reuseOpenResources(XtextResourceSet target) {
+        val iterator = openResources.values.iterator
+        while (iterator.hasNext) {
+            val resource = iterator.next
+            val content = openedDocumentsContentProvider.getContent(resource.URI)
+            if (content !== null && resource.parseResult?.rootNode?.text == content) {
+                target.resources += resource
+                resource.relink
+                resource.cache.clear(resource)
+            } else {
+                iterator.remove
+            }
+        }
+    }
+    
+    /**
+     * Applies the changes of an open document to its resource using the partial parser, so read requests see them
+     * before the next build. Must run as a write request, since read requests use the resource. The next build
+     * reuses the resource and only has to relink it and compute the index delta. If the update is cancelled, e.g.
+     * by a newer change of the document, the resource is {@link #discardResource(URI) discarded} instead.
+     * 
+     * @param document the document before the changes were applied
+     * @return <code>false</code> if the resource has not been updated, so the next build has to parse the document
+     */
+    def boolean updateResource(URI uri, Document document, Iterable<? extends TextEdit> changes, CancelIndicator cancelIndicator) {
+        val resource = openResources.get(uri)
+        if (resource === null) {
+            discardResource(uri)
+            return false
+        }
+        var current = document
+        val iterator = changes.iterator
+        while (iterator.hasNext) {
+            if (cancelIndicator.isCanceled) {
+                discardResource(uri)
+                return false
+            }
+            val change = iterator.next
+            if (change.range === null) {
+                resource.reparse(change.newText)
+            } else {
+                val start = current.getOffSet(change.range.start)
+                val end = current.getOffSet(change.range.end)
+                resource.update(start, end - start, change.newText)
+            }
+            if (iterator.hasNext) {
+                current = current.applyChanges(#[change])
+            }
+        }
+        return true
+    }
+    
+    /**
+     * Discards the resource of the open document with the given URI, so read requests and the next build load it
+     * from the document again.
+     */
+    protected def void discardResource(URI uri) {
+        openResources.remove(uri)
+        val resource = resourceSet?.getResource(uri, false)
+        if (resource !== null) {
+            resource.unload
+            resourceSet.resources -= resource
+        }
+    }
+    
+    /**
+     * Validates the resource with the given URI against the current index and loads it if necessary. Since the
+     * validation may run as a read request, concurrently with other read requests, it holds the
+     * {@link #getLock(XtextResourceSet) lock} of the resource set while it loads and validates the resource.
+     * 
+     * @return the issues, or <code>null</code> if the resource can't be validated now, e.g. because it is not part
+     *         of the index of this project or can't be loaded
+     */
+    def List<Issue> validate(URI uri, CancelIndicator cancelIndicator) {
+        val resourceSet = this.resourceSet
+        if (resourceSet === null || indexState.resourceDescriptions.getResourceDescription(uri) === null)
+            return null
+        val resourceValidator = languagesRegistry.getResourceServiceProvider(uri)?.resourceValidator
+        if (resourceValidator === null)
+            return emptyList
+        synchronized (resourceSet.lock) {
+            val resource = try {
+                openResources.get(uri) ?: resourceSet.getResource(uri, true)
+            } catch (WrappedException e) {
+                return null
+            }
+            return resourceValidator.validate(resource, CheckMode.ALL, cancelIndicator)
+        }
+    }
+    
+    /**
+     * @return the lock that excludes the other mutators of the given resource set, i.e. the lock of a
+     *         {@link SynchronizedXtextResourceSet} like the one bound by the {@link ServerModule}
+     */
+    protected def Object getLock(XtextResourceSet resourceSet) {
+        if (resourceSet instanceof SynchronizedXtextResourceSet)
+            return resourceSet.lock
+        return resourceSet
+    }
+    
+    /**
+     * @return the resource of the open document with the given URI, or the resource from the current resource set
+     */
     def Resource getResource(URI uri) {
-        resourceSet.getResource(uri, true)
+        openResources.get(uri) ?: resourceSet.getResource(uri, true)
     }
     
 }
@@ -13,8 +13,10 @@ import io.typefox.lsapi.services.LanguageServer
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
 import org.eclipse.xtext.ide.server.concurrent.RequestManager
+import org.eclipse.xtext.resource.ConcurrentXtextResourceSet
 import org.eclipse.xtext.resource.IResourceServiceProvider
 import org.eclipse.xtext.resource.ResourceServiceProviderServiceLoader
+import org.eclipse.xtext.resource.XtextResourceSet
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -31,6 +33,7 @@ class ServerModule extends AbstractModule {
 		
     	bind(LanguageServer).to(LanguageServerImpl)
         bind(IResourceServiceProvider.Registry).toProvider(ResourceServiceProviderServiceLoader)
+        bind(XtextResourceSet).to(ConcurrentXtextResourceSet)
     }
     
 }
\ No newline at end of file
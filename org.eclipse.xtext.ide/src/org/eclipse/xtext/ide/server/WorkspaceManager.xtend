@@ -17,6 +17,7 @@ import java.util.Map
 import java.util.Set
 import org.eclipse.emf.common.util.URI
 import org.eclipse.xtext.resource.IExternalContentSupport.IExternalContentProvider
+import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.xtext.resource.XtextResource
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions
@@ -54,6 +55,9 @@ class WorkspaceManager {
     val dirtyFiles = <URI>newLinkedHashSet
     val deletedFiles = <URI>newLinkedHashSet
     
+    (URI, Iterable<Issue>)=>void issueAcceptor
+    val toValidate = <URI>newLinkedHashSet
+    
     protected def void queue(Set<URI> files, Collection<URI> toRemove, Collection<URI> toAdd) {
     	files -= toRemove
     	files += toAdd
@@ -61,17 +65,33 @@ class WorkspaceManager {
 
     def void initialize(URI baseDir, (URI, Iterable<Issue>)=>void acceptor, CancelIndicator cancelIndicator) {
         this.baseDir = baseDir
+        this.issueAcceptor = acceptor
         // TODO support multi-projects
         // We will need to figure out how we can identify project structure, dependencies, source folders, etc...
         val projectManager = projectManagerProvider.get
         val indexResult = projectManager.initialize(baseDir, acceptor, openedDocumentsContentProvider, [fullIndex], cancelIndicator)
         baseDir2ProjectManager.put(baseDir, projectManager)
         fullIndex.put("DEFAULT", indexResult.indexState.resourceDescriptions)
+        queueValidation(indexResult.affectedResources)
     }
 
     def void doBuild(List<URI> dirtyFiles, List<URI> deletedFiles, CancelIndicator cancelIndicator) {
+    	queueBuild(dirtyFiles, deletedFiles)
+    	internalBuild(cancelIndicator)
+    }
+    
+    /**
+     * Remembers the given files for the next build without building them.
+     */
+    def void queueBuild(List<URI> dirtyFiles, List<URI> deletedFiles) {
     	queue(this.dirtyFiles, deletedFiles, dirtyFiles)
     	queue(this.deletedFiles, dirtyFiles, deletedFiles)
+    }
+    
+    /**
+     * Builds all files that have been queued since the last build.
+     */
+    def void doBuild(CancelIndicator cancelIndicator) {
     	internalBuild(cancelIndicator)
     }
     
@@ -84,12 +104,79 @@ class WorkspaceManager {
 			
 			val result = entry.value.doBuild(projectDirtyFiles, projectDeletedFiles, cancelIndicator)
         	allDirty.addAll(result.affectedResources.map[uri])
+        	queueValidation(result.affectedResources)
         	
         	this.dirtyFiles -= projectDirtyFiles
         	this.deletedFiles -= projectDeletedFiles
         }
     }
 
+    /**
+     * Remembers the resources of the given deltas for the next {@link #doValidate(CancelIndicator) validation}.
+     */
+    protected def void queueValidation(List<IResourceDescription.Delta> deltas) {
+        synchronized (toValidate) {
+            for (delta : deltas) {
+                if (delta.getNew === null)
+                    toValidate -= delta.uri
+                else
+                    toValidate += delta.uri
+            }
+        }
+    }
+    
+    /**
+     * Validates the resources that were affected by the builds since the last validation, open documents first.
+     * The issues are published in batches, at the latest after the {@link #getDiagnosticsPublishInterval() publish
+     * interval}. If the validation is cancelled, the unpublished issues are dropped and the remaining resources are
+     * validated by the next call. Resources that can't be validated now, e.g. because they can't be loaded, stay
+     * queued for the next call, too.
+     * 
+     * @return the URIs of the resources whose issues have been published
+     */
+    def List<URI> doValidate(CancelIndicator cancelIndicator) {
+        val uris = synchronized (toValidate) {
+            toValidate.sortBy[!openDocuments.containsKey(it)]
+        }
+        val published = newArrayList
+        val batch = <URI, List<Issue>>newLinkedHashMap
+        var lastPublished = System.currentTimeMillis
+        for (uri : uris) {
+            val issues = getProjectManager(uri)?.validate(uri, cancelIndicator)
+            if (cancelIndicator.isCanceled)
+                return published
+            if (issues !== null) {
+                batch.put(uri, issues)
+                if (System.currentTimeMillis - lastPublished >= diagnosticsPublishInterval) {
+                    published += batch.keySet
+                    publishIssues(batch)
+                    lastPublished = System.currentTimeMillis
+                }
+            }
+        }
+        published += batch.keySet
+        publishIssues(batch)
+        return published
+    }
+    
+    protected def void publishIssues(Map<URI, List<Issue>> batch) {
+        synchronized (toValidate) {
+            toValidate -= batch.keySet
+        }
+        batch.forEach [ uri, issues |
+            issueAcceptor?.apply(uri, issues)
+        ]
+        batch.clear
+    }
+    
+    /**
+     * @return the time in milliseconds after which the issues collected by {@link #doValidate(CancelIndicator)} are
+     *         published, even if not all resources have been validated yet
+     */
+    protected def long getDiagnosticsPublishInterval() {
+        return 200
+    }
+
     def IResourceDescriptions getIndex() {
     	return new ChunkedResourceDescriptions(fullIndex)
     }
@@ -113,9 +200,20 @@ class WorkspaceManager {
     }
 
     def didChange(URI uri, int version, Iterable<TextEdit> changes, CancelIndicator cancelIndicator) {
+        didChangeTextDocumentContent(uri, version, changes, cancelIndicator)
+        doBuild(cancelIndicator)
+    }
+    
+    /**
+     * Applies the changes to the opened document and its resource and queues it for the next build. If the given
+     * cancel indicator is cancelled, only the document is changed and the next build parses it again.
+     */
+    def void didChangeTextDocumentContent(URI uri, int version, Iterable<TextEdit> changes, CancelIndicator cancelIndicator) {
         val contents = openDocuments.get(uri)
-        openDocuments.put(uri, contents.applyChanges(changes))
-        doBuild(#[uri], newArrayList, cancelIndicator)
+        val newContents = contents.applyChanges(changes)
+        getProjectManager(uri)?.updateResource(uri, contents, changes, cancelIndicator)
+        openDocuments.put(uri, newContents)
+        queueBuild(#[uri], newArrayList)
     }
     
     def didOpen(URI uri, int version, String contents, CancelIndicator cancelIndicator) {
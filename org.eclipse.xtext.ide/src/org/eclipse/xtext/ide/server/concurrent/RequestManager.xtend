@@ -7,13 +7,18 @@
  *******************************************************************************/
 package org.eclipse.xtext.ide.server.concurrent
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder
 import com.google.inject.Inject
 import com.google.inject.Singleton
 import com.google.inject.name.Named
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 import java.util.concurrent.LinkedBlockingQueue
-import java.util.concurrent.Semaphore
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
 import org.eclipse.xtext.util.CancelIndicator
 
 /**
@@ -25,8 +30,7 @@ class RequestManager {
 
 	public static val READ_EXECUTOR_SERVICE = 'org.eclipse.xtext.ide.server.concurrent.RequestManager.readExecutorService'
 	public static val WRITE_EXECUTOR_SERVICE = 'org.eclipse.xtext.ide.server.concurrent.RequestManager.writeExecutorService'
-
-	val final MAX_PERMITS = Integer.MAX_VALUE
+	public static val BUILD_DEBOUNCE_DELAY = 'org.eclipse.xtext.ide.server.concurrent.RequestManager.buildDebounceDelay'
 
 	@Inject
 	@Named(READ_EXECUTOR_SERVICE)
@@ -36,13 +40,63 @@ class RequestManager {
 	@Named(WRITE_EXECUTOR_SERVICE)
 	ExecutorService writeExecutorService
 
+	/**
+	 * The time in milliseconds a build scheduled by {@link #runWriteAndBuild(Procedure1, Procedure1) runWriteAndBuild}
+	 * waits for further changes before it starts. Defaults to <code>0</code>.
+	 */
+	@Inject(optional = true)
+	@Named(BUILD_DEBOUNCE_DELAY)
+	long buildDebounceDelay
+
+	ScheduledExecutorService buildScheduler
+
 	val cancelIndicators = new LinkedBlockingQueue<CancellableIndicator>
 
-	val semaphore = new Semaphore(MAX_PERMITS)
+	/**
+	 * Completes when the last submitted write request completed. Guarded by this.
+	 */
+	CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null)
+
+	/**
+	 * The read requests that were submitted since the last write request. Guarded by this.
+	 */
+	val readsSinceLastWrite = <CompletableFuture<?>>newArrayList
+
+	val queuedReads = new AtomicInteger
+
+	val queuedWrites = new AtomicInteger
+
+	val coalescedBuilds = new AtomicInteger
+
+	val buildGeneration = new AtomicLong
 
 	def void shutdown() {
 		readExecutorService.shutdown()
 		writeExecutorService.shutdown()
+		synchronized (this) {
+			buildScheduler?.shutdown()
+		}
+	}
+
+	/**
+	 * @return the number of read requests that were submitted but did not complete yet.
+	 */
+	def int getQueuedReads() {
+		return queuedReads.get
+	}
+
+	/**
+	 * @return the number of write requests, including builds, that were submitted but did not complete yet.
+	 */
+	def int getQueuedWrites() {
+		return queuedWrites.get
+	}
+
+	/**
+	 * @return the number of builds that were dropped because a later build superseded them.
+	 */
+	def int getCoalescedBuilds() {
+		return coalescedBuilds.get
 	}
 
 	def CompletableFuture<Void> runWrite((CancelIndicator)=>void writeRequest) {
@@ -51,7 +105,8 @@ class RequestManager {
 
 	/**
 	 * <p>
-	 * The given <i>write request</i> will be run first when <i>all running requests</i> completed.
+	 * The given <i>write request</i> will be run first when <i>all running requests</i> completed. The calling thread
+	 * never waits for them.
 	 * </p>
 	 * <p>
 	 * Currently <i>running requests</i> will be cancelled.
@@ -67,17 +122,89 @@ class RequestManager {
 		if (cancelIndicator instanceof CancellableIndicator)
 			cancelIndicators += cancelIndicator
 
-		semaphore.acquire(MAX_PERMITS)
-		return CompletableFuture.runAsync([
-			try {
+		queuedWrites.incrementAndGet
+		synchronized (this) {
+			readsSinceLastWrite += lastWrite
+			val runningRequests = CompletableFuture.allOf(readsSinceLastWrite).handle[$0, $1|null]
+			readsSinceLastWrite.clear
+			lastWrite = runningRequests.thenRunAsync([
 				writeRequest.apply(cancelIndicator)
-			} finally {
-				semaphore.release(MAX_PERMITS)
+			], writeExecutorService).whenComplete [
+				queuedWrites.decrementAndGet
+				if (cancelIndicator instanceof CancellableIndicator)
+					cancelIndicators -= cancelIndicator
+			]
+			return lastWrite
+		}
+	}
+
+	/**
+	 * <p>
+	 * The given <i>update</i> will be run as a write request that is only cancelled when another update is
+	 * submitted. A cancelled update still has to record its changes, it may only skip work that the build does
+	 * anyway. Afterwards the <i>build</i> is run as a write request, delayed by the
+	 * {@link #BUILD_DEBOUNCE_DELAY debounce delay}.
+	 * </p>
+	 * <p>
+	 * The build is dropped, or cancelled if it is already running, as soon as another update is submitted. Thus
+	 * consecutive updates result in a single build, which is expected to process the changes of all of them, e.g.
+	 * by building the union of the queued files. Read requests are not blocked by a pending build, thus the update
+	 * is expected to apply the changes to the state that read requests use.
+	 * </p>
+	 */
+	def CompletableFuture<Void> runWriteAndBuild((CancelIndicator)=>void update, (CancelIndicator)=>void build) {
+		val generation = buildGeneration.incrementAndGet
+		val updated = runWrite(update, [generation != buildGeneration.get])
+		return CompletableFuture.allOf(updated, scheduleBuild(generation, build))
+	}
+
+	protected def CompletableFuture<Void> scheduleBuild(long generation, (CancelIndicator)=>void build) {
+		if (buildDebounceDelay <= 0)
+			return runBuild(generation, build)
+		val result = new CompletableFuture<Void>
+		getBuildScheduler.schedule([
+			runBuild(generation, build).whenComplete [ $0, throwable |
+				if (throwable !== null)
+					result.completeExceptionally(throwable)
+				else
+					result.complete(null)
+			]
+		], buildDebounceDelay, TimeUnit.MILLISECONDS)
+		return result
+	}
+
+	protected def CompletableFuture<Void> runBuild(long generation, (CancelIndicator)=>void build) {
+		if (generation != buildGeneration.get) {
+			coalescedBuilds.incrementAndGet
+			return CompletableFuture.completedFuture(null)
+		}
+		return runWrite([ cancelIndicator |
+			// another update may have been submitted while this build was waiting for the running requests
+			if (generation != buildGeneration.get)
+				coalescedBuilds.incrementAndGet
+			else
+				build.apply(cancelIndicator)
+		], new RequestCancelIndicator() {
+			override isCanceled() {
+				return super.isCanceled || generation != buildGeneration.get
 			}
-		], writeExecutorService).whenComplete [
-			if (cancelIndicator instanceof CancellableIndicator)
-				cancelIndicators -= cancelIndicator
-		]
+		})
+	}
+
+	/**
+	 * <p>
+	 * The given <i>read request</i> will be run when the given request completed normally.
+	 * </p>
+	 */
+	def <V> CompletableFuture<V> runReadAfter(CompletableFuture<?> request, (CancelIndicator)=>V readRequest) {
+		return request.thenCompose[runRead(readRequest)]
+	}
+
+	protected def synchronized ScheduledExecutorService getBuildScheduler() {
+		if (buildScheduler === null)
+			buildScheduler = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactoryBuilder().setDaemon(true).setNameFormat('RequestManager-BuildScheduler-%d').build)
+		return buildScheduler
 	}
 
 	def <V> CompletableFuture<V> runRead((CancelIndicator)=>V readRequest) {
@@ -91,6 +218,7 @@ class RequestManager {
 	 * 	<li>concurrent with <i>running read requests</i>;</li>
 	 * 	<li>first when <i>running write requests</i> completed.</li>
 	 * </ul>
+	 * The calling thread never waits for the running write requests.
 	 * </p>
 	 * <p>
 	 * A provided cancel indicator should implement {@link org.eclipse.xtext.ide.server.concurrent.CancellableIndicator CancellableIndicator} 
@@ -101,17 +229,19 @@ class RequestManager {
 		if (cancelIndicator instanceof CancellableIndicator)
 			cancelIndicators += cancelIndicator
 
-		semaphore.acquire(1)
-		return CompletableFuture.supplyAsync([
-			try {
-				return readRequest.apply(cancelIndicator)
-			} finally {
-				semaphore.release(1)
-			}
-		], readExecutorService).whenComplete [
-			if (cancelIndicator instanceof CancellableIndicator)
-				cancelIndicators -= cancelIndicator
-		]
+		queuedReads.incrementAndGet
+		synchronized (this) {
+			val result = lastWrite.handle[$0, $1|null].thenApplyAsync([
+				readRequest.apply(cancelIndicator)
+			], readExecutorService).whenComplete [
+				queuedReads.decrementAndGet
+				if (cancelIndicator instanceof CancellableIndicator)
+					cancelIndicators -= cancelIndicator
+			]
+			readsSinceLastWrite.removeIf[done]
+			readsSinceLastWrite += result
+			return result
+		}
 	}
 
 }
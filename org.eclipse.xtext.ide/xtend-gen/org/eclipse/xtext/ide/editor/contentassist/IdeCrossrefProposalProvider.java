@@ -7,6 +7,7 @@
  */
 package org.eclipse.xtext.ide.editor.contentassist;
 
+import com.google.common.base.Objects;
 import com.google.common.base.Predicate;
 import com.google.inject.Inject;
 import org.apache.log4j.Logger;
@@ -16,7 +17,9 @@ import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.CrossReference;
 import org.eclipse.xtext.ide.editor.contentassist.ContentAssistContext;
 import org.eclipse.xtext.ide.editor.contentassist.ContentAssistEntry;
+import org.eclipse.xtext.ide.editor.contentassist.FQNPrefixMatcher;
 import org.eclipse.xtext.ide.editor.contentassist.IIdeContentProposalAcceptor;
+import org.eclipse.xtext.ide.editor.contentassist.IPrefixMatcher;
 import org.eclipse.xtext.ide.editor.contentassist.IdeContentProposalCreator;
 import org.eclipse.xtext.ide.editor.contentassist.IdeContentProposalPriorities;
 import org.eclipse.xtext.naming.IQualifiedNameConverter;
@@ -26,6 +29,7 @@ import org.eclipse.xtext.scoping.IScope;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Pure;
+import org.eclipse.xtext.xbase.lib.StringExtensions;
 
 /**
  * Special content assist proposal provider for cross-references.
@@ -46,6 +50,9 @@ public class IdeCrossrefProposalProvider {
   @Inject
   private IdeContentProposalPriorities proposalPriorities;
   
+  @Inject
+  private IPrefixMatcher prefixMatcher;
+  
   public void lookupCrossReference(final IScope scope, final CrossReference crossReference, final ContentAssistContext context, final IIdeContentProposalAcceptor acceptor, final Predicate<IEObjectDescription> filter) {
     try {
       Iterable<IEObjectDescription> _queryScope = this.queryScope(scope, crossReference, context);
@@ -75,9 +82,59 @@ public class IdeCrossrefProposalProvider {
   }
   
   protected Iterable<IEObjectDescription> queryScope(final IScope scope, final CrossReference crossReference, final ContentAssistContext context) {
+    if ((scope instanceof IScope.IPrefixAware)) {
+      if (((!StringExtensions.isNullOrEmpty(context.getPrefix())) && this.isPrefixQuerySupported())) {
+        String _queryPrefix = this.getQueryPrefix(context);
+        return ((IScope.IPrefixAware)scope).getElementsByPrefix(_queryPrefix);
+      }
+    }
     return scope.getAllElements();
   }
   
+  /**
+   * Whether the prefix matcher only accepts names with a segment that starts with the prefix, ignoring case. Only
+   * then the prefix can be pushed into {@link IScope.IPrefixAware prefix aware} scopes. Subclasses that create
+   * proposals from other strings than the names of the candidates have to return <code>false</code>.
+   * 
+   * @since 2.11
+   */
+  protected boolean isPrefixQuerySupported() {
+    Class<? extends IPrefixMatcher> _class = this.prefixMatcher.getClass();
+    boolean _equals = Objects.equal(_class, FQNPrefixMatcher.class);
+    if (_equals) {
+      IPrefixMatcher.IgnoreCase _delegate = ((FQNPrefixMatcher) this.prefixMatcher).getDelegate();
+      Class<? extends IPrefixMatcher.IgnoreCase> _class_1 = _delegate.getClass();
+      return Objects.equal(_class_1, IPrefixMatcher.IgnoreCase.class);
+    }
+    Class<? extends IPrefixMatcher> _class_2 = this.prefixMatcher.getClass();
+    return Objects.equal(_class_2, IPrefixMatcher.IgnoreCase.class);
+  }
+  
+  /**
+   * Returns the prefix up to the first delimiter of qualified names, since their segments are matched one by one.
+   * 
+   * @since 2.11
+   */
+  protected String getQueryPrefix(final ContentAssistContext context) {
+    final String prefix = context.getPrefix();
+    String _xifexpression = null;
+    if ((this.prefixMatcher instanceof FQNPrefixMatcher)) {
+      _xifexpression = ((FQNPrefixMatcher)this.prefixMatcher).getDelimiter();
+    } else {
+      _xifexpression = ".";
+    }
+    final String delimiter = _xifexpression;
+    boolean _isNullOrEmpty = StringExtensions.isNullOrEmpty(delimiter);
+    if (_isNullOrEmpty) {
+      return "";
+    }
+    final int index = prefix.indexOf(delimiter);
+    if ((index >= 0)) {
+      return prefix.substring(0, index);
+    }
+    return prefix;
+  }
+  
   protected ContentAssistEntry createProposal(final IEObjectDescription candidate, final CrossReference crossRef, final ContentAssistContext context) {
     QualifiedName _name = candidate.getName();
     String _string = this.qualifiedNameConverter.toString(_name);
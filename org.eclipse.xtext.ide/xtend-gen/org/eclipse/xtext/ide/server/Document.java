@@ -8,8 +8,11 @@
 package org.eclipse.xtext.ide.server;
 
 import io.typefox.lsapi.Position;
+import io.typefox.lsapi.PositionImpl;
 import io.typefox.lsapi.Range;
 import io.typefox.lsapi.TextEdit;
+import io.typefox.lsapi.util.LsapiFactories;
+import java.util.Arrays;
 import org.eclipse.xtend.lib.annotations.Data;
 import org.eclipse.xtext.xbase.lib.Pure;
 import org.eclipse.xtext.xbase.lib.util.ToStringBuilder;
@@ -21,62 +24,175 @@ import org.eclipse.xtext.xbase.lib.util.ToStringBuilder;
 @Data
 @SuppressWarnings("all")
 public class Document {
+  private final static char NL = '\n';
+  
   private final int version;
   
   private final String contents;
   
+  /**
+   * The offsets of the first character of each line, computed on demand.
+   */
+  private volatile transient int[] lineStarts;
+  
   public int getOffSet(final Position position) {
-    final int l = this.contents.length();
-    final char NL = '\n';
-    int line = 0;
-    int column = 0;
-    for (int i = 0; (i < l); i++) {
-      {
-        final char ch = this.contents.charAt(i);
-        if (((position.getLine() == line) && (position.getCharacter() == column))) {
-          return i;
-        }
-        if ((ch == NL)) {
-          line++;
-          column = 0;
-        } else {
-          column++;
-        }
-      }
+    int[] _lineStarts = this.getLineStarts();
+    return Document.getOffSet(this.contents, _lineStarts, position);
+  }
+  
+  /**
+   * @return the zero based line and character of the given offset.
+   */
+  public PositionImpl getPosition(final int offset) {
+    if (((offset < 0) || (offset > this.contents.length()))) {
+      throw new IndexOutOfBoundsException(((offset + " text was : ") + this.contents));
     }
-    if (((position.getLine() == line) && (position.getCharacter() == column))) {
-      return l;
+    final int[] starts = this.getLineStarts();
+    int line = Arrays.binarySearch(starts, offset);
+    if ((line < 0)) {
+      line = ((-line) - 2);
     }
-    String _string = position.toString();
-    String _plus = (_string + " text was : ");
-    String _plus_1 = (_plus + this.contents);
-    throw new IndexOutOfBoundsException(_plus_1);
+    int _get = starts[line];
+    int _minus = (offset - _get);
+    return LsapiFactories.newPosition(line, _minus);
   }
   
   public Document applyChanges(final Iterable<? extends TextEdit> changes) {
-    String newContent = this.contents;
+    final StringBuilder text = new StringBuilder(this.contents);
+    int[] starts = this.getLineStarts();
     for (final TextEdit change : changes) {
       Range _range = change.getRange();
       boolean _tripleEquals = (_range == null);
       if (_tripleEquals) {
+        text.setLength(0);
         String _newText = change.getNewText();
-        newContent = _newText;
+        text.append(_newText);
+        String _newText_1 = change.getNewText();
+        int[] _computeLineStarts = Document.computeLineStarts(_newText_1);
+        starts = _computeLineStarts;
       } else {
         Range _range_1 = change.getRange();
         Position _start = _range_1.getStart();
-        final int start = this.getOffSet(_start);
+        final int start = Document.getOffSet(text, starts, _start);
         Range _range_2 = change.getRange();
         Position _end = _range_2.getEnd();
-        final int end = this.getOffSet(_end);
-        String _substring = newContent.substring(0, start);
-        String _newText_1 = change.getNewText();
-        String _plus = (_substring + _newText_1);
-        String _substring_1 = newContent.substring(end);
-        String _plus_1 = (_plus + _substring_1);
-        newContent = _plus_1;
+        final int end = Document.getOffSet(text, starts, _end);
+        String _newText_2 = change.getNewText();
+        text.replace(start, end, _newText_2);
+        String _newText_3 = change.getNewText();
+        int[] _updateLineStarts = Document.updateLineStarts(starts, start, end, _newText_3);
+        starts = _updateLineStarts;
+      }
+    }
+    String _string = text.toString();
+    final Document result = new Document((this.version + 1), _string);
+    result.lineStarts = starts;
+    return result;
+  }
+  
+  protected int[] getLineStarts() {
+    if ((this.lineStarts == null)) {
+      int[] _computeLineStarts = Document.computeLineStarts(this.contents);
+      this.lineStarts = _computeLineStarts;
+    }
+    return this.lineStarts;
+  }
+  
+  private static int getOffSet(final CharSequence text, final int[] starts, final Position position) {
+    final int line = position.getLine();
+    if (((line >= 0) && (line < starts.length))) {
+      final int start = starts[line];
+      int _xifexpression = (int) 0;
+      if (((line + 1) < starts.length)) {
+        int _get = starts[(line + 1)];
+        _xifexpression = (_get - 1);
+      } else {
+        _xifexpression = text.length();
       }
+      final int end = _xifexpression;
+      if (((position.getCharacter() >= 0) && (position.getCharacter() <= (end - start)))) {
+        int _character = position.getCharacter();
+        return (start + _character);
+      }
+    }
+    String _string = position.toString();
+    String _plus = (_string + " text was : ");
+    String _plus_1 = (_plus + text);
+    throw new IndexOutOfBoundsException(_plus_1);
+  }
+  
+  private static int[] computeLineStarts(final String text) {
+    int count = 1;
+    int index = text.indexOf(Document.NL);
+    while ((index != (-1))) {
+      {
+        count++;
+        int _indexOf = text.indexOf(Document.NL, (index + 1));
+        index = _indexOf;
+      }
+    }
+    final int[] result = new int[count];
+    int line = 1;
+    int _indexOf = text.indexOf(Document.NL);
+    index = _indexOf;
+    while ((index != (-1))) {
+      {
+        result[line] = (index + 1);
+        line++;
+        int _indexOf_1 = text.indexOf(Document.NL, (index + 1));
+        index = _indexOf_1;
+      }
+    }
+    return result;
+  }
+  
+  /**
+   * Line starts up to the start of the replaced range are kept, the ones within the range are dropped and the
+   * ones after it are shifted. The line breaks of the new text are inserted in between.
+   */
+  private static int[] updateLineStarts(final int[] starts, final int start, final int end, final String newText) {
+    int keep = Arrays.binarySearch(starts, start);
+    int _xifexpression = (int) 0;
+    if ((keep < 0)) {
+      _xifexpression = ((-keep) - 1);
+    } else {
+      _xifexpression = (keep + 1);
+    }
+    keep = _xifexpression;
+    int skip = Arrays.binarySearch(starts, end);
+    int _xifexpression_1 = (int) 0;
+    if ((skip < 0)) {
+      _xifexpression_1 = ((-skip) - 1);
+    } else {
+      _xifexpression_1 = (skip + 1);
+    }
+    skip = _xifexpression_1;
+    final int[] inserted = Document.computeLineStarts(newText);
+    int _length = inserted.length;
+    int _plus = (keep + _length);
+    int _minus = (_plus - 1);
+    int _length_1 = starts.length;
+    int _plus_1 = (_minus + _length_1);
+    int _minus_1 = (_plus_1 - skip);
+    final int[] result = new int[_minus_1];
+    System.arraycopy(starts, 0, result, 0, keep);
+    for (int i = 1; (i < inserted.length); i++) {
+      int _get = inserted[i];
+      int _plus_2 = (start + _get);
+      result[((keep + i) - 1)] = _plus_2;
     }
-    return new Document((this.version + 1), newContent);
+    int _length_2 = newText.length();
+    int _minus_2 = (end - start);
+    final int delta = (_length_2 - _minus_2);
+    int _length_3 = inserted.length;
+    int _plus_3 = (keep + _length_3);
+    final int offset = (_plus_3 - 1);
+    for (int i = skip; (i < starts.length); i++) {
+      int _get = starts[i];
+      int _plus_4 = (_get + delta);
+      result[((offset + i) - skip)] = _plus_4;
+    }
+    return result;
   }
   
   public Document(final int version, final String contents) {
@@ -17,6 +17,7 @@ import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.ide.server.Document;
 import org.eclipse.xtext.ide.server.UriExtensions;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
@@ -55,6 +56,19 @@ public class DocumentExtensions {
     return null;
   }
   
+  /**
+   * Uses the line index of the document, which is cheaper than the node model if the document is at hand.
+   */
+  public PositionImpl newPosition(final Document document, final int offset) {
+    return document.getPosition(offset);
+  }
+  
+  public RangeImpl newRange(final Document document, final int startOffset, final int endOffset) {
+    PositionImpl _position = document.getPosition(startOffset);
+    PositionImpl _position_1 = document.getPosition(endOffset);
+    return LsapiFactories.newRange(_position, _position_1);
+  }
+  
   public RangeImpl newRange(final Resource resource, final int startOffset, final int endOffset) {
     final PositionImpl startPosition = this.newPosition(resource, startOffset);
     final PositionImpl endPosition = this.newPosition(resource, endOffset);
@@ -213,7 +213,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Win
       };
       this.workspaceManager.initialize(rootURI, _function_2, cancelIndicator);
     };
-    this.requestManager.runWrite(_function_1, CancellableIndicator.NullImpl);
+    CompletableFuture<Void> _runWrite = this.requestManager.runWrite(_function_1, CancellableIndicator.NullImpl);
+    this.validateAfter(_runWrite);
     return CompletableFuture.<InitializeResult>completedFuture(result);
   }
   
@@ -264,7 +265,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Win
       String _text = _textDocument_2.getText();
       this.workspaceManager.didOpen(_uri_1, _version, _text, cancelIndicator);
     };
-    this.requestManager.runWrite(_function);
+    CompletableFuture<Void> _runWrite = this.requestManager.runWrite(_function);
+    this.validateAfter(_runWrite);
   }
   
   @Override
@@ -282,9 +284,13 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Win
         return LsapiFactories.newTextEdit(((RangeImpl) _range), _text);
       };
       List<TextEdit> _map = ListExtensions.map(_contentChanges, _function_1);
-      this.workspaceManager.didChange(_uri_1, _version, _map, cancelIndicator);
+      this.workspaceManager.didChangeTextDocumentContent(_uri_1, _version, _map, cancelIndicator);
     };
-    this.requestManager.runWrite(_function);
+    final Procedure1<CancelIndicator> _function_2 = (CancelIndicator cancelIndicator) -> {
+      this.workspaceManager.doBuild(cancelIndicator);
+    };
+    CompletableFuture<Void> _runWriteAndBuild = this.requestManager.runWriteAndBuild(_function, _function_2);
+    this.validateAfter(_runWriteAndBuild);
   }
   
   @Override
@@ -295,7 +301,8 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Win
       URI _uri_1 = this._uriExtensions.toUri(_uri);
       this.workspaceManager.didClose(_uri_1, cancelIndicator);
     };
-    this.requestManager.runWrite(_function);
+    CompletableFuture<Void> _runWrite = this.requestManager.runWrite(_function);
+    this.validateAfter(_runWrite);
   }
   
   @Override
@@ -311,7 +318,7 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Win
   
   @Override
   public void didChangeWatchedFiles(final DidChangeWatchedFilesParams params) {
-    final Procedure1<CancelIndicator> _function = (CancelIndicator cancelIndicator) -> {
+    final Procedure1<CancelIndicator> _function = (CancelIndicator it) -> {
       final ArrayList<URI> dirtyFiles = CollectionLiterals.<URI>newArrayList();
       final ArrayList<URI> deletedFiles = CollectionLiterals.<URI>newArrayList();
       List<? extends FileEvent> _changes = params.getChanges();
@@ -328,9 +335,24 @@ public class LanguageServerImpl implements LanguageServer, WorkspaceService, Win
           dirtyFiles.add(_uri_3);
         }
       }
-      this.workspaceManager.doBuild(dirtyFiles, deletedFiles, cancelIndicator);
+      this.workspaceManager.queueBuild(dirtyFiles, deletedFiles);
     };
-    this.requestManager.runWrite(_function);
+    final Procedure1<CancelIndicator> _function_1 = (CancelIndicator cancelIndicator) -> {
+      this.workspaceManager.doBuild(cancelIndicator);
+    };
+    CompletableFuture<Void> _runWriteAndBuild = this.requestManager.runWriteAndBuild(_function, _function_1);
+    this.validateAfter(_runWriteAndBuild);
+  }
+  
+  /**
+   * Validates the resources affected by the given build as a read request, so the validation neither delays
+   * the build nor the requests that only need the index. A newer build cancels the validation.
+   */
+  protected void validateAfter(final CompletableFuture<?> build) {
+    final Function1<CancelIndicator, List<URI>> _function = (CancelIndicator cancelIndicator) -> {
+      return this.workspaceManager.doValidate(cancelIndicator);
+    };
+    this.requestManager.<List<URI>>runReadAfter(build, _function);
   }
   
   private List<Consumer<PublishDiagnosticsParams>> diagnosticListeners = CollectionLiterals.<Consumer<PublishDiagnosticsParams>>newArrayList();
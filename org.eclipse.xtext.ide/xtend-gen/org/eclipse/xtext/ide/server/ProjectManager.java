@@ -7,12 +7,21 @@
  */
 package org.eclipse.xtext.ide.server;
 
+import com.google.common.base.Objects;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import io.typefox.lsapi.Position;
+import io.typefox.lsapi.Range;
+import io.typefox.lsapi.TextEdit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtend.lib.annotations.AccessorType;
 import org.eclipse.xtend.lib.annotations.Accessors;
@@ -20,18 +29,30 @@ import org.eclipse.xtext.build.BuildRequest;
 import org.eclipse.xtext.build.IncrementalBuilder;
 import org.eclipse.xtext.build.IndexState;
 import org.eclipse.xtext.build.Source2GeneratedMapping;
+import org.eclipse.xtext.ide.server.Document;
+import org.eclipse.xtext.ide.server.ServerModule;
+import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.IExternalContentSupport;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
+import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.PersistentResourceDescriptionsData;
 import org.eclipse.xtext.resource.impl.ProjectDescription;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.IAcceptor;
 import org.eclipse.xtext.util.IFileSystemScanner;
+import org.eclipse.xtext.util.IResourceScopeCache;
+import org.eclipse.xtext.validation.CheckMode;
+import org.eclipse.xtext.validation.IResourceValidator;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
@@ -60,7 +81,15 @@ public class ProjectManager {
   protected IExternalContentSupport externalContentSupport;
   
   @Accessors(AccessorType.PUBLIC_GETTER)
-  private IndexState indexState = new IndexState();
+  private IndexState indexState = new Function0<IndexState>() {
+    public IndexState apply() {
+      List<IResourceDescription> _emptyList = CollectionLiterals.<IResourceDescription>emptyList();
+      PersistentResourceDescriptionsData _persistentResourceDescriptionsData = new PersistentResourceDescriptionsData(_emptyList);
+      Source2GeneratedMapping _source2GeneratedMapping = new Source2GeneratedMapping();
+      IndexState _indexState = new IndexState(_persistentResourceDescriptionsData, _source2GeneratedMapping);
+      return _indexState;
+    }
+  }.apply();
   
   private URI baseDir;
   
@@ -73,6 +102,12 @@ public class ProjectManager {
   @Accessors(AccessorType.PUBLIC_GETTER)
   private XtextResourceSet resourceSet;
   
+  /**
+   * The resources of the open documents. They are kept across builds, thus a document is only parsed once and its
+   * changes are applied to its resource by the partial parser.
+   */
+  private final Map<URI, XtextResource> openResources = CollectionLiterals.<URI, XtextResource>newHashMap();
+  
   public IncrementalBuilder.Result initialize(final URI baseDir, final Procedure2<? super URI, ? super Iterable<Issue>> acceptor, final IExternalContentSupport.IExternalContentProvider openedDocumentsContentProvider, final Provider<Map<String, ResourceDescriptionsData>> indexProvider, final CancelIndicator cancelIndicator) {
     final ArrayList<URI> uris = CollectionLiterals.<URI>newArrayList();
     this.baseDir = baseDir;
@@ -97,6 +132,13 @@ public class ProjectManager {
     this.indexState = _indexState;
     XtextResourceSet _resourceSet = request.getResourceSet();
     this.resourceSet = _resourceSet;
+    EList<Resource> _resources = this.resourceSet.getResources();
+    for (final Resource resource : _resources) {
+      if ((((resource instanceof XtextResource) && resource.isLoaded()) && this.openedDocumentsContentProvider.hasContent(resource.getURI()))) {
+        URI _uRI = resource.getURI();
+        this.openResources.put(_uRI, ((XtextResource) resource));
+      }
+    }
     return result;
   }
   
@@ -118,13 +160,22 @@ public class ProjectManager {
       ResourceDescriptionsData _resourceDescriptions_1 = _state.getResourceDescriptions();
       XtextResourceSet _createFreshResourceSet_1 = this.createFreshResourceSet(_resourceDescriptions_1);
       it.setResourceSet(_createFreshResourceSet_1);
+      XtextResourceSet _resourceSet = it.getResourceSet();
+      this.reuseOpenResources(_resourceSet);
+      IndexState _state_1 = it.getState();
+      final ResourceDescriptionsData newIndex = _state_1.getResourceDescriptions();
+      final Function0<XtextResourceSet> _function_1 = () -> {
+        return this.createFreshResourceSet(newIndex);
+      };
+      it.setResourceSetFactory(_function_1);
       it.setDirtyFiles(changedFiles);
       it.setDeletedFiles(deletedFiles);
-      final BuildRequest.IPostValidationCallback _function_1 = (URI uri, Iterable<Issue> issues) -> {
+      final BuildRequest.IPostValidationCallback _function_2 = (URI uri, Iterable<Issue> issues) -> {
         this.issueAcceptor.apply(uri, issues);
         return true;
       };
-      it.setAfterValidate(_function_1);
+      it.setAfterValidate(_function_2);
+      it.setSkipValidation(true);
       it.setCancelIndicator(cancelIndicator);
     };
     return ObjectExtensions.<BuildRequest>operator_doubleArrow(_buildRequest, _function);
@@ -148,8 +199,191 @@ public class ProjectManager {
     return ObjectExtensions.<XtextResourceSet>operator_doubleArrow(_get, _function);
   }
   
+  /**
+   * Moves the resources of the open documents into the resource set of the next build, so they are not parsed
+   * again. Their links were computed in the previous resource set, thus they are relinked. The resources of
+   * documents that were closed or whose text does not match the open document anymore are dropped.
+   */
+  protected void reuseOpenResources(final XtextResourceSet target) {
+    Collection<XtextResource> _values = this.openResources.values();
+    final Iterator<XtextResource> iterator = _values.iterator();
+    while (iterator.hasNext()) {
+      {
+        final XtextResource resource = iterator.next();
+        URI _uRI = resource.getURI();
+        final String content = this.openedDocumentsContentProvider.getContent(_uRI);
+        boolean _and = false;
+        if (!(content != null)) {
+          _and = false;
+        } else {
+          IParseResult _parseResult = resource.getParseResult();
+          ICompositeNode _rootNode = null;
+          if (_parseResult!=null) {
+            _rootNode=_parseResult.getRootNode();
+          }
+          String _text = null;
+          if (_rootNode!=null) {
+            _text=_rootNode.getText();
+          }
+          boolean _equals = Objects.equal(_text, content);
+          _and = _equals;
+        }
+        if (_and) {
+          EList<Resource> _resources = target.getResources();
+          _resources.add(resource);
+          resource.relink();
+          IResourceScopeCache _cache = resource.getCache();
+          _cache.clear(resource);
+        } else {
+          iterator.remove();
+        }
+      }
+    }
+  }
+  
+  /**
+   * Applies the changes of an open document to its resource using the partial parser, so read requests see them
+   * before the next build. Must run as a write request, since read requests use the resource. The next build
+   * reuses the resource and only has to relink it and compute the index delta. If the update is cancelled, e.g.
+   * by a newer change of the document, the resource is {@link #discardResource(URI) discarded} instead.
+   * 
+   * @param document the document before the changes were applied
+   * @return <code>false</code> if the resource has not been updated, so the next build has to parse the document
+   */
+  public boolean updateResource(final URI uri, final Document document, final Iterable<? extends TextEdit> changes, final CancelIndicator cancelIndicator) {
+    try {
+      final XtextResource resource = this.openResources.get(uri);
+      if ((resource == null)) {
+        this.discardResource(uri);
+        return false;
+      }
+      Document current = document;
+      final Iterator<? extends TextEdit> iterator = changes.iterator();
+      while (iterator.hasNext()) {
+        {
+          boolean _isCanceled = cancelIndicator.isCanceled();
+          if (_isCanceled) {
+            this.discardResource(uri);
+            return false;
+          }
+          final TextEdit change = iterator.next();
+          Range _range = change.getRange();
+          boolean _tripleEquals = (_range == null);
+          if (_tripleEquals) {
+            String _newText = change.getNewText();
+            resource.reparse(_newText);
+          } else {
+            Range _range_1 = change.getRange();
+            Position _start = _range_1.getStart();
+            final int start = current.getOffSet(_start);
+            Range _range_2 = change.getRange();
+            Position _end = _range_2.getEnd();
+            final int end = current.getOffSet(_end);
+            String _newText_1 = change.getNewText();
+            resource.update(start, (end - start), _newText_1);
+          }
+          boolean _hasNext = iterator.hasNext();
+          if (_hasNext) {
+            Document _applyChanges = current.applyChanges(Collections.<TextEdit>unmodifiableList(CollectionLiterals.<TextEdit>newArrayList(change)));
+            current = _applyChanges;
+          }
+        }
+      }
+      return true;
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  /**
+   * Discards the resource of the open document with the given URI, so read requests and the next build load it
+   * from the document again.
+   */
+  protected void discardResource(final URI uri) {
+    this.openResources.remove(uri);
+    Resource _resource = null;
+    if (this.resourceSet!=null) {
+      _resource=this.resourceSet.getResource(uri, false);
+    }
+    final Resource resource = _resource;
+    if ((resource != null)) {
+      resource.unload();
+      EList<Resource> _resources = this.resourceSet.getResources();
+      _resources.remove(resource);
+    }
+  }
+  
+  /**
+   * Validates the resource with the given URI against the current index and loads it if necessary. Since the
+   * validation may run as a read request, concurrently with other read requests, it holds the
+   * {@link #getLock(XtextResourceSet) lock} of the resource set while it loads and validates the resource.
+   * 
+   * @return the issues, or <code>null</code> if the resource can't be validated now, e.g. because it is not part
+   *         of the index of this project or can't be loaded
+   */
+  public List<Issue> validate(final URI uri, final CancelIndicator cancelIndicator) {
+    final XtextResourceSet resourceSet = this.resourceSet;
+    if (((resourceSet == null) || (this.indexState.getResourceDescriptions().getResourceDescription(uri) == null))) {
+      return null;
+    }
+    IResourceServiceProvider _resourceServiceProvider = this.languagesRegistry.getResourceServiceProvider(uri);
+    IResourceValidator _resourceValidator = null;
+    if (_resourceServiceProvider!=null) {
+      _resourceValidator=_resourceServiceProvider.getResourceValidator();
+    }
+    final IResourceValidator resourceValidator = _resourceValidator;
+    if ((resourceValidator == null)) {
+      return CollectionLiterals.<Issue>emptyList();
+    }
+    Object _lock = this.getLock(resourceSet);
+    synchronized (_lock) {
+      Resource _xtrycatchfinallyexpression = null;
+      try {
+        XtextResource _get = this.openResources.get(uri);
+        Resource _elvis = null;
+        if (_get != null) {
+          _elvis = _get;
+        } else {
+          Resource _resource = resourceSet.getResource(uri, true);
+          _elvis = _resource;
+        }
+        _xtrycatchfinallyexpression = _elvis;
+      } catch (final Throwable _t) {
+        if (_t instanceof WrappedException) {
+          return null;
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+      final Resource resource = _xtrycatchfinallyexpression;
+      return resourceValidator.validate(resource, CheckMode.ALL, cancelIndicator);
+    }
+  }
+  
+  /**
+   * @return the lock that excludes the other mutators of the given resource set, i.e. the lock of a
+   *         {@link SynchronizedXtextResourceSet} like the one bound by the {@link ServerModule}
+   */
+  protected Object getLock(final XtextResourceSet resourceSet) {
+    if ((resourceSet instanceof SynchronizedXtextResourceSet)) {
+      return ((SynchronizedXtextResourceSet)resourceSet).getLock();
+    }
+    return resourceSet;
+  }
+  
+  /**
+   * @return the resource of the open document with the given URI, or the resource from the current resource set
+   */
   public Resource getResource(final URI uri) {
-    return this.resourceSet.getResource(uri, true);
+    XtextResource _get = this.openResources.get(uri);
+    Resource _elvis = null;
+    if (_get != null) {
+      _elvis = _get;
+    } else {
+      Resource _resource = this.resourceSet.getResource(uri, true);
+      _elvis = _resource;
+    }
+    return _elvis;
   }
   
   @Pure
@@ -17,8 +17,10 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.eclipse.xtext.ide.server.LanguageServerImpl;
 import org.eclipse.xtext.ide.server.concurrent.RequestManager;
+import org.eclipse.xtext.resource.ConcurrentXtextResourceSet;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.ResourceServiceProviderServiceLoader;
+import org.eclipse.xtext.resource.XtextResourceSet;
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -42,5 +44,7 @@ public class ServerModule extends AbstractModule {
     _bind_2.to(LanguageServerImpl.class);
     AnnotatedBindingBuilder<IResourceServiceProvider.Registry> _bind_3 = this.<IResourceServiceProvider.Registry>bind(IResourceServiceProvider.Registry.class);
     _bind_3.toProvider(ResourceServiceProviderServiceLoader.class);
+    AnnotatedBindingBuilder<XtextResourceSet> _bind_4 = this.<XtextResourceSet>bind(XtextResourceSet.class);
+    _bind_4.to(ConcurrentXtextResourceSet.class);
   }
 }
@@ -14,10 +14,12 @@ import io.typefox.lsapi.TextEdit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.xtext.build.IncrementalBuilder;
@@ -82,6 +84,10 @@ public class WorkspaceManager {
   
   private final LinkedHashSet<URI> deletedFiles = CollectionLiterals.<URI>newLinkedHashSet();
   
+  private Procedure2<? super URI, ? super Iterable<Issue>> issueAcceptor;
+  
+  private final LinkedHashSet<URI> toValidate = CollectionLiterals.<URI>newLinkedHashSet();
+  
   protected void queue(final Set<URI> files, final Collection<URI> toRemove, final Collection<URI> toAdd) {
     Iterables.removeAll(files, toRemove);
     Iterables.<URI>addAll(files, toAdd);
@@ -89,6 +95,7 @@ public class WorkspaceManager {
   
   public void initialize(final URI baseDir, final Procedure2<? super URI, ? super Iterable<Issue>> acceptor, final CancelIndicator cancelIndicator) {
     this.baseDir = baseDir;
+    this.issueAcceptor = acceptor;
     final ProjectManager projectManager = this.projectManagerProvider.get();
     final Provider<Map<String, ResourceDescriptionsData>> _function = () -> {
       return this.fullIndex;
@@ -98,11 +105,27 @@ public class WorkspaceManager {
     IndexState _indexState = indexResult.getIndexState();
     ResourceDescriptionsData _resourceDescriptions = _indexState.getResourceDescriptions();
     this.fullIndex.put("DEFAULT", _resourceDescriptions);
+    List<IResourceDescription.Delta> _affectedResources = indexResult.getAffectedResources();
+    this.queueValidation(_affectedResources);
   }
   
   public void doBuild(final List<URI> dirtyFiles, final List<URI> deletedFiles, final CancelIndicator cancelIndicator) {
+    this.queueBuild(dirtyFiles, deletedFiles);
+    this.internalBuild(cancelIndicator);
+  }
+  
+  /**
+   * Remembers the given files for the next build without building them.
+   */
+  public void queueBuild(final List<URI> dirtyFiles, final List<URI> deletedFiles) {
     this.queue(this.dirtyFiles, deletedFiles, dirtyFiles);
     this.queue(this.deletedFiles, dirtyFiles, deletedFiles);
+  }
+  
+  /**
+   * Builds all files that have been queued since the last build.
+   */
+  public void doBuild(final CancelIndicator cancelIndicator) {
     this.internalBuild(cancelIndicator);
   }
   
@@ -131,12 +154,111 @@ public class WorkspaceManager {
         };
         List<URI> _map = ListExtensions.<IResourceDescription.Delta, URI>map(_affectedResources, _function_2);
         allDirty.addAll(_map);
+        List<IResourceDescription.Delta> _affectedResources_1 = result.getAffectedResources();
+        this.queueValidation(_affectedResources_1);
         Iterables.removeAll(this.dirtyFiles, projectDirtyFiles);
         Iterables.removeAll(this.deletedFiles, projectDeletedFiles);
       }
     }
   }
   
+  /**
+   * Remembers the resources of the given deltas for the next {@link #doValidate(CancelIndicator) validation}.
+   */
+  protected void queueValidation(final List<IResourceDescription.Delta> deltas) {
+    synchronized (this.toValidate) {
+      for (final IResourceDescription.Delta delta : deltas) {
+        IResourceDescription _new = delta.getNew();
+        boolean _tripleEquals = (_new == null);
+        if (_tripleEquals) {
+          URI _uri = delta.getUri();
+          this.toValidate.remove(_uri);
+        } else {
+          URI _uri_1 = delta.getUri();
+          this.toValidate.add(_uri_1);
+        }
+      }
+    }
+  }
+  
+  /**
+   * Validates the resources that were affected by the builds since the last validation, open documents first.
+   * The issues are published in batches, at the latest after the {@link #getDiagnosticsPublishInterval() publish
+   * interval}. If the validation is cancelled, the unpublished issues are dropped and the remaining resources are
+   * validated by the next call. Resources that can't be validated now, e.g. because they can't be loaded, stay
+   * queued for the next call, too.
+   * 
+   * @return the URIs of the resources whose issues have been published
+   */
+  public List<URI> doValidate(final CancelIndicator cancelIndicator) {
+    List<URI> _xsynchronizedexpression = null;
+    synchronized (this.toValidate) {
+      final Function1<URI, Boolean> _function = (URI it) -> {
+        boolean _containsKey = this.openDocuments.containsKey(it);
+        return Boolean.valueOf((!_containsKey));
+      };
+      _xsynchronizedexpression = IterableExtensions.<URI, Boolean>sortBy(this.toValidate, _function);
+    }
+    final List<URI> uris = _xsynchronizedexpression;
+    final ArrayList<URI> published = CollectionLiterals.<URI>newArrayList();
+    final LinkedHashMap<URI, List<Issue>> batch = CollectionLiterals.<URI, List<Issue>>newLinkedHashMap();
+    long lastPublished = System.currentTimeMillis();
+    for (final URI uri : uris) {
+      {
+        ProjectManager _projectManager = this.getProjectManager(uri);
+        List<Issue> _validate = null;
+        if (_projectManager!=null) {
+          _validate=_projectManager.validate(uri, cancelIndicator);
+        }
+        final List<Issue> issues = _validate;
+        boolean _isCanceled = cancelIndicator.isCanceled();
+        if (_isCanceled) {
+          return published;
+        }
+        if ((issues != null)) {
+          batch.put(uri, issues);
+          long _currentTimeMillis = System.currentTimeMillis();
+          long _minus = (_currentTimeMillis - lastPublished);
+          long _diagnosticsPublishInterval = this.getDiagnosticsPublishInterval();
+          boolean _greaterEqualsThan = (_minus >= _diagnosticsPublishInterval);
+          if (_greaterEqualsThan) {
+            Set<URI> _keySet = batch.keySet();
+            Iterables.<URI>addAll(published, _keySet);
+            this.publishIssues(batch);
+            long _currentTimeMillis_1 = System.currentTimeMillis();
+            lastPublished = _currentTimeMillis_1;
+          }
+        }
+      }
+    }
+    Set<URI> _keySet = batch.keySet();
+    Iterables.<URI>addAll(published, _keySet);
+    this.publishIssues(batch);
+    return published;
+  }
+  
+  protected void publishIssues(final Map<URI, List<Issue>> batch) {
+    synchronized (this.toValidate) {
+      Set<URI> _keySet = batch.keySet();
+      Iterables.removeAll(this.toValidate, _keySet);
+    }
+    final BiConsumer<URI, List<Issue>> _function = (URI uri, List<Issue> issues) -> {
+      if (this.issueAcceptor!=null) {
+        this.issueAcceptor.apply(uri, issues);
+      }
+    };
+    batch.forEach(_function);
+    batch.clear();
+  }
+  
+  /**
+   * @return the time in milliseconds after which the issues collected by {@link #doValidate(CancelIndicator)} are
+   *         published, even if not all resources have been validated yet
+   */
+  protected long getDiagnosticsPublishInterval() {
+    return 200;
+  }
+  
   public IResourceDescriptions getIndex() {
     return new ChunkedResourceDescriptions(this.fullIndex);
   }
@@ -170,11 +292,24 @@ public class WorkspaceManager {
   }
   
   public void didChange(final URI uri, final int version, final Iterable<TextEdit> changes, final CancelIndicator cancelIndicator) {
+    this.didChangeTextDocumentContent(uri, version, changes, cancelIndicator);
+    this.doBuild(cancelIndicator);
+  }
+  
+  /**
+   * Applies the changes to the opened document and its resource and queues it for the next build. If the given
+   * cancel indicator is cancelled, only the document is changed and the next build parses it again.
+   */
+  public void didChangeTextDocumentContent(final URI uri, final int version, final Iterable<TextEdit> changes, final CancelIndicator cancelIndicator) {
     final Document contents = this.openDocuments.get(uri);
-    Document _applyChanges = contents.applyChanges(changes);
-    this.openDocuments.put(uri, _applyChanges);
+    final Document newContents = contents.applyChanges(changes);
+    ProjectManager _projectManager = this.getProjectManager(uri);
+    if (_projectManager!=null) {
+      _projectManager.updateResource(uri, contents, changes, cancelIndicator);
+    }
+    this.openDocuments.put(uri, newContents);
     ArrayList<URI> _newArrayList = CollectionLiterals.<URI>newArrayList();
-    this.doBuild(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(uri)), _newArrayList, cancelIndicator);
+    this.queueBuild(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(uri)), _newArrayList);
   }
   
   public void didOpen(final URI uri, final int version, final String contents, final CancelIndicator cancelIndicator) {
@@ -7,20 +7,31 @@
  */
 package org.eclipse.xtext.ide.server.concurrent;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import org.eclipse.xtext.ide.server.concurrent.CancellableIndicator;
 import org.eclipse.xtext.ide.server.concurrent.RequestCancelIndicator;
 import org.eclipse.xtext.util.CancelIndicator;
-import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 
@@ -35,7 +46,7 @@ public class RequestManager {
   
   public final static String WRITE_EXECUTOR_SERVICE = "org.eclipse.xtext.ide.server.concurrent.RequestManager.writeExecutorService";
   
-  private final int MAX_PERMITS = Integer.MAX_VALUE;
+  public final static String BUILD_DEBOUNCE_DELAY = "org.eclipse.xtext.ide.server.concurrent.RequestManager.buildDebounceDelay";
   
   @Inject
   @Named(RequestManager.READ_EXECUTOR_SERVICE)
@@ -45,13 +56,65 @@ public class RequestManager {
   @Named(RequestManager.WRITE_EXECUTOR_SERVICE)
   private ExecutorService writeExecutorService;
   
+  /**
+   * The time in milliseconds a build scheduled by {@link #runWriteAndBuild(Procedure1, Procedure1) runWriteAndBuild}
+   * waits for further changes before it starts. Defaults to <code>0</code>.
+   */
+  @Inject(optional = true)
+  @Named(RequestManager.BUILD_DEBOUNCE_DELAY)
+  private long buildDebounceDelay;
+  
+  private ScheduledExecutorService buildScheduler;
+  
   private final LinkedBlockingQueue<CancellableIndicator> cancelIndicators = new LinkedBlockingQueue<CancellableIndicator>();
   
-  private final Semaphore semaphore = new Semaphore(this.MAX_PERMITS);
+  /**
+   * Completes when the last submitted write request completed. Guarded by this.
+   */
+  private CompletableFuture<Void> lastWrite = CompletableFuture.<Void>completedFuture(null);
+  
+  /**
+   * The read requests that were submitted since the last write request. Guarded by this.
+   */
+  private final ArrayList<CompletableFuture<?>> readsSinceLastWrite = CollectionLiterals.<CompletableFuture<?>>newArrayList();
+  
+  private final AtomicInteger queuedReads = new AtomicInteger();
+  
+  private final AtomicInteger queuedWrites = new AtomicInteger();
+  
+  private final AtomicInteger coalescedBuilds = new AtomicInteger();
+  
+  private final AtomicLong buildGeneration = new AtomicLong();
   
   public void shutdown() {
     this.readExecutorService.shutdown();
     this.writeExecutorService.shutdown();
+    synchronized (this) {
+      if (this.buildScheduler!=null) {
+        this.buildScheduler.shutdown();
+      }
+    }
+  }
+  
+  /**
+   * @return the number of read requests that were submitted but did not complete yet.
+   */
+  public int getQueuedReads() {
+    return this.queuedReads.get();
+  }
+  
+  /**
+   * @return the number of write requests, including builds, that were submitted but did not complete yet.
+   */
+  public int getQueuedWrites() {
+    return this.queuedWrites.get();
+  }
+  
+  /**
+   * @return the number of builds that were dropped because a later build superseded them.
+   */
+  public int getCoalescedBuilds() {
+    return this.coalescedBuilds.get();
   }
   
   public CompletableFuture<Void> runWrite(final Procedure1<? super CancelIndicator> writeRequest) {
@@ -61,7 +124,8 @@ public class RequestManager {
   
   /**
    * <p>
-   * The given <i>write request</i> will be run first when <i>all running requests</i> completed.
+   * The given <i>write request</i> will be run first when <i>all running requests</i> completed. The calling thread
+   * never waits for them.
    * </p>
    * <p>
    * Currently <i>running requests</i> will be cancelled.
@@ -72,32 +136,130 @@ public class RequestManager {
    * </p>
    */
   public CompletableFuture<Void> runWrite(final Procedure1<? super CancelIndicator> writeRequest, final CancelIndicator cancelIndicator) {
-    try {
-      final Consumer<CancellableIndicator> _function = (CancellableIndicator it) -> {
-        it.cancel();
+    final Consumer<CancellableIndicator> _function = (CancellableIndicator it) -> {
+      it.cancel();
+    };
+    this.cancelIndicators.forEach(_function);
+    if ((cancelIndicator instanceof CancellableIndicator)) {
+      this.cancelIndicators.add(((CancellableIndicator)cancelIndicator));
+    }
+    this.queuedWrites.incrementAndGet();
+    synchronized (this) {
+      this.readsSinceLastWrite.add(this.lastWrite);
+      CompletableFuture<Void> _allOf = CompletableFuture.allOf(((CompletableFuture<?>[])Conversions.unwrapArray(this.readsSinceLastWrite, CompletableFuture.class)));
+      final BiFunction<Void, Throwable, Object> _function_1 = (Void $0, Throwable $1) -> {
+        return null;
       };
-      this.cancelIndicators.forEach(_function);
-      if ((cancelIndicator instanceof CancellableIndicator)) {
-        this.cancelIndicators.add(((CancellableIndicator)cancelIndicator));
-      }
-      this.semaphore.acquire(this.MAX_PERMITS);
-      final Runnable _function_1 = () -> {
-        try {
-          writeRequest.apply(cancelIndicator);
-        } finally {
-          this.semaphore.release(this.MAX_PERMITS);
-        }
+      final CompletableFuture<Object> runningRequests = _allOf.<Object>handle(_function_1);
+      this.readsSinceLastWrite.clear();
+      final Runnable _function_2 = () -> {
+        writeRequest.apply(cancelIndicator);
       };
-      CompletableFuture<Void> _runAsync = CompletableFuture.runAsync(_function_1, this.writeExecutorService);
-      final BiConsumer<Void, Throwable> _function_2 = (Void $0, Throwable $1) -> {
+      CompletableFuture<Void> _thenRunAsync = runningRequests.thenRunAsync(_function_2, this.writeExecutorService);
+      final BiConsumer<Void, Throwable> _function_3 = (Void $0, Throwable $1) -> {
+        this.queuedWrites.decrementAndGet();
         if ((cancelIndicator instanceof CancellableIndicator)) {
           this.cancelIndicators.remove(((CancellableIndicator)cancelIndicator));
         }
       };
-      return _runAsync.whenComplete(_function_2);
-    } catch (Throwable _e) {
-      throw Exceptions.sneakyThrow(_e);
+      CompletableFuture<Void> _whenComplete = _thenRunAsync.whenComplete(_function_3);
+      this.lastWrite = _whenComplete;
+      return this.lastWrite;
+    }
+  }
+  
+  /**
+   * <p>
+   * The given <i>update</i> will be run as a write request that is only cancelled when another update is
+   * submitted. A cancelled update still has to record its changes, it may only skip work that the build does
+   * anyway. Afterwards the <i>build</i> is run as a write request, delayed by the
+   * {@link #BUILD_DEBOUNCE_DELAY debounce delay}.
+   * </p>
+   * <p>
+   * The build is dropped, or cancelled if it is already running, as soon as another update is submitted. Thus
+   * consecutive updates result in a single build, which is expected to process the changes of all of them, e.g.
+   * by building the union of the queued files. Read requests are not blocked by a pending build, thus the update
+   * is expected to apply the changes to the state that read requests use.
+   * </p>
+   */
+  public CompletableFuture<Void> runWriteAndBuild(final Procedure1<? super CancelIndicator> update, final Procedure1<? super CancelIndicator> build) {
+    final long generation = this.buildGeneration.incrementAndGet();
+    final CancelIndicator _function = () -> {
+      long _get = this.buildGeneration.get();
+      return (generation != _get);
+    };
+    final CompletableFuture<Void> updated = this.runWrite(update, _function);
+    CompletableFuture<Void> _scheduleBuild = this.scheduleBuild(generation, build);
+    return CompletableFuture.allOf(updated, _scheduleBuild);
+  }
+  
+  protected CompletableFuture<Void> scheduleBuild(final long generation, final Procedure1<? super CancelIndicator> build) {
+    if ((this.buildDebounceDelay <= 0)) {
+      return this.runBuild(generation, build);
+    }
+    final CompletableFuture<Void> result = new CompletableFuture<Void>();
+    ScheduledExecutorService _buildScheduler = this.getBuildScheduler();
+    final Runnable _function = () -> {
+      CompletableFuture<Void> _runBuild = this.runBuild(generation, build);
+      final BiConsumer<Void, Throwable> _function_1 = (Void $0, Throwable throwable) -> {
+        if ((throwable != null)) {
+          result.completeExceptionally(throwable);
+        } else {
+          result.complete(null);
+        }
+      };
+      _runBuild.whenComplete(_function_1);
+    };
+    _buildScheduler.schedule(_function, this.buildDebounceDelay, TimeUnit.MILLISECONDS);
+    return result;
+  }
+  
+  protected CompletableFuture<Void> runBuild(final long generation, final Procedure1<? super CancelIndicator> build) {
+    long _get = this.buildGeneration.get();
+    boolean _notEquals = (generation != _get);
+    if (_notEquals) {
+      this.coalescedBuilds.incrementAndGet();
+      return CompletableFuture.<Void>completedFuture(null);
     }
+    final Procedure1<CancelIndicator> _function = (CancelIndicator cancelIndicator) -> {
+      long _get_1 = this.buildGeneration.get();
+      boolean _notEquals_1 = (generation != _get_1);
+      if (_notEquals_1) {
+        this.coalescedBuilds.incrementAndGet();
+      } else {
+        build.apply(cancelIndicator);
+      }
+    };
+    return this.runWrite(_function, new RequestCancelIndicator() {
+      @Override
+      public boolean isCanceled() {
+        return (super.isCanceled() || (generation != RequestManager.this.buildGeneration.get()));
+      }
+    });
+  }
+  
+  /**
+   * <p>
+   * The given <i>read request</i> will be run when the given request completed normally.
+   * </p>
+   */
+  public <V extends Object> CompletableFuture<V> runReadAfter(final CompletableFuture<?> request, final Function1<? super CancelIndicator, ? extends V> readRequest) {
+    final Function<Object, CompletionStage<V>> _function = (Object it) -> {
+      return this.<V>runRead(readRequest);
+    };
+    return request.<V>thenCompose(_function);
+  }
+  
+  protected synchronized ScheduledExecutorService getBuildScheduler() {
+    if ((this.buildScheduler == null)) {
+      ThreadFactoryBuilder _threadFactoryBuilder = new ThreadFactoryBuilder();
+      ThreadFactoryBuilder _setDaemon = _threadFactoryBuilder.setDaemon(true);
+      ThreadFactoryBuilder _setNameFormat = _setDaemon.setNameFormat("RequestManager-BuildScheduler-%d");
+      ThreadFactory _build = _setNameFormat.build();
+      ScheduledExecutorService _newSingleThreadScheduledExecutor = Executors.newSingleThreadScheduledExecutor(_build);
+      this.buildScheduler = _newSingleThreadScheduledExecutor;
+    }
+    return this.buildScheduler;
   }
   
   public <V extends Object> CompletableFuture<V> runRead(final Function1<? super CancelIndicator, ? extends V> readRequest) {
@@ -112,6 +274,7 @@ public class RequestManager {
    * 	<li>concurrent with <i>running read requests</i>;</li>
    * 	<li>first when <i>running write requests</i> completed.</li>
    * </ul>
+   * The calling thread never waits for the running write requests.
    * </p>
    * <p>
    * A provided cancel indicator should implement {@link org.eclipse.xtext.ide.server.concurrent.CancellableIndicator CancellableIndicator}
@@ -119,27 +282,32 @@ public class RequestManager {
    * </p>
    */
   public <V extends Object> CompletableFuture<V> runRead(final Function1<? super CancelIndicator, ? extends V> readRequest, final CancelIndicator cancelIndicator) {
-    try {
-      if ((cancelIndicator instanceof CancellableIndicator)) {
-        this.cancelIndicators.add(((CancellableIndicator)cancelIndicator));
-      }
-      this.semaphore.acquire(1);
-      final Supplier<V> _function = () -> {
-        try {
-          return readRequest.apply(cancelIndicator);
-        } finally {
-          this.semaphore.release(1);
-        }
+    if ((cancelIndicator instanceof CancellableIndicator)) {
+      this.cancelIndicators.add(((CancellableIndicator)cancelIndicator));
+    }
+    this.queuedReads.incrementAndGet();
+    synchronized (this) {
+      final BiFunction<Void, Throwable, Object> _function = (Void $0, Throwable $1) -> {
+        return null;
+      };
+      CompletableFuture<Object> _handle = this.lastWrite.<Object>handle(_function);
+      final Function<Object, V> _function_1 = (Object it) -> {
+        return readRequest.apply(cancelIndicator);
       };
-      CompletableFuture<V> _supplyAsync = CompletableFuture.<V>supplyAsync(_function, this.readExecutorService);
-      final BiConsumer<V, Throwable> _function_1 = (V $0, Throwable $1) -> {
+      CompletableFuture<V> _thenApplyAsync = _handle.<V>thenApplyAsync(_function_1, this.readExecutorService);
+      final BiConsumer<V, Throwable> _function_2 = (V $0, Throwable $1) -> {
+        this.queuedReads.decrementAndGet();
         if ((cancelIndicator instanceof CancellableIndicator)) {
           this.cancelIndicators.remove(((CancellableIndicator)cancelIndicator));
         }
       };
-      return _supplyAsync.whenComplete(_function_1);
-    } catch (Throwable _e) {
-      throw Exceptions.sneakyThrow(_e);
+      final CompletableFuture<V> result = _thenApplyAsync.whenComplete(_function_2);
+      final Predicate<CompletableFuture<?>> _function_3 = (CompletableFuture<?> it) -> {
+        return it.isDone();
+      };
+      this.readsSinceLastWrite.removeIf(_function_3);
+      this.readsSinceLastWrite.add(result);
+      return result;
     }
   }
 }
@@ -26,6 +26,7 @@ import org.eclipse.xtext.resource.IResourceServiceProvider
 import org.eclipse.xtext.resource.XtextResourceSet
 import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions
 import org.eclipse.xtext.resource.impl.ProjectDescription
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
 import org.eclipse.xtext.testing.util.InMemoryURIHandler
 import org.eclipse.xtext.validation.Issue
 import org.junit.Before
@@ -82,18 +83,8 @@ abstract class AbstractIncrementalBuilderTest {
 		val result = new BuildRequest => [
 			val newIndex = indexState.resourceDescriptions.copy()
 			baseDir = "".uri
-			resourceSet = resourceSetProvider.get => [
-				getURIConverter.getURIHandlers.clear
-				getURIConverter.getURIHandlers += inMemoryURIHandler
-				classpathURIContext = AbstractIncrementalBuilderTest.classLoader
-				
-				val projectDescription = new ProjectDescription => [
-					name = 'test-project'
-				]
-				projectDescription.attachToEmfObject(it)
-				val index = new ChunkedResourceDescriptions(emptyMap, it)
-				index.setContainer(projectDescription.name, newIndex)
-			]
+			resourceSet = newResourceSet(newIndex)
+			resourceSetFactory = [newResourceSet(newIndex)]
 			dirtyFiles = #[]
 			deletedFiles = #[]
 			
@@ -116,6 +107,24 @@ abstract class AbstractIncrementalBuilderTest {
 		return result
 	}
 	
+	/**
+	 * @since 2.11
+	 */
+	protected def XtextResourceSet newResourceSet(ResourceDescriptionsData newIndex) {
+		resourceSetProvider.get => [
+			getURIConverter.getURIHandlers.clear
+			getURIConverter.getURIHandlers += inMemoryURIHandler
+			classpathURIContext = AbstractIncrementalBuilderTest.classLoader
+			
+			val projectDescription = new ProjectDescription => [
+				name = 'test-project'
+			]
+			projectDescription.attachToEmfObject(it)
+			val index = new ChunkedResourceDescriptions(emptyMap, it)
+			index.setContainer(projectDescription.name, newIndex)
+		]
+	}
+	
 	protected def URI delete(URI uri) {
 		inMemoryURIHandler.delete(uri, emptyMap)
 		return uri
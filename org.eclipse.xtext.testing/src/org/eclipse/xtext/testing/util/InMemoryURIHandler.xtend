@@ -13,6 +13,7 @@ import java.io.IOException
 import java.io.InputStream
 import java.io.OutputStream
 import java.util.Map
+import java.util.concurrent.ConcurrentHashMap
 import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.resource.URIHandler
 import org.eclipse.xtend.lib.annotations.Accessors
@@ -50,7 +51,7 @@ class InMemoryURIHandler implements URIHandler {
 
 	public final static String SCHEME = 'inmemory'
 	
-	Map<URI, InMemFile> files = newHashMap()
+	Map<URI, InMemFile> files = new ConcurrentHashMap()
 
 	override canHandle(URI uri) {
 		uri.scheme == SCHEME
@@ -84,11 +85,6 @@ class InMemoryURIHandler implements URIHandler {
 	}
 
 	protected def getInMemoryFile(URI uri) {
-		var result = files.get(uri)
-		if (result == null) {
-			result = new InMemFile(uri)
-			files.put(uri, result)
-		}
-		return result
+		return files.computeIfAbsent(uri, [new InMemFile(it)])
 	}
 }
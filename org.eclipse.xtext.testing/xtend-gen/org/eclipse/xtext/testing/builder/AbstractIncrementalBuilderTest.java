@@ -43,6 +43,7 @@ import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
@@ -138,29 +139,12 @@ public abstract class AbstractIncrementalBuilderTest {
       final ResourceDescriptionsData newIndex = _resourceDescriptions.copy();
       URI _uri = this.uri("");
       it.setBaseDir(_uri);
-      XtextResourceSet _get = this.resourceSetProvider.get();
-      final Procedure1<XtextResourceSet> _function_1 = (XtextResourceSet it_1) -> {
-        URIConverter _uRIConverter = it_1.getURIConverter();
-        EList<URIHandler> _uRIHandlers = _uRIConverter.getURIHandlers();
-        _uRIHandlers.clear();
-        URIConverter _uRIConverter_1 = it_1.getURIConverter();
-        EList<URIHandler> _uRIHandlers_1 = _uRIConverter_1.getURIHandlers();
-        _uRIHandlers_1.add(this.inMemoryURIHandler);
-        ClassLoader _classLoader = AbstractIncrementalBuilderTest.class.getClassLoader();
-        it_1.setClasspathURIContext(_classLoader);
-        ProjectDescription _projectDescription = new ProjectDescription();
-        final Procedure1<ProjectDescription> _function_2 = (ProjectDescription it_2) -> {
-          it_2.setName("test-project");
-        };
-        final ProjectDescription projectDescription = ObjectExtensions.<ProjectDescription>operator_doubleArrow(_projectDescription, _function_2);
-        projectDescription.attachToEmfObject(it_1);
-        Map<String, ResourceDescriptionsData> _emptyMap = CollectionLiterals.<String, ResourceDescriptionsData>emptyMap();
-        final ChunkedResourceDescriptions index = new ChunkedResourceDescriptions(_emptyMap, it_1);
-        String _name = projectDescription.getName();
-        index.setContainer(_name, newIndex);
+      XtextResourceSet _newResourceSet = this.newResourceSet(newIndex);
+      it.setResourceSet(_newResourceSet);
+      final Function0<XtextResourceSet> _function_1 = () -> {
+        return this.newResourceSet(newIndex);
       };
-      XtextResourceSet _doubleArrow = ObjectExtensions.<XtextResourceSet>operator_doubleArrow(_get, _function_1);
-      it.setResourceSet(_doubleArrow);
+      it.setResourceSetFactory(_function_1);
       it.setDirtyFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList()));
       it.setDeletedFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList()));
       final BuildRequest.IPostValidationCallback _function_2 = (URI uri, Iterable<Issue> issues) -> {
@@ -186,6 +170,34 @@ public abstract class AbstractIncrementalBuilderTest {
     return result;
   }
   
+  /**
+   * @since 2.11
+   */
+  protected XtextResourceSet newResourceSet(final ResourceDescriptionsData newIndex) {
+    XtextResourceSet _get = this.resourceSetProvider.get();
+    final Procedure1<XtextResourceSet> _function = (XtextResourceSet it) -> {
+      URIConverter _uRIConverter = it.getURIConverter();
+      EList<URIHandler> _uRIHandlers = _uRIConverter.getURIHandlers();
+      _uRIHandlers.clear();
+      URIConverter _uRIConverter_1 = it.getURIConverter();
+      EList<URIHandler> _uRIHandlers_1 = _uRIConverter_1.getURIHandlers();
+      _uRIHandlers_1.add(this.inMemoryURIHandler);
+      ClassLoader _classLoader = AbstractIncrementalBuilderTest.class.getClassLoader();
+      it.setClasspathURIContext(_classLoader);
+      ProjectDescription _projectDescription = new ProjectDescription();
+      final Procedure1<ProjectDescription> _function_1 = (ProjectDescription it_1) -> {
+        it_1.setName("test-project");
+      };
+      final ProjectDescription projectDescription = ObjectExtensions.<ProjectDescription>operator_doubleArrow(_projectDescription, _function_1);
+      projectDescription.attachToEmfObject(it);
+      Map<String, ResourceDescriptionsData> _emptyMap = CollectionLiterals.<String, ResourceDescriptionsData>emptyMap();
+      final ChunkedResourceDescriptions index = new ChunkedResourceDescriptions(_emptyMap, it);
+      String _name = projectDescription.getName();
+      index.setContainer(_name, newIndex);
+    };
+    return ObjectExtensions.<XtextResourceSet>operator_doubleArrow(_get, _function);
+  }
+  
   protected URI delete(final URI uri) {
     try {
       Map<Object, Object> _emptyMap = CollectionLiterals.<Object, Object>emptyMap();
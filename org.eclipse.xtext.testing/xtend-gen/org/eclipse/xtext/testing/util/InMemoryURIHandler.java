@@ -14,6 +14,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.URIHandler;
 import org.eclipse.xtend.lib.annotations.Accessors;
@@ -92,7 +94,7 @@ public class InMemoryURIHandler implements URIHandler {
   
   public final static String SCHEME = "inmemory";
   
-  private Map<URI, InMemoryURIHandler.InMemFile> files = CollectionLiterals.<URI, InMemoryURIHandler.InMemFile>newHashMap();
+  private Map<URI, InMemoryURIHandler.InMemFile> files = new ConcurrentHashMap<URI, InMemoryURIHandler.InMemFile>();
   
   @Override
   public boolean canHandle(final URI uri) {
@@ -139,13 +141,9 @@ public class InMemoryURIHandler implements URIHandler {
   }
   
   protected InMemoryURIHandler.InMemFile getInMemoryFile(final URI uri) {
-    InMemoryURIHandler.InMemFile result = this.files.get(uri);
-    boolean _equals = Objects.equal(result, null);
-    if (_equals) {
-      InMemoryURIHandler.InMemFile _inMemFile = new InMemoryURIHandler.InMemFile(uri);
-      result = _inMemFile;
-      this.files.put(uri, result);
-    }
-    return result;
+    final Function<URI, InMemoryURIHandler.InMemFile> _function = (URI it) -> {
+      return new InMemoryURIHandler.InMemFile(it);
+    };
+    return this.files.computeIfAbsent(uri, _function);
   }
 }
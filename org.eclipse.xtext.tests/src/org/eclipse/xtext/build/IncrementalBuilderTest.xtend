@@ -7,14 +7,27 @@
  *******************************************************************************/
 package org.eclipse.xtext.build
 
+import com.google.inject.AbstractModule
+import com.google.inject.Guice
 import com.google.inject.Inject
+import java.util.Collection
+import java.util.Set
 import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
 import org.eclipse.core.runtime.OperationCanceledException
 import org.eclipse.emf.common.util.URI
 import org.eclipse.xtext.build.BuildRequest.IPostValidationCallback
 import org.eclipse.xtext.index.IndexTestLanguageInjectorProvider
+import org.eclipse.xtext.index.IndexTestLanguageRuntimeModule
+import org.eclipse.xtext.index.IndexTestLanguageStandaloneSetup
+import org.eclipse.xtext.resource.IResourceDescription
+import org.eclipse.xtext.resource.IResourceDescription.Delta
+import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.xtext.resource.IResourceServiceProvider
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionManager
+import org.eclipse.xtext.resource.impl.ResourceServiceProviderRegistryImpl
 import org.eclipse.xtext.util.CancelIndicator
+import org.eclipse.xtext.util.Modules2
 import org.eclipse.xtext.testing.XtextRunner
 import org.eclipse.xtext.testing.InjectWith
 import org.eclipse.xtext.testing.builder.AbstractIncrementalBuilderTest
@@ -33,8 +46,10 @@ class IncrementalBuilderTest extends AbstractIncrementalBuilderTest {
 	
 	@Inject IResourceServiceProvider.Registry resourceServiceProviderFactory
 	
+	IResourceServiceProvider.Registry languages
+	
 	override getLanguages() {
-		resourceServiceProviderFactory
+		languages ?: resourceServiceProviderFactory
 	}
 
 	@Test def void testNoCleanupBuild() {
@@ -298,5 +313,145 @@ class IncrementalBuilderTest extends AbstractIncrementalBuilderTest {
 		assertTrue(deleted.containsSuffix('src-gen/A.txt'))
 	}
 
-	
+	@Test def void testParallelBuild() {
+		build(newBuildRequest [
+			parallelism = 4
+			dirtyFiles = #[
+				'src/A.indextestlanguage' - '''
+					foo {
+						entity A {foo.B reference}
+					}
+				''',
+				'src/B.indextestlanguage' - '''
+					foo {
+						entity B {foo.C reference}
+					}
+				''',
+				'src/C.indextestlanguage' - '''
+					foo {
+						entity C {foo.A reference}
+					}
+				'''
+			]
+		])
+		assertTrue(issues.toString, issues.isEmpty)
+		assertEquals(3, generated.size)
+		assertTrue(generated.values.containsSuffix('src-gen/A.txt', 'src-gen/B.txt', 'src-gen/C.txt'))
+		assertEquals(3, indexState.resourceDescriptions.allURIs.size)
+
+		// break a reference, the affected resource is rebuilt in parallel, too
+		build(newBuildRequest [
+			parallelism = 4
+			dirtyFiles = #[
+				'src/C.indextestlanguage' - '''
+					foo {
+						entity X {foo.A reference}
+					}
+				'''
+			]
+		])
+		assertEquals(issues.toString, 1, issues.size)
+		assertEquals(1, generated.size)
+		assertTrue(generated.values.containsSuffix('src-gen/X.txt'))
+		assertTrue(deleted.containsSuffix('src-gen/C.txt'))
+		assertEquals(1, indexState.fileMappings.getGenerated(uri('src/C.indextestlanguage')).size)
+	}
+
+	@Test def void testParallelCancellation() {
+		val canceled = new AtomicBoolean(false)
+		val validatedAfterCancel = new AtomicInteger(0)
+		val buildRequest = newBuildRequest [
+			parallelism = 4
+			dirtyFiles = (1..16).map [ i |
+				'src/E' + i + '.indextestlanguage' - '''
+					foo {
+						entity Ei {}
+					}
+				'''
+			].toList
+			cancelIndicator = [ canceled.get ]
+			afterValidate = [ validated, issues |
+				if (canceled.getAndSet(true)) {
+					validatedAfterCancel.incrementAndGet
+				} else {
+					// keep the other workers busy while the build is canceled
+					Thread.sleep(50)
+				}
+				return true
+			]
+		]
+		try {
+			build(buildRequest)
+			fail("Builder didn't cancel")
+		} catch (OperationCanceledException e) {
+			// expected
+		}
+		// all workers have terminated when the build returns
+		val validatedWhenCanceled = validatedAfterCancel.get
+		Thread.sleep(200)
+		assertEquals(validatedWhenCanceled, validatedAfterCancel.get)
+	}
+
+	@Test def void testNonDependentsAreSkipped() {
+		assertEquals(#{uri('src/A.indextestlanguage')}, getAffectionCandidates(true))
+	}
+
+	@Test def void testNonDependentsAreCheckedWithoutOptIn() {
+		assertEquals(#{uri('src/A.indextestlanguage'), uri('src/C.indextestlanguage')}, getAffectionCandidates(false))
+	}
+
+	/**
+	 * Changes the exported names of B. A refers to B, C is not a dependent of B.
+	 */
+	def private Set<URI> getAffectionCandidates(boolean dependenciesOnly) {
+		val manager = new RecordingResourceDescriptionManager(dependenciesOnly)
+		val injector = new IndexTestLanguageStandaloneSetup() {
+			override createInjector() {
+				return Guice.createInjector(Modules2.mixin(new IndexTestLanguageRuntimeModule, new AbstractModule() {
+					override protected configure() {
+						bind(IResourceDescription.Manager).toInstance(manager)
+					}
+				}))
+			}
+		}.createInjectorAndDoEMFRegistration
+		languages = new ResourceServiceProviderRegistryImpl
+		languages.extensionToFactoryMap.put('indextestlanguage', injector.getInstance(IResourceServiceProvider))
+		build(newBuildRequest [
+			dirtyFiles = #[
+				'src/A.indextestlanguage' - 'foo { entity A {foo.B reference} }',
+				'src/B.indextestlanguage' - 'foo { entity B {} }',
+				'src/C.indextestlanguage' - 'bar { entity C {} }'
+			]
+		])
+		assertTrue(issues.toString, issues.isEmpty)
+		manager.candidates.clear
+		build(newBuildRequest [
+			dirtyFiles = #[
+				'src/B.indextestlanguage' - 'foo { entity B {} entity B2 {} }'
+			]
+		])
+		assertTrue(issues.toString, issues.isEmpty)
+		assertTrue(generated.values.containsSuffix('src-gen/B2.txt'))
+		return manager.candidates
+	}
+
+	private static class RecordingResourceDescriptionManager extends DefaultResourceDescriptionManager {
+
+		val boolean dependenciesOnly
+		val Set<URI> candidates = newHashSet
+
+		new(boolean dependenciesOnly) {
+			this.dependenciesOnly = dependenciesOnly
+		}
+
+		override isAffectedByDependenciesOnly() {
+			dependenciesOnly
+		}
+
+		override isAffected(Collection<Delta> deltas, IResourceDescription candidate, IResourceDescriptions context) {
+			candidates += candidate.URI
+			return super.isAffected(deltas, candidate, context)
+		}
+	}
+
 }
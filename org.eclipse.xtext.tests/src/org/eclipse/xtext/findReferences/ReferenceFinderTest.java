@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.findReferences;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.findReferences.IReferenceFinder.IResourceAccess;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.ISelectable;
+import org.eclipse.xtext.resource.impl.AbstractCompoundSelectable;
+import org.eclipse.xtext.resource.impl.ChunkedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.impl.ResourceServiceProviderRegistryImpl;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableReferenceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Checks that {@link ReferenceFinder#findAllReferences(TargetURIs, IResourceAccess, IResourceDescriptions, IReferenceFinder.Acceptor, IProgressMonitor)}
+ * only visits the target resources and their referrers if the index knows them.
+ *
+ * @since 2.11
+ */
+public class ReferenceFinderTest extends Assert {
+
+	private static final URI TARGET = URI.createURI("test:/target.ext");
+	private static final URI A = URI.createURI("test:/a.ext");
+	private static final URI B = URI.createURI("test:/b.ext");
+	private static final URI C = URI.createURI("test:/c.ext");
+	private static final URI D = URI.createURI("test:/d.ext");
+
+	@Test public void testResourceDescriptionsData() {
+		ResourceDescriptionsData data = new ResourceDescriptionsData(descriptions());
+		assertOnlyReferrersVisited(data);
+	}
+
+	@Test public void testChunkedResourceDescriptions() {
+		List<IResourceDescription> descriptions = descriptions();
+		Map<String, ResourceDescriptionsData> chunks = Maps.newHashMap();
+		chunks.put("first", new ResourceDescriptionsData(descriptions.subList(0, 2)));
+		chunks.put("second", new ResourceDescriptionsData(descriptions.subList(2, descriptions.size())));
+		assertOnlyReferrersVisited(new ChunkedResourceDescriptions(chunks));
+	}
+
+	private void assertOnlyReferrersVisited(IResourceDescriptions index) {
+		RecordingReferenceFinder finder = new RecordingReferenceFinder();
+		Set<String> references = findAllReferences(finder, index);
+		assertEquals(Sets.newHashSet(TARGET, A, B), finder.visited);
+
+		RecordingReferenceFinder fullScan = new RecordingReferenceFinder();
+		assertEquals(findAllReferences(fullScan, new FullScanResourceDescriptions(index)), references);
+		assertEquals(Sets.newHashSet(TARGET, A, B, C, D), fullScan.visited);
+		assertEquals(Sets.newHashSet(A + "#/0 -> " + TARGET + "#/0", B + "#/0 -> " + TARGET + "#/0"), references);
+	}
+
+	private Set<String> findAllReferences(ReferenceFinder finder, IResourceDescriptions index) {
+		TargetURISet targetURIs = new TargetURISet();
+		targetURIs.addURI(TARGET.appendFragment("/0"));
+		final Set<String> result = Sets.newHashSet();
+		finder.findAllReferences(targetURIs, null, index, new IReferenceFinder.Acceptor() {
+			@Override
+			public void accept(IReferenceDescription description) {
+				result.add(description.getSourceEObjectUri() + " -> " + description.getTargetEObjectUri());
+			}
+
+			@Override
+			public void accept(EObject source, URI sourceURI, EReference eReference, int index, EObject targetOrProxy, URI targetURI) {
+				fail("Unexpected local reference");
+			}
+		}, new NullProgressMonitor());
+		return result;
+	}
+
+	private List<IResourceDescription> descriptions() {
+		return Lists.newArrayList(
+				description(A, TARGET),
+				description(TARGET, null),
+				description(B, TARGET),
+				description(C, D),
+				description(D, null));
+	}
+
+	private IResourceDescription description(URI uri, URI referenced) {
+		SerializableResourceDescription result = new SerializableResourceDescription();
+		result.setURI(uri);
+		SerializableEObjectDescription object = new SerializableEObjectDescription();
+		object.setEClass(EcorePackage.Literals.ECLASS);
+		object.setEObjectURI(uri.appendFragment("/0"));
+		object.setQualifiedName(QualifiedName.create(uri.trimFileExtension().lastSegment()));
+		result.setDescriptions(Lists.newArrayList(object));
+		result.setImportedNames(Collections.<QualifiedName>emptyList());
+		List<SerializableReferenceDescription> references = Lists.newArrayList();
+		if (referenced != null) {
+			SerializableReferenceDescription reference = new SerializableReferenceDescription();
+			reference.setSourceEObjectUri(uri.appendFragment("/0"));
+			reference.setTargetEObjectUri(referenced.appendFragment("/0"));
+			references.add(reference);
+		}
+		result.setReferences(references);
+		return result;
+	}
+
+	private static class RecordingReferenceFinder extends ReferenceFinder {
+
+		private final Set<URI> visited = Sets.newHashSet();
+
+		RecordingReferenceFinder() {
+			super(new ResourceServiceProviderRegistryImpl());
+		}
+
+		@Override
+		public void findReferences(TargetURIs targetURIs, IResourceDescription resourceDescription,
+				IResourceAccess resourceAccess, Acceptor acceptor, IProgressMonitor monitor) {
+			assertTrue(resourceDescription.getURI().toString(), visited.add(resourceDescription.getURI()));
+			super.findReferences(targetURIs, resourceDescription, resourceAccess, acceptor, monitor);
+		}
+	}
+
+	/**
+	 * Hides the referrers of the delegate, thus the reference finder has to scan all descriptions.
+	 */
+	private static class FullScanResourceDescriptions extends AbstractCompoundSelectable implements IResourceDescriptions {
+
+		private final IResourceDescriptions delegate;
+
+		FullScanResourceDescriptions(IResourceDescriptions delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public Iterable<IResourceDescription> getAllResourceDescriptions() {
+			return delegate.getAllResourceDescriptions();
+		}
+
+		@Override
+		public IResourceDescription getResourceDescription(URI uri) {
+			return delegate.getResourceDescription(uri);
+		}
+
+		@Override
+		protected Iterable<? extends ISelectable> getSelectables() {
+			return delegate.getAllResourceDescriptions();
+		}
+	}
+}
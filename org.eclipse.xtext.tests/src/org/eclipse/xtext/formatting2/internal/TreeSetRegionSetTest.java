@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.formatting2.internal;
+
+import org.eclipse.xtext.formatting2.regionaccess.ITextSegment;
+
+import com.google.common.base.Functions;
+
+/**
+ * Runs the region set tests against the {@link TreeSetTextSegmentSet}.
+ */
+public class TreeSetRegionSetTest extends RegionSetTest {
+
+	@Override
+	protected TextSegmentSet<ITextSegment> createTextSegmentSet() {
+		return new TreeSetTextSegmentSet<ITextSegment>(Functions.<ITextSegment> identity(), Functions.toStringFunction());
+	}
+
+}
@@ -12,6 +12,7 @@ import static org.eclipse.xtext.util.Strings.*;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.util.List;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtext.generator.trace.CharSequenceTraceWrapper;
@@ -24,6 +25,7 @@ import org.eclipse.xtext.util.StringInputStream;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.google.common.collect.Lists;
 import com.google.common.io.ByteStreams;
 
 /**
@@ -155,4 +157,61 @@ public class JavaIoFileSystemAccessTest extends Assert {
 				file.delete();
 		}
 	}
+
+	@Test
+	public void testUnchangedFilesAreSkipped() throws Exception {
+		File file = null;
+		File traceFile = null;
+		try {
+			JavaIoFileSystemAccess fileSystemAccess = new JavaIoFileSystemAccess(
+					IResourceServiceProvider.Registry.INSTANCE, new IEncodingProvider.Runtime(),
+					new TraceFileNameProvider(), new TraceRegionSerializer());
+			fileSystemAccess.setSkipUnchangedFiles(true);
+			final List<File> added = Lists.newArrayList();
+			fileSystemAccess.setCallBack(new JavaIoFileSystemAccess.IFileCallback() {
+				@Override
+				public void fileAdded(File file) {
+					added.add(file);
+				}
+
+				@Override
+				public void fileDeleted(File file) {
+				}
+			});
+			File tmpDir = configureFileSystemAccess(fileSystemAccess);
+			file = new File(tmpDir, "tmp/Skipped");
+			traceFile = new File(tmpDir, "tmp/.Skipped._trace");
+			SourceRelativeURI uri = new SourceRelativeURI(URI.createURI("foo/bar"));
+			CharSequenceTraceWrapper wrapper = new CharSequenceTraceWrapper();
+
+			fileSystemAccess.generateFile("tmp/Skipped", wrapper.wrapWithTraceData("XX", uri, 0, 10, 0, 1));
+			assertEquals(Lists.newArrayList(file, traceFile), added);
+			assertTrue(file.setLastModified(1000));
+			assertTrue(traceFile.setLastModified(1000));
+
+			added.clear();
+			fileSystemAccess.generateFile("tmp/Skipped", wrapper.wrapWithTraceData("XX", uri, 0, 10, 0, 1));
+			assertEquals(Lists.newArrayList(file, traceFile), added);
+			assertEquals(1000, file.lastModified());
+			assertEquals(1000, traceFile.lastModified());
+
+			fileSystemAccess.generateFile("tmp/Skipped", wrapper.wrapWithTraceData("XX", uri, 5, 10, 0, 1));
+			assertEquals(1000, file.lastModified());
+			assertTrue(traceFile.lastModified() != 1000);
+
+			assertTrue(traceFile.setLastModified(1000));
+			fileSystemAccess.generateFile("tmp/Skipped", wrapper.wrapWithTraceData("YY", uri, 5, 10, 0, 1));
+			assertTrue(file.lastModified() != 1000);
+			assertEquals(1000, traceFile.lastModified());
+			assertEquals("YY", fileSystemAccess.readTextFile("tmp/Skipped"));
+		} finally {
+			try {
+				if (file != null)
+					file.delete();
+			} finally {
+				if (traceFile != null)
+					traceFile.delete();
+			}
+		}
+	}
 }
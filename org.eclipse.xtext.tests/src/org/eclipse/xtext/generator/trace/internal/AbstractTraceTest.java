@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.generator.trace.internal;
+
+import java.io.InputStream;
+import java.io.Reader;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.generator.trace.AbsoluteURI;
+import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
+import org.eclipse.xtext.generator.trace.ITraceRegionProvider;
+import org.eclipse.xtext.generator.trace.SourceRelativeURI;
+import org.eclipse.xtext.generator.trace.TraceRegion;
+import org.eclipse.xtext.workspace.IProjectConfig;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @since 2.11
+ */
+public class AbstractTraceTest extends Assert {
+
+	private final SourceRelativeURI uri = new SourceRelativeURI(URI.createURI("uri"));
+
+	@Test
+	public void testFindTraceRegionAt() {
+		final TraceRegion root = region(0, 100, null);
+		region(0, 10, root);
+		region(10, 10, root);
+		region(20, 0, root);
+		region(25, 0, root);
+		TraceRegion nested = region(30, 20, root);
+		region(30, 5, nested);
+		region(35, 0, nested);
+		region(40, 10, nested);
+		region(60, 40, root);
+		AbstractTrace trace = new AbstractTrace() {
+			@Override
+			public AbsoluteURI getLocalURI() {
+				return null;
+			}
+
+			@Override
+			public IProjectConfig getLocalProjectConfig() {
+				return null;
+			}
+
+			@Override
+			protected InputStream getContents(SourceRelativeURI uri) {
+				return null;
+			}
+
+			@Override
+			protected Reader getContentsAsText(SourceRelativeURI uri) {
+				return null;
+			}
+
+			@Override
+			protected Reader getLocalContentsAsText() {
+				return null;
+			}
+		};
+		trace.setTraceRegionProvider(new ITraceRegionProvider() {
+			@Override
+			public AbstractTraceRegion getTraceRegion() {
+				return root;
+			}
+		});
+		for (int offset = 0; offset <= 101; offset++) {
+			assertSame("left " + offset, findLinear(trace, root, offset, false), trace.findTraceRegionAtLeftOffset(offset));
+			assertSame("right " + offset, findLinear(trace, root, offset, true), trace.findTraceRegionAtRightOffset(offset));
+		}
+	}
+
+	private TraceRegion region(int offset, int length, AbstractTraceRegion parent) {
+		return new TraceRegion(offset, length, 0, 0, true, offset, length, 0, 0, parent, parent == null ? uri : null);
+	}
+
+	private AbstractTraceRegion findLinear(AbstractTrace trace, AbstractTraceRegion root, int offset, boolean includeRegionEnd) {
+		if (!trace.encloses(root, offset, includeRegionEnd))
+			return null;
+		AbstractTraceRegion candidate = root;
+		outer: while (true) {
+			for (AbstractTraceRegion child : candidate.getNestedRegions()) {
+				if (trace.encloses(child, offset, includeRegionEnd)) {
+					candidate = child;
+					continue outer;
+				} else if (child.getMyOffset() > offset) {
+					return candidate;
+				}
+			}
+			return candidate;
+		}
+	}
+
+}
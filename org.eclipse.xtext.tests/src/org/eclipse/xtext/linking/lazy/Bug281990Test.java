@@ -8,16 +8,19 @@
 package org.eclipse.xtext.linking.lazy;
 
 import org.apache.log4j.Level;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.xtext.XtextStandaloneSetup;
 import org.eclipse.xtext.linking.lazy.lazyLinking.Model;
 import org.eclipse.xtext.linking.lazy.lazyLinking.Type;
+import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.scoping.IScope;
 import org.eclipse.xtext.scoping.IScopeProvider;
 import org.eclipse.xtext.testing.logging.LoggingTester;
 import org.eclipse.xtext.testing.logging.LoggingTester.LogCapture;
 import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.junit.Test;
 
@@ -61,4 +64,28 @@ public class Bug281990Test extends AbstractXtextTests {
 		});
 		loggings.assertNumberOfLogEntries(1);
 	}
+
+	@Test public void testRecursionErrorMessageInParallel() throws Exception {
+		LogCapture loggings = LoggingTester.captureLogging(Level.ERROR, LazyLinkingResource.class, new Runnable() {
+			@Override
+			public void run() {
+				try {
+					XtextResourceSet rs = get(XtextResourceSet.class);
+					LazyLinkingResource resource = (LazyLinkingResource) getResourceFactory().createResource(
+							URI.createURI("mytestmodel." + getCurrentFileExtension()));
+					rs.getResources().add(resource);
+					resource.load(getAsStream("type Foo extends Foo.bar { Foo foo; }"), null);
+					resource.setParallelLinking(true);
+					resource.resolveLazyCrossReferences(CancelIndicator.NullImpl);
+					assertEquals(resource.getErrors().toString(), 2, resource.getErrors().size());
+					Model model = (Model) resource.getContents().get(0);
+					assertTrue(model.getTypes().get(0).getParentId().eIsProxy());
+					assertTrue(resource.getErrors().get(0).getMessage().contains("Couldn't"));
+				} catch (Exception e) {
+					throw Exceptions.sneakyThrow(e);
+				}
+			}
+		});
+		loggings.assertNumberOfLogEntries(1);
+	}
 }
@@ -241,6 +241,37 @@ public class LazyLinkingResourceTest extends AbstractXtextTests {
     	assertTrue(((EObject)e.getProperties().get(2).eGet(IndexTestLanguagePackage.Literals.PROPERTY__TYPE, false)).eIsProxy());
     }
 
+    @Test public void testResolveLazyCrossReferencesInParallel() throws Exception {
+    	with(testLangaugeSetup());
+    	ResourceSetImpl rs = new ResourceSetImpl();
+    	final Resource res1 = rs.createResource(URI.createURI("file1.indextestlanguage"));
+    	Resource res2 = rs.createResource(URI.createURI("file2.indextestlanguage"));
+    	StringBuilder model = new StringBuilder("foo { import bar.Bar entity Foo {");
+    	for (int i = 0; i < 300; i++) {
+    		model.append(i % 3 == 0 ? " Unresolvable" : " Foo").append(" a").append(i);
+    	}
+    	model.append(" } }");
+    	res1.load(new StringInputStream(model.toString()), null);
+    	res2.load(new StringInputStream("bar { entity Bar{} }"), null);
+    	res1.eAdapters().add(notificationAlert);
+    	Entity e = (Entity) find(EcoreUtil2.eAllContents(res1.getContents().get(0)),new Predicate<EObject>() {
+    		@Override
+			public boolean apply(EObject input) {
+    			return input instanceof Entity;
+    		}
+    	});
+    	((LazyLinkingResource)res1).setParallelLinking(true);
+    	((LazyLinkingResource)res1).resolveLazyCrossReferences(CancelIndicator.NullImpl);
+    	assertEquals(100, res1.getErrors().size());
+    	for (int i = 0; i < 300; i++) {
+    		EObject type = (EObject) e.getProperties().get(i).eGet(IndexTestLanguagePackage.Literals.PROPERTY__TYPE, false);
+    		assertEquals(i % 3 == 0, type.eIsProxy());
+    		if (i % 3 != 0)
+    			assertSame(e, type);
+    	}
+    	res1.eAdapters().remove(notificationAlert);
+    }
+
 	protected IndexTestLanguageStandaloneSetup testLangaugeSetup() {
 		return new IndexTestLanguageStandaloneSetup(){
     		 @Override
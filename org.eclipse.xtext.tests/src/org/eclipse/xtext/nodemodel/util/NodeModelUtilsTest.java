@@ -26,9 +26,15 @@ import org.eclipse.xtext.nodemodel.ICompositeNode;
 import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.impl.SyntheticCompositeNode;
+import org.eclipse.xtext.resource.NodesForFeatureIndex;
 import org.eclipse.xtext.tests.AbstractXtextTests;
 import org.junit.Test;
 
+import com.google.common.collect.ListMultimap;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.name.Names;
+
 /**
  * @author Sven Efftinge - Initial contribution and API
  * @author Sebastian Zarnekow
@@ -64,6 +70,33 @@ public class NodeModelUtilsTest extends AbstractXtextTests {
 		assertEquals("Foo : name=ID;", nodes.get(1).getText().trim());
 	}
 	
+	@Test public void testFindNodesForFeatures() throws Exception {
+		Grammar grammar = (Grammar) getModel("grammar foo.Bar with org.eclipse.xtext.common.Terminals generate foo 'bar' Model : foo=Foo; Foo : name=ID; ");
+		ListMultimap<String, INode> nodes = NodeModelUtils.findNodesForFeatures(grammar);
+		for (String feature : nodes.keySet()) {
+			assertEquals(NodeModelUtils.findNodesForFeature(grammar, grammar.eClass().getEStructuralFeature(feature)), nodes.get(feature));
+		}
+		assertEquals(2, nodes.get(XtextPackage.eINSTANCE.getGrammar_Rules().getName()).size());
+		assertEquals(1, nodes.get(XtextPackage.eINSTANCE.getGrammar_Name().getName()).size());
+		
+		NodesForFeatureIndex disabled = get(NodesForFeatureIndex.class);
+		List<INode> rules = disabled.findNodesForFeature(grammar, XtextPackage.eINSTANCE.getGrammar_Rules());
+		assertEquals(nodes.get(XtextPackage.eINSTANCE.getGrammar_Rules().getName()), rules);
+		assertNotSame(rules, disabled.findNodesForFeature(grammar, XtextPackage.eINSTANCE.getGrammar_Rules()));
+		
+		NodesForFeatureIndex index = Guice.createInjector(new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(Boolean.TYPE).annotatedWith(Names.named(NodesForFeatureIndex.USE_INDEX_BINDING)).toInstance(Boolean.TRUE);
+			}
+		}).getInstance(NodesForFeatureIndex.class);
+		rules = index.findNodesForFeature(grammar, XtextPackage.eINSTANCE.getGrammar_Rules());
+		assertEquals(nodes.get(XtextPackage.eINSTANCE.getGrammar_Rules().getName()), rules);
+		assertSame(rules, index.findNodesForFeature(grammar, XtextPackage.eINSTANCE.getGrammar_Rules()));
+		grammar.setName("foo.Baz");
+		assertNotSame(rules, index.findNodesForFeature(grammar, XtextPackage.eINSTANCE.getGrammar_Rules()));
+	}
+	
 	@Test public void testFindNodesForFeature_CallToConcreteRule() throws Exception {
 		Grammar grammar = (Grammar) getModel("grammar foo.Bar with org.eclipse.xtext.common.Terminals generate foo 'bar' Model returns X: name='foo';");
 		AbstractRule rule = grammar.getRules().get(0);
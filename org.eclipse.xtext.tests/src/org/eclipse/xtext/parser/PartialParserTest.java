@@ -112,6 +112,32 @@ public class PartialParserTest extends AbstractPartialParserTest {
 		assertSame(rootNode, resource.getParseResult().getRootNode());
 	}
 
+	@Test public void testFindLeafNodeAtOffsetAfterPartialParse() throws Exception {
+		with(ReferenceGrammarTestLanguageStandaloneSetup.class);
+		String model = "spielplatz 1 {kind (k 1)\n}";
+		XtextResource resource = getResourceFromString(model);
+		ICompositeNode rootNode = resource.getParseResult().getRootNode();
+		assertLeafNodesAtOffsets(rootNode);
+		resource.update(model.indexOf("k 1"), 3, "l 2");
+		assertSame(rootNode, resource.getParseResult().getRootNode());
+		assertLeafNodesAtOffsets(rootNode);
+		resource.update(model.indexOf("k 1"), 3, "m 345");
+		assertLeafNodesAtOffsets(resource.getParseResult().getRootNode());
+	}
+
+	private void assertLeafNodesAtOffsets(ICompositeNode rootNode) {
+		assertNull(NodeModelUtils.findLeafNodeAtOffset(rootNode, -1));
+		assertNull(NodeModelUtils.findLeafNodeAtOffset(rootNode, rootNode.getTotalLength()));
+		int offset = 0;
+		for (ILeafNode leaf : rootNode.getLeafNodes()) {
+			assertEquals(offset, leaf.getTotalOffset());
+			for (; offset < leaf.getTotalEndOffset(); offset++) {
+				assertSame(leaf, NodeModelUtils.findLeafNodeAtOffset(rootNode, offset));
+			}
+		}
+		assertEquals(rootNode.getTotalLength(), offset);
+	}
+
 	private ILeafNode findLeafNodeByText(ICompositeNode root, String model, String text) {
 		return NodeModelUtils.findLeafNodeAtOffset(root, model.indexOf(text));
 	}
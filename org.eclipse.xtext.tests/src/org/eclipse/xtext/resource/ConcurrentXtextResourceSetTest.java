@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * @since 2.11
+ */
+public class ConcurrentXtextResourceSetTest extends SynchronizedXtextResourceSetTest {
+
+	private final AtomicInteger loadCount = new AtomicInteger();
+
+	@Override
+	protected XtextResourceSet createEmptyResourceSet() {
+		return new ConcurrentXtextResourceSet();
+	}
+
+	protected ConcurrentXtextResourceSet createCountingResourceSet() {
+		return withCountingResources(new ConcurrentXtextResourceSet());
+	}
+
+	protected ConcurrentXtextResourceSet withCountingResources(ConcurrentXtextResourceSet result) {
+		result.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new Resource.Factory() {
+			@Override
+			public Resource createResource(URI uri) {
+				return new ResourceImpl(uri) {
+					@Override
+					public void load(Map<?, ?> options) throws IOException {
+						loadCount.incrementAndGet();
+						isLoaded = true;
+					}
+				};
+			}
+		});
+		return result;
+	}
+
+	@Test public void testLoadedOnce() throws InterruptedException {
+		final ConcurrentXtextResourceSet resourceSet = createCountingResourceSet();
+		final List<Resource> loaded = Lists.newArrayList();
+		List<Thread> threads = Lists.newArrayList();
+		for (int i = 0; i < 10; i++) {
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < 100; j++) {
+						Resource resource = resourceSet.getResource(URI.createURI("file:/" + j + ".xmi"), true);
+						if (j == 0) {
+							synchronized (loaded) {
+								loaded.add(resource);
+							}
+						}
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertEquals(100, loadCount.get());
+		Assert.assertEquals(100, resourceSet.getResources().size());
+		Assert.assertEquals(10, loaded.size());
+		for (Resource resource : loaded) {
+			Assert.assertSame(loaded.get(0), resource);
+		}
+	}
+
+	@Test public void testLoadsDifferentResourcesConcurrently() throws Exception {
+		final CyclicBarrier barrier = new CyclicBarrier(2);
+		final ConcurrentXtextResourceSet resourceSet = new ConcurrentXtextResourceSet();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new Resource.Factory() {
+			@Override
+			public Resource createResource(URI uri) {
+				return new ResourceImpl(uri) {
+					@Override
+					public void load(Map<?, ?> options) throws IOException {
+						isLoaded = true;
+						try {
+							// both resources have to be loaded at the same time
+							barrier.await(10, TimeUnit.SECONDS);
+						} catch (Exception e) {
+							throw new IOException(e);
+						}
+					}
+				};
+			}
+		});
+		List<Thread> threads = Lists.newArrayList();
+		final List<Throwable> errors = Lists.newArrayList();
+		for (final String name : new String[] { "first", "second" }) {
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					try {
+						resourceSet.getResource(URI.createURI("file:/" + name + ".xmi"), true);
+					} catch (Throwable e) {
+						synchronized (errors) {
+							errors.add(e);
+						}
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		Assert.assertEquals(errors.toString(), 0, errors.size());
+		Assert.assertEquals(2, resourceSet.getResources().size());
+	}
+
+	@Test public void testLoadsThatDependOnEachOther() throws Exception {
+		final CyclicBarrier barrier = new CyclicBarrier(2);
+		final URI first = URI.createURI("file:/first.xmi");
+		final URI second = URI.createURI("file:/second.xmi");
+		final ConcurrentXtextResourceSet resourceSet = new ConcurrentXtextResourceSet();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new Resource.Factory() {
+			@Override
+			public Resource createResource(URI uri) {
+				return new ResourceImpl(uri) {
+					@Override
+					public void load(Map<?, ?> options) throws IOException {
+						isLoaded = true;
+						try {
+							barrier.await(10, TimeUnit.SECONDS);
+						} catch (Exception e) {
+							throw new IOException(e);
+						}
+						// each resource requests the other one while both are loaded
+						Resource other = resourceSet.getResource(getURI().equals(first) ? second : first, true);
+						Assert.assertNotNull(other);
+					}
+				};
+			}
+		});
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				try {
+					resourceSet.getResource(second, true);
+				} catch (Throwable e) {
+					error.set(e);
+				}
+			}
+		};
+		thread.start();
+		Resource resource = resourceSet.getResource(first, true);
+		thread.join(10000);
+		Assert.assertFalse("deadlock", thread.isAlive());
+		Assert.assertNull(error.get());
+		Assert.assertSame(resource, resourceSet.getResource(first, true));
+		Assert.assertTrue(resourceSet.getResource(second, false).isLoaded());
+	}
+
+	@Test public void testWaitsForLoadWhileHoldingTheLock() throws Exception {
+		final Thread waiter = Thread.currentThread();
+		final URI uri = URI.createURI("file:/locked.xmi");
+		final ConcurrentXtextResourceSet resourceSet = new ConcurrentXtextResourceSet();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new Resource.Factory() {
+			@Override
+			public Resource createResource(URI uri) {
+				return new ResourceImpl(uri) {
+					@Override
+					public void load(Map<?, ?> options) throws IOException {
+						isLoaded = true;
+						long timeout = System.currentTimeMillis() + 10000;
+						while (waiter.getState() != Thread.State.WAITING && System.currentTimeMillis() < timeout) {
+							Thread.yield();
+						}
+						// needs the lock that is held by the waiting thread
+						resourceSet.getResource(URI.createURI("file:/other.xmi"), false);
+					}
+				};
+			}
+		});
+		Thread thread = new Thread() {
+			@Override
+			public void run() {
+				resourceSet.getResource(uri, true);
+			}
+		};
+		Resource resource;
+		synchronized (resourceSet.getLock()) {
+			thread.start();
+			// waits for the load of the other thread as soon as it has started
+			while (resourceSet.getResource(uri, false) == null) {
+				Thread.yield();
+			}
+			resource = resourceSet.getResource(uri, true);
+		}
+		thread.join(10000);
+		Assert.assertFalse("deadlock", thread.isAlive());
+		Assert.assertTrue(resource.isLoaded());
+	}
+
+	@Test public void testWithdrawnResources() {
+		ConcurrentXtextResourceSet resourceSet = createCountingResourceSet();
+		URI first = URI.createURI("file:/first.xmi");
+		URI second = URI.createURI("file:/second.xmi");
+		URI renamed = URI.createURI("file:/renamed.xmi");
+
+		Resource resource = resourceSet.getResource(first, true);
+		Assert.assertSame(resource, resourceSet.getResource(first, false));
+		resourceSet.getResources().remove(resource);
+		Assert.assertNull(resourceSet.getResource(first, false));
+
+		resource = resourceSet.getResource(second, true);
+		resource.setURI(renamed);
+		Assert.assertNull(resourceSet.getResource(second, false));
+		Assert.assertSame(resource, resourceSet.getResource(renamed, false));
+
+		resource.unload();
+		Assert.assertSame(resource, resourceSet.getResource(renamed, false));
+		Assert.assertFalse(resource.isLoaded());
+		Assert.assertSame(resource, resourceSet.getResource(renamed, true));
+		Assert.assertEquals(3, loadCount.get());
+	}
+
+	@Test public void testUnloadedWhilePublishing() throws InterruptedException {
+		RacingResourceSet resourceSet = new RacingResourceSet() {
+			@Override
+			protected void race(Resource resource) {
+				resource.unload();
+			}
+		};
+		withCountingResources(resourceSet);
+		URI uri = URI.createURI("file:/unloaded.xmi");
+		Resource resource = resourceSet.getResource(uri, true);
+		resourceSet.racer.join();
+		Assert.assertFalse(resource.isLoaded());
+		Assert.assertSame(resource, resourceSet.getResource(uri, true));
+		Assert.assertTrue(resource.isLoaded());
+		Assert.assertEquals(2, loadCount.get());
+	}
+
+	@Test public void testRenamedWhilePublishing() throws InterruptedException {
+		RacingResourceSet resourceSet = new RacingResourceSet() {
+			@Override
+			protected void race(Resource resource) {
+				resource.setURI(URI.createURI("file:/renamed.xmi"));
+			}
+		};
+		withCountingResources(resourceSet);
+		URI uri = URI.createURI("file:/original.xmi");
+		Resource resource = resourceSet.getResource(uri, true);
+		resourceSet.racer.join();
+		Assert.assertNull(resourceSet.getResource(uri, false));
+		Assert.assertSame(resource, resourceSet.getResource(URI.createURI("file:/renamed.xmi"), false));
+	}
+
+	/**
+	 * Changes the first resource on another thread while it is about to be published. The racer runs until it is done
+	 * or blocks.
+	 */
+	protected abstract static class RacingResourceSet extends ConcurrentXtextResourceSet {
+
+		private Thread racer;
+
+		protected abstract void race(Resource resource);
+
+		@Override
+		protected boolean publish(URI uri, final Resource resource, URI resourceURI) {
+			if (racer == null) {
+				racer = new Thread() {
+					@Override
+					public void run() {
+						race(resource);
+					}
+				};
+				racer.start();
+				while (racer.isAlive() && racer.getState() != Thread.State.BLOCKED) {
+					Thread.yield();
+				}
+			}
+			return super.publish(uri, resource, resourceURI);
+		}
+	}
+
+}
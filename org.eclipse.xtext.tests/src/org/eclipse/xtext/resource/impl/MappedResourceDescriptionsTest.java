@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * @since 2.11
+ */
+public class MappedResourceDescriptionsTest extends ReverseDependencyIndexTest {
+
+	@Override
+	protected ResourceDescriptionsData createData(List<IResourceDescription> descriptions) {
+		return new MappedResourceDescriptionsData(mapped(descriptions));
+	}
+
+	@Test public void testRoundTrip() {
+		SerializableResourceDescription description = (SerializableResourceDescription) description(B, "Foo", Lists.newArrayList("x.Y"), A);
+		SerializableEObjectDescription object = description.getDescriptions().get(0);
+		object.setQualifiedName(QualifiedName.create("a", "Foo"));
+		object.setUserData(Maps.newHashMap(Collections.singletonMap("key", "value")));
+		MappedResourceDescriptions mapped = mapped(Lists.<IResourceDescription>newArrayList(
+				description(C, "foo", Collections.<String>emptyList(), null),
+				description,
+				description(A, "Bar", Collections.<String>emptyList(), null)));
+
+		assertEquals(Lists.newArrayList(A, B, C), uris(mapped.getAllResourceDescriptions()));
+		IResourceDescription loaded = mapped.getResourceDescription(B);
+		assertEquals(B, loaded.getURI());
+		assertEquals(Lists.newArrayList(QualifiedName.create("x.Y")), Lists.newArrayList(loaded.getImportedNames()));
+		IReferenceDescription reference = Iterables.getOnlyElement(loaded.getReferenceDescriptions());
+		assertEquals(B.appendFragment("/0"), reference.getSourceEObjectUri());
+		assertEquals(A.appendFragment("/0"), reference.getTargetEObjectUri());
+		IEObjectDescription loadedObject = Iterables.getOnlyElement(loaded.getExportedObjects());
+		assertEquals(QualifiedName.create("a", "Foo"), loadedObject.getName());
+		assertEquals(EcorePackage.Literals.ECLASS, loadedObject.getEClass());
+		assertEquals("value", loadedObject.getUserData("key"));
+		assertNull(loadedObject.getUserData("unknown"));
+		assertNull(mapped.getResourceDescription(URI.createURI("test:/unknown.ext")));
+	}
+
+	@Test public void testLookupByName() {
+		MappedResourceDescriptions mapped = mapped(Lists.<IResourceDescription>newArrayList(
+				description(A, "foo", Collections.<String>emptyList(), null),
+				description(B, "Foo", Collections.<String>emptyList(), null),
+				description(C, "bar", Collections.<String>emptyList(), null)));
+		assertEquals(Sets.newHashSet(A), objectURIs(mapped.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("foo"), false)));
+		assertEquals(Sets.newHashSet(A, B), objectURIs(mapped.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("FOO"), true)));
+		assertEquals(Sets.newHashSet(C), objectURIs(mapped.getExportedObjects(EcorePackage.Literals.EOBJECT, QualifiedName.create("bar"), false)));
+		assertTrue(Iterables.isEmpty(mapped.getExportedObjects(EcorePackage.Literals.EPACKAGE, QualifiedName.create("bar"), false)));
+		assertTrue(Iterables.isEmpty(mapped.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("baz"), true)));
+	}
+
+	@Test public void testLookupByPrefix() {
+		SerializableResourceDescription description = (SerializableResourceDescription) description(B, "Foo", Collections.<String>emptyList(), null);
+		description.getDescriptions().get(0).setQualifiedName(QualifiedName.create("Bar", "FooBar"));
+		List<IResourceDescription> descriptions = Lists.<IResourceDescription>newArrayList(
+				description(A, "foo", Collections.<String>emptyList(), null),
+				description,
+				description(C, "baz", Collections.<String>emptyList(), null));
+		MappedResourceDescriptions mapped = mapped(descriptions);
+		ResourceDescriptionsData data = new ResourceDescriptionsData(descriptions);
+		for (String prefix : Lists.newArrayList("f", "FOO", "foob", "ba", "bar", "", "x")) {
+			assertEquals(prefix, objectURIs(data.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, prefix)),
+					objectURIs(mapped.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, prefix)));
+		}
+		assertEquals(Sets.newHashSet(A, B), objectURIs(mapped.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "Fo")));
+		assertEquals(Sets.newHashSet(B, C), objectURIs(mapped.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "b")));
+		assertTrue(Iterables.isEmpty(mapped.getExportedObjectsByPrefix(EcorePackage.Literals.EPACKAGE, "f")));
+	}
+
+	@Test public void testOverlay() {
+		MappedResourceDescriptionsData data = (MappedResourceDescriptionsData) createData(Lists.<IResourceDescription>newArrayList(
+				description(A, "a", Collections.<String>emptyList(), null),
+				description(B, "b", Collections.<String>emptyList(), null)));
+		MappedResourceDescriptionsData copy = data.copy();
+		assertSame(data.getMappedResourceDescriptions(), copy.getMappedResourceDescriptions());
+		data.removeDescription(A);
+		data.addDescription(B, description(B, "b2", Collections.<String>emptyList(), null));
+		data.addDescription(C, description(C, "c", Collections.<String>emptyList(), null));
+		assertFalse(data.isMapped(A));
+		assertFalse(data.isMapped(B));
+		assertTrue(copy.isMapped(A));
+		assertTrue(copy.isMapped(B));
+		assertEquals(Sets.newHashSet(B, C), data.getAllURIs());
+		assertEquals(Sets.newHashSet(B, C), Sets.newHashSet(uris(data.getAllResourceDescriptions())));
+		assertEquals(Sets.newHashSet(A, B), copy.getAllURIs());
+		assertNull(data.getResourceDescription(A));
+		assertEquals(QualifiedName.create("b2"), Iterables.getOnlyElement(data.getResourceDescription(B).getExportedObjects()).getName());
+		assertTrue(Iterables.isEmpty(data.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("a"), false)));
+		assertTrue(Iterables.isEmpty(data.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("b"), false)));
+		assertEquals(Sets.newHashSet(B), objectURIs(data.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("b2"), false)));
+		assertEquals(Sets.newHashSet(B), objectURIs(data.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "b")));
+		assertEquals(Sets.newHashSet(B), objectURIs(copy.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "b")));
+		assertEquals(Sets.newHashSet(A), objectURIs(copy.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("a"), false)));
+		assertEquals(2, Iterables.size(data.getExportedObjects()));
+
+		MappedResourceDescriptionsData copyOfChanged = data.copy();
+		copyOfChanged.addDescription(A, description(A, "a", Collections.<String>emptyList(), null));
+		assertEquals(Sets.newHashSet(A, B, C), copyOfChanged.getAllURIs());
+		assertEquals(Sets.newHashSet(B, C), data.getAllURIs());
+	}
+
+	@Test public void testChunkedResourceDescriptionsRoundTrip() throws Exception {
+		ChunkedResourceDescriptions index = new ChunkedResourceDescriptions();
+		index.setContainer("first", new ResourceDescriptionsData(Lists.<IResourceDescription>newArrayList(
+				description(A, "a", Lists.newArrayList("b"), null),
+				description(B, "b", Collections.<String>emptyList(), C))));
+		index.setContainer("second", new ResourceDescriptionsData(Lists.<IResourceDescription>newArrayList(
+				description(C, "c", Collections.<String>emptyList(), null))));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(index);
+		out.close();
+		ChunkedResourceDescriptions loaded = (ChunkedResourceDescriptions) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+		assertTrue(loaded.getContainer("first") instanceof MappedResourceDescriptionsData);
+		assertEquals(Sets.newHashSet(A, B), loaded.getContainer("first").getAllURIs());
+		assertEquals(Sets.newHashSet(C), loaded.getContainer("second").getAllURIs());
+		assertEquals(Sets.newHashSet(C), objectURIs(loaded.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create("c"), false)));
+		assertEquals(Sets.newHashSet(A), objectURIs(loaded.getContainer("first").getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "a")));
+		assertEquals(Sets.newHashSet(B), loaded.getReferrers(Lists.newArrayList(C)));
+		assertEquals(Sets.newHashSet(A), loaded.getContainer("first").getDependentURIs(deltas(loaded.getContainer("first"), B)));
+		assertEquals(Lists.newArrayList(QualifiedName.create("b")), Lists.newArrayList(loaded.getResourceDescription(A).getImportedNames()));
+	}
+
+	@Test public void testReadSerializedChunks() throws Exception {
+		// the format that was written before the chunks were stored in the mapped format
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeInt(1);
+		out.writeUTF("first");
+		out.writeInt(1);
+		out.writeObject(description(A, "a", Collections.<String>emptyList(), null));
+		out.close();
+		ChunkedResourceDescriptions loaded = new ChunkedResourceDescriptions();
+		loaded.readExternal(new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		assertFalse(loaded.getContainer("first") instanceof MappedResourceDescriptionsData);
+		assertEquals(Sets.newHashSet(A), loaded.getContainer("first").getAllURIs());
+	}
+
+	protected MappedResourceDescriptions mapped(List<IResourceDescription> descriptions) {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			new MappedResourceDescriptionsWriter().write(new ResourceDescriptionsData(descriptions), out);
+			return new MappedResourceDescriptions(ByteBuffer.wrap(out.toByteArray()));
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private List<URI> uris(Iterable<IResourceDescription> descriptions) {
+		List<URI> result = Lists.newArrayList();
+		for (IResourceDescription description : descriptions) {
+			result.add(description.getURI());
+		}
+		return result;
+	}
+
+	private Set<URI> objectURIs(Iterable<IEObjectDescription> objects) {
+		Set<URI> result = Sets.newHashSet();
+		for (IEObjectDescription object : objects) {
+			result.add(object.getEObjectURI().trimFragment());
+		}
+		return result;
+	}
+}
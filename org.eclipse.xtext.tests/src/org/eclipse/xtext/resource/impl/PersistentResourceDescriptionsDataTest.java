@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Runs the reverse dependency tests against the persistent implementation, too.
+ *
+ * @since 2.11
+ */
+public class PersistentResourceDescriptionsDataTest extends ReverseDependencyIndexTest {
+
+	@Override
+	protected ResourceDescriptionsData createData(List<IResourceDescription> descriptions) {
+		return new PersistentResourceDescriptionsData(descriptions);
+	}
+
+	@Test public void testCopyIsIndependent() {
+		ResourceDescriptionsData data = createData(Lists.<IResourceDescription>newArrayList(
+				description(A, "a", Collections.<String>emptyList(), null),
+				description(B, "shared", Collections.<String>emptyList(), null),
+				description(C, "shared", Collections.<String>emptyList(), null)));
+		ResourceDescriptionsData copy = data.copy();
+		copy.removeDescription(B);
+		copy.addDescription(A, description(A, "shared", Collections.<String>emptyList(), null));
+
+		assertEquals(Sets.newHashSet(A, B, C), Sets.newHashSet(data.getAllURIs()));
+		assertEquals(Sets.newHashSet(A, C), Sets.newHashSet(copy.getAllURIs()));
+		assertEquals(Sets.newHashSet(B, C), exportingURIs(data, "shared"));
+		assertEquals(Sets.newHashSet(A, C), exportingURIs(copy, "shared"));
+		assertEquals(Sets.newHashSet(A), exportingURIs(data, "a"));
+		assertEquals(Collections.emptySet(), exportingURIs(copy, "a"));
+	}
+
+	@Test public void testSameBehaviorAsDefault() {
+		ResourceDescriptionsData persistent = createData(Collections.<IResourceDescription>emptyList());
+		ResourceDescriptionsData original = new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList());
+		for (int i = 0; i < 200; i++) {
+			URI uri = URI.createURI("test:/" + (i % 50) + ".ext");
+			if (i % 7 == 0) {
+				persistent.removeDescription(uri);
+				original.removeDescription(uri);
+			} else {
+				IResourceDescription description = description(uri, "name" + (i % 13), Collections.<String>emptyList(), null);
+				persistent.addDescription(uri, description);
+				original.addDescription(uri, description);
+			}
+			if (i % 10 == 0) {
+				persistent = persistent.copy();
+			}
+		}
+		assertEquals(Sets.newHashSet(original.getAllURIs()), Sets.newHashSet(persistent.getAllURIs()));
+		for (int i = 0; i < 13; i++) {
+			assertEquals(exportingURIs(original, "name" + i), exportingURIs(persistent, "name" + i));
+		}
+	}
+
+	@Test public void testCopySharesSegmentIndex() {
+		ResourceDescriptionsData data = createData(Lists.<IResourceDescription>newArrayList(
+				segmented(A, "a.alpha"),
+				segmented(B, "b.beta")));
+		assertEquals(Sets.newHashSet(A), exportingURIsByPrefix(data, "alp"));
+		ResourceDescriptionsData copy = data.copy();
+		assertNotSame(data.segmentIndex, copy.segmentIndex);
+		assertSame(data.segmentIndex.root, copy.segmentIndex.root);
+
+		copy.addDescription(C, segmented(C, "c.alphabet"));
+		copy.removeDescription(A);
+		assertEquals(Sets.newHashSet(C), exportingURIsByPrefix(copy, "alp"));
+		assertEquals(Sets.newHashSet(A), exportingURIsByPrefix(data, "alp"));
+		assertEquals(Sets.newHashSet(B), exportingURIsByPrefix(copy, "b"));
+	}
+
+	@Test public void testSegmentIndexMatchesLookupMap() {
+		ResourceDescriptionsData data = createData(Collections.<IResourceDescription>emptyList());
+		data.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "");
+		for (int i = 0; i < 300; i++) {
+			URI uri = URI.createURI("test:/" + (i % 40) + ".ext");
+			if (i % 5 == 0) {
+				data.removeDescription(uri);
+			} else {
+				data.addDescription(uri, segmented(uri, "p" + (i % 3) + ".name" + (i % 17)));
+			}
+			if (i % 20 == 0) {
+				data = data.copy();
+			}
+		}
+		for (String prefix : new String[] { "", "p", "p1", "n", "name1", "name16", "x" }) {
+			Set<URI> expected = Sets.newHashSet();
+			for (IResourceDescription description : data.getAllResourceDescriptions()) {
+				for (IEObjectDescription object : description.getExportedObjects()) {
+					for (String segment : object.getName().toLowerCase().getSegments()) {
+						if (segment.startsWith(prefix)) {
+							expected.add(description.getURI());
+						}
+					}
+				}
+			}
+			assertEquals(prefix, expected, exportingURIsByPrefix(data, prefix));
+		}
+	}
+
+	private IResourceDescription segmented(URI uri, String exported) {
+		SerializableResourceDescription result = (SerializableResourceDescription) description(uri, exported, Collections.<String>emptyList(), null);
+		result.getDescriptions().get(0).setQualifiedName(QualifiedName.create(exported.split("\\.")));
+		return result;
+	}
+
+	private Set<URI> exportingURIsByPrefix(ResourceDescriptionsData data, String prefix) {
+		Set<URI> result = Sets.newHashSet();
+		for (IEObjectDescription object : data.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, prefix)) {
+			result.add(object.getEObjectURI().trimFragment());
+		}
+		return result;
+	}
+
+	private Set<URI> exportingURIs(ResourceDescriptionsData data, String name) {
+		Set<URI> result = Sets.newHashSet();
+		for (IEObjectDescription object : data.getExportedObjects(EcorePackage.Literals.ECLASS, QualifiedName.create(name), false)) {
+			result.add(object.getEObjectURI().trimFragment());
+		}
+		return result;
+	}
+}
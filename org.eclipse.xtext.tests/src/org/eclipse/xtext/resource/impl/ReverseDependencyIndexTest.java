@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescription.Delta;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableReferenceDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * @since 2.11
+ */
+public class ReverseDependencyIndexTest extends Assert {
+
+	protected static final URI A = URI.createURI("test:/a.ext");
+	protected static final URI B = URI.createURI("test:/b.ext");
+	protected static final URI C = URI.createURI("test:/c.ext");
+
+	@Test public void testImportedNames() {
+		ResourceDescriptionsData data = createData(Lists.<IResourceDescription>newArrayList(
+				description(A, "a", Collections.<String>emptyList(), null),
+				description(B, "b", Lists.newArrayList("A"), null),
+				description(C, "c", Lists.newArrayList("b"), null)));
+		assertEquals(Sets.newHashSet(B), data.getDependentURIs(deltas(data, A)));
+		assertEquals(Sets.newHashSet(C), data.getDependentURIs(deltas(data, B)));
+		assertEquals(Collections.emptySet(), data.getDependentURIs(deltas(data, C)));
+	}
+
+	@Test public void testReferences() {
+		ResourceDescriptionsData data = createData(Lists.<IResourceDescription>newArrayList(
+				description(A, "a", Collections.<String>emptyList(), null),
+				description(B, "b", Collections.<String>emptyList(), A),
+				description(C, "c", Collections.<String>emptyList(), C)));
+		assertEquals(Sets.newHashSet(B), data.getReverseDependencyIndex().getReferrers(A));
+		assertEquals(Collections.emptySet(), data.getReverseDependencyIndex().getReferrers(C));
+		assertEquals(Sets.newHashSet(B), data.getDependentURIs(deltas(data, A)));
+	}
+
+	@Test public void testReferrers() {
+		ResourceDescriptionsData data = createData(Lists.<IResourceDescription>newArrayList(
+				description(A, "a", Collections.<String>emptyList(), B),
+				description(B, "b", Collections.<String>emptyList(), C),
+				description(C, "c", Collections.<String>emptyList(), C)));
+		assertEquals(Sets.newHashSet(A, B), data.getReferrers(Lists.newArrayList(B, C)));
+		assertEquals(Collections.emptySet(), data.getReferrers(Lists.newArrayList(A)));
+		ChunkedResourceDescriptions chunked = new ChunkedResourceDescriptions();
+		chunked.setContainer("first", data);
+		chunked.setContainer("second", createData(Lists.<IResourceDescription>newArrayList(
+				description(URI.createURI("test:/d.ext"), "d", Collections.<String>emptyList(), A))));
+		assertEquals(Sets.newHashSet(URI.createURI("test:/d.ext"), B), chunked.getReferrers(Lists.newArrayList(A, C)));
+	}
+
+	@Test public void testUpdates() {
+		ResourceDescriptionsData data = createData(Lists.<IResourceDescription>newArrayList(
+				description(A, "a", Collections.<String>emptyList(), null),
+				description(B, "b", Lists.newArrayList("a"), null)));
+		assertEquals(Sets.newHashSet(B), data.getDependentURIs(deltas(data, A)));
+		data.addDescription(B, description(B, "b", Collections.<String>emptyList(), null));
+		data.addDescription(C, description(C, "c", Lists.newArrayList("a"), null));
+		assertEquals(Sets.newHashSet(C), data.getDependentURIs(deltas(data, A)));
+		data.removeDescription(C);
+		assertEquals(Collections.emptySet(), data.getDependentURIs(deltas(data, A)));
+
+		ResourceDescriptionsData copy = data.copy();
+		copy.addDescription(C, description(C, "c", Lists.newArrayList("a"), null));
+		assertEquals(Sets.newHashSet(C), copy.getDependentURIs(deltas(copy, A)));
+		assertEquals(Collections.emptySet(), data.getDependentURIs(deltas(data, A)));
+	}
+
+	protected ResourceDescriptionsData createData(List<IResourceDescription> descriptions) {
+		return new ResourceDescriptionsData(descriptions);
+	}
+
+	protected List<Delta> deltas(ResourceDescriptionsData data, URI uri) {
+		IResourceDescription description = data.getResourceDescription(uri);
+		return Collections.<Delta>singletonList(new DefaultResourceDescriptionDelta(description, null));
+	}
+
+	protected IResourceDescription description(URI uri, String exported, List<String> imported, URI referenced) {
+		SerializableResourceDescription result = new SerializableResourceDescription();
+		result.setURI(uri);
+		SerializableEObjectDescription object = new SerializableEObjectDescription();
+		object.setEClass(EcorePackage.Literals.ECLASS);
+		object.setEObjectURI(uri.appendFragment("/0"));
+		object.setQualifiedName(QualifiedName.create(exported));
+		result.setDescriptions(Lists.newArrayList(object));
+		List<QualifiedName> importedNames = Lists.newArrayList();
+		for (String name : imported) {
+			importedNames.add(QualifiedName.create(name));
+		}
+		result.setImportedNames(importedNames);
+		List<SerializableReferenceDescription> references = Lists.newArrayList();
+		if (referenced != null) {
+			SerializableReferenceDescription reference = new SerializableReferenceDescription();
+			reference.setSourceEObjectUri(uri.appendFragment("/0"));
+			reference.setTargetEObjectUri(referenced.appendFragment("/0"));
+			references.add(reference);
+		}
+		result.setReferences(references);
+		return result;
+	}
+}
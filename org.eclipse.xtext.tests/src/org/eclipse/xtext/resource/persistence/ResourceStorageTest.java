@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.build.BuildRequest;
+import org.eclipse.xtext.build.IncrementalBuilder;
+import org.eclipse.xtext.build.IndexState;
+import org.eclipse.xtext.linking.LangATestLanguageRuntimeModule;
+import org.eclipse.xtext.linking.LangATestLanguageStandaloneSetup;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.tests.AbstractXtextTests;
+import org.eclipse.xtext.tests.TemporaryFolder;
+import org.eclipse.xtext.util.Modules2;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Iterables;
+import com.google.common.io.Files;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+/**
+ * @since 2.11
+ */
+public class ResourceStorageTest extends AbstractXtextTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		with(new LangATestLanguageStandaloneSetup());
+	}
+
+	@Test public void testLoadResourceDescription() throws Exception {
+		URI uri = newFile("description.langatestlanguage", "type A type B extends A");
+		byte[] storage = writeStorage(uri);
+
+		URI otherURI = URI.createURI("hubba:/other.langatestlanguage");
+		IResourceDescription description = new ResourceStorageLoadable(new ByteArrayInputStream(storage), true)
+				.loadResourceDescription(otherURI);
+		assertEquals(otherURI, description.getURI());
+		assertEquals(QualifiedName.create("B"), Iterables.get(description.getExportedObjects(), 1).getName());
+		assertEquals(otherURI, Iterables.get(description.getExportedObjects(), 1).getEObjectURI().trimFragment());
+	}
+
+	@Test public void testLoadResourceDescriptionFromStorageNextToResource() throws Exception {
+		URI uri = newLibrary("facade.zip", "type A");
+		ResourceStorageFacade facade = get(ResourceStorageFacade.class);
+		XtextResourceSet resourceSet = get(XtextResourceSet.class);
+		IResourceDescription description = facade.loadResourceDescription(uri, resourceSet.getURIConverter());
+		assertEquals(uri, description.getURI());
+		assertEquals(QualifiedName.create("A"), Iterables.getOnlyElement(description.getExportedObjects()).getName());
+		assertNull(resourceSet.getResource(uri, false));
+
+		URI withoutStorage = newFile("withoutStorage.langatestlanguage", "type A");
+		assertNull(facade.loadResourceDescription(withoutStorage, resourceSet.getURIConverter()));
+	}
+
+	@Test public void testIndexLibraryFromStorage() throws Exception {
+		URI uri = newLibrary("library.zip", "type A type B extends A");
+		final Injector injector = new LangATestLanguageStandaloneSetup() {
+			@Override
+			public Injector createInjector() {
+				return Guice.createInjector(Modules2.mixin(new LangATestLanguageRuntimeModule(), new AbstractModule() {
+					@Override
+					protected void configure() {
+						bind(IResourceDescription.Manager.class).to(StorageAwareResourceDescriptionManager.class);
+					}
+				}));
+			}
+		}.createInjectorAndDoEMFRegistration();
+		BuildRequest request = new BuildRequest();
+		request.setResourceSet(injector.getInstance(XtextResourceSet.class));
+		request.setDirtyFiles(Collections.singletonList(uri));
+		request.setIndexOnly(true);
+		IncrementalBuilder.Result result = injector.getInstance(IncrementalBuilder.class).build(request,
+				new Function1<URI, IResourceServiceProvider>() {
+					@Override
+					public IResourceServiceProvider apply(URI p) {
+						return injector.getInstance(IResourceServiceProvider.class);
+					}
+				});
+		assertNull(request.getResourceSet().getResource(uri, false));
+		assertEquals(uri, Iterables.getOnlyElement(result.getAffectedResources()).getUri());
+		IResourceDescription description = result.getIndexState().getResourceDescriptions().getResourceDescription(uri);
+		assertEquals(QualifiedName.create("B"), Iterables.get(description.getExportedObjects(), 1).getName());
+	}
+
+	@Test public void testLoadNodeModelLazily() throws Exception {
+		String model = "type A type B extends A";
+		File file = temporaryFolder.newFile("lazy.langatestlanguage");
+		Files.write(model, file, Charsets.UTF_8);
+		URI uri = URI.createFileURI(file.getAbsolutePath());
+		StorageAwareResource resource = (StorageAwareResource) get(XtextResourceSet.class).getResource(uri, true);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new ResourceStorageWritable(out, true).writeResource(resource);
+
+		StorageAwareResource loaded = (StorageAwareResource) get(XtextResourceSet.class).createResource(uri);
+		loaded.loadFromStorage(new ResourceStorageLoadable(new ByteArrayInputStream(out.toByteArray()), true, true));
+		EObject root = loaded.getContents().get(0);
+		assertNull(NodeModelUtils.getNode(root));
+		assertEquals(model, loaded.getParseResult().getRootNode().getText());
+		assertSame(root, loaded.getParseResult().getRootASTElement());
+		assertNotNull(NodeModelUtils.getNode(root));
+	}
+
+	@Test public void testLoadNodeModelLazilyAfterContentsWereReplaced() throws Exception {
+		URI uri = newFile("replaced.langatestlanguage", "type A");
+		byte[] storage = writeStorage(uri);
+
+		StorageAwareResource loaded = (StorageAwareResource) get(XtextResourceSet.class).createResource(uri);
+		loaded.loadFromStorage(new ResourceStorageLoadable(new ByteArrayInputStream(storage), true, true));
+		loaded.getContents().set(0, EcoreUtil.copy(loaded.getContents().get(0)));
+		try {
+			loaded.getParseResult();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("replaced"));
+		}
+	}
+
+	@Test public void testLoadWithoutResourceSet() throws Exception {
+		URI uri = newFile("synthetic.langatestlanguage", "type A");
+		byte[] storage = writeStorage(uri);
+
+		StorageAwareResource loaded = (StorageAwareResource) getResourceFactory().createResource(uri);
+		loaded.loadFromStorage(new ResourceStorageLoadable(new ByteArrayInputStream(storage), true, true));
+		assertEquals(1, loaded.getContents().size());
+		assertNull(loaded.getParseResult());
+	}
+
+	private URI newFile(String name, String model) throws Exception {
+		File file = temporaryFolder.newFile(name);
+		Files.write(model, file, Charsets.UTF_8);
+		return URI.createFileURI(file.getAbsolutePath());
+	}
+
+	/**
+	 * Creates a zip that contains the given model and its storage and returns the archive URI of the model.
+	 */
+	private URI newLibrary(String name, String model) throws Exception {
+		byte[] storage = writeStorage(newFile("source.langatestlanguage", model));
+		File zip = temporaryFolder.newFile(name);
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip));
+		try {
+			out.putNextEntry(new ZipEntry("library.langatestlanguage"));
+			out.write(model.getBytes(Charsets.UTF_8));
+			out.closeEntry();
+			out.putNextEntry(new ZipEntry(".library.langatestlanguagebin"));
+			out.write(storage);
+			out.closeEntry();
+		} finally {
+			out.close();
+		}
+		return URI.createURI("archive:" + URI.createFileURI(zip.getAbsolutePath()) + "!/library.langatestlanguage");
+	}
+
+	private byte[] writeStorage(URI uri) throws Exception {
+		StorageAwareResource resource = (StorageAwareResource) get(XtextResourceSet.class).getResource(uri, true);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new ResourceStorageWritable(out, true).writeResource(resource);
+		return out.toByteArray();
+	}
+
+}
@@ -148,4 +148,34 @@ class SerializableResourceDescriptionTest {
 		val after = in.readObject as SerializableResourceDescription
 		assertDescriptionsEqual(before, after)
 	}
-}
\ No newline at end of file
+	
+	@Test def void testCopySharesNames() {
+		val first = SerializableResourceDescription.createCopy(createDescription('file:/first.ext'))
+		val second = SerializableResourceDescription.createCopy(createDescription('file:/second.ext'))
+		assertSame(first.importedNames.head, second.importedNames.head)
+		assertSame(first.descriptions.head.qualifiedName, second.descriptions.head.qualifiedName)
+		assertEquals(0, first.descriptions.head.userDataKeys.length)
+		assertNull(first.descriptions.head.getUserData('myKey'))
+	}
+	
+	def private SerializableResourceDescription createDescription(String uri) {
+		new SerializableResourceDescription => [
+			URI = URI::createURI(uri)
+			references = #[
+				new SerializableReferenceDescription => [
+					sourceEObjectUri = URI::createURI(uri + '#foo')
+					targetEObjectUri = URI::createURI('file:/target.ext#bar')
+					EReference = EcorePackage.eINSTANCE.EAnnotation_Contents
+				]
+			]
+			descriptions = #[
+				new SerializableEObjectDescription => [
+					EObjectURI = URI::createURI(uri + '#foo')
+					qualifiedName = QualifiedName.create('foo')
+					EClass = EcorePackage.eINSTANCE.EAttribute
+				]
+			]
+			importedNames = #[QualifiedName.create('target', 'bar')]
+		]
+	}
+}
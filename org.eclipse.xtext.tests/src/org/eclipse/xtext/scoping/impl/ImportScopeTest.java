@@ -30,6 +30,8 @@ import org.eclipse.xtext.scoping.IScope;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.google.common.base.Predicate;
+
 /**
  * @author Sven Efftinge - Initial contribution and API
  */
@@ -407,4 +409,59 @@ public class ImportScopeTest extends Assert {
 		assertEquals("bar", barDescription.getName().toString());
 	}
 	
+	@Test public void testResolvedNamesAreMemoized() throws Exception {
+		final IEObjectDescription desc1 = EObjectDescription.create(QualifiedName.create("com","foo"), EcorePackage.Literals.EANNOTATION);
+		SimpleScope outer = new SimpleScope(newArrayList(desc1), true);
+		final List<QualifiedName> queried = newArrayList();
+		ISelectable importFrom = new ScopeBasedSelectable(outer) {
+			@Override
+			public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName name, boolean ignoreCase) {
+				queried.add(name);
+				return super.getExportedObjects(type, name, ignoreCase);
+			}
+		};
+		ImportNormalizer n1 = new ImportNormalizer(QualifiedName.create("com"), true, true);
+		ImportNormalizer n2 = new ImportNormalizer(QualifiedName.create("de"), true, true);
+		TestableImportScope scope = new TestableImportScope(newArrayList(n1, n2), outer, importFrom, EcorePackage.Literals.EOBJECT, true);
+		assertEquals("foo", scope.getSingleElement(QualifiedName.create("foo")).getName().toString());
+		assertEquals("foo", scope.getSingleElement(QualifiedName.create("FOO")).getName().toString());
+		assertEquals(1, size(scope.getElements(QualifiedName.create("Foo"))));
+		assertEquals(2, queried.size());
+	}
+	
+	@Test public void testGetElementsByPrefix() throws Exception {
+		SimpleScope outer = new SimpleScope(newArrayList(
+				EObjectDescription.create(QualifiedName.create("com","foo"), EcorePackage.Literals.EANNOTATION),
+				EObjectDescription.create(QualifiedName.create("com","bar"), EcorePackage.Literals.EANNOTATION),
+				EObjectDescription.create(QualifiedName.create("de","foo"), EcorePackage.Literals.EANNOTATION),
+				EObjectDescription.create(QualifiedName.create("Bar"), EcorePackage.Literals.EANNOTATION),
+				EObjectDescription.create(QualifiedName.create("other","Baz"), EcorePackage.Literals.EANNOTATION)), true);
+		ImportNormalizer n1 = new ImportNormalizer(QualifiedName.create("com"), true, true);
+		ImportNormalizer n2 = new ImportNormalizer(QualifiedName.create("de"), true, true);
+		IScope.IPrefixAware scope = new ImportScope.PrefixAwareImportScope(newArrayList(n1, n2), outer, null, EcorePackage.Literals.EOBJECT, true);
+		// the outer scope is not prefix aware, thus the result has to be filtered
+		for (String prefix : newArrayList("", "f", "B", "ba", "com", "x")) {
+			assertEquals(prefix, toNames(filterByPrefix(scope.getAllElements(), prefix)), toNames(filterByPrefix(scope.getElementsByPrefix(prefix), prefix)));
+		}
+		assertEquals("[bar, com.bar, other.Baz]", toNames(filterByPrefix(scope.getElementsByPrefix("b"), "b")).toString());
+		assertFalse(new ImportScope(newArrayList(n1, n2), outer, null, EcorePackage.Literals.EOBJECT, true) instanceof IScope.IPrefixAware);
+	}
+	
+	private Iterable<IEObjectDescription> filterByPrefix(Iterable<IEObjectDescription> elements, final String prefix) {
+		return filter(elements, new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				return input.getName().hasSegmentStartingWithIgnoreCase(prefix);
+			}
+		});
+	}
+	
+	private List<String> toNames(Iterable<IEObjectDescription> elements) {
+		List<String> result = newArrayList();
+		for (IEObjectDescription element : elements) {
+			result.add(element.getName().toString());
+		}
+		return result;
+	}
+	
 }
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.scoping.impl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.PersistentResourceDescriptionsData;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
+import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
+import org.eclipse.xtext.scoping.IScope;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * @since 2.11
+ */
+public class SelectableBasedScopeTest extends Assert {
+
+	@Test public void testGetElementsByEObject() {
+		Resource resource = new ResourceImpl(URI.createURI("test:/a.ecore"));
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		EClass first = EcoreFactory.eINSTANCE.createEClass();
+		EClass second = EcoreFactory.eINSTANCE.createEClass();
+		EClass hidden = EcoreFactory.eINSTANCE.createEClass();
+		ePackage.getEClassifiers().add(first);
+		ePackage.getEClassifiers().add(second);
+		ePackage.getEClassifiers().add(hidden);
+		resource.getContents().add(ePackage);
+
+		SerializableResourceDescription description = new SerializableResourceDescription();
+		description.setURI(resource.getURI());
+		description.setDescriptions(Lists.newArrayList(
+				object(first, "a.First"),
+				object(second, "a.Second"),
+				object(hidden, "a.First")));
+		description.setImportedNames(Collections.<QualifiedName>emptyList());
+		description.setReferences(Collections.emptyList());
+		ResourceDescriptionsData data = new ResourceDescriptionsData(Collections.<IResourceDescription>singletonList(description));
+
+		IScope scope = SelectableBasedScope.createScope(IScope.NULLSCOPE, data, EcorePackage.Literals.ECLASS, false);
+		assertEquals(QualifiedName.create("a", "First"), scope.getSingleElement(first).getName());
+		assertEquals(QualifiedName.create("a", "Second"), scope.getSingleElement(second).getName());
+		// shadowed by the first class with the same name
+		assertNull(scope.getSingleElement(hidden));
+
+		IScope wrongType = SelectableBasedScope.createScope(IScope.NULLSCOPE, data, EcorePackage.Literals.EDATA_TYPE, false);
+		assertNull(wrongType.getSingleElement(first));
+	}
+
+	@Test public void testGetElementsByPrefix() {
+		Resource resource = new ResourceImpl(URI.createURI("test:/a.ecore"));
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		resource.getContents().add(ePackage);
+		List<IEObjectDescription> objects = Lists.newArrayList();
+		for (String name : new String[] { "a.First", "a.Second", "b.FirstOfB", "Fifth" }) {
+			EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+			ePackage.getEClassifiers().add(eClass);
+			objects.add(object(eClass, name));
+		}
+		SerializableResourceDescription description = new SerializableResourceDescription();
+		description.setURI(resource.getURI());
+		description.setDescriptions(Lists.newArrayList(Iterables.filter(objects, SerializableEObjectDescription.class)));
+		description.setImportedNames(Collections.<QualifiedName>emptyList());
+		description.setReferences(Collections.emptyList());
+		ResourceDescriptionsData data = new ResourceDescriptionsData(Collections.<IResourceDescription>singletonList(description));
+
+		IScope.IPrefixAware scope = (IScope.IPrefixAware) SelectableBasedScope.createScope(IScope.NULLSCOPE, data, EcorePackage.Literals.ECLASS, false);
+		assertEquals(Sets.newHashSet("a.First", "b.FirstOfB"), names(scope.getElementsByPrefix("FIRST")));
+		assertEquals(Sets.newHashSet("a.First", "a.Second"), names(scope.getElementsByPrefix("a")));
+		assertEquals(Sets.newHashSet("a.First", "b.FirstOfB", "Fifth"), names(scope.getElementsByPrefix("f")));
+		assertEquals(Collections.emptySet(), names(scope.getElementsByPrefix("x")));
+
+		data.removeDescription(resource.getURI());
+		assertEquals(Collections.emptySet(), names(data.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "f")));
+		data.addDescription(resource.getURI(), description);
+		assertEquals(Sets.newHashSet("a.First", "b.FirstOfB", "Fifth"), names(data.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "f")));
+	}
+
+	@Test public void testGetElementsByPrefixAfterCopy() {
+		testGetElementsByPrefixAfterCopy(new ResourceDescriptionsData(Collections.<IResourceDescription>emptyList()));
+		testGetElementsByPrefixAfterCopy(new PersistentResourceDescriptionsData(Collections.<IResourceDescription>emptyList()));
+	}
+
+	private void testGetElementsByPrefixAfterCopy(ResourceDescriptionsData data) {
+		SerializableResourceDescription first = description("test:/first.ecore", "a.First", "a.Second");
+		SerializableResourceDescription second = description("test:/second.ecore", "b.FirstOfB", "a.First");
+		data.addDescription(first.getURI(), first);
+		assertEquals(Sets.newHashSet("a.First"), names(data.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "fi")));
+
+		ResourceDescriptionsData copy = data.copy();
+		copy.addDescription(second.getURI(), second);
+		assertEquals(Sets.newHashSet("a.First", "b.FirstOfB"), names(copy.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "fi")));
+		assertEquals(Sets.newHashSet("a.First"), names(data.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "fi")));
+
+		copy.removeDescription(first.getURI());
+		assertEquals(Sets.newHashSet("a.First", "b.FirstOfB"), names(copy.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "fi")));
+		assertEquals(Collections.emptySet(), names(copy.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "sec")));
+		assertEquals(Sets.newHashSet("a.Second"), names(data.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "sec")));
+
+		copy.removeDescription(second.getURI());
+		assertEquals(Collections.emptySet(), names(copy.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "fi")));
+		assertEquals(Sets.newHashSet("a.First"), names(data.getExportedObjectsByPrefix(EcorePackage.Literals.ECLASS, "fi")));
+	}
+
+	private SerializableResourceDescription description(String uri, String... names) {
+		Resource resource = new ResourceImpl(URI.createURI(uri));
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		resource.getContents().add(ePackage);
+		List<SerializableEObjectDescription> objects = Lists.newArrayList();
+		for (String name : names) {
+			EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+			ePackage.getEClassifiers().add(eClass);
+			objects.add(object(eClass, name));
+		}
+		SerializableResourceDescription result = new SerializableResourceDescription();
+		result.setURI(resource.getURI());
+		result.setDescriptions(objects);
+		result.setImportedNames(Collections.<QualifiedName>emptyList());
+		result.setReferences(Collections.emptyList());
+		return result;
+	}
+
+	private Set<String> names(Iterable<IEObjectDescription> elements) {
+		Set<String> result = Sets.newHashSet();
+		for (IEObjectDescription element : elements) {
+			result.add(element.getName().toString());
+		}
+		return result;
+	}
+
+	private SerializableEObjectDescription object(EClass eClass, String name) {
+		SerializableEObjectDescription result = new SerializableEObjectDescription();
+		result.setEClass(EcorePackage.Literals.ECLASS);
+		result.setEObjectURI(EcoreUtil.getURI(eClass));
+		List<String> segments = Lists.newArrayList(name.split("\\."));
+		result.setQualifiedName(QualifiedName.create(segments));
+		result.setUserData(Maps.<String, String>newHashMap());
+		return result;
+	}
+
+}
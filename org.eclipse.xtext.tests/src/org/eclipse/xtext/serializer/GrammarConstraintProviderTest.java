@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.serializer;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -470,4 +471,29 @@ public class GrammarConstraintProviderTest extends AbstractXtextTests {
 		expected.append("  D_C returns C: {C};");
 		assertEquals(expected.toString(), actual);
 	}
+	@Test
+	public void testConcurrentFirstUse() throws Exception {
+		final Grammar grammar = (Grammar) getModel(HEADER + "Rule: 'kw1' a1='a1' a2+='a2'* | b1=ID b2+=Sub*; Sub: val=ID;");
+		assertSame(get(IGrammarConstraintProvider.class), get(IGrammarConstraintProvider.class));
+		final List<Map<ISerializationContext, IConstraint>> results = Collections
+				.synchronizedList(Lists.<Map<ISerializationContext, IConstraint>> newArrayList());
+		List<Thread> threads = Lists.newArrayList();
+		for (int i = 0; i < 8; i++) {
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					results.add(get(IGrammarConstraintProvider.class).getConstraints(grammar));
+				}
+			});
+		}
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+		assertEquals(8, results.size());
+		for (Map<ISerializationContext, IConstraint> result : results)
+			assertSame(results.get(0), result);
+		assertEquals(2, results.get(0).size());
+	}
+
 }
@@ -7,15 +7,20 @@
  *******************************************************************************/
 package org.eclipse.xtext.util;
 
+import java.lang.ref.WeakReference;
+
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
 import org.eclipse.xtext.util.OnChangeEvictingCache.CacheAdapter;
+import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.google.inject.Provider;
+
 /**
  * @author Sven Efftinge - Initial contribution and API
  */
@@ -40,6 +45,114 @@ public class OnChangeEvictingCacheAdapterTest extends Assert {
 		setValue(ca);
 	}
 	
+	@Test public void testStatistics() throws Exception {
+		Resource resource = new ResourceImpl();
+		resource.getContents().add(EcoreFactory.eINSTANCE.createEClass());
+		OnChangeEvictingCache cache = new OnChangeEvictingCache();
+		assertEquals(value, cache.get(key, resource, provider(value)));
+		assertEquals(value, cache.get(key, resource, provider("other")));
+		CacheAdapter ca = cache.getOrCreate(resource);
+		assertEquals(1, ca.getHits());
+		assertEquals(1, ca.getMisses());
+		assertEquals(1, ca.getSize());
+		assertEquals(0, ca.getEvictions());
+		resource.getContents().add(EcoreFactory.eINSTANCE.createEClass());
+		assertEquals(0, ca.getHits());
+		assertEquals(0, ca.getMisses());
+		assertEquals(0, ca.getSize());
+		assertEquals(1, ca.getEvictions());
+	}
+	
+	@Test public void testMaximumSize() throws Exception {
+		OnChangeEvictingCache cache = new OnChangeEvictingCache();
+		cache.setMaximumSize(2);
+		Resource first = new ResourceImpl();
+		Resource second = new ResourceImpl();
+		cache.get("a", first, provider(value));
+		cache.get("b", first, provider(value));
+		final boolean[] evicted = new boolean[1];
+		cache.getOrCreate(first).addCacheListener(new OnChangeEvictingCache.Listener() {
+			@Override
+			public void onEvict(CacheAdapter adapter) {
+				evicted[0] = true;
+			}
+		});
+		cache.get("c", second, provider(value));
+		assertTrue(evicted[0]);
+		assertEquals(0, cache.getOrCreate(first).getSize());
+		assertEquals(1, cache.getOrCreate(second).getSize());
+		assertEquals(2, cache.getEvictionCount());
+		
+		cache.get("d", second, provider(value));
+		cache.get("e", second, provider(value));
+		assertEquals(3, cache.getOrCreate(second).getSize());
+		assertEquals(2, cache.getEvictionCount());
+	}
+	
+	@Test public void testSizeIsExact() throws Exception {
+		OnChangeEvictingCache cache = new OnChangeEvictingCache();
+		cache.setMaximumSize(2);
+		final Resource first = new ResourceImpl();
+		Resource second = new ResourceImpl();
+		cache.get("a", first, provider(value));
+		cache.clear(first);
+		assertEquals(0, cache.getSize());
+		cache.get("b", second, provider(value));
+		cache.getOrCreate(second).set("b", "other");
+		assertEquals(1, cache.getSize());
+		final OnChangeEvictingCache temporaryCache = cache;
+		cache.execWithTemporaryCaching(first, new IUnitOfWork.Void<Resource>() {
+			@Override
+			public void process(Resource state) throws Exception {
+				temporaryCache.get("c", first, provider(value));
+				assertEquals(2, temporaryCache.getSize());
+			}
+		});
+		assertEquals(1, cache.getSize());
+		cache.get("d", first, provider(value));
+		assertEquals(2, cache.getSize());
+		assertEquals(0, cache.getEvictionCount());
+		cache.get("e", second, provider(value));
+		assertEquals(2, cache.getSize());
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(0, cache.getOrCreate(first).getSize());
+	}
+	
+	@Test public void testRemovedAdapterIsReleased() throws Exception {
+		OnChangeEvictingCache cache = new OnChangeEvictingCache();
+		cache.setMaximumSize(2);
+		Resource resource = new ResourceImpl();
+		cache.get("a", resource, provider(value));
+		assertEquals(1, cache.getSize());
+		resource.eAdapters().remove(cache.getOrCreate(resource));
+		assertEquals(0, cache.getSize());
+	}
+	
+	@Test public void testCollectedResourceIsReleased() throws Exception {
+		OnChangeEvictingCache cache = new OnChangeEvictingCache();
+		cache.setMaximumSize(2);
+		Resource resource = new ResourceImpl();
+		cache.get("a", resource, provider(value));
+		assertEquals(1, cache.getSize());
+		WeakReference<Resource> reference = new WeakReference<Resource>(resource);
+		resource = null;
+		for (int i = 0; i < 50 && (reference.get() != null || cache.getSize() != 0); i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(reference.get());
+		assertEquals(0, cache.getSize());
+	}
+	
+	private Provider<String> provider(final String result) {
+		return new Provider<String>() {
+			@Override
+			public String get() {
+				return result;
+			}
+		};
+	}
+	
 	private void assertIsSet(CacheAdapter ca) {
 		assertEquals(value, ca.get(key));
 	}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @since 2.11
+ */
+public class PersistentHashMapTest extends Assert {
+
+	/**
+	 * A key with a poor hash code to provoke collisions.
+	 */
+	private static class Key {
+		private final int value;
+
+		Key(int value) {
+			this.value = value;
+		}
+
+		@Override
+		public int hashCode() {
+			return value % 7;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).value == value;
+		}
+
+		@Override
+		public String toString() {
+			return "Key" + value;
+		}
+	}
+
+	@Test public void testPutGetRemove() {
+		PersistentHashMap<String, Integer> map = new PersistentHashMap<String, Integer>();
+		assertNull(map.put("a", 1));
+		assertNull(map.put("b", 2));
+		assertEquals(Integer.valueOf(1), map.put("a", 3));
+		assertEquals(2, map.size());
+		assertEquals(Integer.valueOf(3), map.get("a"));
+		assertEquals(Integer.valueOf(2), map.remove("b"));
+		assertNull(map.remove("b"));
+		assertNull(map.get("b"));
+		assertNull(map.get(null));
+		assertEquals(1, map.size());
+	}
+
+	@Test public void testSnapshot() {
+		PersistentHashMap<String, Integer> map = new PersistentHashMap<String, Integer>();
+		for (int i = 0; i < 1000; i++) {
+			map.put("k" + i, i);
+		}
+		PersistentHashMap<String, Integer> snapshot = map.snapshot();
+		map.put("k1", -1);
+		map.remove("k2");
+		snapshot.put("new", 0);
+		assertEquals(Integer.valueOf(-1), map.get("k1"));
+		assertEquals(Integer.valueOf(1), snapshot.get("k1"));
+		assertFalse(map.containsKey("k2"));
+		assertTrue(snapshot.containsKey("k2"));
+		assertFalse(map.containsKey("new"));
+		assertEquals(999, map.size());
+		assertEquals(1001, snapshot.size());
+	}
+
+	@Test public void testCollisions() {
+		PersistentHashMap<Key, Integer> map = new PersistentHashMap<Key, Integer>();
+		for (int i = 0; i < 100; i++) {
+			map.put(new Key(i), i);
+		}
+		assertEquals(100, map.size());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(Integer.valueOf(i), map.get(new Key(i)));
+		}
+		for (int i = 0; i < 100; i += 2) {
+			map.remove(new Key(i));
+		}
+		assertEquals(50, map.size());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), map.get(new Key(i)));
+		}
+	}
+
+	@Test public void testRandomOperations() {
+		Random random = new Random(4711);
+		PersistentHashMap<Integer, Integer> map = new PersistentHashMap<Integer, Integer>();
+		Map<Integer, Integer> expectation = new HashMap<Integer, Integer>();
+		PersistentHashMap<Integer, Integer> snapshot = map.snapshot();
+		Map<Integer, Integer> snapshotExpectation = new HashMap<Integer, Integer>();
+		for (int i = 0; i < 20000; i++) {
+			Integer key = random.nextInt(2000) * 65536 + random.nextInt(3);
+			if (random.nextInt(3) == 0) {
+				assertEquals(expectation.remove(key), map.remove(key));
+			} else {
+				assertEquals(expectation.put(key, i), map.put(key, i));
+			}
+			if (i % 5000 == 0) {
+				assertEquals(snapshotExpectation, snapshot);
+				snapshot = map.snapshot();
+				snapshotExpectation = new HashMap<Integer, Integer>(expectation);
+			}
+		}
+		assertEquals(expectation, map);
+		assertEquals(map, expectation);
+		assertEquals(expectation.keySet(), map.keySet());
+		assertEquals(snapshotExpectation, snapshot);
+	}
+
+	@Test public void testIteratorRemove() {
+		PersistentHashMap<Integer, Integer> map = new PersistentHashMap<Integer, Integer>();
+		for (int i = 0; i < 100; i++) {
+			map.put(i, i);
+		}
+		Iterator<Integer> iterator = map.keySet().iterator();
+		int count = 0;
+		while (iterator.hasNext()) {
+			if (iterator.next() % 2 == 0)
+				iterator.remove();
+			count++;
+		}
+		assertEquals(100, count);
+		assertEquals(50, map.size());
+		for (Integer key : map.keySet()) {
+			assertTrue(key % 2 == 1);
+		}
+	}
+}
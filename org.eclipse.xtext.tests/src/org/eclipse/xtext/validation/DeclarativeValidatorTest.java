@@ -118,6 +118,60 @@ public class DeclarativeValidatorTest extends Assert {
 		assertTrue(diagnostics.toString(), diagnostics.isEmpty());
 	}
 
+	@Test public void testPrivateChecksAndCustomCheckMode() throws Exception {
+		AbstractDeclarativeValidator test = new AbstractDeclarativeValidator() {
+			@SuppressWarnings("unused")
+			@Check(CheckType.FAST)
+			private void fast(EClass x) {
+				error("fast", EcorePackage.Literals.ENAMED_ELEMENT__NAME);
+			}
+
+			@Check(CheckType.EXPENSIVE)
+			protected void expensive(EObject x) {
+				error("expensive", EcorePackage.Literals.ECLASS__ABSTRACT);
+			}
+		};
+		TestChain chain = helper.chain();
+		test.validate(EcorePackage.eINSTANCE.getEClass(), chain, null);
+		helper.assertMatch(chain, 
+				EcorePackage.Literals.ENAMED_ELEMENT__NAME, 
+				EcorePackage.Literals.ECLASS__ABSTRACT);
+
+		chain = helper.chain();
+		test.validate(EcorePackage.eINSTANCE.getEClass(), chain, Collections.<Object, Object>singletonMap(CheckMode.KEY, CheckMode.FAST_ONLY));
+		helper.assertMatch(chain, EcorePackage.Literals.ENAMED_ELEMENT__NAME);
+
+		CheckMode expensiveOnly = new CheckMode() {
+			@Override
+			public boolean shouldCheck(CheckType type) {
+				return type == CheckType.EXPENSIVE;
+			}
+		};
+		chain = helper.chain();
+		test.validate(EcorePackage.eINSTANCE.getEClass(), chain, Collections.<Object, Object>singletonMap(CheckMode.KEY, expensiveOnly));
+		helper.assertMatch(chain, EcorePackage.Literals.ECLASS__ABSTRACT);
+	}
+
+	@Test public void testExceptionsOfChecks() throws Exception {
+		AbstractDeclarativeValidator test = new AbstractDeclarativeValidator() {
+			@Check
+			public void nullPointer(EClass x) {
+				throw new NullPointerException();
+			}
+
+			@Check
+			public void illegalState(EObject x) {
+				throw new IllegalStateException("expected");
+			}
+		};
+		try {
+			test.validate(EcorePackage.eINSTANCE.getEClass(), helper.chain(), null);
+			fail("IllegalStateException expected");
+		} catch (IllegalStateException e) {
+			assertEquals("expected", e.getMessage());
+		}
+	}
+
 	@SuppressWarnings("serial")
 	@Test public void testCheckModeSettedProperly() throws Exception {
 		AbstractDeclarativeValidator test = helper.validator();
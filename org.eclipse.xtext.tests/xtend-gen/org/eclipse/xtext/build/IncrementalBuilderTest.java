@@ -7,11 +7,19 @@
  */
 package org.eclipse.xtext.build;
 
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
 import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.binder.AnnotatedBindingBuilder;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtend2.lib.StringConcatenation;
@@ -20,15 +28,24 @@ import org.eclipse.xtext.build.IndexState;
 import org.eclipse.xtext.build.Source2GeneratedMapping;
 import org.eclipse.xtext.generator.OutputConfiguration;
 import org.eclipse.xtext.index.IndexTestLanguageInjectorProvider;
+import org.eclipse.xtext.index.IndexTestLanguageRuntimeModule;
+import org.eclipse.xtext.index.IndexTestLanguageStandaloneSetup;
 import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionManager;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.impl.ResourceServiceProviderRegistryImpl;
 import org.eclipse.xtext.testing.InjectWith;
 import org.eclipse.xtext.testing.XtextRunner;
 import org.eclipse.xtext.testing.builder.AbstractIncrementalBuilderTest;
 import org.eclipse.xtext.util.CancelIndicator;
+import org.eclipse.xtext.util.Modules2;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.IntegerRange;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
@@ -64,12 +81,42 @@ public class IncrementalBuilderTest extends AbstractIncrementalBuilderTest {
     }
   }
   
+  private static class RecordingResourceDescriptionManager extends DefaultResourceDescriptionManager {
+    private final boolean dependenciesOnly;
+    
+    private final Set<URI> candidates = CollectionLiterals.<URI>newHashSet();
+    
+    public RecordingResourceDescriptionManager(final boolean dependenciesOnly) {
+      this.dependenciesOnly = dependenciesOnly;
+    }
+    
+    @Override
+    public boolean isAffectedByDependenciesOnly() {
+      return this.dependenciesOnly;
+    }
+    
+    @Override
+    public boolean isAffected(final Collection<IResourceDescription.Delta> deltas, final IResourceDescription candidate, final IResourceDescriptions context) {
+      URI _uRI = candidate.getURI();
+      this.candidates.add(_uRI);
+      return super.isAffected(deltas, candidate, context);
+    }
+  }
+  
   @Inject
   private IResourceServiceProvider.Registry resourceServiceProviderFactory;
   
+  private IResourceServiceProvider.Registry languages;
+  
   @Override
   public IResourceServiceProvider.Registry getLanguages() {
-    return this.resourceServiceProviderFactory;
+    IResourceServiceProvider.Registry _elvis = null;
+    if (this.languages != null) {
+      _elvis = this.languages;
+    } else {
+      _elvis = this.resourceServiceProviderFactory;
+    }
+    return _elvis;
   }
   
   @Test
@@ -483,4 +530,216 @@ public class IncrementalBuilderTest extends AbstractIncrementalBuilderTest {
     boolean _containsSuffix_10 = this.containsSuffix(this.deleted, "src-gen/A.txt");
     Assert.assertTrue(_containsSuffix_10);
   }
+  
+  @Test
+  public void testParallelBuild() {
+    final Procedure1<BuildRequest> _function = (BuildRequest it) -> {
+      it.setParallelism(4);
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("foo {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("entity A {foo.B reference}");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      URI _minus = this.operator_minus(
+        "src/A.indextestlanguage", _builder.toString());
+      StringConcatenation _builder_1 = new StringConcatenation();
+      _builder_1.append("foo {");
+      _builder_1.newLine();
+      _builder_1.append("\t");
+      _builder_1.append("entity B {foo.C reference}");
+      _builder_1.newLine();
+      _builder_1.append("}");
+      _builder_1.newLine();
+      URI _minus_1 = this.operator_minus(
+        "src/B.indextestlanguage", _builder_1.toString());
+      StringConcatenation _builder_2 = new StringConcatenation();
+      _builder_2.append("foo {");
+      _builder_2.newLine();
+      _builder_2.append("\t");
+      _builder_2.append("entity C {foo.A reference}");
+      _builder_2.newLine();
+      _builder_2.append("}");
+      _builder_2.newLine();
+      URI _minus_2 = this.operator_minus(
+        "src/C.indextestlanguage", _builder_2.toString());
+      it.setDirtyFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_minus, _minus_1, _minus_2)));
+    };
+    BuildRequest _newBuildRequest = this.newBuildRequest(_function);
+    this.build(_newBuildRequest);
+    String _string = this.issues.toString();
+    boolean _isEmpty = this.issues.isEmpty();
+    Assert.assertTrue(_string, _isEmpty);
+    int _size = this.generated.size();
+    Assert.assertEquals(3, _size);
+    Collection<URI> _values = this.generated.values();
+    boolean _containsSuffix = this.containsSuffix(_values, "src-gen/A.txt", "src-gen/B.txt", "src-gen/C.txt");
+    Assert.assertTrue(_containsSuffix);
+    ResourceDescriptionsData _resourceDescriptions = this.indexState.getResourceDescriptions();
+    Set<URI> _allURIs = _resourceDescriptions.getAllURIs();
+    int _size_1 = _allURIs.size();
+    Assert.assertEquals(3, _size_1);
+    final Procedure1<BuildRequest> _function_1 = (BuildRequest it) -> {
+      it.setParallelism(4);
+      StringConcatenation _builder = new StringConcatenation();
+      _builder.append("foo {");
+      _builder.newLine();
+      _builder.append("\t");
+      _builder.append("entity X {foo.A reference}");
+      _builder.newLine();
+      _builder.append("}");
+      _builder.newLine();
+      URI _minus = this.operator_minus(
+        "src/C.indextestlanguage", _builder.toString());
+      it.setDirtyFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_minus)));
+    };
+    BuildRequest _newBuildRequest_1 = this.newBuildRequest(_function_1);
+    this.build(_newBuildRequest_1);
+    String _string_1 = this.issues.toString();
+    int _size_2 = this.issues.size();
+    Assert.assertEquals(_string_1, 1, _size_2);
+    int _size_3 = this.generated.size();
+    Assert.assertEquals(1, _size_3);
+    Collection<URI> _values_1 = this.generated.values();
+    boolean _containsSuffix_1 = this.containsSuffix(_values_1, "src-gen/X.txt");
+    Assert.assertTrue(_containsSuffix_1);
+    boolean _containsSuffix_2 = this.containsSuffix(this.deleted, "src-gen/C.txt");
+    Assert.assertTrue(_containsSuffix_2);
+    Source2GeneratedMapping _fileMappings = this.indexState.getFileMappings();
+    URI _uri = this.uri("src/C.indextestlanguage");
+    List<URI> _generated = _fileMappings.getGenerated(_uri);
+    int _size_4 = _generated.size();
+    Assert.assertEquals(1, _size_4);
+  }
+  
+  @Test
+  public void testParallelCancellation() {
+    try {
+      final AtomicBoolean canceled = new AtomicBoolean(false);
+      final AtomicInteger validatedAfterCancel = new AtomicInteger(0);
+      final Procedure1<BuildRequest> _function = (BuildRequest it) -> {
+        it.setParallelism(4);
+        IntegerRange _upTo = new IntegerRange(1, 16);
+        final Function1<Integer, URI> _function_1 = (Integer i) -> {
+          StringConcatenation _builder = new StringConcatenation();
+          _builder.append("foo {");
+          _builder.newLine();
+          _builder.append("\t");
+          _builder.append("entity E");
+          _builder.append(i, "\t");
+          _builder.append(" {}");
+          _builder.newLineIfNotEmpty();
+          _builder.append("}");
+          _builder.newLine();
+          return this.operator_minus(
+            (("src/E" + i) + ".indextestlanguage"), _builder.toString());
+        };
+        Iterable<URI> _map = IterableExtensions.<Integer, URI>map(_upTo, _function_1);
+        List<URI> _list = IterableExtensions.<URI>toList(_map);
+        it.setDirtyFiles(_list);
+        final CancelIndicator _function_2 = () -> {
+          return canceled.get();
+        };
+        it.setCancelIndicator(_function_2);
+        final BuildRequest.IPostValidationCallback _function_3 = (URI validated, Iterable<Issue> issues) -> {
+          try {
+            boolean _andSet = canceled.getAndSet(true);
+            if (_andSet) {
+              validatedAfterCancel.incrementAndGet();
+            } else {
+              Thread.sleep(50);
+            }
+            return true;
+          } catch (Throwable _e) {
+            throw Exceptions.sneakyThrow(_e);
+          }
+        };
+        it.setAfterValidate(_function_3);
+      };
+      final BuildRequest buildRequest = this.newBuildRequest(_function);
+      try {
+        this.build(buildRequest);
+        Assert.fail("Builder didn\'t cancel");
+      } catch (final Throwable _t) {
+        if (_t instanceof OperationCanceledException) {
+        } else {
+          throw Exceptions.sneakyThrow(_t);
+        }
+      }
+      final int validatedWhenCanceled = validatedAfterCancel.get();
+      Thread.sleep(200);
+      int _get = validatedAfterCancel.get();
+      Assert.assertEquals(validatedWhenCanceled, _get);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  @Test
+  public void testNonDependentsAreSkipped() {
+    URI _uri = this.uri("src/A.indextestlanguage");
+    Set<URI> _affectionCandidates = this.getAffectionCandidates(true);
+    Assert.assertEquals(Collections.<URI>unmodifiableSet(CollectionLiterals.<URI>newHashSet(_uri)), _affectionCandidates);
+  }
+  
+  @Test
+  public void testNonDependentsAreCheckedWithoutOptIn() {
+    URI _uri = this.uri("src/A.indextestlanguage");
+    URI _uri_1 = this.uri("src/C.indextestlanguage");
+    Set<URI> _affectionCandidates = this.getAffectionCandidates(false);
+    Assert.assertEquals(Collections.<URI>unmodifiableSet(CollectionLiterals.<URI>newHashSet(_uri, _uri_1)), _affectionCandidates);
+  }
+  
+  /**
+   * Changes the exported names of B. A refers to B, C is not a dependent of B.
+   */
+  private Set<URI> getAffectionCandidates(final boolean dependenciesOnly) {
+    final IncrementalBuilderTest.RecordingResourceDescriptionManager manager = new IncrementalBuilderTest.RecordingResourceDescriptionManager(dependenciesOnly);
+    final Injector injector = new IndexTestLanguageStandaloneSetup() {
+      @Override
+      public Injector createInjector() {
+        IndexTestLanguageRuntimeModule _indexTestLanguageRuntimeModule = new IndexTestLanguageRuntimeModule();
+        Module _mixin = Modules2.mixin(_indexTestLanguageRuntimeModule, new AbstractModule() {
+          @Override
+          protected void configure() {
+            AnnotatedBindingBuilder<IResourceDescription.Manager> _bind = this.<IResourceDescription.Manager>bind(IResourceDescription.Manager.class);
+            _bind.toInstance(manager);
+          }
+        });
+        return Guice.createInjector(_mixin);
+      }
+    }.createInjectorAndDoEMFRegistration();
+    ResourceServiceProviderRegistryImpl _resourceServiceProviderRegistryImpl = new ResourceServiceProviderRegistryImpl();
+    this.languages = _resourceServiceProviderRegistryImpl;
+    Map<String, Object> _extensionToFactoryMap = this.languages.getExtensionToFactoryMap();
+    IResourceServiceProvider _instance = injector.<IResourceServiceProvider>getInstance(IResourceServiceProvider.class);
+    _extensionToFactoryMap.put("indextestlanguage", _instance);
+    final Procedure1<BuildRequest> _function = (BuildRequest it) -> {
+      URI _minus = this.operator_minus("src/A.indextestlanguage", "foo { entity A {foo.B reference} }");
+      URI _minus_1 = this.operator_minus("src/B.indextestlanguage", "foo { entity B {} }");
+      URI _minus_2 = this.operator_minus("src/C.indextestlanguage", "bar { entity C {} }");
+      it.setDirtyFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_minus, _minus_1, _minus_2)));
+    };
+    BuildRequest _newBuildRequest = this.newBuildRequest(_function);
+    this.build(_newBuildRequest);
+    String _string = this.issues.toString();
+    boolean _isEmpty = this.issues.isEmpty();
+    Assert.assertTrue(_string, _isEmpty);
+    manager.candidates.clear();
+    final Procedure1<BuildRequest> _function_1 = (BuildRequest it) -> {
+      URI _minus = this.operator_minus("src/B.indextestlanguage", "foo { entity B {} entity B2 {} }");
+      it.setDirtyFiles(Collections.<URI>unmodifiableList(CollectionLiterals.<URI>newArrayList(_minus)));
+    };
+    BuildRequest _newBuildRequest_1 = this.newBuildRequest(_function_1);
+    this.build(_newBuildRequest_1);
+    String _string_1 = this.issues.toString();
+    boolean _isEmpty_1 = this.issues.isEmpty();
+    Assert.assertTrue(_string_1, _isEmpty_1);
+    Collection<URI> _values = this.generated.values();
+    boolean _containsSuffix = this.containsSuffix(_values, "src-gen/B2.txt");
+    Assert.assertTrue(_containsSuffix);
+    return manager.candidates;
+  }
 }
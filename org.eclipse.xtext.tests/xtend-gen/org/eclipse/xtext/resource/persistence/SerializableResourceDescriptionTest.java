@@ -25,6 +25,7 @@ import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.ExclusiveRange;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
 import org.eclipse.xtext.xbase.lib.Pair;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
@@ -271,4 +272,66 @@ public class SerializableResourceDescriptionTest {
       throw Exceptions.sneakyThrow(_e);
     }
   }
+  
+  @Test
+  public void testCopySharesNames() {
+    SerializableResourceDescription _createDescription = this.createDescription("file:/first.ext");
+    final SerializableResourceDescription first = SerializableResourceDescription.createCopy(_createDescription);
+    SerializableResourceDescription _createDescription_1 = this.createDescription("file:/second.ext");
+    final SerializableResourceDescription second = SerializableResourceDescription.createCopy(_createDescription_1);
+    Iterable<QualifiedName> _importedNames = first.getImportedNames();
+    QualifiedName _head = IterableExtensions.<QualifiedName>head(_importedNames);
+    Iterable<QualifiedName> _importedNames_1 = second.getImportedNames();
+    QualifiedName _head_1 = IterableExtensions.<QualifiedName>head(_importedNames_1);
+    Assert.assertSame(_head, _head_1);
+    List<SerializableEObjectDescription> _descriptions = first.getDescriptions();
+    SerializableEObjectDescription _head_2 = IterableExtensions.<SerializableEObjectDescription>head(_descriptions);
+    QualifiedName _qualifiedName = _head_2.getQualifiedName();
+    List<SerializableEObjectDescription> _descriptions_1 = second.getDescriptions();
+    SerializableEObjectDescription _head_3 = IterableExtensions.<SerializableEObjectDescription>head(_descriptions_1);
+    QualifiedName _qualifiedName_1 = _head_3.getQualifiedName();
+    Assert.assertSame(_qualifiedName, _qualifiedName_1);
+    List<SerializableEObjectDescription> _descriptions_2 = first.getDescriptions();
+    SerializableEObjectDescription _head_4 = IterableExtensions.<SerializableEObjectDescription>head(_descriptions_2);
+    String[] _userDataKeys = _head_4.getUserDataKeys();
+    int _length = _userDataKeys.length;
+    Assert.assertEquals(0, _length);
+    List<SerializableEObjectDescription> _descriptions_3 = first.getDescriptions();
+    SerializableEObjectDescription _head_5 = IterableExtensions.<SerializableEObjectDescription>head(_descriptions_3);
+    String _userData = _head_5.getUserData("myKey");
+    Assert.assertNull(_userData);
+  }
+  
+  private SerializableResourceDescription createDescription(final String uri) {
+    SerializableResourceDescription _serializableResourceDescription = new SerializableResourceDescription();
+    final Procedure1<SerializableResourceDescription> _function = (SerializableResourceDescription it) -> {
+      URI _createURI = URI.createURI(uri);
+      it.setURI(_createURI);
+      SerializableReferenceDescription _serializableReferenceDescription = new SerializableReferenceDescription();
+      final Procedure1<SerializableReferenceDescription> _function_1 = (SerializableReferenceDescription it_1) -> {
+        URI _createURI_1 = URI.createURI((uri + "#foo"));
+        it_1.setSourceEObjectUri(_createURI_1);
+        URI _createURI_2 = URI.createURI("file:/target.ext#bar");
+        it_1.setTargetEObjectUri(_createURI_2);
+        EReference _eAnnotation_Contents = EcorePackage.eINSTANCE.getEAnnotation_Contents();
+        it_1.setEReference(_eAnnotation_Contents);
+      };
+      SerializableReferenceDescription _doubleArrow = ObjectExtensions.<SerializableReferenceDescription>operator_doubleArrow(_serializableReferenceDescription, _function_1);
+      it.setReferences(Collections.<SerializableReferenceDescription>unmodifiableList(CollectionLiterals.<SerializableReferenceDescription>newArrayList(_doubleArrow)));
+      SerializableEObjectDescription _serializableEObjectDescription = new SerializableEObjectDescription();
+      final Procedure1<SerializableEObjectDescription> _function_2 = (SerializableEObjectDescription it_1) -> {
+        URI _createURI_1 = URI.createURI((uri + "#foo"));
+        it_1.setEObjectURI(_createURI_1);
+        QualifiedName _create = QualifiedName.create("foo");
+        it_1.setQualifiedName(_create);
+        EClass _eAttribute = EcorePackage.eINSTANCE.getEAttribute();
+        it_1.setEClass(_eAttribute);
+      };
+      SerializableEObjectDescription _doubleArrow_1 = ObjectExtensions.<SerializableEObjectDescription>operator_doubleArrow(_serializableEObjectDescription, _function_2);
+      it.setDescriptions(Collections.<SerializableEObjectDescription>unmodifiableList(CollectionLiterals.<SerializableEObjectDescription>newArrayList(_doubleArrow_1)));
+      QualifiedName _create = QualifiedName.create("target", "bar");
+      it.setImportedNames(Collections.<QualifiedName>unmodifiableList(CollectionLiterals.<QualifiedName>newArrayList(_create)));
+    };
+    return ObjectExtensions.<SerializableResourceDescription>operator_doubleArrow(_serializableResourceDescription, _function);
+  }
 }
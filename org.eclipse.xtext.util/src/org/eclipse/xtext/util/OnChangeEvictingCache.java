@@ -7,12 +7,18 @@
  *******************************************************************************/
 package org.eclipse.xtext.util;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.notify.Notification;
@@ -24,9 +30,10 @@ import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
+import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
 /**
  * A cache implementation that stores its values in the scope of a resource.
@@ -34,6 +41,11 @@ import com.google.inject.Singleton;
  * Clients may override this behavior for certain transactions by means of {@link #execWithoutCacheClear(Resource, IUnitOfWork)}
  * or {@link #execWithTemporaryCaching(Resource, IUnitOfWork)}.
  * 
+ * By default the number of cached values is not limited. If a {@link #setMaximumSize(int) maximum size} is configured,
+ * the values of the least recently used resources are evicted as soon as the total number of values that are cached
+ * by this instance exceeds that limit. A bounded cache refers to the adapters of these resources weakly, thus resources
+ * that are no longer used can be garbage collected as before.
+ * 
  * @author Sven Efftinge - Initial contribution and API
  * @author Sebastian Zarnekow
  */
@@ -42,6 +54,40 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 	
 	private static final Logger log = Logger.getLogger(OnChangeEvictingCache.class);
 	
+	/**
+	 * The name of the optional binding for the {@link #setMaximumSize(int) maximum size}.
+	 * @since 2.11
+	 */
+	public static final String MAXIMUM_SIZE = "org.eclipse.xtext.util.OnChangeEvictingCache.maximumSize";
+	
+	private volatile int maximumSize = 0;
+	
+	private final AtomicLong evictions = new AtomicLong();
+	
+	/**
+	 * The adapters that are owned by this cache in access order. Guards {@link #size} and the
+	 * ownership of the adapters.
+	 */
+	private final Map<TrackedAdapter, Boolean> leastRecentlyUsed = new LinkedHashMap<TrackedAdapter, Boolean>(16, 0.75f, true);
+	
+	private final ReferenceQueue<CacheAdapter> collectedAdapters = new ReferenceQueue<CacheAdapter>();
+	
+	private int size = 0;
+	
+	/**
+	 * A weak reference to an adapter that is owned by a bounded cache, together with the number of values that the
+	 * cache accounts for. The size is guarded by the cache.
+	 */
+	private static final class TrackedAdapter extends WeakReference<CacheAdapter> {
+		private final OnChangeEvictingCache cache;
+		private int size;
+		
+		private TrackedAdapter(CacheAdapter adapter, OnChangeEvictingCache cache) {
+			super(adapter, cache.collectedAdapters);
+			this.cache = cache;
+		}
+	}
+	
 	/**
 	 * A simple cache listener. It will be notified if the cache is cleared. 
 	 * The notification will only occur once. Listeners that are interested in subsequent notifications 
@@ -51,6 +97,42 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		void onEvict(CacheAdapter cache);
 	}
 	
+	/**
+	 * Limits the total number of values that are cached by this instance. Values are evicted per resource, the least
+	 * recently used resources first. A value that is less than or equal to zero means that the cache is unbounded.
+	 * @since 2.11
+	 */
+	@Inject(optional = true)
+	public void setMaximumSize(@Named(MAXIMUM_SIZE) int maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+	
+	/**
+	 * @since 2.11
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+	
+	/**
+	 * Returns the number of values that were evicted because the {@link #getMaximumSize() maximum size} was exceeded.
+	 * @since 2.11
+	 */
+	public long getEvictionCount() {
+		return evictions.get();
+	}
+	
+	/**
+	 * Returns the number of values that are cached by this instance if it is {@link #getMaximumSize() bounded}.
+	 * @since 2.11
+	 */
+	public int getSize() {
+		synchronized (leastRecentlyUsed) {
+			expungeCollectedAdapters();
+			return size;
+		}
+	}
+	
 	/**
 	 * Clears the cache of the given resource. 
 	 */
@@ -76,9 +158,18 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		if (element==null) {
 			element = provider.get();
 			cacheMiss(adapter);
-			adapter.set(key, element);
+			if (maximumSize > 0) {
+				touch(adapter);
+				adapter.set(key, element);
+				evictIfNecessary(adapter);
+			} else {
+				adapter.set(key, element);
+			}
 		} else {
 			cacheHit(adapter);
+			if (maximumSize > 0) {
+				touch(adapter);
+			}
 		}
 		if (element == CacheAdapter.NULL) {
 			return null;
@@ -86,6 +177,108 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		return element;
 	}
 	
+	/**
+	 * Marks the adapter as the most recently used one. The adapter is owned by this cache afterwards, that is,
+	 * its values are accounted for in the {@link #getSize() size}.
+	 */
+	private void touch(CacheAdapter adapter) {
+		TrackedAdapter tracked = adapter.tracked;
+		if (tracked != null && tracked.cache != this) {
+			tracked.cache.untrack(tracked);
+		}
+		synchronized (leastRecentlyUsed) {
+			expungeCollectedAdapters();
+			tracked = adapter.tracked;
+			if (tracked == null || tracked.cache != this) {
+				tracked = new TrackedAdapter(adapter, this);
+				tracked.size = adapter.getSize();
+				size += tracked.size;
+				adapter.tracked = tracked;
+			}
+			leastRecentlyUsed.put(tracked, Boolean.TRUE);
+		}
+	}
+	
+	/**
+	 * Applies the change of the number of values of an owned adapter. Adapters without values are released.
+	 */
+	private void sizeChanged(CacheAdapter adapter, TrackedAdapter tracked, int delta) {
+		synchronized (leastRecentlyUsed) {
+			if (adapter.tracked != tracked || !leastRecentlyUsed.containsKey(tracked)) {
+				return;
+			}
+			tracked.size += delta;
+			size += delta;
+			if (tracked.size <= 0) {
+				leastRecentlyUsed.remove(tracked);
+				release(tracked, adapter);
+			}
+		}
+	}
+	
+	private void untrack(TrackedAdapter tracked) {
+		synchronized (leastRecentlyUsed) {
+			if (leastRecentlyUsed.remove(tracked) != null) {
+				release(tracked, tracked.get());
+			}
+		}
+	}
+	
+	private void release(TrackedAdapter tracked, CacheAdapter adapter) {
+		size -= tracked.size;
+		tracked.size = 0;
+		if (adapter != null && adapter.tracked == tracked) {
+			adapter.tracked = null;
+		}
+	}
+	
+	/**
+	 * Forgets the values of the adapters that were garbage collected together with their resources.
+	 */
+	private void expungeCollectedAdapters() {
+		Reference<? extends CacheAdapter> collected;
+		while ((collected = collectedAdapters.poll()) != null) {
+			TrackedAdapter tracked = (TrackedAdapter) collected;
+			if (leastRecentlyUsed.remove(tracked) != null) {
+				release(tracked, null);
+			}
+		}
+	}
+	
+	/**
+	 * Evicts the values of the least recently used resources until the number of cached values is within the
+	 * {@link #getMaximumSize() maximum size} again. The values of the given adapter are not evicted as they have
+	 * just been accessed.
+	 * @since 2.11
+	 */
+	protected void evictIfNecessary(CacheAdapter current) {
+		List<CacheAdapter> leastRecentlyUsedAdapters = null;
+		synchronized (leastRecentlyUsed) {
+			expungeCollectedAdapters();
+			Iterator<TrackedAdapter> iterator = leastRecentlyUsed.keySet().iterator();
+			while (size > maximumSize && iterator.hasNext()) {
+				TrackedAdapter tracked = iterator.next();
+				CacheAdapter adapter = tracked.get();
+				if (adapter != current) {
+					iterator.remove();
+					if (adapter != null && adapter.tracked == tracked) {
+						evictions.addAndGet(tracked.size);
+						if (leastRecentlyUsedAdapters == null) {
+							leastRecentlyUsedAdapters = Lists.newArrayList();
+						}
+						leastRecentlyUsedAdapters.add(adapter);
+					}
+					release(tracked, adapter);
+				}
+			}
+		}
+		if (leastRecentlyUsedAdapters != null) {
+			for (CacheAdapter adapter : leastRecentlyUsedAdapters) {
+				adapter.evict();
+			}
+		}
+	}
+	
 	/**
 	 * Announce a cache miss for the internal statistics of the adapter.
 	 * @since 2.1
@@ -168,8 +361,14 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 			if (log.isDebugEnabled()) {
 				log.debug(String.format("Discarding %d temporary cache entries", keys.size()));
 			}
-			adapter.values.keySet().removeAll(keys);
+			int removed = 0;
+			for (Object key : keys) {
+				if (adapter.values.remove(key) != null) {
+					removed++;
+				}
+			}
 			adapter.ignoreValuesMemento = previous;
+			adapter.sizeChanged(-removed);
 		}
 
 		private void storeKey(Object name) {
@@ -183,7 +382,7 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		
 		private final Map<Object, Object> values = new ConcurrentHashMap<Object, Object>(500);
 
-		private final Collection<Listener> listeners = Sets.newLinkedHashSet();
+		private final Collection<Listener> listeners = new CopyOnWriteArraySet<Listener>();
 		
 		@Deprecated
 		private volatile boolean ignoreNotifications = false;
@@ -196,19 +395,36 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		
 		private Resource resource;
 		
-		private int misses = 0;
-		private int hits = 0;
+		private final AtomicInteger misses = new AtomicInteger();
+		private final AtomicInteger hits = new AtomicInteger();
+		private final AtomicLong evictions = new AtomicLong();
+		
+		/**
+		 * The reference of the bounded cache that accounts for the values of this adapter.
+		 */
+		private volatile TrackedAdapter tracked;
 
 		public void set(Object name, Object value) {
 			empty = false;
+			Object previous;
 			if (value != null)
-				this.values.put(name, value);
+				previous = this.values.put(name, value);
 			else
-				this.values.put(name, NULL);
+				previous = this.values.put(name, NULL);
 			IgnoreValuesMemento ignoreValuesMemento = this.ignoreValuesMemento;
 			if (ignoreValuesMemento != null) {
 				ignoreValuesMemento.storeKey(name);
 			}
+			if (previous == null) {
+				sizeChanged(1);
+			}
+		}
+		
+		private void sizeChanged(int delta) {
+			TrackedAdapter tracked = this.tracked;
+			if (tracked != null && delta != 0) {
+				tracked.cache.sizeChanged(this, tracked, delta);
+			}
 		}
 
 		/**
@@ -231,14 +447,46 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		 * @since 2.1
 		 */
 		protected void cacheMiss() {
-			misses++;
+			misses.incrementAndGet();
 		}
 		
 		/**
 		 * @since 2.1
 		 */
 		protected void cacheHit() {
-			hits++;
+			hits.incrementAndGet();
+		}
+		
+		/**
+		 * Returns the number of cache hits since the values were cleared the last time.
+		 * @since 2.11
+		 */
+		public int getHits() {
+			return hits.get();
+		}
+		
+		/**
+		 * Returns the number of cache misses since the values were cleared the last time.
+		 * @since 2.11
+		 */
+		public int getMisses() {
+			return misses.get();
+		}
+		
+		/**
+		 * Returns the total number of values that were discarded by this adapter.
+		 * @since 2.11
+		 */
+		public long getEvictions() {
+			return evictions.get();
+		}
+		
+		/**
+		 * Returns the number of currently cached values.
+		 * @since 2.11
+		 */
+		public int getSize() {
+			return values.size();
 		}
 		
 		@SuppressWarnings("unchecked")
@@ -268,27 +516,40 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		public void notifyChanged(Notification notification) {
 			super.notifyChanged(notification);
 			if (ignoreNotificationCounter.get() == 0 && !ignoreNotifications && isSemanticStateChange(notification)) {
-				clearValues();
-				Iterator<Listener> iter = listeners.iterator();
-				while(iter.hasNext()) {
-					Listener next = iter.next();
-					iter.remove();
-					next.onEvict(this);
+				evict();
+			}
+		}
+
+		private void evict() {
+			clearValues();
+			// a bounded cache may evict the values on another thread, each listener is notified by the thread that removes it
+			for (Listener listener : listeners) {
+				if (listeners.remove(listener)) {
+					listener.onEvict(this);
 				}
 			}
 		}
 
 		public void clearValues() {
 			if (!empty) {
+				int hits = this.hits.get();
+				int misses = this.misses.get();
 				if (log.isDebugEnabled()) {
 					String lastSegment = resource != null && resource.getURI() != null ? resource.getURI().lastSegment() : "null";
 					log.debug(String.format("Clear %d cache entries for resource %s after %d hits and %d misses (quota: %d%%)", 
 							values.size(), lastSegment, hits, misses, hits + misses != 0 ? hits * 100 / (hits + misses) : 0));
 				}
-				values.clear();
+				int cleared = 0;
+				for (Object key : values.keySet()) {
+					if (values.remove(key) != null) {
+						cleared++;
+					}
+				}
+				evictions.addAndGet(cleared);
 				empty = true;
-				misses = 0;
-				hits = 0;
+				this.misses.set(0);
+				this.hits.set(0);
+				sizeChanged(-cleared);
 			}
 		}
 
@@ -321,6 +582,15 @@ public class OnChangeEvictingCache implements IResourceScopeCache {
 		protected boolean resolve() {
 			return false;
 		}
+		
+		@Override
+		protected void unsetTarget(Resource target) {
+			super.unsetTarget(target);
+			TrackedAdapter tracked = this.tracked;
+			if (tracked != null) {
+				tracked.cache.untrack(tracked);
+			}
+		}
 
 		/**
 		 * @since 2.1
@@ -0,0 +1,441 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Objects;
+
+/**
+ * A {@link Map} that is backed by a persistent hash array mapped trie. Modifications replace the nodes on the path to
+ * the changed entry and leave all other nodes untouched, thus a {@link #snapshot() snapshot} of the map can be taken in
+ * constant time and shares its structure with the original map. Later modifications of either map are not visible to
+ * the other one.
+ *
+ * Lookups and modifications take logarithmic time with a base of 32. Like the {@link java.util.HashMap}, this
+ * implementation is not synchronized. {@code null} keys are not supported.
+ *
+ * @since 2.11
+ */
+@Beta
+public class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	private Node root;
+	private int size;
+	private transient int modCount;
+
+	public PersistentHashMap() {
+		this(BitmapNode.EMPTY, 0);
+	}
+
+	public PersistentHashMap(Map<? extends K, ? extends V> map) {
+		this();
+		putAll(map);
+	}
+
+	private PersistentHashMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	/**
+	 * @return a copy of this map that shares the complete structure with this map. Takes constant time.
+	 */
+	public PersistentHashMap<K, V> snapshot() {
+		return new PersistentHashMap<K, V>(root, size);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return root.find(0, hash(key), key) != null;
+	}
+
+	@Override
+	public V get(Object key) {
+		Leaf leaf = root.find(0, hash(key), key);
+		if (leaf == null)
+			return null;
+		return this.<V> cast(leaf.getValue());
+	}
+
+	@Override
+	public V put(K key, V value) {
+		if (key == null)
+			throw new NullPointerException("key may not be null");
+		int hash = hash(key);
+		Leaf existing = root.find(0, hash, key);
+		if (existing != null && existing.getValue() == value)
+			return value;
+		root = root.put(0, new Leaf(hash, key, value));
+		modCount++;
+		if (existing == null) {
+			size++;
+			return null;
+		}
+		return this.<V> cast(existing.getValue());
+	}
+
+	@Override
+	public V remove(Object key) {
+		int hash = hash(key);
+		Leaf existing = root.find(0, hash, key);
+		if (existing == null)
+			return null;
+		Object newRoot = root.remove(0, hash, key);
+		if (newRoot == null) {
+			root = BitmapNode.EMPTY;
+		} else if (newRoot instanceof Leaf) {
+			root = BitmapNode.EMPTY.put(0, (Leaf) newRoot);
+		} else {
+			root = (Node) newRoot;
+		}
+		size--;
+		modCount++;
+		return this.<V> cast(existing.getValue());
+	}
+
+	@Override
+	public void clear() {
+		root = BitmapNode.EMPTY;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		return new AbstractSet<Map.Entry<K, V>>() {
+			@Override
+			public Iterator<Map.Entry<K, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				if (!(o instanceof Map.Entry<?, ?>))
+					return false;
+				Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+				Leaf leaf = root.find(0, hash(entry.getKey()), entry.getKey());
+				return leaf != null && Objects.equal(leaf.getValue(), entry.getValue());
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T cast(Object value) {
+		return (T) value;
+	}
+
+	private static int hash(Object key) {
+		if (key == null)
+			return 0;
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private static int index(int hash, int shift) {
+		return (hash >>> shift) & MASK;
+	}
+
+	/**
+	 * An immutable key value pair that is stored in the trie.
+	 */
+	private static final class Leaf extends AbstractMap.SimpleImmutableEntry<Object, Object> {
+		private static final long serialVersionUID = 1L;
+
+		private final int hash;
+
+		Leaf(int hash, Object key, Object value) {
+			super(key, value);
+			this.hash = hash;
+		}
+
+		boolean matches(int hash, Object key) {
+			return this.hash == hash && getKey().equals(key);
+		}
+	}
+
+	/**
+	 * The immutable inner nodes of the trie.
+	 */
+	private static abstract class Node {
+
+		abstract Leaf find(int shift, int hash, Object key);
+
+		abstract Node put(int shift, Leaf leaf);
+
+		/**
+		 * @return <code>this</code> if the key was not found, <code>null</code> if the node became empty, a
+		 *         {@link Leaf} if it is the only remaining entry, or the new node.
+		 */
+		abstract Object remove(int shift, int hash, Object key);
+
+		abstract Object[] children();
+
+		static Node merge(int shift, Leaf existing, Leaf added) {
+			if (existing.hash == added.hash || shift >= Integer.SIZE) {
+				return new CollisionNode(existing.hash, new Leaf[] { existing, added });
+			}
+			int existingIndex = index(existing.hash, shift);
+			int addedIndex = index(added.hash, shift);
+			if (existingIndex == addedIndex) {
+				return new BitmapNode(1 << existingIndex, new Object[] { merge(shift + BITS, existing, added) });
+			}
+			Object[] children = existingIndex < addedIndex ? new Object[] { existing, added } : new Object[] { added, existing };
+			return new BitmapNode((1 << existingIndex) | (1 << addedIndex), children);
+		}
+	}
+
+	private static final class BitmapNode extends Node {
+
+		static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+		/**
+		 * The children are either {@link Leaf leaves} or {@link Node nodes}.
+		 */
+		private final Object[] children;
+		private final int bitmap;
+
+		BitmapNode(int bitmap, Object[] children) {
+			this.bitmap = bitmap;
+			this.children = children;
+		}
+
+		private int position(int bit) {
+			return Integer.bitCount(bitmap & (bit - 1));
+		}
+
+		@Override
+		Leaf find(int shift, int hash, Object key) {
+			int bit = 1 << index(hash, shift);
+			if ((bitmap & bit) == 0)
+				return null;
+			Object child = children[position(bit)];
+			if (child instanceof Leaf) {
+				Leaf leaf = (Leaf) child;
+				return leaf.matches(hash, key) ? leaf : null;
+			}
+			return ((Node) child).find(shift + BITS, hash, key);
+		}
+
+		@Override
+		Node put(int shift, Leaf leaf) {
+			int bit = 1 << index(leaf.hash, shift);
+			int position = position(bit);
+			if ((bitmap & bit) == 0) {
+				Object[] newChildren = new Object[children.length + 1];
+				System.arraycopy(children, 0, newChildren, 0, position);
+				newChildren[position] = leaf;
+				System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+				return new BitmapNode(bitmap | bit, newChildren);
+			}
+			Object child = children[position];
+			Object newChild;
+			if (child instanceof Leaf) {
+				Leaf existing = (Leaf) child;
+				if (existing.matches(leaf.hash, leaf.getKey())) {
+					newChild = leaf;
+				} else {
+					newChild = merge(shift + BITS, existing, leaf);
+				}
+			} else {
+				newChild = ((Node) child).put(shift + BITS, leaf);
+			}
+			return replace(position, newChild);
+		}
+
+		@Override
+		Object remove(int shift, int hash, Object key) {
+			int bit = 1 << index(hash, shift);
+			if ((bitmap & bit) == 0)
+				return this;
+			int position = position(bit);
+			Object child = children[position];
+			Object newChild;
+			if (child instanceof Leaf) {
+				if (!((Leaf) child).matches(hash, key))
+					return this;
+				newChild = null;
+			} else {
+				newChild = ((Node) child).remove(shift + BITS, hash, key);
+				if (newChild == child)
+					return this;
+			}
+			if (newChild != null)
+				return replace(position, newChild);
+			if (children.length == 1)
+				return null;
+			if (children.length == 2 && children[1 - position] instanceof Leaf)
+				return children[1 - position];
+			Object[] newChildren = new Object[children.length - 1];
+			System.arraycopy(children, 0, newChildren, 0, position);
+			System.arraycopy(children, position + 1, newChildren, position, children.length - position - 1);
+			return new BitmapNode(bitmap & ~bit, newChildren);
+		}
+
+		private BitmapNode replace(int position, Object newChild) {
+			Object[] newChildren = children.clone();
+			newChildren[position] = newChild;
+			return new BitmapNode(bitmap, newChildren);
+		}
+
+		@Override
+		Object[] children() {
+			return children;
+		}
+	}
+
+	/**
+	 * Holds the entries whose keys share the same hash.
+	 */
+	private static final class CollisionNode extends Node {
+
+		private final int hash;
+		private final Leaf[] leaves;
+
+		CollisionNode(int hash, Leaf[] leaves) {
+			this.hash = hash;
+			this.leaves = leaves;
+		}
+
+		@Override
+		Leaf find(int shift, int hash, Object key) {
+			for (Leaf leaf : leaves) {
+				if (leaf.matches(hash, key))
+					return leaf;
+			}
+			return null;
+		}
+
+		@Override
+		Node put(int shift, Leaf leaf) {
+			if (leaf.hash != hash) {
+				// the slot of this node is shared with a key that has a different hash
+				BitmapNode result = new BitmapNode(1 << index(hash, shift), new Object[] { this });
+				return result.put(shift, leaf);
+			}
+			for (int i = 0; i < leaves.length; i++) {
+				if (leaves[i].matches(leaf.hash, leaf.getKey())) {
+					Leaf[] newLeaves = leaves.clone();
+					newLeaves[i] = leaf;
+					return new CollisionNode(hash, newLeaves);
+				}
+			}
+			Leaf[] newLeaves = new Leaf[leaves.length + 1];
+			System.arraycopy(leaves, 0, newLeaves, 0, leaves.length);
+			newLeaves[leaves.length] = leaf;
+			return new CollisionNode(hash, newLeaves);
+		}
+
+		@Override
+		Object remove(int shift, int hash, Object key) {
+			for (int i = 0; i < leaves.length; i++) {
+				if (leaves[i].matches(hash, key)) {
+					if (leaves.length == 2)
+						return leaves[1 - i];
+					Leaf[] newLeaves = new Leaf[leaves.length - 1];
+					System.arraycopy(leaves, 0, newLeaves, 0, i);
+					System.arraycopy(leaves, i + 1, newLeaves, i, leaves.length - i - 1);
+					return new CollisionNode(this.hash, newLeaves);
+				}
+			}
+			return this;
+		}
+
+		@Override
+		Object[] children() {
+			return leaves;
+		}
+	}
+
+	private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+		private final Deque<Object[]> arrays = new ArrayDeque<Object[]>();
+		private final Deque<Integer> positions = new ArrayDeque<Integer>();
+		private Leaf next;
+		private Leaf current;
+		private int expectedModCount = modCount;
+
+		EntryIterator() {
+			push(root);
+			next = computeNext();
+		}
+
+		private void push(Node node) {
+			arrays.push(node.children());
+			positions.push(0);
+		}
+
+		private Leaf computeNext() {
+			while (!arrays.isEmpty()) {
+				Object[] array = arrays.peek();
+				int position = positions.pop();
+				if (position == array.length) {
+					arrays.pop();
+				} else {
+					positions.push(position + 1);
+					Object child = array[position];
+					if (child instanceof Leaf)
+						return (Leaf) child;
+					push((Node) child);
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Map.Entry<K, V> next() {
+			if (next == null)
+				throw new NoSuchElementException();
+			if (expectedModCount != modCount)
+				throw new ConcurrentModificationException();
+			current = next;
+			next = computeNext();
+			return (Map.Entry<K, V>) (Map.Entry<?, ?>) current;
+		}
+
+		@Override
+		public void remove() {
+			if (current == null)
+				throw new IllegalStateException();
+			if (expectedModCount != modCount)
+				throw new ConcurrentModificationException();
+			// the iterator works on the immutable nodes, thus it is not affected by the removal
+			PersistentHashMap.this.remove(current.getKey());
+			expectedModCount = modCount;
+			current = null;
+		}
+	}
+}
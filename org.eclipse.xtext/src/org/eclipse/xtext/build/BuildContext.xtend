@@ -30,12 +30,37 @@ class BuildContext {
 	
 	ClusteringStorageAwareResourceLoader loader
 	
+	/**
+	 * @since 2.11
+	 */
+	@Accessors ParallelResourceLoader parallelLoader
+	
 	def <T> Iterable<T> executeClustered(Iterable<URI> uri, (Resource)=>T operation) {
 		if(loader == null) 
 			loader = new ClusteringStorageAwareResourceLoader(this)
 		return loader.executeClustered(uri.filter[resourceServiceProvider!=null], operation)
 	}
 	
+	/**
+	 * Processes the given resources concurrently if a {@link ParallelResourceLoader} is configured, 
+	 * otherwise this is the same as {@link #executeClustered(Iterable, Function1)}. The results are 
+	 * returned in the order of the given URIs.
+	 * 
+	 * @since 2.11
+	 */
+	def <T> Iterable<T> executeParallel(Iterable<URI> uri, (Resource)=>T operation) {
+		if (!isParallel)
+			return executeClustered(uri, operation)
+		return parallelLoader.executeParallel(uri.filter[resourceServiceProvider!=null], operation)
+	}
+	
+	/**
+	 * @since 2.11
+	 */
+	def boolean isParallel() {
+		return parallelLoader != null
+	}
+	
 	def getResourceServiceProvider(URI uri) {
 		val resourceServiceProvider = resourceServiceProviderProvider.apply(uri)
 		return resourceServiceProvider
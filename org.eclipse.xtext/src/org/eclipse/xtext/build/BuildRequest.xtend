@@ -50,9 +50,43 @@ class BuildRequest {
 	boolean writeStorageResources = false
 	boolean indexOnly = false
 	
+	/**
+	 * Whether the resources are not validated during the build, e.g. because the client validates them in the
+	 * background afterwards. In that case {@link #getAfterValidate() afterValidate} is not called and the
+	 * generation does not depend on the validation result.
+	 * 
+	 * @since 2.11
+	 */
+	boolean skipValidation = false
+	
 	XtextResourceSet resourceSet
 	CancelIndicator cancelIndicator = CancelIndicator.NullImpl
-	
+
+	/**
+	 * The number of resources that are processed concurrently. A value greater than one only takes effect
+	 * if a {@link #getResourceSetFactory() resource set factory} is configured, too.
+	 *
+	 * @since 2.11
+	 */
+	int parallelism = 1
+
+	/**
+	 * Creates the resource sets used by the worker threads of a parallel build. The created resource sets
+	 * have to be configured like the {@link #getResourceSet() resource set} of this request, e.g. they
+	 * have to see the same index.
+	 *
+	 * @since 2.11
+	 */
+	()=>XtextResourceSet resourceSetFactory
+
+	/**
+	 * @return whether the affected resources should be processed concurrently.
+	 * @since 2.11
+	 */
+	def boolean isParallel() {
+		return parallelism > 1 && resourceSetFactory != null
+	}
+
 	interface IPostValidationCallback {
 		
 		/**
@@ -78,32 +78,68 @@ import org.eclipse.xtext.generator.GeneratorContext
 			// add deleted deltas
 			resolvedDeltas += result.resourceDeltas.filter[getNew == null]
 			// add changed and added as fully resolved
-			resolvedDeltas += result.resourceDeltas.filter[getNew != null].map[uri]
-				.executeClustered [
+			val changedDeltas = result.resourceDeltas.filter[getNew != null]
+			// a description that was read from storage is already resolved, the library doesn't have to be loaded if it is only indexed
+			val storedDeltas = changedDeltas.filter[request.indexOnly && getNew instanceof SerializableResourceDescription].toList
+			storedDeltas.forEach[result.newIndex.addDescription(uri, getNew)]
+			resolvedDeltas += storedDeltas
+			val changedURIs = changedDeltas.filter[!storedDeltas.contains(it)].map[uri]
+			if (isParallel) {
+				// workers only read the index, the new descriptions are registered in a deterministic order afterwards
+				val deltas = changedURIs.executeParallel [
 					Resource resource |
+					val delta = resource.resolveAndDescribe
 					request.cancelIndicator.checkCanceled
-					resource.contents // fully initialize
-					EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl)
+					resource.validateAndGenerate(newSource2GeneratedMapping)
+					return delta
+				].toList
+				request.cancelIndicator.checkCanceled
+				deltas.forEach[result.newIndex.addDescription(uri, getNew)]
+				resolvedDeltas += deltas
+			} else {
+				resolvedDeltas += changedURIs.executeClustered [
+					Resource resource |
+					val delta = resource.resolveAndDescribe
+					result.newIndex.addDescription(delta.uri, delta.getNew)
 					request.cancelIndicator.checkCanceled
-					val serviceProvider = context.getResourceServiceProvider(resource.getURI)
-					val manager = serviceProvider.resourceDescriptionManager
-					val description = manager.getResourceDescription(resource);
-                    val copiedDescription = SerializableResourceDescription.createCopy(description);
-                    result.newIndex.addDescription(resource.getURI, copiedDescription)
-                    request.cancelIndicator.checkCanceled
-					if (!request.indexOnly 
-						&& resource.validate 
-						&& serviceProvider.get(IShouldGenerate).shouldGenerate(resource, CancelIndicator.NullImpl)
-					) {
-						request.cancelIndicator.checkCanceled
-						resource.generate(request, newSource2GeneratedMapping)
-					}
-					val old = oldState.resourceDescriptions.getResourceDescription(resource.getURI)
-					return manager.createDelta(old, copiedDescription)
+					resource.validateAndGenerate(newSource2GeneratedMapping)
+					return delta
 				]
+			}
 			return new Result(request.state, resolvedDeltas)
 		}
 		
+		/**
+		 * Resolves all cross references of the given resource and computes the delta to its previous description.
+		 * 
+		 * @since 2.11
+		 */
+		protected def IResourceDescription.Delta resolveAndDescribe(Resource resource) {
+			request.cancelIndicator.checkCanceled
+			resource.contents // fully initialize
+			EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl)
+			request.cancelIndicator.checkCanceled
+			val serviceProvider = context.getResourceServiceProvider(resource.getURI)
+			val manager = serviceProvider.resourceDescriptionManager
+			val description = manager.getResourceDescription(resource);
+			val copiedDescription = SerializableResourceDescription.createCopy(description);
+			val old = oldState.resourceDescriptions.getResourceDescription(resource.getURI)
+			return manager.createDelta(old, copiedDescription)
+		}
+		
+		/**
+		 * @since 2.11
+		 */
+		protected def void validateAndGenerate(Resource resource, Source2GeneratedMapping newMappings) {
+			if (!request.indexOnly 
+				&& (request.skipValidation || resource.validate) 
+				&& context.getResourceServiceProvider(resource.getURI).get(IShouldGenerate).shouldGenerate(resource, CancelIndicator.NullImpl)
+			) {
+				request.cancelIndicator.checkCanceled
+				resource.generate(request, newMappings)
+			}
+		}
+		
 		def protected boolean validate(Resource resource) {
 			val resourceValidator = getResourceServiceProvider(resource.getURI).getResourceValidator();
 			if (resourceValidator == null) {
@@ -111,7 +147,9 @@ import org.eclipse.xtext.generator.GeneratorContext
 			}
 			LOG.info("Starting validation for input: '" + resource.getURI.lastSegment + "'");
 			val validationResult = resourceValidator.validate(resource, CheckMode.ALL, null);
-			return request.afterValidate.afterValidate(resource.getURI, validationResult)
+			synchronized (request) {
+				return request.afterValidate.afterValidate(resource.getURI, validationResult)
+			}
 		}
 	
 		protected def void generate(Resource resource, BuildRequest request, Source2GeneratedMapping newMappings) {
@@ -120,17 +158,24 @@ import org.eclipse.xtext.generator.GeneratorContext
 			if (generator == null) {
 				return;
 			}
-			val previous = newMappings.deleteSource(resource.getURI)
+			// the mappings and the callbacks are shared with concurrently generated resources in a parallel build
+			val previous = synchronized (request) {
+				newMappings.deleteSource(resource.getURI)
+			}
 			val fileSystemAccess = createFileSystemAccess(serviceProvider, resource) => [
 				beforeWrite = [ uri, outputCfgName, contents |
-					newMappings.addSource2Generated(resource.getURI, uri, outputCfgName)
-					previous.remove(uri)
-					request.afterGenerateFile.apply(resource.getURI, uri)
+					synchronized (request) {
+						newMappings.addSource2Generated(resource.getURI, uri, outputCfgName)
+						previous.remove(uri)
+						request.afterGenerateFile.apply(resource.getURI, uri)
+					}
 					return contents
 				]
 				beforeDelete = [ uri |
-					newMappings.deleteGenerated(uri)
-					request.afterDeleteFile.apply(uri)
+					synchronized (request) {
+						newMappings.deleteGenerated(uri)
+						request.afterDeleteFile.apply(uri)
+					}
 					return true
 				]
 			]
@@ -149,7 +194,9 @@ import org.eclipse.xtext.generator.GeneratorContext
 			previous.forEach[
 				LOG.info('Deleting stale generated file ' + it)
 				context.resourceSet.getURIConverter.delete(it, emptyMap)
-				request.getAfterDeleteFile.apply(it)
+				synchronized (request) {
+					request.getAfterDeleteFile.apply(it)
+				}
 			]
 		}
 	
@@ -192,6 +239,8 @@ import org.eclipse.xtext.generator.GeneratorContext
 									, oldState
 									, clusteringPolicy,
 									request.cancelIndicator)
+		if (request.isParallel)
+			context.parallelLoader = new ParallelResourceLoader(context, request.parallelism, request.resourceSetFactory)
 		val builder = provider.get
 		builder.context = context
 		builder.request = request
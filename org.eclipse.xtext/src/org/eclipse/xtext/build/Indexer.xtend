@@ -28,9 +28,14 @@ import org.eclipse.xtext.resource.IReferenceDescription
 import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.IResourceDescription.Delta
 import org.eclipse.xtext.resource.IResourceDescriptions
+import org.eclipse.xtext.resource.IResourceServiceProviderExtension
 import org.eclipse.xtext.resource.impl.AbstractResourceDescription
 import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionManager
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData
+import org.eclipse.xtext.resource.persistence.IResourceStorageFacade
+import org.eclipse.xtext.resource.persistence.ResourceStorageFacade
+import org.eclipse.xtext.resource.persistence.StorageAwareResourceDescriptionManager
 import org.eclipse.xtext.util.internal.Log
 import org.eclipse.xtext.service.OperationCanceledManager
 
@@ -60,9 +65,6 @@ import org.eclipse.xtext.service.OperationCanceledManager
 					request.dirtyFiles.toSet + '.')
 		deltas.addAll(getDeltasForDeletedResources(request, previousIndex, context))
 		deltas.addAll(getDeltasForChangedResources(request.dirtyFiles, previousIndex, context))
-		// update the index with the direct deltas
-		for (delta : deltas)
-			newIndex.register(delta)
 
 		// add external deltas
 		val allDeltas = new HashSet<Delta>(deltas)
@@ -72,8 +74,18 @@ import org.eclipse.xtext.service.OperationCanceledManager
 		val remainingURIs = previousIndex.allResourceDescriptions.map[getURI].toSet
 		remainingURIs.removeAll(deltas.map[uri])
 
+		// the reverse dependency index is only used if the manager of a remaining resource opts in
+		// the new index still describes the previous state, its reverse dependency index is maintained across builds
+		val dependents = if (remainingURIs.exists[resourceServiceProvider.resourceDescriptionManager.canSkipNonDependents])
+				newIndex.getDependentURIs(allDeltas)
+		// update the index with the direct deltas
+		for (delta : deltas)
+			newIndex.register(delta)
+
 		val allAffected = remainingURIs.filter [
 			val manager = getResourceServiceProvider.resourceDescriptionManager
+			if (dependents !== null && !dependents.contains(it) && manager.canSkipNonDependents)
+				return false
 			val resourceDescription = previousIndex.getResourceDescription(it)
 			val isAffected = resourceDescription.isAffected(manager, allDeltas, allDeltas, newIndex)
 			return isAffected
@@ -101,11 +113,34 @@ import org.eclipse.xtext.service.OperationCanceledManager
 
 	protected def List<Delta> getDeltasForChangedResources(Iterable<URI> affectedUris,
 		ResourceDescriptionsData oldIndex, extension BuildContext context) {
+		val List<Delta> deltas = newArrayList
+		val List<URI> urisToLoad = newArrayList
+		for (uri : affectedUris) {
+			val delta = addToIndexFromStorage(uri, oldIndex, context)
+			if (delta !== null)
+				deltas += delta
+			else
+				urisToLoad += uri
+		}
+		if (isParallel) {
+			// each worker owns its resource set, so the indexing phase is marked per resource set before the resource is loaded
+			val uris = urisToLoad.filter[resourceServiceProvider != null]
+			deltas += context.parallelLoader.executeParallel(uris, [ addToIndex(true, oldIndex, context) ], [ workerResourceSet, load |
+				compilerPhases.setIndexing(workerResourceSet, true)
+				try {
+					load.apply
+				} finally {
+					compilerPhases.setIndexing(workerResourceSet, false)
+				}
+			])
+			return deltas
+		}
 		try {
 			compilerPhases.setIndexing(resourceSet, true)
-			return affectedUris.executeClustered [
+			deltas += urisToLoad.executeClustered [
 				addToIndex(true, oldIndex, context)
-			].toList
+			]
+			return deltas
 		} finally {
 			compilerPhases.setIndexing(resourceSet, false)
 		}
@@ -123,6 +158,45 @@ import org.eclipse.xtext.service.OperationCanceledManager
 		return delta
 	}
 
+	/**
+	 * Reads the description of a library resource from the storage next to it, e.g. in a jar, without loading the
+	 * resource. This only applies to languages whose description manager returns the stored description of a
+	 * resource that is loaded from storage, thus the delta is the same as if the resource was loaded.
+	 * 
+	 * @return the delta or <code>null</code> if the resource has to be loaded.
+	 * @since 2.11
+	 */
+	def protected Delta addToIndexFromStorage(URI uri, ResourceDescriptionsData oldIndex, BuildContext context) {
+		val serviceProvider = context.getResourceServiceProvider(uri)
+		if (!(serviceProvider instanceof IResourceServiceProviderExtension)
+			|| (serviceProvider as IResourceServiceProviderExtension).isSource(uri)
+			|| context.resourceSet.getResource(uri, false) !== null)
+			return null
+		val manager = serviceProvider.resourceDescriptionManager
+		val storageFacade = serviceProvider.get(IResourceStorageFacade)
+		if (!(manager instanceof StorageAwareResourceDescriptionManager) || !(storageFacade instanceof ResourceStorageFacade))
+			return null
+		context.cancelIndicator.checkCanceled
+		val description = (storageFacade as ResourceStorageFacade).loadResourceDescription(uri, context.resourceSet.URIConverter)
+		if (description === null)
+			return null
+		return manager.createDelta(oldIndex?.getResourceDescription(uri), description)
+	}
+
+	/**
+	 * Whether candidates that neither import a name exported by a delta nor refer to a changed resource are never
+	 * affected from the perspective of the given manager.
+	 * 
+	 * @since 2.11
+	 */
+	def protected boolean canSkipNonDependents(IResourceDescription.Manager manager) {
+		switch manager {
+			IResourceDescription.Manager.AllChangeAware: false
+			DefaultResourceDescriptionManager: manager.isAffectedByDependenciesOnly
+			default: false
+		}
+	}
+
 	def protected boolean isAffected(IResourceDescription affectionCandidate, IResourceDescription.Manager manager,
 		Collection<IResourceDescription.Delta> newDeltas, Collection<IResourceDescription.Delta> allDeltas,
 		IResourceDescriptions resourceDescriptions) {
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.build
+
+import com.google.common.collect.ImmutableSet
+import java.util.List
+import java.util.Queue
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.ForkJoinTask
+import java.util.concurrent.TimeUnit
+import org.eclipse.emf.common.util.URI
+import org.eclipse.emf.ecore.resource.Resource
+import org.eclipse.xtend.lib.annotations.Accessors
+import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
+import org.eclipse.xtext.resource.IResourceServiceProviderExtension
+import org.eclipse.xtext.resource.XtextResourceSet
+import org.eclipse.xtext.resource.persistence.SourceLevelURIsAdapter
+import org.eclipse.xtext.resource.persistence.StorageAwareResource
+import org.eclipse.xtext.util.internal.Log
+
+/**
+ * Loads and processes resources on a work-stealing {@link ForkJoinPool}.
+ * 
+ * A resource set is never used by two tasks at the same time. Each task borrows one from a pool 
+ * that grows up to the configured parallelism. The resource sets are kept across invocations, such that 
+ * resources loaded during indexing can be reused when they are resolved. The clustering policy of the 
+ * build context is applied per resource set.
+ * 
+ * @since 2.11
+ */
+@FinalFieldsConstructor
+@Log class ParallelResourceLoader {
+
+	static val TERMINATION_TIMEOUT_SECONDS = 30
+
+	val extension BuildContext context
+	@Accessors(PUBLIC_GETTER) val int parallelism
+	val ()=>XtextResourceSet resourceSetFactory
+
+	val Queue<XtextResourceSet> idleResourceSets = new ConcurrentLinkedQueue
+
+	def <T> List<T> executeParallel(Iterable<URI> uris, (Resource)=>T operation) {
+		return executeParallel(uris, operation, [ resourceSet, load | load.apply ])
+	}
+
+	/**
+	 * Processes the given resources and returns the results in the order of the URIs. If a task fails or the build
+	 * is cancelled, the remaining tasks are cancelled and the tasks that are already running are awaited before the
+	 * exception is rethrown, thus no worker outlives this method.
+	 * 
+	 * @param around
+	 *            is invoked on the worker thread with the borrowed resource set and a function that loads and
+	 *            processes the resource, e.g. to configure the resource set before the resource is loaded.
+	 */
+	def <T> List<T> executeParallel(Iterable<URI> uris, (Resource)=>T operation, (XtextResourceSet, ()=>T)=>T around) {
+		val sourceLevelURIs = ImmutableSet.copyOf(uris.filter[isSource])
+		val pool = new ForkJoinPool(parallelism)
+		val tasks = <ForkJoinTask<T>>newArrayList
+		try {
+			for (uri : uris) {
+				val Callable<T> callable = [| process(uri, sourceLevelURIs, operation, around) ]
+				tasks += pool.submit(ForkJoinTask.adapt(callable))
+			}
+			val result = <T>newArrayList
+			for (task : tasks) {
+				result += task.join
+			}
+			return result
+		} finally {
+			for (pending : tasks) {
+				pending.cancel(false)
+			}
+			pool.shutdownNow
+			awaitTermination(pool)
+		}
+	}
+
+	/**
+	 * Waits until the tasks that are still running have finished. They check the cancel indicator of the build, thus
+	 * after a cancellation this takes no longer than processing one resource per worker.
+	 */
+	protected def void awaitTermination(ForkJoinPool pool) {
+		try {
+			if (!pool.awaitTermination(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+				LOG.warn("The parallel build did not terminate within " + TERMINATION_TIMEOUT_SECONDS + " seconds.")
+		} catch (InterruptedException e) {
+			Thread.currentThread.interrupt
+		}
+	}
+
+	protected def <T> T process(URI uri, ImmutableSet<URI> sourceLevelURIs, (Resource)=>T operation, (XtextResourceSet, ()=>T)=>T around) {
+		val resourceSet = idleResourceSets.poll ?: resourceSetFactory.apply
+		try {
+			if (!clusteringPolicy.continueProcessing(resourceSet, uri, resourceSet.resources.size)) {
+				clearResourceSet(resourceSet)
+			}
+			SourceLevelURIsAdapter.setSourceLevelUris(resourceSet, sourceLevelURIs)
+			if (sourceLevelURIs.contains(uri)) {
+				val existingResource = resourceSet.getResource(uri, false)
+				if (existingResource instanceof StorageAwareResource) {
+					if (existingResource.isLoadedFromStorage)
+						existingResource.unload
+				}
+			}
+			return around.apply(resourceSet, [| operation.apply(resourceSet.getResource(uri, true)) ])
+		} finally {
+			idleResourceSets.add(resourceSet)
+		}
+	}
+
+	protected def isSource(URI uri) {
+		val provider = context.getResourceServiceProvider(uri)
+		return provider instanceof IResourceServiceProviderExtension &&
+				(provider as IResourceServiceProviderExtension).isSource(uri)
+	}
+
+	protected def void clearResourceSet(XtextResourceSet resourceSet) {
+		val wasDeliver = resourceSet.eDeliver();
+		try {
+			resourceSet.eSetDeliver(false);
+			resourceSet.getResources().clear();
+		} finally {
+			resourceSet.eSetDeliver(wasDeliver);
+		}
+	}
+}
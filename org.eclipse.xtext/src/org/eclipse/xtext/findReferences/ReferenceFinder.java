@@ -9,6 +9,7 @@ package org.eclipse.xtext.findReferences;
 
 import static com.google.common.collect.Iterables.*;
 
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -31,6 +32,8 @@ import org.eclipse.xtext.util.concurrent.IUnitOfWork;
 
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
@@ -170,10 +173,11 @@ public class ReferenceFinder implements IReferenceFinder {
 	public void findAllReferences(TargetURIs targetURIs, IResourceAccess resourceAccess,
 			IResourceDescriptions indexData, Acceptor acceptor, IProgressMonitor monitor) {
 		if (!targetURIs.isEmpty()) {
-			SubMonitor subMonitor = SubMonitor.convert(monitor, size(indexData.getAllResourceDescriptions()) / MONITOR_CHUNK_SIZE + 1);
+			Iterable<IResourceDescription> candidates = getCandidateDescriptions(targetURIs, indexData);
+			SubMonitor subMonitor = SubMonitor.convert(monitor, size(candidates) / MONITOR_CHUNK_SIZE + 1);
 			IProgressMonitor useMe = subMonitor.newChild(1);
 			int i = 0;
-			for (IResourceDescription resourceDescription : indexData.getAllResourceDescriptions()) {
+			for (IResourceDescription resourceDescription : candidates) {
 				if (subMonitor.isCanceled())
 					throw new OperationCanceledException();
 				IReferenceFinder languageSpecific = getLanguageSpecificReferenceFinder(resourceDescription.getURI());
@@ -186,6 +190,30 @@ public class ReferenceFinder implements IReferenceFinder {
 		}
 	}
 
+	/**
+	 * Returns the descriptions that may contain references to the given targets. If the index data maintains an
+	 * inverted index of its references, only the resources of the targets and the resources that refer to them are
+	 * considered. Otherwise all descriptions are returned. Clients that find references which are not recorded in the
+	 * {@link IResourceDescription#getReferenceDescriptions() reference descriptions} may want to override this.
+	 * 
+	 * @since 2.11
+	 */
+	protected Iterable<IResourceDescription> getCandidateDescriptions(TargetURIs targetURIs, IResourceDescriptions indexData) {
+		if (indexData instanceof IResourceDescriptions.IReferrersAware) {
+			Set<URI> uris = Sets.newLinkedHashSet(targetURIs.getTargetResourceURIs());
+			uris.addAll(((IResourceDescriptions.IReferrersAware) indexData).getReferrers(targetURIs.getTargetResourceURIs()));
+			List<IResourceDescription> result = Lists.newArrayListWithCapacity(uris.size());
+			for (URI uri : uris) {
+				IResourceDescription description = indexData.getResourceDescription(uri);
+				if (description != null) {
+					result.add(description);
+				}
+			}
+			return result;
+		}
+		return indexData.getAllResourceDescriptions();
+	}
+
 	protected void findLocalReferencesFromElement(
 			Predicate<URI> targetURIs, 
 			EObject sourceCandidate,
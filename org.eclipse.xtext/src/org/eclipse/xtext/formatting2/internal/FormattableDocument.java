@@ -101,18 +101,32 @@ public abstract class FormattableDocument implements IFormattableDocument {
 	protected String applyTextReplacements(Iterable<ITextReplacement> replacements) {
 		ITextSegment region = getRegion();
 		String input = region.getText();
-		ArrayList<ITextReplacement> list = Lists.newArrayList(replacements);
-		Collections.sort(list);
+		// replacements are usually collected in order, thus sorting is only necessary if they are not
+		boolean inOrder = true;
+		int length = input.length();
+		ITextReplacement previous = null;
+		for (ITextReplacement r : replacements) {
+			if (inOrder && previous != null && previous.compareTo(r) > 0)
+				inOrder = false;
+			length += r.getReplacementText().length() - r.getLength();
+			previous = r;
+		}
+		Iterable<ITextReplacement> sorted = replacements;
+		if (!inOrder) {
+			ArrayList<ITextReplacement> list = Lists.newArrayList(replacements);
+			Collections.sort(list);
+			sorted = list;
+		}
 		int startOffset = region.getOffset();
 		int lastOffset = 0;
-		StringBuilder result = new StringBuilder();
-		for (ITextReplacement r : list) {
+		StringBuilder result = new StringBuilder(Math.max(length, 16));
+		for (ITextReplacement r : sorted) {
 			int offset = r.getOffset() - startOffset;
-			result.append(input.subSequence(lastOffset, offset));
+			result.append(input, lastOffset, offset);
 			result.append(r.getReplacementText());
 			lastOffset = offset + r.getLength();
 		}
-		result.append(input.subSequence(lastOffset, input.length()));
+		result.append(input, lastOffset, input.length());
 		return result.toString();
 	}
 
@@ -160,7 +174,7 @@ public abstract class FormattableDocument implements IFormattableDocument {
 	}
 
 	protected TextSegmentSet<ITextReplacer> createTextReplacerSet() {
-		return new ArrayListTextSegmentSet<ITextReplacer>(ITextReplacer.GET_REGION,
+		return new TreeSetTextSegmentSet<ITextReplacer>(ITextReplacer.GET_REGION,
 				new Function<ITextReplacer, String>() {
 					@Override
 					public String apply(ITextReplacer input) {
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.formatting2.internal;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.eclipse.xtext.formatting2.IMerger;
+import org.eclipse.xtext.formatting2.regionaccess.ITextSegment;
+
+import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+/**
+ * A {@link TextSegmentSet} that is backed by a balanced tree. In contrast to the {@link ArrayListTextSegmentSet},
+ * inserting and merging segments does not shift the following segments, i.e. it is logarithmic in the size of the
+ * set. The segments in the set never conflict with each other, thus conflicts with a new segment are found among
+ * its direct neighbors.
+ * 
+ * @since 2.11
+ */
+public class TreeSetTextSegmentSet<T> extends TextSegmentSet<T> {
+
+	private final TreeSet<T> contents;
+
+	public TreeSetTextSegmentSet(Function<? super T, ? extends ITextSegment> region, Function<? super T, String> title) {
+		super(region, title);
+		this.contents = new TreeSet<T>(new RegionComparator<T>(region));
+	}
+
+	@Override
+	public void add(T segment, IMerger<T> merger) throws ConflictingRegionsException {
+		Preconditions.checkNotNull(segment);
+		getTraces().put(segment, new RegionTrace(getTitle(segment), getRegion(segment)));
+		T existing = get(segment);
+		if (existing != null)
+			replaceExistingEntry(segment, existing, merger);
+		else
+			insert(segment, merger);
+	}
+
+	@Override
+	public T get(T segment) {
+		T candidate = contents.ceiling(segment);
+		if (candidate != null && contents.comparator().compare(candidate, segment) == 0)
+			return candidate;
+		return null;
+	}
+
+	protected void insert(T segment, IMerger<T> merger) throws ConflictingRegionsException {
+		List<T> conflicting = null;
+		T lower = contents.lower(segment);
+		while (lower != null && isConflict(lower, segment)) {
+			if (conflicting == null)
+				conflicting = Lists.newArrayList();
+			conflicting.add(lower);
+			lower = contents.lower(lower);
+		}
+		T higher = contents.higher(segment);
+		while (higher != null && isConflict(higher, segment)) {
+			if (conflicting == null)
+				conflicting = Lists.newArrayList();
+			conflicting.add(higher);
+			higher = contents.higher(higher);
+		}
+		if (conflicting == null) {
+			getTraces().put(segment, new RegionTrace(getTitle(segment), getRegion(segment)));
+			contents.add(segment);
+		} else {
+			conflicting.add(0, segment);
+			try {
+				T merged = merger != null ? merger.merge(conflicting) : null;
+				if (merged != null) {
+					removeAll(conflicting);
+					getTraces().put(merged, new RegionTrace(getTitle(merged), getRegion(merged)));
+					contents.add(merged);
+				} else {
+					int segmentLengh = getRegion(segment).getLength();
+					int totalLength = 0;
+					for (int i = 1; i < conflicting.size(); i++)
+						totalLength += getRegion(conflicting.get(i)).getLength();
+					if (segmentLengh >= totalLength)
+						removeAll(conflicting);
+					if (segmentLengh > totalLength) {
+						getTraces().put(segment, new RegionTrace(getTitle(segment), getRegion(segment)));
+						contents.add(segment);
+					}
+					handleConflict(conflicting, null);
+				}
+			} catch (ConflictingRegionsException e) {
+				throw e;
+			} catch (Exception e) {
+				handleConflict(conflicting, e);
+			}
+		}
+	}
+
+	private void removeAll(List<T> conflicting) {
+		// the first element is the new segment which is not yet part of the set
+		for (int i = 1; i < conflicting.size(); i++)
+			contents.remove(conflicting.get(i));
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return Iterators.unmodifiableIterator(contents.iterator());
+	}
+
+	protected void replaceExistingEntry(T segment, T existing, IMerger<T> merger) throws ConflictingRegionsException {
+		List<T> conflicting = ImmutableList.of(segment, existing);
+		try {
+			T merged = merger != null ? merger.merge(conflicting) : null;
+			contents.remove(existing);
+			if (merged != null) {
+				getTraces().put(merged, new RegionTrace(getTitle(merged), getRegion(merged)));
+				contents.add(merged);
+			} else {
+				handleConflict(conflicting, null);
+			}
+		} catch (ConflictingRegionsException e) {
+			throw e;
+		} catch (Exception e) {
+			handleConflict(conflicting, e);
+		}
+	}
+
+}
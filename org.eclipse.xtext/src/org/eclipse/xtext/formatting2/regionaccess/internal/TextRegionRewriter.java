@@ -44,12 +44,12 @@ public class TextRegionRewriter implements ITextRegionRewriter {
 		Collections.sort(list);
 		int lastOffset = 0;
 		for (ITextReplacement r : list) {
-			result.append(text.subSequence(lastOffset, r.getOffset() - offset));
+			result.append(text, lastOffset, r.getOffset() - offset);
 			result.append(r.getReplacementText());
 			lastOffset = (r.getOffset() - offset) + r.getLength();
 		}
 		if (lastOffset <= text.length())
-			result.append(text.subSequence(lastOffset, text.length()));
+			result.append(text, lastOffset, text.length());
 	}
 
 	@Override
@@ -65,7 +65,7 @@ public class TextRegionRewriter implements ITextRegionRewriter {
 
 	@Override
 	public String renderToString(ITextSegment input, Iterable<? extends ITextReplacement> replacements) {
-		StringBuilder result = new StringBuilder();
+		StringBuilder result = new StringBuilder(input.getLength());
 		try {
 			renderToAppendable(input, replacements, result);
 		} catch (IOException e) {
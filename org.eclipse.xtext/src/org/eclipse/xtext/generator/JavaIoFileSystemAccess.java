@@ -9,6 +9,7 @@ package org.eclipse.xtext.generator;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -18,6 +19,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.xtext.generator.trace.AbstractTraceRegion;
@@ -65,6 +67,8 @@ public class JavaIoFileSystemAccess extends AbstractFileSystemAccess2 {
 
 	private boolean writeTrace = true;
 
+	private boolean skipUnchangedFiles = false;
+
 	public JavaIoFileSystemAccess() {
 	}
 
@@ -103,6 +107,15 @@ public class JavaIoFileSystemAccess extends AbstractFileSystemAccess2 {
 		try {
 			createFolder(file.getParentFile());
 			String encoding = getEncoding(getURI(fileName, outputConfigName));
+			if (skipUnchangedFiles) {
+				CharSequence postProcessed = postProcess(fileName, outputConfigName, contents, encoding);
+				writeIfChanged(file, postProcessed.toString().getBytes(encoding));
+				if (callBack != null)
+					callBack.fileAdded(file);
+				if (writeTrace)
+					generateTrace(fileName, outputConfigName, contents);
+				return;
+			}
 			OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(file), encoding);
 			try {
 				writer.append(postProcess(fileName, outputConfigName, contents, encoding));
@@ -123,6 +136,14 @@ public class JavaIoFileSystemAccess extends AbstractFileSystemAccess2 {
 			if (contents instanceof ITraceRegionProvider) {
 				String traceFileName = traceFileNameProvider.getTraceFromJava(generatedFile);
 				File traceFile = getFile(traceFileName, outputConfigName);
+				if (skipUnchangedFiles) {
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					traceSerializer.writeTraceRegionTo(((ITraceRegionProvider) contents).getTraceRegion(), out);
+					writeIfChanged(traceFile, out.toByteArray());
+					if (callBack != null)
+						callBack.fileAdded(traceFile);
+					return;
+				}
 				OutputStream out = new BufferedOutputStream(new FileOutputStream(traceFile));
 				try {
 					AbstractTraceRegion traceRegion = ((ITraceRegionProvider) contents).getTraceRegion();
@@ -154,6 +175,38 @@ public class JavaIoFileSystemAccess extends AbstractFileSystemAccess2 {
 		this.writeTrace = writeTrace;
 	}
 
+	/**
+	 * @since 2.11
+	 */
+	public boolean isSkipUnchangedFiles() {
+		return skipUnchangedFiles;
+	}
+
+	/**
+	 * If set, generated files and their traces are only written if their contents differ from the existing files,
+	 * thus the time stamps of unchanged files are kept. The {@link IFileCallback callback} is still notified about
+	 * every generated file, no matter whether it was written or skipped.
+	 * 
+	 * @since 2.11
+	 */
+	public void setSkipUnchangedFiles(boolean skipUnchangedFiles) {
+		this.skipUnchangedFiles = skipUnchangedFiles;
+	}
+
+	/**
+	 * Writes the contents to the file unless it already has exactly these contents.
+	 * 
+	 * @return <code>true</code> if the file was written.
+	 * @since 2.11
+	 */
+	protected boolean writeIfChanged(File file, byte[] contents) throws IOException {
+		if (file.isFile() && file.length() == contents.length && Arrays.equals(Files.toByteArray(file), contents)) {
+			return false;
+		}
+		Files.write(contents, file);
+		return true;
+	}
+
 	/**
 	 * @since 2.3
 	 */
@@ -212,6 +265,18 @@ public class JavaIoFileSystemAccess extends AbstractFileSystemAccess2 {
 		}
 		try {
 			createFolder(file.getParentFile());
+			if (skipUnchangedFiles) {
+				byte[] bytes;
+				try {
+					bytes = ByteStreams.toByteArray(content);
+				} finally {
+					content.close();
+				}
+				writeIfChanged(file, bytes);
+				if (callBack != null)
+					callBack.fileAdded(file);
+				return;
+			}
 			OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
 			try {
 				ByteStreams.copy(content, out);
@@ -23,6 +23,7 @@ import org.eclipse.xtext.parser.IEncodingProvider
 import org.eclipse.xtext.util.RuntimeIOException
 import java.io.ByteArrayOutputStream
 import java.io.File
+import java.util.Arrays
 
 /**
  * A file system access implementation that is based on EMF URIs and URIConverter
@@ -54,6 +55,12 @@ class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
 	@Accessors BeforeDelete beforeDelete = [true]
 	@Accessors BeforeWrite beforeWrite = [$2]
 	@Accessors BeforeRead beforeRead = [$1]
+	/**
+	 * If set, generated files and their traces are only written if their contents differ from the existing files,
+	 * thus the time stamps of unchanged files are kept.
+	 * @since 2.11
+	 */
+	@Accessors boolean skipUnchangedFiles = false
 	
 	public override void setPostProcessor(IFilePostProcessor filePostProcessor) {
 		super.postProcessor = filePostProcessor
@@ -100,6 +107,18 @@ class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
 	
 	override generateFile(String fileName, String outputCfgName, InputStream content) throws RuntimeIOException {
 		val uri = getURI(fileName, outputCfgName)
+		if (skipUnchangedFiles) {
+			val processedBytes = ByteStreams.toByteArray(beforeWrite.beforeWrite(uri, outputCfgName, content))
+			if (!hasContents(uri, processedBytes)) {
+				val changedOut = converter.createOutputStream(uri)
+				try {
+					changedOut.write(processedBytes)
+				} finally {
+					changedOut.close
+				}
+			}
+			return
+		}
 		val out = converter.createOutputStream(uri)
 		try {
 			val processedContent = beforeWrite.beforeWrite(uri, outputCfgName, content)
@@ -109,6 +128,22 @@ class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
 		}
 	}
 	
+	/**
+	 * @return <code>true</code> if the file exists and has exactly the given contents.
+	 * @since 2.11
+	 */
+	protected def boolean hasContents(URI uri, byte[] contents) {
+		if (!converter.exists(uri, emptyMap)) {
+			return false
+		}
+		val input = converter.createInputStream(uri)
+		try {
+			return Arrays.equals(ByteStreams.toByteArray(input), contents)
+		} finally {
+			input.close
+		}
+	}
+	
 	override readBinaryFile(String fileName, String outputCfgName) throws RuntimeIOException {
 		val uri = getURI(fileName, outputCfgName)
 		val input = converter.createInputStream(uri)
@@ -31,6 +31,8 @@ import org.eclipse.xtext.generator.trace.TraceRegion;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.util.ITextRegion;
 import org.eclipse.xtext.util.ITextRegionWithLineInformation;
+import org.eclipse.xtext.util.Pair;
+import org.eclipse.xtext.util.Tuples;
 import org.eclipse.xtext.workspace.IProjectConfig;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
@@ -91,6 +93,8 @@ public abstract class AbstractTrace implements ITrace {
 	
 	private boolean isTraceToSource;
 	
+	private volatile Pair<Pair<AbsoluteURI, IProjectConfig>, SourceRelativeURI> lastConvertedURI;
+	
 	/**
 	 * Returns the root trace region where {@link TraceRegion#getMyOffset()} and
 	 * {@link TraceRegion#getMyLength()} return the information for the
@@ -242,12 +246,12 @@ public abstract class AbstractTrace implements ITrace {
 			return null;
 		}
 		outer: while(candidate != null) {
-			// TODO binary search?
 			List<? extends AbstractTraceRegion> children = candidate.getNestedRegions();
 			if (children.isEmpty()) {
 				return candidate;
 			}
-			for(AbstractTraceRegion child: children) {
+			for(int i = indexOfFirstRegionEndingAt(children, offset); i < children.size(); i++) {
+				AbstractTraceRegion child = children.get(i);
 				if (encloses(child, offset, includeRegionEnd)) {
 					candidate = child;
 					continue outer;
@@ -262,6 +266,27 @@ public abstract class AbstractTrace implements ITrace {
 		return null;
 	}
 
+	/**
+	 * Nested regions are sorted by offset and do not overlap, thus the regions that end before the given offset can be
+	 * skipped by means of a binary search.
+	 * 
+	 * @return the index of the first region that ends at or after the given offset.
+	 */
+	private int indexOfFirstRegionEndingAt(List<? extends AbstractTraceRegion> regions, int offset) {
+		int low = 0;
+		int high = regions.size();
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			AbstractTraceRegion region = regions.get(mid);
+			if (region.getMyOffset() + region.getMyLength() < offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
 	public AbstractTraceRegion findTraceRegionAtLeftOffset(int offset) {
 		return findTraceRegionAt(offset, false);
 	}
@@ -313,12 +338,29 @@ public abstract class AbstractTrace implements ITrace {
 	}
 	
 	protected boolean isAssociatedWith(AbstractTraceRegion region, AbsoluteURI uri, IProjectConfig project) {
+		SourceRelativeURI convertedUri = getURIForTrace(uri, project);
+		return convertedUri.equals(region.getAssociatedSrcRelativePath());
+	}
+
+	/**
+	 * Converts the given URI with the {@link ITraceURIConverter} of its language. The result of the most recent
+	 * conversion is remembered since all the regions of a trace are usually checked against the same URI.
+	 * 
+	 * @since 2.11
+	 */
+	protected SourceRelativeURI getURIForTrace(AbsoluteURI uri, IProjectConfig project) {
+		Pair<Pair<AbsoluteURI, IProjectConfig>, SourceRelativeURI> lastConverted = this.lastConvertedURI;
+		Pair<AbsoluteURI, IProjectConfig> key = Tuples.create(uri, project);
+		if (lastConverted != null && lastConverted.getFirst().equals(key)) {
+			return lastConverted.getSecond();
+		}
 		ITraceURIConverter traceURIConverter = getService(uri, ITraceURIConverter.class);
 		if (traceURIConverter == null) {
 			traceURIConverter = getService(getLocalURI(), ITraceURIConverter.class);
 		}
-		SourceRelativeURI convertedUri = traceURIConverter.getURIForTrace(project, uri);
-		return convertedUri.equals(region.getAssociatedSrcRelativePath());
+		SourceRelativeURI result = traceURIConverter.getURIForTrace(project, uri);
+		this.lastConvertedURI = Tuples.create(key, result);
+		return result;
 	}
 	
 	protected AbstractTraceRegion findParentByURI(AbstractTraceRegion region, AbsoluteURI uri, IProjectConfig project) {
@@ -18,6 +18,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.TreeIterator;
@@ -95,6 +97,15 @@ public class LazyLinkingResource extends XtextResource {
 
 	private boolean eagerLinking = false;
 
+	private boolean parallelLinking = false;
+
+	/**
+	 * The minimum number of lazy proxies per task when they are resolved in parallel.
+	 * 
+	 * @since 2.11
+	 */
+	protected static final int PARALLEL_LINKING_THRESHOLD = 64;
+
 	@Override
 	protected void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
 		super.doLoad(inputStream, options);
@@ -114,6 +125,11 @@ public class LazyLinkingResource extends XtextResource {
 	 */
 	protected LinkedHashSet<Triple<EObject, EReference, INode>> resolving = Sets.newLinkedHashSet();
 
+	/**
+	 * The lazy proxy whose linked objects are computed by the current worker thread of a parallel resolution.
+	 */
+	private static final ThreadLocal<PendingProxy> PARALLEL_LINKING = new ThreadLocal<PendingProxy>();
+
 	/**
 	 * resolves any lazy cross references in this resource, adding Issues for unresolvable elements to this resource.
 	 * This resource might still contain resolvable proxies after this method has been called.
@@ -122,6 +138,10 @@ public class LazyLinkingResource extends XtextResource {
 	 */
 	public void resolveLazyCrossReferences(final CancelIndicator mon) {
 		final CancelIndicator monitor = mon == null ? CancelIndicator.NullImpl : mon;
+		if (isParallelLinking()) {
+			resolveLazyCrossReferencesInParallel(monitor);
+			return;
+		}
 		TreeIterator<Object> iterator = EcoreUtil.getAllContents(this, true);
 		while (iterator.hasNext()) {
 			operationCanceledManager.checkCanceled(monitor);
@@ -137,6 +157,201 @@ public class LazyLinkingResource extends XtextResource {
 		}
 	}
 
+	/**
+	 * A lazy proxy that is resolved in parallel. The linked objects are computed by a worker thread, everything else
+	 * happens on the thread that called {@link LazyLinkingResource#resolveLazyCrossReferences(CancelIndicator)}. If
+	 * the computation depends on the resolution of another proxy, it is discarded and the proxy is resolved on the
+	 * calling thread, too.
+	 */
+	private static class PendingProxy {
+		private final InternalEObject source;
+		private final EStructuralFeature crossRef;
+		private final int index;
+		private final EObject proxy;
+		private final String fragment;
+		private final Triple<EObject, EReference, INode> triple;
+		private boolean computed;
+		private boolean nestedResolution;
+		private List<EObject> linkedObjects;
+		private RuntimeException exception;
+
+		private PendingProxy(InternalEObject source, EStructuralFeature crossRef, int index, EObject proxy,
+				String fragment, Triple<EObject, EReference, INode> triple) {
+			this.source = source;
+			this.crossRef = crossRef;
+			this.index = index;
+			this.proxy = proxy;
+			this.fragment = fragment;
+			this.triple = triple;
+		}
+
+		private boolean isStillPending() {
+			if (index >= 0) {
+				@SuppressWarnings("unchecked")
+				InternalEList<EObject> list = (InternalEList<EObject>) source.eGet(crossRef);
+				return index < list.size() && list.basicGet(index) == proxy;
+			}
+			return source.eGet(crossRef, false) == proxy;
+		}
+
+		private List<EObject> getLinkedObjects() {
+			if (exception != null)
+				throw exception;
+			return linkedObjects;
+		}
+	}
+
+	private class ParallelLinkingTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final List<PendingProxy> pending;
+		private final int from;
+		private final int to;
+		private final CancelIndicator monitor;
+
+		private ParallelLinkingTask(List<PendingProxy> pending, int from, int to, CancelIndicator monitor) {
+			this.pending = pending;
+			this.from = from;
+			this.to = to;
+			this.monitor = monitor;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > PARALLEL_LINKING_THRESHOLD) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new ParallelLinkingTask(pending, from, middle, monitor),
+						new ParallelLinkingTask(pending, middle, to, monitor));
+			} else {
+				for (int i = from; i < to; i++) {
+					operationCanceledManager.checkCanceled(monitor);
+					computeLinkedObjects(pending.get(i));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resolves the lazy cross references like {@link #resolveLazyCrossReferences(CancelIndicator)} does, but asks the
+	 * {@link ILinkingService linking service} for the linked objects of the lazy proxies in parallel. The workers
+	 * only read the model: a worker that needs another proxy to be resolved, e.g. because a scope navigates a lazy
+	 * cross reference, gets no object from {@link #getEObject(String)} and its result is discarded. The proxies are
+	 * replaced, the diagnostics are created and the discarded proxies are resolved sequentially on the calling
+	 * thread, thus the model is only modified by that thread, the notification semantics are unchanged and cyclic
+	 * resolutions are detected like in the sequential mode.
+	 * 
+	 * This mode is only applicable if the linking service and the scope providers of the language are thread-safe.
+	 * They must not modify the model or load resources.
+	 * 
+	 * @since 2.11
+	 * @see #setParallelLinking(boolean)
+	 */
+	protected void resolveLazyCrossReferencesInParallel(CancelIndicator monitor) {
+		List<PendingProxy> pending = newArrayList();
+		TreeIterator<Object> iterator = EcoreUtil.getAllContents(this, true);
+		while (iterator.hasNext()) {
+			operationCanceledManager.checkCanceled(monitor);
+			InternalEObject source = (InternalEObject) iterator.next();
+			EStructuralFeature[] eStructuralFeatures = ((EClassImpl.FeatureSubsetSupplier) source.eClass()
+					.getEAllStructuralFeatures()).crossReferences();
+			if (eStructuralFeatures != null) {
+				for (EStructuralFeature crossRef : eStructuralFeatures) {
+					if (isPotentialLazyCrossReference(crossRef)) {
+						collectPendingProxies(source, crossRef, pending);
+					}
+				}
+			}
+		}
+		if (pending.isEmpty())
+			return;
+		getLinkingPool().invoke(new ParallelLinkingTask(pending, 0, pending.size(), monitor));
+		for (PendingProxy proxy : pending) {
+			operationCanceledManager.checkCanceled(monitor);
+			if (proxy.isStillPending()) {
+				EObject target = getEObject(proxy);
+				if (target != null) {
+					try {
+						proxy.source.eSetDeliver(false);
+						if (proxy.index >= 0) {
+							@SuppressWarnings("unchecked")
+							InternalEList<EObject> list = (InternalEList<EObject>) proxy.source.eGet(proxy.crossRef);
+							list.setUnique(proxy.index, target);
+						} else {
+							proxy.source.eSet(proxy.crossRef, target);
+						}
+					} finally {
+						proxy.source.eSetDeliver(true);
+					}
+				}
+			}
+		}
+	}
+
+	private void collectPendingProxies(InternalEObject source, EStructuralFeature crossRef, List<PendingProxy> result) {
+		if (crossRef.isMany()) {
+			@SuppressWarnings("unchecked")
+			InternalEList<EObject> list = (InternalEList<EObject>) source.eGet(crossRef);
+			for (int i = 0; i < list.size(); i++) {
+				addPendingProxy(source, crossRef, i, list.basicGet(i), result);
+			}
+		} else {
+			addPendingProxy(source, crossRef, -1, (EObject) source.eGet(crossRef, false), result);
+		}
+	}
+
+	private void addPendingProxy(InternalEObject source, EStructuralFeature crossRef, int index, EObject proxy,
+			List<PendingProxy> result) {
+		if (proxy != null && proxy.eIsProxy()) {
+			URI proxyURI = ((InternalEObject) proxy).eProxyURI();
+			if (getURI().equals(proxyURI.trimFragment())) {
+				String fragment = proxyURI.fragment();
+				if (getEncoder().isCrossLinkFragment(this, fragment)) {
+					Triple<EObject, EReference, INode> triple = getEncoder().decode(this, fragment);
+					result.add(new PendingProxy(source, crossRef, index, proxy, fragment, triple));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs on a worker thread. The model is not modified while the workers run, thus the unresolvable fragments are
+	 * read without a lock.
+	 */
+	private void computeLinkedObjects(PendingProxy proxy) {
+		if (getUnresolvableURIFragments().contains(proxy.fragment))
+			return;
+		PARALLEL_LINKING.set(proxy);
+		try {
+			proxy.linkedObjects = getLinkingService().getLinkedObjects(proxy.triple.getFirst(),
+					proxy.triple.getSecond(), proxy.triple.getThird());
+		} catch (RuntimeException e) {
+			operationCanceledManager.propagateIfCancelException(e);
+			proxy.exception = e;
+		} catch (Error e) {
+			// the error may be caused by a proxy that was left unresolved, it is reproduced on the calling thread otherwise
+			operationCanceledManager.propagateIfCancelException(e);
+			if (!proxy.nestedResolution)
+				throw e;
+		} finally {
+			PARALLEL_LINKING.remove();
+		}
+		proxy.computed = !proxy.nestedResolution;
+	}
+
+	/**
+	 * Runs on the calling thread and handles the linked objects of the given proxy like {@link #getEObject(String)}.
+	 * The linked objects of proxies that were discarded by the workers are computed now.
+	 */
+	private synchronized EObject getEObject(PendingProxy proxy) {
+		try {
+			return getEObject(proxy.fragment, proxy.triple, proxy.computed ? proxy : null);
+		} catch (RuntimeException e) {
+			operationCanceledManager.propagateAsErrorIfCancelException(e);
+			getErrors().add(new ExceptionDiagnostic(e));
+			log.error("resolution of uriFragment '" + proxy.fragment + "' failed.", e);
+			throw new WrappedException(e);
+		}
+	}
+
 	/**
 	 * If the given {@code crossRef} may hold lazy linking proxies, they are attempted to be resolved. 
 	 * @since 2.4
@@ -215,7 +430,17 @@ public class LazyLinkingResource extends XtextResource {
 	}
 
 	@Override
-	public synchronized EObject getEObject(String uriFragment) {
+	public EObject getEObject(String uriFragment) {
+		PendingProxy parallelLinking = PARALLEL_LINKING.get();
+		if (parallelLinking != null) {
+			// resolving a proxy would modify the model, the worker's result is discarded instead
+			parallelLinking.nestedResolution = true;
+			return null;
+		}
+		return doGetEObject(uriFragment);
+	}
+
+	private synchronized EObject doGetEObject(String uriFragment) {
 		try {
 			if (getEncoder().isCrossLinkFragment(this, uriFragment)) {
 				Triple<EObject, EReference, INode> triple = getEncoder().decode(this, uriFragment);
@@ -236,6 +461,10 @@ public class LazyLinkingResource extends XtextResource {
 	 * @since 2.4
 	 */
 	protected EObject getEObject(String uriFragment, Triple<EObject, EReference, INode> triple) throws AssertionError {
+		return getEObject(uriFragment, triple, null);
+	}
+
+	private EObject getEObject(String uriFragment, Triple<EObject, EReference, INode> triple, PendingProxy computed) throws AssertionError {
 		if (!resolving.add(triple))
 			return handleCyclicResolution(triple);
 		try {
@@ -244,7 +473,7 @@ public class LazyLinkingResource extends XtextResource {
 				return null;
 			EReference reference = triple.getSecond();
 			try {
-				List<EObject> linkedObjects = getLinkingService().getLinkedObjects(
+				List<EObject> linkedObjects = computed != null ? computed.getLinkedObjects() : getLinkingService().getLinkedObjects(
 						triple.getFirst(), 
 						reference,
 						triple.getThird());
@@ -441,6 +670,32 @@ public class LazyLinkingResource extends XtextResource {
 		return eagerLinking;
 	}
 
+	/**
+	 * Enables or disables the parallel resolution of lazy cross references. Disabled by default.
+	 * 
+	 * @since 2.11
+	 * @see #resolveLazyCrossReferencesInParallel(CancelIndicator)
+	 */
+	public void setParallelLinking(boolean parallelLinking) {
+		this.parallelLinking = parallelLinking;
+	}
+
+	/**
+	 * @since 2.11
+	 */
+	public boolean isParallelLinking() {
+		return parallelLinking;
+	}
+
+	/**
+	 * The pool that resolves the lazy cross references if {@link #isParallelLinking() parallel linking} is enabled.
+	 * 
+	 * @since 2.11
+	 */
+	protected ForkJoinPool getLinkingPool() {
+		return ForkJoinPool.commonPool();
+	}
+
 	public ILinkingDiagnosticMessageProvider getDiagnosticMessageProvider() {
 		return diagnosticMessageProvider;
 	}
@@ -451,6 +451,19 @@ public class QualifiedName implements Comparable<QualifiedName> {
 		return startsWith(prefix, true);
 	}
 
+	/**
+	 * Returns whether one of the segments of this name starts with the given string, ignoring case.
+	 * 
+	 * @since 2.11
+	 */
+	public boolean hasSegmentStartingWithIgnoreCase(String prefix) {
+		for (int i = 0; i < getSegmentCount(); ++i) {
+			if (getSegment(i).regionMatches(true, 0, prefix, 0, prefix.length()))
+				return true;
+		}
+		return false;
+	}
+
 	protected boolean startsWith(QualifiedName prefix, boolean ignoreCase) {
 		if (prefix.getSegmentCount() > getSegmentCount())
 			return false;
@@ -291,6 +291,10 @@ public class NodeModelBuilder {
 			newNode.basicSetTotalOffset(oldNode.getTotalOffset());
 			newNode.basicSetGrammarElement(oldNode.basicGetGrammarElement());
 			replace(oldNode, newNode);
+			ICompositeNode root = newNode.getRootNode();
+			if (root instanceof RootNode) {
+				((RootNode) root).basicInvalidateLeafNodeIndex();
+			}
 			return newNode;
 		} else {
 			CompositeNode oldNode = (CompositeNode) node;
@@ -342,6 +346,9 @@ public class NodeModelBuilder {
 			newCompositeNode.basicSetLookAhead(((ICompositeNode) oldNode).getLookAhead());
 		}
 		ICompositeNode root = newNode.getRootNode();
+		if (root instanceof RootNode) {
+			((RootNode) root).basicInvalidateLeafNodeIndex();
+		}
 		BidiTreeIterator<AbstractNode> iterator = ((AbstractNode) root).basicIterator();
 		int offset = 0;
 		while(iterator.hasNext()) {
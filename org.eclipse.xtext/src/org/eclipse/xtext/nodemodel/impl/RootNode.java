@@ -9,11 +9,14 @@ package org.eclipse.xtext.nodemodel.impl;
 
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.nodemodel.BidiTreeIterator;
 import org.eclipse.xtext.nodemodel.ICompositeNode;
+import org.eclipse.xtext.nodemodel.ILeafNode;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.serialization.DeserializationConversionContext;
 
@@ -28,6 +31,21 @@ public class RootNode extends CompositeNodeWithSemanticElementAndSyntaxError {
 	
 	private int[] lineBreakOffsets;
 	
+	private volatile LeafNodeIndex leafNodeIndex;
+	
+	/**
+	 * The non-empty leaf nodes of the tree sorted by their offsets.
+	 */
+	private static class LeafNodeIndex {
+		private final int[] offsets;
+		private final LeafNode[] leafNodes;
+		
+		private LeafNodeIndex(int[] offsets, LeafNode[] leafNodes) {
+			this.offsets = offsets;
+			this.leafNodes = leafNodes;
+		}
+	}
+	
 	/**
 	 * @return <code>null</code> the root node does not have any parent.
 	 */
@@ -63,6 +81,60 @@ public class RootNode extends CompositeNodeWithSemanticElementAndSyntaxError {
 	protected void basicSetCompleteContent(String completeContent) {
 		this.completeContent = completeContent;
 		this.lineBreakOffsets = computeLineBreaks(completeContent);
+		this.leafNodeIndex = null;
+	}
+	
+	/**
+	 * Discards the index of the leaf nodes. It has to be called whenever leaf nodes of this tree are replaced or their
+	 * offsets change.
+	 * @since 2.11
+	 */
+	protected void basicInvalidateLeafNodeIndex() {
+		this.leafNodeIndex = null;
+	}
+	
+	/**
+	 * Find the leaf node at the given offset by means of a binary search in a lazily computed index. 
+	 * Same contract as {@link org.eclipse.xtext.nodemodel.util.NodeModelUtils#findLeafNodeAtOffset(INode, int)}.
+	 * @return the leaf node at the given offset or <code>null</code>.
+	 * @since 2.11
+	 */
+	public ILeafNode findLeafNodeAtOffset(int offset) {
+		LeafNodeIndex index = leafNodeIndex;
+		if (index == null) {
+			index = computeLeafNodeIndex();
+			leafNodeIndex = index;
+		}
+		int i = Arrays.binarySearch(index.offsets, offset);
+		if (i < 0) {
+			i = -i - 2;
+			if (i < 0)
+				return null;
+		}
+		LeafNode result = index.leafNodes[i];
+		if (offset >= result.getTotalEndOffset())
+			return null;
+		return result;
+	}
+	
+	private LeafNodeIndex computeLeafNodeIndex() {
+		int size = 0;
+		int[] offsets = new int[64];
+		LeafNode[] leafNodes = new LeafNode[64];
+		BidiTreeIterator<AbstractNode> iterator = basicIterator();
+		while (iterator.hasNext()) {
+			AbstractNode node = iterator.next();
+			if (node instanceof LeafNode && node.getTotalLength() > 0) {
+				if (size == offsets.length) {
+					offsets = Arrays.copyOf(offsets, size * 2);
+					leafNodes = Arrays.copyOf(leafNodes, size * 2);
+				}
+				offsets[size] = node.getTotalOffset();
+				leafNodes[size] = (LeafNode) node;
+				size++;
+			}
+		}
+		return new LeafNodeIndex(Arrays.copyOf(offsets, size), Arrays.copyOf(leafNodes, size));
 	}
 	
 	/**
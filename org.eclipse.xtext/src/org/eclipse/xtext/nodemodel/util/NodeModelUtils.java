@@ -35,6 +35,9 @@ import org.eclipse.xtext.resource.EObjectAtOffsetHelper;
 import org.eclipse.xtext.resource.ILocationInFileProvider;
 import org.eclipse.xtext.util.LineAndColumn;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 
 /**
@@ -60,6 +63,8 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 	 *  node.totalEndOffset > leafNodeOffset 
 	 * </pre>
 	 * 
+	 * The lookup in a {@link RootNode} is a binary search in an index of its leaf nodes.
+	 * 
 	 * @param node the container node. May not be <code>null</code>.
 	 * @param leafNodeOffset the offset that is covered by the searched node.
 	 * @return the leaf node at the given offset or <code>null</code>.
@@ -70,6 +75,9 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 		while(!(localNode instanceof AbstractNode)) {
 			localNode = localNode.getParent();
 		}
+		if (localNode instanceof RootNode) {
+			return ((RootNode) localNode).findLeafNodeAtOffset(leafNodeOffset);
+		}
 		int offset = localNode.getTotalOffset();
 		int length = localNode.getTotalLength();
 		BidiTreeIterator<AbstractNode> iterator = ((AbstractNode) localNode).basicIterator();
@@ -165,15 +173,35 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 	public static List<INode> findNodesForFeature(EObject semanticObject, EStructuralFeature structuralFeature) {
 		ICompositeNode node = findActualNodeFor(semanticObject);
 		if (node != null) {
-			return findNodesForFeature(semanticObject, node, structuralFeature);
+			String featureName = structuralFeature.getName();
+			ListMultimap<String, INode> result = ArrayListMultimap.create();
+			findNodesForFeature(semanticObject, node, featureName, result);
+			return result.get(featureName);
 		}
 		return Collections.emptyList();
 	}
 
-	private static List<INode> findNodesForFeature(EObject semanticElement, INode node,
-			EStructuralFeature structuralFeature) {
-		List<INode> result = Lists.newArrayList();
-		String featureName = structuralFeature.getName();
+	/**
+	 * Returns the nodes that were used to assign values to the features of the given object, keyed by the name
+	 * of the feature. This is the result of {@link #findNodesForFeature(EObject, EStructuralFeature)} for all
+	 * features at once, i.e. the node model is traversed only once.
+	 * 
+	 * @return the nodes that were used to assign values to the features of the given object.
+	 * @since 2.11
+	 */
+	/* @NonNull */
+	public static ListMultimap<String, INode> findNodesForFeatures(EObject semanticObject) {
+		ICompositeNode node = findActualNodeFor(semanticObject);
+		if (node != null) {
+			ListMultimap<String, INode> result = ArrayListMultimap.create();
+			findNodesForFeature(semanticObject, node, null, result);
+			return ImmutableListMultimap.copyOf(result);
+		}
+		return ImmutableListMultimap.of();
+	}
+
+	private static void findNodesForFeature(EObject semanticElement, INode node,
+			/* @Nullable */ String featureName, ListMultimap<String, INode> result) {
 		BidiTreeIterator<INode> iterator = node.getAsTreeIterable().iterator();
 		while (iterator.hasNext()) {
 			INode child = iterator.next();
@@ -183,9 +211,7 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 					Action action = (Action) grammarElement;
 					if (child.getSemanticElement() == semanticElement) {
 						child = iterator.next();
-						if (featureName.equals(action.getFeature())) {
-							result.add(child);
-						}
+						addNodeForFeature(action.getFeature(), featureName, child, result);
 					} else {
 						// navigate the action's left side (first child) until we find an assignment (a rule call)
 						// the assignment will tell us about the feature to which we assigned
@@ -196,23 +222,27 @@ public class NodeModelUtils extends InternalNodeModelUtils {
 						}
 						EObject firstChildGrammarElement = firstChild.getGrammarElement();
 						Assignment assignment = GrammarUtil.containingAssignment(firstChildGrammarElement);
-						if (assignment != null && featureName.equals(assignment.getFeature())) {
-							result.add(child);
+						if (assignment != null) {
+							addNodeForFeature(assignment.getFeature(), featureName, child, result);
 						}
 					}
 					iterator.prune();
 				} else if (child != node) {
 					Assignment assignment = GrammarUtil.containingAssignment(grammarElement);
 					if (assignment != null) {
-						if (featureName.equals(assignment.getFeature())) {
-							result.add(child);
-						}
+						addNodeForFeature(assignment.getFeature(), featureName, child, result);
 						iterator.prune();
 					}
 				}
 			}
 		}
-		return result;
+	}
+
+	private static void addNodeForFeature(/* @Nullable */ String assignedFeature, /* @Nullable */ String featureName,
+			INode node, ListMultimap<String, INode> result) {
+		if (assignedFeature != null && (featureName == null || featureName.equals(assignedFeature))) {
+			result.put(assignedFeature, node);
+		}
 	}
 
 	/**
@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.common.util.WrappedException;
+import org.eclipse.emf.ecore.resource.Resource;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Objects;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * A {@link SynchronizedXtextResourceSet} that loads different resources concurrently and answers
+ * {@link #getResource(URI, boolean)} for resources that are already loaded without acquiring the {@link #getLock()
+ * lock}.
+ *
+ * Each URI that is requested with <code>loadOnDemand</code> gets a {@link Load} task. The first thread that requests
+ * the URI runs the task, all other threads wait for its result, thus a resource is loaded only once. The lock is only
+ * held while the resource is looked up or created, the resource itself is loaded without it. A thread that holds the
+ * lock, e.g. in {@link #execute(org.eclipse.xtext.util.concurrent.IUnitOfWork) execute}, releases it while it waits for
+ * the load of another thread. If the resource is requested by a thread that waits for the requesting thread in turn,
+ * i.e. the loads of two resources depend on each other, the resource is returned while it is loaded, like in a single
+ * threaded resource set.
+ *
+ * A completed load stays in a concurrent map as long as its resource is loaded, contained in this resource set and has
+ * the same URI. The load is discarded when the resource is removed from the resource set, unloaded or gets a new URI.
+ * A load is checked against the state of its own resource after the resource was loaded, thus a load that missed a
+ * concurrent change is never kept, regardless of changes of other resources.
+ *
+ * @since 2.11
+ */
+@Beta
+public class ConcurrentXtextResourceSet extends SynchronizedXtextResourceSet {
+
+	/**
+	 * Loads a resource once for all threads that request it with a certain URI.
+	 */
+	protected class Load extends FutureTask<Resource> {
+
+		private final Thread loader = Thread.currentThread();
+
+		private volatile Resource resource;
+
+		protected Load(final URI uri) {
+			super(new Callable<Resource>() {
+				@Override
+				public Resource call() throws Exception {
+					return load(uri);
+				}
+			});
+		}
+
+		/**
+		 * @return the thread that runs this load.
+		 */
+		public Thread getLoader() {
+			return loader;
+		}
+
+		/**
+		 * @return the loaded resource or the resource that is being loaded. <code>null</code> if the resource was not
+		 *         looked up yet.
+		 */
+		public Resource getResource() {
+			return resource;
+		}
+
+	}
+
+	private final ConcurrentMap<URI, Load> loads = new ConcurrentHashMap<URI, Load>();
+
+	/**
+	 * The loads that the threads wait for. Guarded by itself, thus only one of two threads that start to wait for each
+	 * other at the same time detects the cycle.
+	 */
+	private final Map<Thread, Load> waiting = Maps.newHashMap();
+
+	/**
+	 * The load that is run by the current thread.
+	 */
+	private final ThreadLocal<Load> currentLoad = new ThreadLocal<Load>();
+
+	/**
+	 * The URIs that a loaded resource was requested with. It may be published with more than one URI, e.g. its
+	 * normalized one. Guarded by itself.
+	 */
+	private final Map<Resource, Set<URI>> publishedURIs = Maps.newHashMap();
+
+	private final UriChangeListener uriChangeListener = new UriChangeListener() {
+		@Override
+		public void notifyChanged(Notification notification) {
+			if (notification.getNotifier() instanceof Resource) {
+				int featureID = notification.getFeatureID(Resource.class);
+				if (featureID == Resource.RESOURCE__URI
+						|| featureID == Resource.RESOURCE__IS_LOADED && !notification.getNewBooleanValue()) {
+					withdraw((Resource) notification.getNotifier());
+				}
+			}
+			super.notifyChanged(notification);
+		}
+
+		@Override
+		public void unsetTarget(Notifier oldTarget) {
+			// the listener is removed from resources that leave the resource set
+			if (oldTarget instanceof Resource) {
+				withdraw((Resource) oldTarget);
+			}
+			super.unsetTarget(oldTarget);
+		}
+	};
+
+	@Override
+	protected UriChangeListener getUriChangeListener() {
+		return uriChangeListener;
+	}
+
+	@Override
+	public Resource getResource(URI uri, boolean loadOnDemand) {
+		Load load = loads.get(uri);
+		if (load == null) {
+			if (!loadOnDemand) {
+				return super.getResource(uri, false);
+			}
+			Load newLoad = new Load(uri);
+			load = loads.putIfAbsent(uri, newLoad);
+			if (load == null) {
+				load = newLoad;
+				run(uri, load);
+			}
+		}
+		return await(load);
+	}
+
+	private void run(URI uri, Load load) {
+		Load outerLoad = currentLoad.get();
+		currentLoad.set(load);
+		try {
+			load.run();
+		} finally {
+			currentLoad.set(outerLoad);
+			if (!load.isDone() || load.getResource() == null || !isPublished(uri, load)) {
+				loads.remove(uri, load);
+			}
+			// wake up the threads that hold the lock while they wait for this load
+			synchronized (getLock()) {
+				getLock().notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Looks up or creates the resource with the given URI and loads it without holding the {@link #getLock() lock}.
+	 */
+	private Resource load(URI uri) {
+		Load load = currentLoad.get();
+		Resource resource;
+		URI resourceURI;
+		synchronized (getLock()) {
+			resource = super.getResource(uri, false);
+			if (resource == null) {
+				resource = demandCreateResource(uri);
+				if (resource == null) {
+					throw new RuntimeException("Cannot create a resource for '" + uri
+							+ "'; a registered resource factory is needed");
+				}
+			}
+			resourceURI = resource.getURI();
+		}
+		load.resource = resource;
+		// the same resource may be requested with different URIs
+		synchronized (resource) {
+			if (!resource.isLoaded()) {
+				demandLoadHelper(resource);
+			}
+		}
+		publish(uri, resource, resourceURI);
+		return resource;
+	}
+
+	private Resource await(Load load) {
+		if (!load.isDone()) {
+			Thread current = Thread.currentThread();
+			if (load.getLoader() == current) {
+				// the resource is requested again while it is loaded
+				return load.getResource();
+			}
+			synchronized (waiting) {
+				if (dependsOn(load, current)) {
+					// the loader waits for the current thread, thus it can't change the resource
+					return load.getResource();
+				}
+				waiting.put(current, load);
+			}
+			try {
+				if (Thread.holdsLock(getLock())) {
+					awaitReleasingLock(load);
+				}
+				return getResult(load);
+			} finally {
+				synchronized (waiting) {
+					waiting.remove(current);
+				}
+			}
+		}
+		return getResult(load);
+	}
+
+	private Resource getResult(Load load) {
+		try {
+			return Uninterruptibles.getUninterruptibly(load);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new WrappedException((Exception) cause);
+		}
+	}
+
+	/**
+	 * Whether the loader of the given load waits for a load of the given thread, directly or transitively. Guarded by
+	 * {@link #waiting}.
+	 */
+	private boolean dependsOn(Load load, Thread thread) {
+		Load next = load;
+		// bounded, since the chain may end in a cycle of other threads that is about to be resolved
+		for (int i = 0; next != null && !next.isDone() && i <= waiting.size(); i++) {
+			if (next.getLoader() == thread) {
+				return true;
+			}
+			next = waiting.get(next.getLoader());
+		}
+		return false;
+	}
+
+	private void awaitReleasingLock(Load load) {
+		boolean interrupted = false;
+		synchronized (getLock()) {
+			while (!load.isDone()) {
+				try {
+					getLock().wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private boolean isPublished(URI uri, Load load) {
+		synchronized (publishedURIs) {
+			Set<URI> uris = publishedURIs.get(load.getResource());
+			return uris != null && uris.contains(uri);
+		}
+	}
+
+	/**
+	 * Publishes the resource that was looked up with the given URI if it is still loaded, contained in this resource
+	 * set and has the URI it had when it was looked up. Otherwise a concurrent {@link #withdraw(Resource) withdrawal}
+	 * may have been missed and the load is discarded.
+	 *
+	 * @return whether the resource was published.
+	 */
+	protected boolean publish(URI uri, Resource resource, URI resourceURI) {
+		synchronized (publishedURIs) {
+			if (resource.getResourceSet() != this || !resource.isLoaded()
+					|| ((Resource.Internal) resource).isLoading() || !Objects.equal(resourceURI, resource.getURI())) {
+				return false;
+			}
+			Set<URI> uris = publishedURIs.get(resource);
+			if (uris == null) {
+				uris = Sets.newHashSet();
+				publishedURIs.put(resource, uris);
+			}
+			uris.add(uri);
+			return true;
+		}
+	}
+
+	protected void withdraw(Resource resource) {
+		synchronized (publishedURIs) {
+			Set<URI> uris = publishedURIs.remove(resource);
+			if (uris != null) {
+				for (URI uri : uris) {
+					Load load = loads.get(uri);
+					if (load != null && load.getResource() == resource) {
+						loads.remove(uri, load);
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -42,6 +42,9 @@ public class DefaultLocationInFileProvider implements ILocationInFileProvider, I
 	@Inject(optional = true)
 	private IHiddenTokenHelper hiddenTokenHelper;
 	
+	@Inject
+	private NodesForFeatureIndex nodesForFeatureIndex;
+	
 	@Override
 	public ITextRegion getSignificantTextRegion(EObject obj) {
 		return getTextRegion(obj, true);
@@ -196,7 +199,7 @@ public class DefaultLocationInFileProvider implements ILocationInFileProvider, I
 		if (!feature.isMany())
 			indexInList = 0;
 		if (indexInList >= 0) {
-			List<INode> findNodesForFeature = NodeModelUtils.findNodesForFeature(owner, feature);
+			List<INode> findNodesForFeature = findNodesForFeature(owner, feature);
 			if (indexInList < findNodesForFeature.size()) {
 				INode node = findNodesForFeature.get(indexInList);
 				return createRegion(Collections.singletonList(node), query);
@@ -206,6 +209,16 @@ public class DefaultLocationInFileProvider implements ILocationInFileProvider, I
 		return null;
 	}
 
+	/**
+	 * Returns the nodes of the given feature. The result must not be modified.
+	 * @since 2.11
+	 */
+	protected List<INode> findNodesForFeature(EObject owner, EStructuralFeature feature) {
+		if (nodesForFeatureIndex != null)
+			return nodesForFeatureIndex.findNodesForFeature(owner, feature);
+		return NodeModelUtils.findNodesForFeature(owner, feature);
+	}
+
 	protected List<INode> getLocationNodes(EObject obj) {
 		final EStructuralFeature nameFeature = getIdentifierFeature(obj);
 		if (nameFeature != null) {
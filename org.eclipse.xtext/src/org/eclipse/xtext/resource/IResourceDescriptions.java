@@ -7,7 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Set;
 
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.URI;
@@ -16,6 +18,8 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsProvider;
 
+import com.google.common.annotations.Beta;
+
 /**
  * Represents a set of {@link IResourceDescription}.
  * 
@@ -44,6 +48,22 @@ public interface IResourceDescriptions extends ISelectable {
 		void setContext(Notifier ctx);
 	}
 
+	/**
+	 * An instance of {@link IResourceDescriptions} that maintains an inverted index of the references of its
+	 * descriptions. It can tell which resources refer to a given resource without looking at all the descriptions.
+	 * 
+	 * @since 2.11
+	 */
+	@Beta
+	interface IReferrersAware extends IResourceDescriptions {
+
+		/**
+		 * @return the URIs of the resources that refer to an object in one of the given resources. References of a
+		 *         resource to its own objects are not taken into account. Never <code>null</code>.
+		 */
+		Set<URI> getReferrers(Collection<URI> targetResources);
+	}
+
 	class NullImpl implements IResourceDescriptions {
 
 		@Override
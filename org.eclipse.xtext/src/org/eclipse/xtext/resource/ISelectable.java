@@ -11,6 +11,8 @@ import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.naming.QualifiedName;
 
+import com.google.common.annotations.Beta;
+
 /**
  * An {@link ISelectable} is something that can be queried for exported object.
  * Thereby it serves as a common abstract super concept for {@link IContainer} and 
@@ -50,4 +52,22 @@ public interface ISelectable {
 	 */
 	Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object);
 	
+	/**
+	 * An {@link ISelectable} that can look up its elements by a prefix of one of their name segments without
+	 * enumerating all of them, e.g. for content assist.
+	 * 
+	 * @since 2.11
+	 */
+	@Beta
+	interface IPrefixAware extends ISelectable {
+
+		/**
+		 * @return the elements of the given type that have a name segment which starts with the given prefix,
+		 *         ignoring case. Implementations may return more elements, thus clients have to filter the result.
+		 *         May not be <code>null</code>.
+		 * @see QualifiedName#hasSegmentStartingWithIgnoreCase(String)
+		 */
+		Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, String prefix);
+	}
+	
 }
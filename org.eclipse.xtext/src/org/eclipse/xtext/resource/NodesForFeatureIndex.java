@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtext.nodemodel.INode;
+import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.util.IResourceScopeCache;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ListMultimap;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+/**
+ * Answers {@link NodeModelUtils#findNodesForFeature(EObject, EStructuralFeature)} from an index that is kept in the
+ * {@link IResourceScopeCache} of the object's resource. The nodes of all features of an object are collected during
+ * the first lookup, subsequent lookups for the same object do not traverse the node model again. The index is
+ * discarded together with the other cached values of the resource as soon as it changes.
+ * 
+ * The index is not used unless a language binds {@link #USE_INDEX_BINDING} to <code>true</code>, e.g. in
+ * {@link org.eclipse.xtext.service.DefaultRuntimeModule#configureUseNodesForFeatureIndex(com.google.inject.Binder)
+ * configureUseNodesForFeatureIndex}. Otherwise the nodes are looked up in the node model each time.
+ * 
+ * The returned lists are not modifiable.
+ * 
+ * @since 2.11
+ */
+@Beta
+@Singleton
+public class NodesForFeatureIndex {
+
+	public final static String USE_INDEX_BINDING = "org.eclipse.xtext.resource.NodesForFeatureIndex.useIndex";
+
+	@Inject(optional = true)
+	@Named(USE_INDEX_BINDING)
+	private boolean useIndex = false;
+
+	@Inject
+	private IResourceScopeCache cache;
+
+	public List<INode> findNodesForFeature(EObject semanticObject, EStructuralFeature structuralFeature) {
+		if (!useIndex) {
+			return NodeModelUtils.findNodesForFeature(semanticObject, structuralFeature);
+		}
+		return findNodesForFeatures(semanticObject).get(structuralFeature.getName());
+	}
+
+	public ListMultimap<String, INode> findNodesForFeatures(EObject semanticObject) {
+		Resource resource = semanticObject.eResource();
+		if (!useIndex || resource == null) {
+			return NodeModelUtils.findNodesForFeatures(semanticObject);
+		}
+		Map<EObject, ListMultimap<String, INode>> index = cache.get(NodesForFeatureIndex.class, resource,
+				new Provider<Map<EObject, ListMultimap<String, INode>>>() {
+					@Override
+					public Map<EObject, ListMultimap<String, INode>> get() {
+						return new ConcurrentHashMap<EObject, ListMultimap<String, INode>>();
+					}
+				});
+		ListMultimap<String, INode> result = index.get(semanticObject);
+		if (result == null) {
+			result = NodeModelUtils.findNodesForFeatures(semanticObject);
+			index.put(semanticObject, result);
+		}
+		return result;
+	}
+
+}
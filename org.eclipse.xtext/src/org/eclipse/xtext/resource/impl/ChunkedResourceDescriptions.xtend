@@ -8,12 +8,14 @@
 package org.eclipse.xtext.resource.impl
 
 import com.google.common.annotations.Beta
+import java.io.ByteArrayOutputStream
 import java.io.Externalizable
 import java.io.IOException
 import java.io.ObjectInput
 import java.io.ObjectOutput
-import java.io.Serializable
+import java.nio.ByteBuffer
 import java.util.ArrayList
+import java.util.Collection
 import java.util.HashMap
 import java.util.Map
 import java.util.concurrent.ConcurrentHashMap
@@ -22,7 +24,6 @@ import org.eclipse.emf.ecore.resource.ResourceSet
 import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.resource.IResourceDescriptions
 import org.eclipse.xtext.resource.containers.ProjectDescriptionBasedContainerManager
-import org.eclipse.xtext.resource.persistence.SerializableResourceDescription
 import org.eclipse.xtext.util.internal.EmfAdaptable
 
 /**
@@ -37,7 +38,13 @@ import org.eclipse.xtext.util.internal.EmfAdaptable
  * @since 2.9
  */
 @Beta
-@EmfAdaptable class ChunkedResourceDescriptions extends AbstractCompoundSelectable implements IResourceDescriptions, Externalizable {
+@EmfAdaptable class ChunkedResourceDescriptions extends AbstractCompoundSelectable implements IResourceDescriptions.IReferrersAware, Externalizable {
+	
+	/**
+	 * Marks a stream that holds the chunks in the binary format of the {@link MappedResourceDescriptions}. Streams
+	 * that were written by older versions start with the number of chunks instead.
+	 */
+	static val int MAPPED_CHUNKS = -1
 	
 	protected ConcurrentHashMap<String, ResourceDescriptionsData> chunk2resourceDescriptions = new ConcurrentHashMap;
 	
@@ -115,8 +122,29 @@ import org.eclipse.xtext.util.internal.EmfAdaptable
 		return chunk2resourceDescriptions.get(containerHandle)
 	}
 	
+	/**
+	 * @since 2.11
+	 */
+	override getReferrers(Collection<URI> targetResources) {
+		val result = <URI>newHashSet
+		for (container : chunk2resourceDescriptions.values) {
+			result += container.getReferrers(targetResources)
+		}
+		return result
+	}
+	
+	/**
+	 * Reads the chunks that were written by {@link #writeExternal(ObjectOutput)}. The chunks are kept in direct byte
+	 * buffers in the binary format of the {@link MappedResourceDescriptions}, thus the descriptions stay off the heap
+	 * and are only decoded on demand. Streams that were written by older versions are read into plain
+	 * {@link ResourceDescriptionsData}.
+	 */
 	override readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
 		val numChunks = in.readInt
+		if (numChunks == MAPPED_CHUNKS) {
+			readMappedChunks(in)
+			return
+		}
 		for(i: 0..<numChunks) {
 			val chunkName = in.readUTF
 			val numDescriptions = in.readInt
@@ -127,22 +155,39 @@ import org.eclipse.xtext.util.internal.EmfAdaptable
 		}
 	}
 	
+	/**
+	 * @since 2.11
+	 */
+	protected def void readMappedChunks(ObjectInput in) throws IOException {
+		val numChunks = in.readInt
+		val bytes = newByteArrayOfSize(8192)
+		for(i: 0..<numChunks) {
+			val chunkName = in.readUTF
+			val buffer = ByteBuffer.allocateDirect(in.readInt)
+			while (buffer.hasRemaining) {
+				val length = Math.min(bytes.length, buffer.remaining)
+				in.readFully(bytes, 0, length)
+				buffer.put(bytes, 0, length)
+			}
+			buffer.flip
+			chunk2resourceDescriptions.put(chunkName, new MappedResourceDescriptionsData(new MappedResourceDescriptions(buffer)))
+		}
+	}
+	
+	/**
+	 * Writes the chunks in the binary format of the {@link MappedResourceDescriptions}.
+	 */
 	override writeExternal(ObjectOutput out) throws IOException {
 		val copy = new HashMap(chunk2resourceDescriptions)
+		out.writeInt(MAPPED_CHUNKS)
 		out.writeInt(copy.entrySet.size)
-		copy.entrySet.forEach[
-			out.writeUTF(key)
-			val descriptions = value.allResourceDescriptions.map[
-				if(it instanceof Serializable)
-					it
-				else 
-					SerializableResourceDescription.createCopy(it)
-			] 
-			out.writeInt(descriptions.size)
-			descriptions.forEach[
-				out.writeObject(it)
-			]
-		]
+		for (entry : copy.entrySet) {
+			out.writeUTF(entry.key)
+			val bytes = new ByteArrayOutputStream
+			new MappedResourceDescriptionsWriter().write(entry.value, bytes)
+			out.writeInt(bytes.size)
+			out.write(bytes.toByteArray)
+		}
 	}
 }
 	
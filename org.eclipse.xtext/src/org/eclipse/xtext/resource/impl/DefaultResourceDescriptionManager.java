@@ -151,6 +151,24 @@ public class DefaultResourceDescriptionManager implements IResourceDescription.M
         return false;
     }
 
+	/**
+	 * Whether {@link #isAffected(Collection, IResourceDescription, IResourceDescriptions)} only reports candidates
+	 * that import a name exported by one of the deltas or that refer to one of the changed resources. Clients like the
+	 * {@link org.eclipse.xtext.build.Indexer} use the {@link ResourceDescriptionsData#getReverseDependencyIndex()
+	 * reverse dependency index} to skip all other candidates of such a manager.
+	 * 
+	 * Returns <code>false</code> by default, since subclasses may consider further criteria. Languages whose manager
+	 * decides only by the imported names and the referenced resources can opt in by returning <code>true</code>. A
+	 * manager that overrides {@link #isAffected(Collection, IResourceDescription)} or
+	 * {@link #hasChanges(org.eclipse.xtext.resource.IResourceDescription.Delta, IResourceDescription)} with further
+	 * criteria must not opt in.
+	 * 
+	 * @since 2.11
+	 */
+	public boolean isAffectedByDependenciesOnly() {
+		return false;
+	}
+
 	/**
 	 * Whether the given delta is considered to have changed from the candidate's perspective. By default this will just call
 	 * {@link org.eclipse.xtext.resource.IResourceDescription.Delta#haveEObjectDescriptionsChanged() Delta#haveEObjectDescriptionsChanged()}. 
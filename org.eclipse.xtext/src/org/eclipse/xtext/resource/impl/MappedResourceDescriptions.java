@@ -0,0 +1,550 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.xtext.EcoreUtil2;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.AbstractEObjectDescription;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.ISelectable;
+import org.eclipse.xtext.util.Strings;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * An {@link IResourceDescriptions} that reads the binary index format written by the
+ * {@link MappedResourceDescriptionsWriter}. The index is usually {@link #open(File) memory mapped}, thus opening it
+ * takes constant time and the data stays off the heap. Descriptions are only decoded when they are requested, e.g.
+ * {@link #getExportedObjects(EClass, QualifiedName, boolean)} performs a binary search on the sorted name table and
+ * only creates descriptions for the matching entries. Likewise, {@link #getExportedObjectsByPrefix(EClass, String)}
+ * performs a binary search on the sorted table of the lower case name segments.
+ *
+ * The instances are immutable and can be shared between threads. Clients that want to modify the index have to copy
+ * the descriptions into a {@link ResourceDescriptionsData}.
+ *
+ * @since 2.11
+ */
+@Beta
+public class MappedResourceDescriptions extends AbstractCompoundSelectable implements IResourceDescriptions, ISelectable.IPrefixAware {
+
+	static final int MAGIC = 0x58494458;
+	static final int VERSION = 1;
+
+	static final int STRING_OFFSETS = 0;
+	static final int STRING_DATA = 1;
+	static final int NAME_OFFSETS = 2;
+	static final int NAME_SEGMENTS = 3;
+	static final int ECLASSES = 4;
+	static final int RESOURCES = 5;
+	static final int OBJECTS = 6;
+	static final int SORTED_OBJECTS = 7;
+	static final int USER_DATA = 8;
+	static final int IMPORTED_NAMES = 9;
+	static final int REFERENCES = 10;
+	static final int SEGMENTS = 11;
+	static final int SECTION_COUNT = 12;
+
+	/**
+	 * Magic number, version, seven counts and the section table.
+	 */
+	static final int HEADER_SIZE = (9 + SECTION_COUNT) * 4;
+
+	/**
+	 * URI, first object, object count, first imported name, imported name count, first reference, reference count.
+	 */
+	static final int RESOURCE_RECORD_SIZE = 7;
+
+	/**
+	 * Name, qualified name, lower case name, EClass, resource index, EObject URI, first user data entry, user data
+	 * count.
+	 */
+	static final int OBJECT_RECORD_SIZE = 8;
+
+	/**
+	 * Source URI, target URI, container URI, EClass of the reference, reference name, index in list.
+	 */
+	static final int REFERENCE_RECORD_SIZE = 6;
+
+	/**
+	 * Lower case name segment, object. The entries are sorted by the segment, thus all entries with a segment that
+	 * starts with a given prefix are adjacent.
+	 */
+	static final int SEGMENT_RECORD_SIZE = 2;
+
+	/**
+	 * Opens the index file and maps it into memory.
+	 */
+	public static MappedResourceDescriptions open(File file) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = randomAccessFile.getChannel();
+			// the mapping stays valid after the channel is closed
+			return new MappedResourceDescriptions(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+
+	private final ByteBuffer buffer;
+	private final EPackage.Registry packageRegistry;
+	private final int stringCount;
+	private final int resourceCount;
+	private final int objectCount;
+	private final int segmentCount;
+	private final int[] sections = new int[SECTION_COUNT];
+	private final AtomicReferenceArray<EClass> eClasses;
+	private volatile Set<URI> allURIs;
+
+	public MappedResourceDescriptions(ByteBuffer buffer) {
+		this(buffer, EPackage.Registry.INSTANCE);
+	}
+
+	/**
+	 * @param packageRegistry
+	 *            is used to resolve the EClasses of the exported objects and references.
+	 */
+	public MappedResourceDescriptions(ByteBuffer buffer, EPackage.Registry packageRegistry) {
+		this.buffer = buffer;
+		this.packageRegistry = packageRegistry;
+		if (buffer.getInt(0) != MAGIC)
+			throw new IllegalArgumentException("Not an index file.");
+		if (buffer.getInt(4) != VERSION)
+			throw new IllegalArgumentException("Unsupported index version " + buffer.getInt(4) + ".");
+		stringCount = buffer.getInt(8);
+		eClasses = new AtomicReferenceArray<EClass>(buffer.getInt(16));
+		resourceCount = buffer.getInt(20);
+		objectCount = buffer.getInt(24);
+		segmentCount = buffer.getInt(32);
+		for (int i = 0; i < SECTION_COUNT; i++) {
+			sections[i] = buffer.getInt(36 + i * 4);
+		}
+	}
+
+	private int getInt(int section, int index) {
+		return buffer.getInt(sections[section] + index * 4);
+	}
+
+	protected String getString(int id) {
+		if (id < 0)
+			return null;
+		if (id >= stringCount)
+			throw new IndexOutOfBoundsException(String.valueOf(id));
+		int start = getInt(STRING_OFFSETS, id);
+		int end = getInt(STRING_OFFSETS, id + 1);
+		byte[] bytes = new byte[end - start];
+		// a duplicate has its own position, thus concurrent readers do not interfere
+		ByteBuffer source = buffer.duplicate();
+		source.position(start);
+		source.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	protected URI getURI(int id) {
+		if (id < 0)
+			return null;
+		return URI.createURI(getString(id));
+	}
+
+	protected QualifiedName getName(int id) {
+		int offset = getInt(NAME_OFFSETS, id);
+		int segmentCount = getInt(NAME_SEGMENTS, offset);
+		String[] segments = new String[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = getString(getInt(NAME_SEGMENTS, offset + 1 + i));
+		}
+		return QualifiedName.create(segments);
+	}
+
+	protected EClass getEClass(int id) {
+		if (id < 0)
+			return null;
+		EClass result = eClasses.get(id);
+		if (result == null) {
+			String nsURI = getString(getInt(ECLASSES, id * 2));
+			String name = getString(getInt(ECLASSES, id * 2 + 1));
+			EPackage ePackage = packageRegistry.getEPackage(nsURI);
+			EClassifier classifier = ePackage != null ? ePackage.getEClassifier(name) : null;
+			if (!(classifier instanceof EClass))
+				throw new IllegalStateException("Cannot resolve EClass " + name + " of package " + nsURI);
+			result = (EClass) classifier;
+			eClasses.set(id, result);
+		}
+		return result;
+	}
+
+	private int getObjectField(int objectIndex, int field) {
+		return getInt(OBJECTS, objectIndex * OBJECT_RECORD_SIZE + field);
+	}
+
+	private int getResourceField(int resourceIndex, int field) {
+		return getInt(RESOURCES, resourceIndex * RESOURCE_RECORD_SIZE + field);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return objectCount == 0;
+	}
+
+	@Override
+	public Iterable<IResourceDescription> getAllResourceDescriptions() {
+		return new AbstractList<IResourceDescription>() {
+			@Override
+			public IResourceDescription get(int index) {
+				return new MappedResourceDescription(index);
+			}
+
+			@Override
+			public int size() {
+				return resourceCount;
+			}
+		};
+	}
+
+	@Override
+	protected Iterable<? extends ISelectable> getSelectables() {
+		return getAllResourceDescriptions();
+	}
+
+	@Override
+	public IResourceDescription getResourceDescription(URI uri) {
+		String key = uri.toString();
+		int low = 0;
+		int high = resourceCount - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int comparison = getString(getResourceField(mid, 0)).compareTo(key);
+			if (comparison < 0) {
+				low = mid + 1;
+			} else if (comparison > 0) {
+				high = mid - 1;
+			} else {
+				return new MappedResourceDescription(mid);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the URIs of all resources in this index. The set is created on first access.
+	 */
+	public Set<URI> getAllURIs() {
+		Set<URI> result = allURIs;
+		if (result == null) {
+			ImmutableSet.Builder<URI> builder = ImmutableSet.builder();
+			for (int i = 0; i < resourceCount; i++) {
+				builder.add(getURI(getResourceField(i, 0)));
+			}
+			result = builder.build();
+			allURIs = result;
+		}
+		return result;
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjects() {
+		return new AbstractList<IEObjectDescription>() {
+			@Override
+			public IEObjectDescription get(int index) {
+				return new MappedEObjectDescription(index);
+			}
+
+			@Override
+			public int size() {
+				return objectCount;
+			}
+		};
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByType(final EClass type) {
+		return Iterables.filter(getExportedObjects(), new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				return EcoreUtil2.isAssignableFrom(type, input.getEClass());
+			}
+		});
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName name, boolean ignoreCase) {
+		QualifiedName lowerCase = name.toLowerCase();
+		int first = findFirstObjectWithName(lowerCase);
+		if (first < 0)
+			return Collections.emptyList();
+		List<IEObjectDescription> result = Lists.newArrayListWithCapacity(2);
+		for (int i = first; i < objectCount; i++) {
+			int objectIndex = getInt(SORTED_OBJECTS, i);
+			if (!lowerCase.equals(getName(getObjectField(objectIndex, 2))))
+				break;
+			MappedEObjectDescription candidate = new MappedEObjectDescription(objectIndex);
+			if (EcoreUtil2.isAssignableFrom(type, candidate.getEClass()) && (ignoreCase || name.equals(candidate.getName()))) {
+				result.add(candidate);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return the position of the first entry with the given lower case name in the sorted objects section, or
+	 *         <code>-1</code>.
+	 */
+	protected int findFirstObjectWithName(QualifiedName lowerCase) {
+		int low = 0;
+		int high = objectCount - 1;
+		int result = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int comparison = getName(getObjectField(getInt(SORTED_OBJECTS, mid), 2)).compareTo(lowerCase);
+			if (comparison < 0) {
+				low = mid + 1;
+			} else {
+				if (comparison == 0)
+					result = mid;
+				high = mid - 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Answered by a binary search for the first lower case segment that is not smaller than the prefix. The elements
+	 * are returned in the order of their segments.
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, String prefix) {
+		String lowerCase = prefix.toLowerCase();
+		int low = 0;
+		int high = segmentCount;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (getString(getInt(SEGMENTS, mid * SEGMENT_RECORD_SIZE)).compareTo(lowerCase) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		Set<Integer> objectIndices = Sets.newLinkedHashSet();
+		for (int i = low; i < segmentCount; i++) {
+			if (!getString(getInt(SEGMENTS, i * SEGMENT_RECORD_SIZE)).startsWith(lowerCase))
+				break;
+			objectIndices.add(getInt(SEGMENTS, i * SEGMENT_RECORD_SIZE + 1));
+		}
+		List<IEObjectDescription> result = Lists.newArrayListWithCapacity(objectIndices.size());
+		for (int objectIndex : objectIndices) {
+			MappedEObjectDescription candidate = new MappedEObjectDescription(objectIndex);
+			if (EcoreUtil2.isAssignableFrom(type, candidate.getEClass())) {
+				result.add(candidate);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object) {
+		URI resourceURI = EcoreUtil2.getPlatformResourceOrNormalizedURI(object).trimFragment();
+		IResourceDescription description = getResourceDescription(resourceURI);
+		if (description == null)
+			return Collections.emptyList();
+		return description.getExportedObjectsByObject(object);
+	}
+
+	/**
+	 * A view on an exported object of the index. The proxy is created on demand.
+	 */
+	protected class MappedEObjectDescription extends AbstractEObjectDescription {
+
+		private final int index;
+		private EObject proxy;
+
+		protected MappedEObjectDescription(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public QualifiedName getName() {
+			return MappedResourceDescriptions.this.getName(getObjectField(index, 0));
+		}
+
+		@Override
+		public QualifiedName getQualifiedName() {
+			return MappedResourceDescriptions.this.getName(getObjectField(index, 1));
+		}
+
+		@Override
+		public EClass getEClass() {
+			return MappedResourceDescriptions.this.getEClass(getObjectField(index, 3));
+		}
+
+		@Override
+		public URI getEObjectURI() {
+			return getURI(getObjectField(index, 5));
+		}
+
+		/**
+		 * @return the URI of the resource that exports this object.
+		 */
+		public URI getResourceURI() {
+			return getURI(getResourceField(getObjectField(index, 4), 0));
+		}
+
+		@Override
+		public EObject getEObjectOrProxy() {
+			if (proxy == null) {
+				InternalEObject result = (InternalEObject) EcoreUtil.create(getEClass());
+				result.eSetProxyURI(getEObjectURI());
+				proxy = result;
+			}
+			return proxy;
+		}
+
+		@Override
+		public String getUserData(String key) {
+			int start = getObjectField(index, 6);
+			int count = getObjectField(index, 7);
+			for (int i = 0; i < count; i++) {
+				if (key.equals(getString(getInt(USER_DATA, (start + i) * 2)))) {
+					return getString(getInt(USER_DATA, (start + i) * 2 + 1));
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public String[] getUserDataKeys() {
+			int start = getObjectField(index, 6);
+			int count = getObjectField(index, 7);
+			if (count == 0)
+				return Strings.EMPTY_ARRAY;
+			String[] result = new String[count];
+			for (int i = 0; i < count; i++) {
+				result[i] = getString(getInt(USER_DATA, (start + i) * 2));
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * A view on a resource of the index.
+	 */
+	protected class MappedResourceDescription extends AbstractResourceDescription {
+
+		private final int index;
+
+		protected MappedResourceDescription(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public URI getURI() {
+			return MappedResourceDescriptions.this.getURI(getResourceField(index, 0));
+		}
+
+		@Override
+		protected List<IEObjectDescription> computeExportedObjects() {
+			final int first = getResourceField(index, 1);
+			final int count = getResourceField(index, 2);
+			return new AbstractList<IEObjectDescription>() {
+				@Override
+				public IEObjectDescription get(int i) {
+					return new MappedEObjectDescription(first + i);
+				}
+
+				@Override
+				public int size() {
+					return count;
+				}
+			};
+		}
+
+		@Override
+		public Iterable<QualifiedName> getImportedNames() {
+			final int first = getResourceField(index, 3);
+			final int count = getResourceField(index, 4);
+			return new AbstractList<QualifiedName>() {
+				@Override
+				public QualifiedName get(int i) {
+					return getName(getInt(IMPORTED_NAMES, first + i));
+				}
+
+				@Override
+				public int size() {
+					return count;
+				}
+			};
+		}
+
+		@Override
+		public Iterable<IReferenceDescription> getReferenceDescriptions() {
+			final int first = getResourceField(index, 5);
+			final int count = getResourceField(index, 6);
+			return new AbstractList<IReferenceDescription>() {
+				@Override
+				public IReferenceDescription get(int i) {
+					return getReference(first + i);
+				}
+
+				@Override
+				public int size() {
+					return count;
+				}
+			};
+		}
+
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + "[" + getURI() + "]";
+		}
+	}
+
+	protected IReferenceDescription getReference(int index) {
+		int record = index * REFERENCE_RECORD_SIZE;
+		EReference eReference = null;
+		EClass containingClass = getEClass(getInt(REFERENCES, record + 3));
+		if (containingClass != null) {
+			EStructuralFeature feature = containingClass.getEStructuralFeature(getString(getInt(REFERENCES, record + 4)));
+			if (feature instanceof EReference)
+				eReference = (EReference) feature;
+		}
+		return new DefaultReferenceDescription(
+				getURI(getInt(REFERENCES, record)),
+				getURI(getInt(REFERENCES, record + 1)),
+				eReference,
+				getInt(REFERENCES, record + 5),
+				getURI(getInt(REFERENCES, record + 2)));
+	}
+
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.impl.MappedResourceDescriptions.MappedEObjectDescription;
+import org.eclipse.xtext.util.PersistentHashMap;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+
+/**
+ * A {@link ResourceDescriptionsData} on top of an immutable {@link MappedResourceDescriptions}. Modifications are
+ * recorded in the persistent maps of the super class, which overlay the mapped index: added descriptions are stored
+ * in the maps and the URIs of removed or replaced descriptions hide the mapped ones. Thus the mapped index is never
+ * copied and a {@link #copy()} takes constant time. This allows to use a memory mapped index as a chunk of the
+ * {@link ChunkedResourceDescriptions}, e.g.
+ *
+ * <pre>
+ * index.setContainer(name, new MappedResourceDescriptionsData(MappedResourceDescriptions.open(file)));
+ * </pre>
+ *
+ * @since 2.11
+ */
+@Beta
+public class MappedResourceDescriptionsData extends PersistentResourceDescriptionsData {
+
+	private final MappedResourceDescriptions mapped;
+
+	/**
+	 * The URIs of the mapped descriptions that were removed or replaced.
+	 */
+	private final PersistentHashMap<URI, Boolean> hidden;
+
+	public MappedResourceDescriptionsData(MappedResourceDescriptions mapped) {
+		super(new PersistentHashMap<URI, IResourceDescription>(), new PersistentHashMap<QualifiedName, Object>());
+		this.mapped = mapped;
+		this.hidden = new PersistentHashMap<URI, Boolean>();
+	}
+
+	protected MappedResourceDescriptionsData(MappedResourceDescriptionsData original) {
+		super(original);
+		this.mapped = original.mapped;
+		this.hidden = original.hidden.snapshot();
+	}
+
+	public MappedResourceDescriptions getMappedResourceDescriptions() {
+		return mapped;
+	}
+
+	/**
+	 * @return whether the description with the given URI is still read from the mapped index.
+	 */
+	public boolean isMapped(URI uri) {
+		return !hidden.containsKey(uri) && mapped.getResourceDescription(uri) != null;
+	}
+
+	@Override
+	public MappedResourceDescriptionsData copy() {
+		// the mapped index is immutable, thus it can be shared
+		MappedResourceDescriptionsData result = new MappedResourceDescriptionsData(this);
+		copyReverseDependencyIndex(result);
+		copySegmentIndex(result);
+		return result;
+	}
+
+	@Override
+	public void removeDescription(URI uri) {
+		if (isMapped(uri)) {
+			hidden.put(uri, Boolean.TRUE);
+		}
+		super.removeDescription(uri);
+	}
+
+	@Override
+	public Iterable<IResourceDescription> getAllResourceDescriptions() {
+		Iterable<IResourceDescription> mappedDescriptions = mapped.getAllResourceDescriptions();
+		if (!hidden.isEmpty()) {
+			mappedDescriptions = Iterables.filter(mappedDescriptions, new Predicate<IResourceDescription>() {
+				@Override
+				public boolean apply(IResourceDescription input) {
+					return !hidden.containsKey(input.getURI());
+				}
+			});
+		}
+		return Iterables.concat(super.getAllResourceDescriptions(), mappedDescriptions);
+	}
+
+	@Override
+	public IResourceDescription getResourceDescription(URI uri) {
+		IResourceDescription result = super.getResourceDescription(uri);
+		if (result != null || hidden.containsKey(uri))
+			return result;
+		return mapped.getResourceDescription(uri);
+	}
+
+	@Override
+	public Set<URI> getAllURIs() {
+		return Sets.union(super.getAllURIs(), Sets.difference(mapped.getAllURIs(), hidden.keySet()));
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjects(EClass type, QualifiedName qualifiedName, boolean ignoreCase) {
+		return Iterables.concat(
+				super.getExportedObjects(type, qualifiedName, ignoreCase),
+				filterHidden(mapped.getExportedObjects(type, qualifiedName, ignoreCase)));
+	}
+
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, String prefix) {
+		return Iterables.concat(
+				super.getExportedObjectsByPrefix(type, prefix),
+				filterHidden(mapped.getExportedObjectsByPrefix(type, prefix)));
+	}
+
+	@Override
+	protected Iterable<IResourceDescription> getSelectables() {
+		return getAllResourceDescriptions();
+	}
+
+	protected Iterable<IEObjectDescription> filterHidden(Iterable<IEObjectDescription> mappedObjects) {
+		if (hidden.isEmpty())
+			return mappedObjects;
+		return Iterables.filter(mappedObjects, new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				return !hidden.containsKey(((MappedEObjectDescription) input).getResourceURI());
+			}
+		});
+	}
+
+}
@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import static org.eclipse.xtext.resource.impl.MappedResourceDescriptions.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.resource.IResourceDescriptions;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Writes {@link IResourceDescriptions} in the binary format that is read by {@link MappedResourceDescriptions}.
+ *
+ * All strings, names and EClasses are stored once in a table and referred to by their index. The exported objects
+ * are fixed-width records, which are additionally sorted by their lower case name to allow binary searches. The lower
+ * case segments of the names are stored in a sorted table, too, which answers prefix queries.
+ * 
+ * A writer collects the tables while it writes, thus an instance must only be used once.
+ *
+ * @since 2.11
+ */
+@Beta
+public class MappedResourceDescriptionsWriter {
+
+	private final Map<String, Integer> strings = Maps.newHashMap();
+	private final List<String> stringTable = Lists.newArrayList();
+
+	private final Map<QualifiedName, Integer> names = Maps.newHashMap();
+	private final List<QualifiedName> nameTable = Lists.newArrayList();
+	private final List<Integer> nameSegments = Lists.newArrayList();
+
+	private final Map<EClass, Integer> eClasses = Maps.newHashMap();
+	private final List<Integer> eClassTable = Lists.newArrayList();
+
+	private final List<Integer> resources = Lists.newArrayList();
+	private final List<Integer> objects = Lists.newArrayList();
+	private final List<QualifiedName> lowerCaseObjectNames = Lists.newArrayList();
+	private final List<int[]> segments = Lists.newArrayList();
+	private final List<Integer> userData = Lists.newArrayList();
+	private final List<Integer> importedNames = Lists.newArrayList();
+	private final List<Integer> references = Lists.newArrayList();
+
+	public void write(IResourceDescriptions descriptions, File file) throws IOException {
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+		try {
+			write(descriptions, out);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Writes the given descriptions to the stream. The stream is not closed.
+	 */
+	public void write(IResourceDescriptions descriptions, OutputStream out) throws IOException {
+		List<IResourceDescription> sorted = Lists.newArrayList(descriptions.getAllResourceDescriptions());
+		Collections.sort(sorted, new Comparator<IResourceDescription>() {
+			@Override
+			public int compare(IResourceDescription o1, IResourceDescription o2) {
+				return o1.getURI().toString().compareTo(o2.getURI().toString());
+			}
+		});
+		for (int i = 0; i < sorted.size(); i++) {
+			addResource(i, sorted.get(i));
+		}
+		writeTo(new DataOutputStream(out));
+	}
+
+	protected void addResource(int resourceIndex, IResourceDescription description) {
+		resources.add(string(description.getURI().toString()));
+		resources.add(objects.size() / OBJECT_RECORD_SIZE);
+		int objectCount = 0;
+		for (IEObjectDescription object : description.getExportedObjects()) {
+			addObject(resourceIndex, object);
+			objectCount++;
+		}
+		resources.add(objectCount);
+		resources.add(importedNames.size());
+		int importedNameCount = 0;
+		for (QualifiedName importedName : description.getImportedNames()) {
+			importedNames.add(name(importedName));
+			importedNameCount++;
+		}
+		resources.add(importedNameCount);
+		resources.add(references.size() / REFERENCE_RECORD_SIZE);
+		int referenceCount = 0;
+		for (IReferenceDescription reference : description.getReferenceDescriptions()) {
+			addReference(reference);
+			referenceCount++;
+		}
+		resources.add(referenceCount);
+	}
+
+	protected void addObject(int resourceIndex, IEObjectDescription object) {
+		objects.add(name(object.getName()));
+		objects.add(name(object.getQualifiedName()));
+		objects.add(name(object.getName().toLowerCase()));
+		objects.add(eClass(object.getEClass()));
+		objects.add(resourceIndex);
+		objects.add(string(object.getEObjectURI().toString()));
+		QualifiedName lowerCase = object.getName().toLowerCase();
+		int objectIndex = lowerCaseObjectNames.size();
+		lowerCaseObjectNames.add(lowerCase);
+		for (String segment : Sets.newHashSet(lowerCase.getSegments())) {
+			segments.add(new int[] { string(segment), objectIndex });
+		}
+		String[] keys = object.getUserDataKeys();
+		objects.add(userData.size());
+		objects.add(keys.length);
+		for (String key : keys) {
+			userData.add(string(key));
+			userData.add(string(object.getUserData(key)));
+		}
+	}
+
+	protected void addReference(IReferenceDescription reference) {
+		references.add(string(reference.getSourceEObjectUri().toString()));
+		references.add(string(reference.getTargetEObjectUri().toString()));
+		URI container = reference.getContainerEObjectURI();
+		references.add(container == null ? -1 : string(container.toString()));
+		EReference eReference = reference.getEReference();
+		references.add(eReference == null ? -1 : eClass(eReference.getEContainingClass()));
+		references.add(eReference == null ? -1 : string(eReference.getName()));
+		references.add(reference.getIndexInList());
+	}
+
+	protected int string(String value) {
+		if (value == null)
+			return -1;
+		Integer result = strings.get(value);
+		if (result == null) {
+			result = stringTable.size();
+			stringTable.add(value);
+			strings.put(value, result);
+		}
+		return result;
+	}
+
+	protected int name(QualifiedName name) {
+		Integer result = names.get(name);
+		if (result == null) {
+			result = nameTable.size();
+			nameTable.add(name);
+			names.put(name, result);
+			nameSegments.add(name.getSegmentCount());
+			for (String segment : name.getSegments()) {
+				nameSegments.add(string(segment));
+			}
+		}
+		return result;
+	}
+
+	protected int eClass(EClass eClass) {
+		Integer result = eClasses.get(eClass);
+		if (result == null) {
+			result = eClassTable.size() / 2;
+			eClassTable.add(string(eClass.getEPackage().getNsURI()));
+			eClassTable.add(string(eClass.getName()));
+			eClasses.put(eClass, result);
+		}
+		return result;
+	}
+
+	protected void writeTo(DataOutputStream out) throws IOException {
+		// sort the object indices by their lower case name
+		List<Integer> sortedObjects = Lists.newArrayList();
+		for (int i = 0; i < lowerCaseObjectNames.size(); i++) {
+			sortedObjects.add(i);
+		}
+		Collections.sort(sortedObjects, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return lowerCaseObjectNames.get(o1).compareTo(lowerCaseObjectNames.get(o2));
+			}
+		});
+		Collections.sort(segments, new Comparator<int[]>() {
+			@Override
+			public int compare(int[] o1, int[] o2) {
+				int result = stringTable.get(o1[0]).compareTo(stringTable.get(o2[0]));
+				if (result == 0)
+					result = Integer.compare(o1[1], o2[1]);
+				return result;
+			}
+		});
+		// the offsets of the names in the segments section
+		List<Integer> nameOffsets = Lists.newArrayListWithCapacity(nameTable.size());
+		int nameOffset = 0;
+		for (QualifiedName name : nameTable) {
+			nameOffsets.add(nameOffset);
+			nameOffset += name.getSegmentCount() + 1;
+		}
+		byte[][] encodedStrings = new byte[stringTable.size()][];
+		int stringDataLength = 0;
+		for (int i = 0; i < encodedStrings.length; i++) {
+			encodedStrings[i] = stringTable.get(i).getBytes(StandardCharsets.UTF_8);
+			stringDataLength += encodedStrings[i].length;
+		}
+
+		int[] sections = new int[SECTION_COUNT];
+		int position = HEADER_SIZE;
+		sections[STRING_OFFSETS] = position;
+		position += (encodedStrings.length + 1) * 4;
+		sections[STRING_DATA] = position;
+		position += stringDataLength;
+		sections[NAME_OFFSETS] = position;
+		position += nameOffsets.size() * 4;
+		sections[NAME_SEGMENTS] = position;
+		position += nameSegments.size() * 4;
+		sections[ECLASSES] = position;
+		position += eClassTable.size() * 4;
+		sections[RESOURCES] = position;
+		position += resources.size() * 4;
+		sections[OBJECTS] = position;
+		position += objects.size() * 4;
+		sections[SORTED_OBJECTS] = position;
+		position += sortedObjects.size() * 4;
+		sections[USER_DATA] = position;
+		position += userData.size() * 4;
+		sections[IMPORTED_NAMES] = position;
+		position += importedNames.size() * 4;
+		sections[REFERENCES] = position;
+		position += references.size() * 4;
+		sections[SEGMENTS] = position;
+
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(encodedStrings.length);
+		out.writeInt(nameTable.size());
+		out.writeInt(eClassTable.size() / 2);
+		out.writeInt(resources.size() / RESOURCE_RECORD_SIZE);
+		out.writeInt(objects.size() / OBJECT_RECORD_SIZE);
+		out.writeInt(references.size() / REFERENCE_RECORD_SIZE);
+		out.writeInt(segments.size());
+		for (int section : sections) {
+			out.writeInt(section);
+		}
+		int stringOffset = sections[STRING_DATA];
+		for (byte[] encoded : encodedStrings) {
+			out.writeInt(stringOffset);
+			stringOffset += encoded.length;
+		}
+		out.writeInt(stringOffset);
+		for (byte[] encoded : encodedStrings) {
+			out.write(encoded);
+		}
+		writeInts(out, nameOffsets);
+		writeInts(out, nameSegments);
+		writeInts(out, eClassTable);
+		writeInts(out, resources);
+		writeInts(out, objects);
+		writeInts(out, sortedObjects);
+		writeInts(out, userData);
+		writeInts(out, importedNames);
+		writeInts(out, references);
+		for (int[] segment : segments) {
+			out.writeInt(segment[0]);
+			out.writeInt(segment[1]);
+		}
+		out.flush();
+	}
+
+	private void writeInts(DataOutputStream out, List<Integer> values) throws IOException {
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IEObjectDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.util.PersistentHashMap;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * A {@link ResourceDescriptionsData} that is backed by {@link PersistentHashMap persistent maps}. A {@link #copy()}
+ * takes constant time and shares all unchanged entries with the original, which makes it a good fit for clients that
+ * take a snapshot of the index for each build, e.g. the language server.
+ *
+ * The multi-valued entries of the lookup map are immutable sets that are replaced on modification, since they are
+ * shared with the copies.
+ *
+ * @since 2.11
+ */
+@Beta
+public class PersistentResourceDescriptionsData extends ResourceDescriptionsData {
+
+	private final PersistentHashMap<URI, IResourceDescription> resourceDescriptionMap;
+	private final PersistentHashMap<QualifiedName, Object> lookupMap;
+
+	public PersistentResourceDescriptionsData(Iterable<IResourceDescription> descriptions) {
+		this(new PersistentHashMap<URI, IResourceDescription>(), new PersistentHashMap<QualifiedName, Object>());
+		for (IResourceDescription description : descriptions) {
+			addDescription(description.getURI(), description);
+		}
+	}
+
+	protected PersistentResourceDescriptionsData(PersistentHashMap<URI, IResourceDescription> resourceDescriptionMap,
+			PersistentHashMap<QualifiedName, Object> lookupMap) {
+		super(resourceDescriptionMap, lookupMap);
+		this.resourceDescriptionMap = resourceDescriptionMap;
+		this.lookupMap = lookupMap;
+	}
+
+	/**
+	 * Creates a copy of the descriptions of the given original. Takes constant time. Subclasses use this constructor
+	 * to implement {@link #copy()}.
+	 */
+	protected PersistentResourceDescriptionsData(PersistentResourceDescriptionsData original) {
+		this(original.resourceDescriptionMap.snapshot(), original.lookupMap.snapshot());
+	}
+
+	@Override
+	public PersistentResourceDescriptionsData copy() {
+		PersistentResourceDescriptionsData result = new PersistentResourceDescriptionsData(this);
+		copyReverseDependencyIndex(result);
+		copySegmentIndex(result);
+		return result;
+	}
+
+	@Override
+	protected Map<QualifiedName, Object> copyLookupMap() {
+		return lookupMap.snapshot();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void registerDescription(IResourceDescription description, Map<QualifiedName, Object> target) {
+		for (IEObjectDescription object : description.getExportedObjects()) {
+			QualifiedName lowerCase = object.getName().toLowerCase();
+			Object existing = target.get(lowerCase);
+			if (existing == null) {
+				target.put(lowerCase, description);
+				registerSegments(lowerCase, target);
+			} else if (existing instanceof IResourceDescription) {
+				if (existing != description)
+					target.put(lowerCase, ImmutableSet.of((IResourceDescription) existing, description));
+			} else {
+				Set<IResourceDescription> set = (Set<IResourceDescription>) existing;
+				if (!set.contains(description)) {
+					target.put(lowerCase, ImmutableSet.<IResourceDescription> builder().addAll(set).add(description).build());
+				}
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void unregisterDescription(IResourceDescription oldDescription, Map<QualifiedName, Object> target) {
+		for (IEObjectDescription object : oldDescription.getExportedObjects()) {
+			QualifiedName objectName = object.getName().toLowerCase();
+			Object existing = target.get(objectName);
+			if (existing == oldDescription) {
+				target.remove(objectName);
+				unregisterSegments(objectName, target);
+			} else if (existing instanceof Set<?>) {
+				Set<IResourceDescription> set = (Set<IResourceDescription>) existing;
+				if (set.contains(oldDescription)) {
+					ImmutableSet.Builder<IResourceDescription> builder = ImmutableSet.builder();
+					for (IResourceDescription remaining : set) {
+						if (!remaining.equals(oldDescription))
+							builder.add(remaining);
+					}
+					ImmutableSet<IResourceDescription> newSet = builder.build();
+					if (newSet.size() == 1) {
+						target.put(objectName, newSet.iterator().next());
+					} else if (newSet.isEmpty()) {
+						target.remove(objectName);
+						unregisterSegments(objectName, target);
+					} else {
+						target.put(objectName, newSet);
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -15,6 +15,7 @@ import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.ISelectable;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
@@ -33,7 +34,7 @@ import com.google.common.collect.Maps;
  * 
  * @author Sebastian Zarnekow - Initial contribution and API
  */
-public class ResourceDescriptionsBasedContainer extends AbstractContainer implements IResourceDescription.Event.Listener {
+public class ResourceDescriptionsBasedContainer extends AbstractContainer implements IResourceDescription.Event.Listener, ISelectable.IPrefixAware {
 
 	private final IResourceDescriptions descriptions;
 	
@@ -72,6 +73,20 @@ public class ResourceDescriptionsBasedContainer extends AbstractContainer implem
 		return filterByURI(unfiltered);
 	}
 
+	/**
+	 * Delegates to the descriptions if they are {@link ISelectable.IPrefixAware prefix aware}.
+	 * 
+	 * @since 2.11
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, String prefix) {
+		if (getDescriptions() instanceof ISelectable.IPrefixAware) {
+			Iterable<IEObjectDescription> unfiltered = ((ISelectable.IPrefixAware) getDescriptions()).getExportedObjectsByPrefix(type, prefix);
+			return filterByURI(unfiltered);
+		}
+		return getExportedObjectsByType(type);
+	}
+
 	protected Iterable<IEObjectDescription> filterByURI(Iterable<IEObjectDescription> unfiltered) {
 		return unfiltered;
 	}
@@ -25,6 +25,7 @@ import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescription.Delta;
 import org.eclipse.xtext.resource.IResourceDescriptions;
+import org.eclipse.xtext.resource.ISelectable;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Function;
@@ -40,7 +41,7 @@ import com.google.common.collect.Sets;
  * @since 2.5
  * 
  */
-@Beta public class ResourceDescriptionsData extends AbstractCompoundSelectable implements IResourceDescriptions {
+@Beta public class ResourceDescriptionsData extends AbstractCompoundSelectable implements IResourceDescriptions.IReferrersAware, ISelectable.IPrefixAware {
 	
 	public static class ResourceSetAdapter extends AdapterImpl {
 		
@@ -89,6 +90,19 @@ import com.google.common.collect.Sets;
 	 */
 	private final Map<QualifiedName, Object> lookupMap;
 
+	/**
+	 * The inverted index of the dependencies between the descriptions. It is created on demand.
+	 */
+	private ReverseDependencyIndex reverseDependencyIndex;
+
+	/**
+	 * The keys of the {@link #lookupMap} per lower case segment, sorted by the segments. It is created on demand by
+	 * {@link #getExportedObjectsByPrefix(EClass, String)} and maintained by {@link #registerSegments(QualifiedName, Map)}
+	 * and {@link #unregisterSegments(QualifiedName, Map)} afterwards. The index is persistent, thus a {@link #copy()}
+	 * takes a snapshot of it in constant time.
+	 */
+	volatile SegmentIndex segmentIndex;
+
 	public ResourceDescriptionsData(Iterable<IResourceDescription> descriptions) {
 		int expectedSize = 500; // magic number in case it's not a Collection
 		if (descriptions instanceof Collection) {
@@ -111,9 +125,38 @@ import com.google.common.collect.Sets;
 	}
 	
 	public ResourceDescriptionsData copy() {
-		return new ResourceDescriptionsData(
+		ResourceDescriptionsData result = new ResourceDescriptionsData(
 				Maps.newHashMap(resourceDescriptionMap),
 				copyLookupMap());
+		copyReverseDependencyIndex(result);
+		copySegmentIndex(result);
+		return result;
+	}
+	
+	/**
+	 * Hands a copy of the reverse dependency index over to the given copy of this instance, if the index was already
+	 * created. Implementations of {@link #copy()} should call this method.
+	 * 
+	 * @since 2.11
+	 */
+	protected void copyReverseDependencyIndex(ResourceDescriptionsData copy) {
+		if (reverseDependencyIndex != null) {
+			copy.reverseDependencyIndex = reverseDependencyIndex.copy(copy);
+		}
+	}
+	
+	/**
+	 * Hands a snapshot of the index of the name segments over to the given copy of this instance, if the index was
+	 * already created. The snapshot takes constant time and shares the index with this instance until either one is
+	 * modified. Implementations of {@link #copy()} should call this method.
+	 * 
+	 * @since 2.11
+	 */
+	protected void copySegmentIndex(ResourceDescriptionsData copy) {
+		SegmentIndex index = segmentIndex;
+		if (index != null) {
+			copy.segmentIndex = index.snapshot();
+		}
 	}
 	
 	protected Map<QualifiedName, Object> copyLookupMap() {
@@ -143,26 +186,100 @@ import com.google.common.collect.Sets;
 
 	public void removeDescription(URI uri) {
 		IResourceDescription oldDescription = resourceDescriptionMap.remove(uri);
+		if (reverseDependencyIndex != null) {
+			reverseDependencyIndex.invalidate(uri);
+		}
 		if (oldDescription != null) {
-			for(IEObjectDescription object: oldDescription.getExportedObjects()) {
-				QualifiedName objectName = object.getName().toLowerCase();
-				Object existing = lookupMap.get(objectName);
-				if (existing == oldDescription) {
-					lookupMap.remove(objectName);
-				} else if (existing instanceof Set<?>) {
-					Set<?> casted = (Set<?>) existing;
-					if (casted.remove(oldDescription)) {
-						if (casted.size() == 1) {
-							lookupMap.put(objectName, casted.iterator().next());
-						} else if (casted.isEmpty()) {
-							lookupMap.remove(objectName);
-						}
+			unregisterDescription(oldDescription, lookupMap);
+		}
+	}
+
+	/**
+	 * Removes the given description from the lookup map. The counterpart of
+	 * {@link #registerDescription(IResourceDescription, Map)}.
+	 * 
+	 * @since 2.11
+	 */
+	protected void unregisterDescription(IResourceDescription oldDescription, Map<QualifiedName, Object> target) {
+		for(IEObjectDescription object: oldDescription.getExportedObjects()) {
+			QualifiedName objectName = object.getName().toLowerCase();
+			Object existing = target.get(objectName);
+			if (existing == oldDescription) {
+				target.remove(objectName);
+				unregisterSegments(objectName, target);
+			} else if (existing instanceof Set<?>) {
+				Set<?> casted = (Set<?>) existing;
+				if (casted.remove(oldDescription)) {
+					if (casted.size() == 1) {
+						target.put(objectName, casted.iterator().next());
+					} else if (casted.isEmpty()) {
+						target.remove(objectName);
+						unregisterSegments(objectName, target);
 					}
 				}
 			}
 		}
 	}
 	
+	/**
+	 * Answered by the segments of the names in the lookup map. The elements are returned per name, not in the order of
+	 * the descriptions.
+	 * 
+	 * @since 2.11
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(final EClass type, String prefix) {
+		String lowerCase = prefix.toLowerCase();
+		Set<QualifiedName> names = Sets.newLinkedHashSet();
+		getSegmentIndex().collectNames(lowerCase, names);
+		return Iterables.concat(Iterables.transform(names, new Function<QualifiedName, Iterable<IEObjectDescription>>() {
+			@Override
+			public Iterable<IEObjectDescription> apply(QualifiedName name) {
+				return getExportedObjects(type, name, true);
+			}
+		}));
+	}
+	
+	private SegmentIndex getSegmentIndex() {
+		SegmentIndex result = segmentIndex;
+		if (result == null) {
+			result = new SegmentIndex();
+			for (QualifiedName name : lookupMap.keySet()) {
+				result.add(name);
+			}
+			segmentIndex = result;
+		}
+		return result;
+	}
+	
+	/**
+	 * Announces that the given lower case name was added to the given lookup map. Implementations of
+	 * {@link #registerDescription(IResourceDescription, Map)} have to call this method for each name that was not in
+	 * the lookup map before.
+	 * 
+	 * @since 2.11
+	 */
+	protected void registerSegments(QualifiedName lowerCase, Map<QualifiedName, Object> target) {
+		SegmentIndex index = segmentIndex;
+		if (index != null && target == lookupMap) {
+			index.add(lowerCase);
+		}
+	}
+	
+	/**
+	 * Announces that the given lower case name was removed from the given lookup map. Implementations of
+	 * {@link #unregisterDescription(IResourceDescription, Map)} have to call this method for each name that is no
+	 * longer in the lookup map.
+	 * 
+	 * @since 2.11
+	 */
+	protected void unregisterSegments(QualifiedName lowerCase, Map<QualifiedName, Object> target) {
+		SegmentIndex index = segmentIndex;
+		if (index != null && target == lookupMap) {
+			index.remove(lowerCase);
+		}
+	}
+	
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjects(final EClass type, final QualifiedName qualifiedName, final boolean ignoreCase) {
 		Object existing = lookupMap.get(qualifiedName.toLowerCase());
@@ -210,12 +327,71 @@ import com.google.common.collect.Sets;
 		}
 	}
 
+	/**
+	 * Returns the inverted index of the imported names and referenced resources of the descriptions in this instance.
+	 * The index is created on first access and maintained by {@link #addDescription(URI, IResourceDescription)} and
+	 * {@link #removeDescription(URI)} afterwards. A {@link #copy()} receives a copy of the index.
+	 * 
+	 * @since 2.11
+	 */
+	public ReverseDependencyIndex getReverseDependencyIndex() {
+		if (reverseDependencyIndex == null) {
+			reverseDependencyIndex = createReverseDependencyIndex();
+		}
+		return reverseDependencyIndex;
+	}
+
+	/**
+	 * @since 2.11
+	 */
+	protected ReverseDependencyIndex createReverseDependencyIndex() {
+		return new ReverseDependencyIndex(this);
+	}
+
+	/**
+	 * Returns the URIs of all resources in this instance that import a name that is exported by the old or the new
+	 * description of one of the given deltas, or that refer to an object in one of the changed resources. Other
+	 * resources can only be affected by the deltas if their language uses additional criteria.
+	 * 
+	 * @since 2.11
+	 */
+	public Set<URI> getDependentURIs(Collection<Delta> deltas) {
+		Set<QualifiedName> names = Sets.newHashSet();
+		Set<URI> uris = Sets.newHashSetWithExpectedSize(deltas.size());
+		for (Delta delta : deltas) {
+			uris.add(delta.getUri());
+			addExportedNames(names, delta.getOld());
+			addExportedNames(names, delta.getNew());
+		}
+		return getReverseDependencyIndex().getDependents(names, uris);
+	}
+
+	/**
+	 * Answered by the {@link #getReverseDependencyIndex() reverse dependency index}.
+	 * 
+	 * @since 2.11
+	 */
+	@Override
+	public Set<URI> getReferrers(Collection<URI> targetResources) {
+		return getReverseDependencyIndex().getDependents(Collections.<QualifiedName>emptyList(), targetResources);
+	}
+
+	private void addExportedNames(Set<QualifiedName> names, IResourceDescription description) {
+		if (description != null) {
+			for (IEObjectDescription object : description.getExportedObjects()) {
+				names.add(object.getName().toLowerCase());
+			}
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void registerDescription(IResourceDescription description, Map<QualifiedName, Object> target) {
 		for(IEObjectDescription object: description.getExportedObjects()) {
 			QualifiedName lowerCase = object.getName().toLowerCase();
 			Object existing = target.put(lowerCase, description);
-			if (existing != null && existing != description) {
+			if (existing == null) {
+				registerSegments(lowerCase, target);
+			} else if (existing != description) {
 				Set<IResourceDescription> set = null;
 				if (existing instanceof IResourceDescription) {
 					set = Sets.newHashSetWithExpectedSize(2);
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.resource.IReferenceDescription;
+import org.eclipse.xtext.resource.IResourceDescription;
+import org.eclipse.xtext.util.PersistentHashMap;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.Sets;
+
+/**
+ * An inverted index that maps the lower case names and the resource URIs that are used by the descriptions of a
+ * {@link ResourceDescriptionsData} to the URIs of the descriptions that use them. It answers the question which
+ * resources may be affected by a change without looking at all the descriptions.
+ *
+ * The index is maintained by its owner. Changed descriptions are only marked as pending and their dependencies are
+ * read on the next query, thus descriptions that are replaced before the index is queried are never asked for their
+ * {@link IResourceDescription#getImportedNames() imported names} or
+ * {@link IResourceDescription#getReferenceDescriptions() references}.
+ *
+ * @since 2.11
+ */
+@Beta
+public class ReverseDependencyIndex {
+
+	private final ResourceDescriptionsData owner;
+
+	/*
+	 * All maps are persistent, thus a copy of the index takes constant time. The sets of URIs are stored as the
+	 * key sets of persistent maps, too. They are shared with the copies and are never modified in place.
+	 */
+
+	/**
+	 * Lower case imported name to the URIs of the importing resources.
+	 */
+	private final PersistentHashMap<QualifiedName, PersistentHashMap<URI, Boolean>> importers;
+
+	/**
+	 * Resource URI to the URIs of the resources that refer to one of its objects.
+	 */
+	private final PersistentHashMap<URI, PersistentHashMap<URI, Boolean>> referrers;
+
+	/**
+	 * The registered dependencies per resource. They are kept to unregister a resource even if its description
+	 * has been replaced in the meantime.
+	 */
+	private final PersistentHashMap<URI, Dependencies> dependencies;
+
+	private final PersistentHashMap<URI, Boolean> pending;
+
+	protected static class Dependencies {
+		private final Set<QualifiedName> importedNames;
+		private final Set<URI> referencedResources;
+
+		protected Dependencies(Set<QualifiedName> importedNames, Set<URI> referencedResources) {
+			this.importedNames = importedNames;
+			this.referencedResources = referencedResources;
+		}
+
+		public Set<QualifiedName> getImportedNames() {
+			return importedNames;
+		}
+
+		public Set<URI> getReferencedResources() {
+			return referencedResources;
+		}
+	}
+
+	/**
+	 * Creates a new index for all the descriptions that are currently known to the given owner.
+	 */
+	public ReverseDependencyIndex(ResourceDescriptionsData owner) {
+		this.owner = owner;
+		this.importers = new PersistentHashMap<QualifiedName, PersistentHashMap<URI, Boolean>>();
+		this.referrers = new PersistentHashMap<URI, PersistentHashMap<URI, Boolean>>();
+		this.dependencies = new PersistentHashMap<URI, Dependencies>();
+		this.pending = new PersistentHashMap<URI, Boolean>();
+		for (URI uri : owner.getAllURIs()) {
+			pending.put(uri, Boolean.TRUE);
+		}
+	}
+
+	protected ReverseDependencyIndex(ResourceDescriptionsData owner, ReverseDependencyIndex original) {
+		this.owner = owner;
+		this.importers = original.importers.snapshot();
+		this.referrers = original.referrers.snapshot();
+		this.dependencies = original.dependencies.snapshot();
+		this.pending = original.pending.snapshot();
+	}
+
+	/**
+	 * @return a copy of this index that is maintained by the given owner. Takes constant time.
+	 */
+	public synchronized ReverseDependencyIndex copy(ResourceDescriptionsData newOwner) {
+		return new ReverseDependencyIndex(newOwner, this);
+	}
+
+	/**
+	 * Announces that the description with the given URI was added, removed or replaced.
+	 */
+	public synchronized void invalidate(URI uri) {
+		Dependencies previous = dependencies.remove(uri);
+		if (previous != null) {
+			for (QualifiedName name : previous.getImportedNames()) {
+				removeValue(importers, name, uri);
+			}
+			for (URI target : previous.getReferencedResources()) {
+				removeValue(referrers, target, uri);
+			}
+		}
+		pending.put(uri, Boolean.TRUE);
+	}
+
+	/**
+	 * @return the URIs of the resources that import one of the given lower case names or that refer to an object
+	 *         in one of the given resources. Never <code>null</code>.
+	 */
+	public synchronized Set<URI> getDependents(Collection<QualifiedName> lowerCaseNames, Collection<URI> resources) {
+		resolvePending();
+		Set<URI> result = Sets.newHashSet();
+		for (QualifiedName name : lowerCaseNames) {
+			PersistentHashMap<URI, Boolean> uris = importers.get(name);
+			if (uris != null)
+				result.addAll(uris.keySet());
+		}
+		for (URI resource : resources) {
+			PersistentHashMap<URI, Boolean> uris = referrers.get(resource);
+			if (uris != null)
+				result.addAll(uris.keySet());
+		}
+		return result;
+	}
+
+	/**
+	 * @return the URIs of the resources that refer to an object in the resource with the given URI. Never
+	 *         <code>null</code>.
+	 */
+	public synchronized Set<URI> getReferrers(URI resource) {
+		resolvePending();
+		PersistentHashMap<URI, Boolean> result = referrers.get(resource);
+		if (result == null)
+			return Collections.emptySet();
+		return Collections.unmodifiableSet(Sets.newHashSet(result.keySet()));
+	}
+
+	protected void resolvePending() {
+		if (pending.isEmpty())
+			return;
+		for (URI uri : pending.keySet()) {
+			IResourceDescription description = owner.getResourceDescription(uri);
+			if (description != null) {
+				register(uri, computeDependencies(description));
+			}
+		}
+		pending.clear();
+	}
+
+	protected Dependencies computeDependencies(IResourceDescription description) {
+		Set<QualifiedName> importedNames = Sets.newHashSet();
+		for (QualifiedName name : description.getImportedNames()) {
+			importedNames.add(name.toLowerCase());
+		}
+		Set<URI> referencedResources = Sets.newHashSet();
+		URI uri = description.getURI();
+		for (IReferenceDescription reference : description.getReferenceDescriptions()) {
+			URI target = reference.getTargetEObjectUri().trimFragment();
+			if (!uri.equals(target)) {
+				referencedResources.add(target);
+			}
+		}
+		return new Dependencies(importedNames, referencedResources);
+	}
+
+	private void register(URI uri, Dependencies newDependencies) {
+		dependencies.put(uri, newDependencies);
+		for (QualifiedName name : newDependencies.getImportedNames()) {
+			addValue(importers, name, uri);
+		}
+		for (URI target : newDependencies.getReferencedResources()) {
+			addValue(referrers, target, uri);
+		}
+	}
+
+	private static <K> void addValue(PersistentHashMap<K, PersistentHashMap<URI, Boolean>> map, K key, URI value) {
+		PersistentHashMap<URI, Boolean> values = map.get(key);
+		if (values == null) {
+			values = new PersistentHashMap<URI, Boolean>();
+		} else {
+			values = values.snapshot();
+		}
+		values.put(value, Boolean.TRUE);
+		map.put(key, values);
+	}
+
+	private static <K> void removeValue(PersistentHashMap<K, PersistentHashMap<URI, Boolean>> map, K key, URI value) {
+		PersistentHashMap<URI, Boolean> values = map.get(key);
+		if (values != null && values.containsKey(value)) {
+			if (values.size() == 1) {
+				map.remove(key);
+			} else {
+				values = values.snapshot();
+				values.remove(value);
+				map.put(key, values);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *******************************************************************************/
+package org.eclipse.xtext.resource.impl;
+
+import java.util.Set;
+
+import org.eclipse.xtext.naming.QualifiedName;
+import org.eclipse.xtext.util.PersistentHashMap;
+
+/**
+ * The lower case names of a {@link ResourceDescriptionsData} per lower case segment, sorted by the segments. The
+ * segments are stored in a treap whose nodes are never modified. Modifications replace the nodes on the path to the
+ * changed segment, thus a {@link #snapshot() snapshot} takes constant time and shares all other nodes with the
+ * original. The sets of names are the key sets of persistent maps that are shared in the same way.
+ *
+ * Like the {@link ResourceDescriptionsData}, this class is not synchronized.
+ *
+ * @since 2.11
+ */
+final class SegmentIndex {
+
+	static final class Node {
+		final String segment;
+		final PersistentHashMap<QualifiedName, Boolean> names;
+		final int priority;
+		final Node left;
+		final Node right;
+
+		Node(String segment, PersistentHashMap<QualifiedName, Boolean> names, int priority, Node left, Node right) {
+			this.segment = segment;
+			this.names = names;
+			this.priority = priority;
+			this.left = left;
+			this.right = right;
+		}
+
+		Node withChildren(Node left, Node right) {
+			if (left == this.left && right == this.right) {
+				return this;
+			}
+			return new Node(segment, names, priority, left, right);
+		}
+	}
+
+	Node root;
+
+	SegmentIndex() {
+		this(null);
+	}
+
+	private SegmentIndex(Node root) {
+		this.root = root;
+	}
+
+	/**
+	 * @return a copy of this index that shares the complete structure with this index. Takes constant time.
+	 */
+	SegmentIndex snapshot() {
+		return new SegmentIndex(root);
+	}
+
+	void add(QualifiedName lowerCase) {
+		for (String segment : lowerCase.getSegments()) {
+			PersistentHashMap<QualifiedName, Boolean> names = get(segment);
+			if (names == null) {
+				names = new PersistentHashMap<QualifiedName, Boolean>();
+			} else if (names.containsKey(lowerCase)) {
+				continue;
+			} else {
+				names = names.snapshot();
+			}
+			names.put(lowerCase, Boolean.TRUE);
+			root = put(root, segment, names, priority(segment));
+		}
+	}
+
+	void remove(QualifiedName lowerCase) {
+		for (String segment : lowerCase.getSegments()) {
+			PersistentHashMap<QualifiedName, Boolean> names = get(segment);
+			if (names != null && names.containsKey(lowerCase)) {
+				if (names.size() == 1) {
+					root = remove(root, segment);
+				} else {
+					names = names.snapshot();
+					names.remove(lowerCase);
+					root = put(root, segment, names, priority(segment));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the names with a segment that starts with the given lower case prefix to the result, ordered by the
+	 * segments.
+	 */
+	void collectNames(String lowerCasePrefix, Set<QualifiedName> result) {
+		collect(root, lowerCasePrefix, lowerCasePrefix + Character.MAX_VALUE, result);
+	}
+
+	private PersistentHashMap<QualifiedName, Boolean> get(String segment) {
+		Node node = root;
+		while (node != null) {
+			int comparison = segment.compareTo(node.segment);
+			if (comparison == 0) {
+				return node.names;
+			}
+			node = comparison < 0 ? node.left : node.right;
+		}
+		return null;
+	}
+
+	private static void collect(Node node, String from, String to, Set<QualifiedName> result) {
+		if (node == null) {
+			return;
+		}
+		boolean afterFrom = node.segment.compareTo(from) >= 0;
+		boolean beforeTo = node.segment.compareTo(to) < 0;
+		if (afterFrom) {
+			collect(node.left, from, to, result);
+		}
+		if (afterFrom && beforeTo) {
+			result.addAll(node.names.keySet());
+		}
+		if (beforeTo) {
+			collect(node.right, from, to, result);
+		}
+	}
+
+	private static Node put(Node node, String segment, PersistentHashMap<QualifiedName, Boolean> names, int priority) {
+		if (node == null) {
+			return new Node(segment, names, priority, null, null);
+		}
+		int comparison = segment.compareTo(node.segment);
+		if (comparison == 0) {
+			return new Node(segment, names, node.priority, node.left, node.right);
+		}
+		if (comparison < 0) {
+			Node left = put(node.left, segment, names, priority);
+			if (left.priority > node.priority) {
+				return left.withChildren(left.left, node.withChildren(left.right, node.right));
+			}
+			return node.withChildren(left, node.right);
+		}
+		Node right = put(node.right, segment, names, priority);
+		if (right.priority > node.priority) {
+			return right.withChildren(node.withChildren(node.left, right.left), right.right);
+		}
+		return node.withChildren(node.left, right);
+	}
+
+	private static Node remove(Node node, String segment) {
+		if (node == null) {
+			return null;
+		}
+		int comparison = segment.compareTo(node.segment);
+		if (comparison < 0) {
+			return node.withChildren(remove(node.left, segment), node.right);
+		}
+		if (comparison > 0) {
+			return node.withChildren(node.left, remove(node.right, segment));
+		}
+		return merge(node.left, node.right);
+	}
+
+	private static Node merge(Node left, Node right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+		if (left.priority > right.priority) {
+			return left.withChildren(left.left, merge(left.right, right));
+		}
+		return right.withChildren(merge(left, right.left), right.right);
+	}
+
+	private static int priority(String segment) {
+		int hash = segment.hashCode() * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+}
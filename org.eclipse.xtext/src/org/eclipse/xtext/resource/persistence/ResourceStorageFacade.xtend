@@ -21,6 +21,8 @@ import org.eclipse.xtext.generator.IFileSystemAccessExtension3
 import org.eclipse.xtend.lib.annotations.Accessors
 import java.io.IOException
 import org.apache.log4j.Logger
+import org.eclipse.emf.ecore.resource.URIConverter
+import org.eclipse.xtext.resource.IResourceDescription
 
 /**
  * @author Sven Efftinge - Initial contribution and API
@@ -34,6 +36,14 @@ class ResourceStorageFacade implements IResourceStorageFacade {
 	
 	@Accessors boolean storeNodeModel = false
 	
+	/**
+	 * Whether the node model of a resource that is loaded from storage is deserialized when its parse result is
+	 * requested for the first time.
+	 * 
+	 * @since 2.11
+	 */
+	@Accessors boolean loadNodeModelLazily = false
+	
 	/**
 	 * @return whether the given resource should be loaded from stored resource state
 	 */
@@ -87,7 +97,7 @@ class ResourceStorageFacade implements IResourceStorageFacade {
 	}
 	
 	override def ResourceStorageLoadable createResourceStorageLoadable(InputStream in) {
-		return new ResourceStorageLoadable(in, isStoreNodeModel)
+		return new ResourceStorageLoadable(in, isStoreNodeModel, isLoadNodeModelLazily)
 	}
 	
 	override def ResourceStorageWritable createResourceStorageWritable(OutputStream out) {
@@ -135,6 +145,21 @@ class ResourceStorageFacade implements IResourceStorageFacade {
 		return resource.URI.trimSegments(1).appendSegment("")
 	}
 	
+	/**
+	 * Reads only the resource description from the storage next to the given resource, i.e. the storage in a jar.
+	 * The resource itself is not loaded.
+	 * 
+	 * @return the stored resource description or <code>null</code> if there is no storage next to the resource.
+	 * @since 2.11
+	 */
+	def IResourceDescription loadResourceDescription(URI uri, URIConverter uriConverter) throws IOException {
+		val storageURI = uri.getBinaryStorageURI
+		if (!uriConverter.exists(storageURI, emptyMap)) {
+			return null
+		}
+		return createResourceStorageLoadable(uriConverter.createInputStream(storageURI)).loadResourceDescription(uri)
+	}
+	
 	override hasStorageFor(URI uri) {
 		return new ExtensibleURIConverterImpl().exists(getBinaryStorageURI(uri), emptyMap())
 	}
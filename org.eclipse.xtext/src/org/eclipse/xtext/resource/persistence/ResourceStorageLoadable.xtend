@@ -7,7 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource.persistence
 
+import com.google.common.io.ByteStreams
 import com.google.common.io.CharStreams
+import java.io.ByteArrayInputStream
 import java.io.DataInputStream
 import java.io.IOException
 import java.io.InputStream
@@ -15,23 +17,64 @@ import java.io.InputStreamReader
 import java.io.ObjectInputStream
 import java.util.zip.ZipInputStream
 import org.apache.log4j.Logger
+import org.eclipse.emf.common.util.URI
 import org.eclipse.emf.ecore.InternalEObject
 import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl
 import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl.EObjectInputStream
-import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor
 import org.eclipse.xtext.nodemodel.impl.SerializableNodeModel
 import org.eclipse.xtext.nodemodel.serialization.DeserializationConversionContext
 import org.eclipse.xtext.parser.ParseResult
+import org.eclipse.xtext.resource.IResourceDescription
+import org.eclipse.xtext.util.RuntimeIOException
 
 /**
  * @author Sven Efftinge - Initial contribution and API
  */
-@FinalFieldsConstructor class ResourceStorageLoadable {
+class ResourceStorageLoadable {
 	
 	static val LOG = Logger.getLogger(ResourceStorageLoadable)
 	
 	val InputStream in
 	val boolean storeNodeModel
+	val boolean loadNodeModelLazily
+	
+	new(InputStream in, boolean storeNodeModel) {
+		this(in, storeNodeModel, false)
+	}
+	
+	/**
+	 * @param loadNodeModelLazily whether the node model is deserialized when the parse result of the resource is
+	 *            requested for the first time, rather than when the resource is loaded.
+	 * @since 2.11
+	 */
+	new(InputStream in, boolean storeNodeModel, boolean loadNodeModelLazily) {
+		this.in = in
+		this.storeNodeModel = storeNodeModel
+		this.loadNodeModelLazily = loadNodeModelLazily
+	}
+	
+	/**
+	 * Reads only the resource description from the storage, e.g. to index a resource. The preceding EMF contents
+	 * are skipped without being deserialized.
+	 * 
+	 * @return the resource description or <code>null</code> if the storage doesn't contain one.
+	 * @since 2.11
+	 */
+	def IResourceDescription loadResourceDescription(URI resourceURI) throws IOException {
+		val zin = new ZipInputStream(in)
+		try {
+			var entry = zin.nextEntry
+			while (entry != null) {
+				if (entry.name == "resource-description") {
+					return readResourceDescription(resourceURI, zin)
+				}
+				entry = zin.nextEntry
+			}
+			return null
+		} finally {
+			zin.close
+		}
+	}
 	
 	protected def void loadIntoResource(StorageAwareResource resource) throws IOException {
 		if (!resource.isLoadedFromStorage) {
@@ -86,23 +129,72 @@ import org.eclipse.xtext.parser.ParseResult
 	}
 	
 	protected def void readResourceDescription(StorageAwareResource resource, InputStream inputStream) throws IOException {
+		resource.resourceDescription = readResourceDescription(resource.URI, inputStream)
+	}
+	
+	/**
+	 * @since 2.11
+	 */
+	protected def SerializableResourceDescription readResourceDescription(URI resourceURI, InputStream inputStream) throws IOException {
 		val objectIn = new ObjectInputStream(inputStream)
 		val description = objectIn.readObject as SerializableResourceDescription
-		description.updateResourceURI(resource.URI)
-		resource.resourceDescription = description
+		description.updateResourceURI(resourceURI)
+		return description
 	}
 	
+	/**
+	 * Reads the node model. The source text and the semantic objects it refers to are captured right away, even if
+	 * the node model is loaded lazily.
+	 */
 	protected def void readNodeModel(StorageAwareResource resource, InputStream inputStream) throws IOException {
-		val serializableNodeModel = new SerializableNodeModel(resource)
-		// if this is a synthetic resource (i.e. tests or so, don't load the node model)
-		if (!resource.resourceSet.URIConverter.exists(resource.URI, resource.resourceSet.loadOptions)) {
-			LOG.info("Skipping loading node model for synthetic resource "+resource.URI)
+		val completeContent = readSourceText(resource)
+		if (completeContent == null) {
 			return;
 		}
-		val stream = resource.resourceSet.URIConverter.createInputStream(resource.URI)
-		val in = new InputStreamReader(stream, resource.encoding)
-		val completeContent = CharStreams.toString(in)
 		val deserializationContext = new DeserializationConversionContext(resource, completeContent)
+		if (loadNodeModelLazily) {
+			val bytes = ByteStreams.toByteArray(inputStream)
+			val rootASTElement = resource.contents.head
+			resource.deferredNodeModel = [
+				if (resource.contents.head !== rootASTElement) {
+					throw new IllegalStateException("The contents of " + resource.URI + " were replaced before its node model was loaded.")
+				}
+				try {
+					loadNodeModel(resource, new ByteArrayInputStream(bytes), deserializationContext)
+				} catch (IOException e) {
+					throw new RuntimeIOException(e)
+				}
+			]
+		} else {
+			loadNodeModel(resource, inputStream, deserializationContext)
+		}
+	}
+	
+	/**
+	 * @return the complete source text of the resource or <code>null</code> if the resource is synthetic, i.e. it
+	 *         has no resource set or its source does not exist.
+	 * @since 2.11
+	 */
+	protected def String readSourceText(StorageAwareResource resource) throws IOException {
+		val resourceSet = resource.resourceSet
+		// if this is a synthetic resource (i.e. tests or so, don't load the node model)
+		if (resourceSet == null || !resourceSet.URIConverter.exists(resource.URI, resourceSet.loadOptions)) {
+			LOG.info("Skipping loading node model for synthetic resource "+resource.URI)
+			return null
+		}
+		val in = new InputStreamReader(resourceSet.URIConverter.createInputStream(resource.URI), resource.encoding)
+		try {
+			return CharStreams.toString(in)
+		} finally {
+			in.close
+		}
+	}
+	
+	/**
+	 * @since 2.11
+	 */
+	protected def void loadNodeModel(StorageAwareResource resource, InputStream inputStream, DeserializationConversionContext deserializationContext) throws IOException {
+		val serializableNodeModel = new SerializableNodeModel
 		val dataIn = new DataInputStream(inputStream)
 		serializableNodeModel.readObjectData(dataIn, deserializationContext)
 		resource.parseResult = new ParseResult(resource.contents.head,serializableNodeModel.root, deserializationContext.hasErrors)
@@ -7,6 +7,9 @@
  *******************************************************************************/
 package org.eclipse.xtext.resource.persistence
 
+import com.google.common.collect.ImmutableList
+import com.google.common.collect.Interner
+import com.google.common.collect.Interners
 import java.io.Externalizable
 import java.io.IOException
 import java.io.ObjectInput
@@ -32,6 +35,10 @@ import org.eclipse.xtext.resource.impl.AbstractResourceDescription
 import static extension org.eclipse.xtext.resource.persistence.SerializationExtensions.*
 
 /**
+ * The qualified names of the copies and of the deserialized descriptions are interned, thus equal names of different
+ * descriptions share one instance. URIs are already shared by the URI pool of EMF. Objects without user data don't
+ * allocate a map.
+ * 
  * @author Sven Efftinge - Initial contribution and API
  * 
  * @since 2.8
@@ -41,9 +48,9 @@ import static extension org.eclipse.xtext.resource.persistence.SerializationExte
 	def static SerializableResourceDescription createCopy(IResourceDescription desc) {
 		new SerializableResourceDescription => [
 			URI = desc.URI
-			descriptions = desc.exportedObjects.map[createCopy(it)].toList
-			references = desc.referenceDescriptions.map[createCopy(it)].toList
-			importedNames = newArrayList(desc.importedNames)
+			descriptions = ImmutableList.copyOf(desc.exportedObjects.map[createCopy(it)])
+			references = ImmutableList.copyOf(desc.referenceDescriptions.map[createCopy(it)])
+			importedNames = ImmutableList.copyOf(desc.importedNames.map[intern])
 		]
 	}
 	
@@ -51,10 +58,13 @@ import static extension org.eclipse.xtext.resource.persistence.SerializationExte
 		new SerializableEObjectDescription => [
 			EClass = desc.EClass
 			EObjectURI = desc.EObjectURI
-			qualifiedName = desc.qualifiedName
-			userData = new HashMap(desc.userDataKeys.size)
-			for (key : desc.userDataKeys) {
-				userData.put(key, desc.getUserData(key))
+			qualifiedName = desc.qualifiedName.intern
+			val keys = desc.userDataKeys
+			if (keys.length != 0) {
+				userData = new HashMap(keys.length)
+				for (key : keys) {
+					userData.put(key, desc.getUserData(key))
+				}
 			}
 		]
 	}
@@ -162,11 +172,13 @@ import static extension org.eclipse.xtext.resource.persistence.SerializationExte
 	}
 	
 	override getUserData(String key) {
-		userData.get(key)
+		userData?.get(key)
 	}
 	
-	override getUserDataKeys() {
-		userData.keySet
+	override String[] getUserDataKeys() {
+		if (userData == null)
+			return newArrayOfSize(0)
+		return userData.keySet
 	}
 	
 	override readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
@@ -226,6 +238,17 @@ import static extension org.eclipse.xtext.resource.persistence.SerializationExte
  */
 package class SerializationExtensions {
 	
+	static val Interner<QualifiedName> NAMES = Interners.newWeakInterner
+	
+	/**
+	 * @since 2.11
+	 */
+	def static QualifiedName intern(QualifiedName name) {
+		if (name == null)
+			return null
+		return NAMES.intern(name)
+	}
+	
 	def static <T extends ENamedElement> T readEcoreElement(ObjectInput in) throws IOException {
 		val uri = in.readURI
 		val ePackage = EPackage.Registry.INSTANCE.getEPackage(uri.trimFragment.toString)
@@ -258,7 +281,7 @@ package class SerializationExtensions {
 	}
 	
 	def static QualifiedName readQualifiedName(ObjectInput in) throws IOException {
-		return QualifiedName.create(in.readObject as ArrayList<String>)
+		return QualifiedName.create(in.readObject as ArrayList<String>).intern
 	}
 	
 	def static void writeQualifiedName(ObjectOutput out, QualifiedName name) throws IOException {
@@ -13,6 +13,7 @@ import java.util.Map
 import org.apache.log4j.Logger
 import org.eclipse.xtend.lib.annotations.Accessors
 import org.eclipse.xtext.linking.lazy.LazyLinkingResource
+import org.eclipse.xtext.parser.IParseResult
 import org.eclipse.xtext.resource.IResourceDescription
 import org.eclipse.xtext.util.internal.Stopwatches
 
@@ -33,6 +34,10 @@ class StorageAwareResource extends LazyLinkingResource {
 	
 	@Accessors IResourceDescription resourceDescription = null;
 	
+	volatile ()=>void deferredNodeModel = null
+	
+	boolean isLoadingNodeModel = false
+	
 	override load(Map<?, ?> options) throws IOException {
 		if (!isLoaded && !isLoading && resourceStorageFacade!=null && resourceStorageFacade.shouldLoadFromStorage(this)) {
 			if (LOG.isDebugEnabled) {
@@ -69,13 +74,60 @@ class StorageAwareResource extends LazyLinkingResource {
 		}
 	}
 	
+	/**
+	 * Defers loading the node model of a resource that was loaded from storage until its parse result is requested
+	 * for the first time. The semantic contents must not be modified before, since the node model refers to them by
+	 * their position.
+	 * 
+	 * @since 2.11
+	 */
+	def void setDeferredNodeModel(()=>void loader) {
+		deferredNodeModel = loader
+	}
+	
+	override IParseResult getParseResult() {
+		if (deferredNodeModel != null) {
+			loadDeferredNodeModel
+		}
+		return super.getParseResult
+	}
+	
+	/**
+	 * Runs the deferred node model loader once. Concurrent callers wait until the node model is loaded, a nested
+	 * call on the loading thread returns immediately.
+	 */
+	def private synchronized void loadDeferredNodeModel() {
+		val loader = deferredNodeModel
+		if (loader != null && !isLoadingNodeModel) {
+			isLoadingNodeModel = true
+			try {
+				loader.apply
+			} finally {
+				deferredNodeModel = null
+				isLoadingNodeModel = false
+			}
+		}
+	}
+	
+	override relink() {
+		getParseResult
+		super.relink
+	}
+	
+	override update(int offset, int replacedTextLength, String newText) {
+		getParseResult
+		super.update(offset, replacedTextLength, newText)
+	}
+	
 	override protected doUnload() {
 		super.doUnload
 		isLoadedFromStorage = false;
+		deferredNodeModel = null
 	}
 	
 	override protected clearInternalState() {
 		isLoadedFromStorage = false;
+		deferredNodeModel = null
 		super.clearInternalState();
 	}
 	
@@ -13,6 +13,8 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 
+import com.google.common.annotations.Beta;
+
 /**
  * <p>A scope defines which elements {@link IEObjectDescription} can be seen in a certain area within a model/program.</p>
  * <p>In other words: A scope is a kind of container structure that provides access to all objects that can be reached
@@ -95,6 +97,27 @@ public interface IScope {
 	 */
 	Iterable<IEObjectDescription> getAllElements();
 
+	/**
+	 * A scope that can look up its elements by a prefix of one of their name segments without enumerating all of
+	 * them, e.g. for content assist.
+	 * 
+	 * @since 2.11
+	 */
+	@Beta
+	interface IPrefixAware extends IScope {
+
+		/**
+		 * Obtain the elements from the scope that have a name segment which starts with the given prefix, ignoring
+		 * case. The same elements are shadowed as by {@link #getAllElements()}. Implementations may return more
+		 * elements, thus clients have to filter the result.
+		 * 
+		 * @param prefix the prefix of one of the name segments. May not be <code>null</code>.
+		 * @return the elements that match the prefix. Never <code>null</code>.
+		 * @see QualifiedName#hasSegmentStartingWithIgnoreCase(String)
+		 */
+		Iterable<IEObjectDescription> getElementsByPrefix(String prefix);
+	}
+
 	/**
 	 * a NO-OP implementation.
 	 */
@@ -217,6 +217,41 @@ public abstract class AbstractScope implements IScope {
 		return result;
 	}
 	
+	/**
+	 * Returns the local elements with a name segment that starts with the given prefix, ignoring case. Used by the
+	 * subclasses that implement {@link IScope.IPrefixAware}.
+	 * 
+	 * @since 2.11
+	 */
+	protected Iterable<IEObjectDescription> getLocalElementsByPrefix(final String prefix) {
+		Iterable<IEObjectDescription> localElements = getAllLocalElements();
+		Iterable<IEObjectDescription> result = Iterables.filter(localElements, new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				return input.getName().hasSegmentStartingWithIgnoreCase(prefix);
+			}
+		});
+		return result;
+	}
+	
+	/**
+	 * Returns the elements of the parent scope with a name segment that starts with the given prefix, unless they are
+	 * shadowed. All the elements of the parent are returned if it is not {@link IScope.IPrefixAware prefix aware}.
+	 * 
+	 * @since 2.11
+	 */
+	protected Iterable<IEObjectDescription> getParentElementsByPrefix(final String prefix) {
+		return getParentElements(new Provider<Iterable<IEObjectDescription>>() {
+			@Override
+			public Iterable<IEObjectDescription> get() {
+				IScope parent = getParent();
+				if (parent instanceof IScope.IPrefixAware)
+					return ((IScope.IPrefixAware) parent).getElementsByPrefix(prefix);
+				return parent.getAllElements();
+			}
+		});
+	}
+	
 	protected Iterable<IEObjectDescription> getParentElements(Provider<Iterable<IEObjectDescription>> provider) {
 		if (getParent() == IScope.NULLSCOPE)
 			return Collections.emptyList();
@@ -15,7 +15,9 @@ import static java.util.Collections.*;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
@@ -43,6 +45,13 @@ public class ImportScope extends AbstractScope {
 
 	private final EClass type;
 
+	/**
+	 * The resolved local elements per requested name. The imports of a scope are resolved once per name, no matter
+	 * how often the name is queried, e.g. by {@link #isShadowed(IEObjectDescription)} or
+	 * {@link #getLocalElementsByEObject(EObject, URI)}.
+	 */
+	private final Map<QualifiedName, List<IEObjectDescription>> resolvedNames = new ConcurrentHashMap<QualifiedName, List<IEObjectDescription>>();
+
 	public ImportScope(List<ImportNormalizer> namespaceResolvers, IScope parent, ISelectable importFrom, EClass type,
 			boolean ignoreCase) {
 		super(parent, ignoreCase);
@@ -67,8 +76,44 @@ public class ImportScope extends AbstractScope {
 
 	@Override
 	public Iterable<IEObjectDescription> getAllElements() {
-		final Iterable<IEObjectDescription> globalElements = getParent().getAllElements();
-		Iterable<IEObjectDescription> aliased = getAllLocalElements();
+		return concatUnshadowed(getAllLocalElements(), getParent().getAllElements());
+	}
+
+	/**
+	 * Only the imported elements with a name segment that starts with the prefix are aliased. The segments of an alias
+	 * are segments of the imported name, too, thus the other imported elements can neither match the prefix nor shadow
+	 * a matching element of the parent scope.
+	 * 
+	 * Only {@link IScope.IPrefixAware prefix aware} if created by the {@link ImportedNamespaceAwareLocalScopeProvider},
+	 * since subclasses may override {@link #getAllElements()}.
+	 * 
+	 * @since 2.11
+	 */
+	protected Iterable<IEObjectDescription> getElementsByPrefix(final String prefix) {
+		ISelectable importFrom = getImportFrom();
+		Iterable<IEObjectDescription> candidates;
+		if (importFrom instanceof ISelectable.IPrefixAware) {
+			candidates = ((ISelectable.IPrefixAware) importFrom).getExportedObjectsByPrefix(type, prefix);
+		} else {
+			candidates = importFrom.getExportedObjectsByType(type);
+		}
+		Iterable<IEObjectDescription> aliased = filter(getAliasedElements(candidates), new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				return input.getName().hasSegmentStartingWithIgnoreCase(prefix);
+			}
+		});
+		IScope parent = getParent();
+		Iterable<IEObjectDescription> globalElements;
+		if (parent instanceof IScope.IPrefixAware) {
+			globalElements = ((IScope.IPrefixAware) parent).getElementsByPrefix(prefix);
+		} else {
+			globalElements = parent.getAllElements();
+		}
+		return concatUnshadowed(aliased, globalElements);
+	}
+
+	private Iterable<IEObjectDescription> concatUnshadowed(Iterable<IEObjectDescription> aliased, Iterable<IEObjectDescription> globalElements) {
 		final Set<QualifiedName> elements = newHashSet();
 		for (IEObjectDescription from : aliased) {
 			QualifiedName qn = getIgnoreCaseAwareQualifiedName(from);
@@ -145,6 +190,22 @@ public class ImportScope extends AbstractScope {
 
 	@Override
 	protected Iterable<IEObjectDescription> getLocalElementsByName(QualifiedName name) {
+		QualifiedName key = isIgnoreCase() ? name.toLowerCase() : name;
+		List<IEObjectDescription> result = resolvedNames.get(key);
+		if (result == null) {
+			result = unmodifiableList(resolveLocalElementsByName(name));
+			resolvedNames.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Resolves the given name with each of the imports. The result is memoized by
+	 * {@link #getLocalElementsByName(QualifiedName)}.
+	 * 
+	 * @since 2.11
+	 */
+	protected List<IEObjectDescription> resolveLocalElementsByName(QualifiedName name) {
 		List<IEObjectDescription> result = newArrayList();
 		QualifiedName resolvedQualifiedName = null;
 		ISelectable importFrom = getImportFrom();
@@ -182,4 +243,21 @@ public class ImportScope extends AbstractScope {
 		return importFrom;
 	}
 
+	/**
+	 * The scope that is created by the {@link ImportedNamespaceAwareLocalScopeProvider}. The class is final, thus
+	 * {@link #getAllElements()} cannot be overridden and the elements that are looked up by prefix are the same.
+	 */
+	static final class PrefixAwareImportScope extends ImportScope implements IScope.IPrefixAware {
+
+		PrefixAwareImportScope(List<ImportNormalizer> namespaceResolvers, IScope parent, ISelectable importFrom, EClass type,
+				boolean ignoreCase) {
+			super(namespaceResolvers, parent, importFrom, type, ignoreCase);
+		}
+
+		@Override
+		public Iterable<IEObjectDescription> getElementsByPrefix(String prefix) {
+			return super.getElementsByPrefix(prefix);
+		}
+	}
+
 }
@@ -212,7 +212,7 @@ public class ImportedNamespaceAwareLocalScopeProvider extends AbstractGlobalScop
 	}
 
 	protected ImportScope createImportScope(IScope parent, List<ImportNormalizer> namespaceResolvers, ISelectable importFrom, EClass type, boolean ignoreCase) {
-		return new ImportScope(namespaceResolvers, parent, importFrom, type, ignoreCase);
+		return new ImportScope.PrefixAwareImportScope(namespaceResolvers, parent, importFrom, type, ignoreCase);
 	}
 
 	protected QualifiedName getQualifiedNameOfLocalElement(final EObject context) {
@@ -17,7 +17,7 @@ import org.eclipse.xtext.scoping.IScope;
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
  */
-public class ScopeBasedSelectable implements ISelectable {
+public class ScopeBasedSelectable implements ISelectable.IPrefixAware {
 
 	private final IScope scope;
 
@@ -45,6 +45,16 @@ public class ScopeBasedSelectable implements ISelectable {
 		return scope.getAllElements();
 	}
 	
+	/**
+	 * @since 2.11
+	 */
+	@Override
+	public Iterable<IEObjectDescription> getExportedObjectsByPrefix(EClass type, String prefix) {
+		if (scope instanceof IScope.IPrefixAware)
+			return ((IScope.IPrefixAware) scope).getElementsByPrefix(prefix);
+		return scope.getAllElements();
+	}
+	
 	@Override
 	public Iterable<IEObjectDescription> getExportedObjectsByObject(EObject object) {
 		return scope.getElements(object);
@@ -7,10 +7,14 @@
  *******************************************************************************/
 package org.eclipse.xtext.scoping.impl;
 
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.xtext.EcoreUtil2;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.IEObjectDescription;
 import org.eclipse.xtext.resource.ISelectable;
+import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
 import org.eclipse.xtext.scoping.IScope;
 
 import com.google.common.base.Predicate;
@@ -28,7 +32,7 @@ public class SelectableBasedScope extends AbstractScope {
 	public static IScope createScope(IScope outer, ISelectable selectable, Predicate<IEObjectDescription> filter, EClass type, boolean ignoreCase) {
 		if (selectable == null || selectable.isEmpty())
 			return outer;
-		return new SelectableBasedScope(outer, selectable, filter, type, ignoreCase);
+		return new PrefixAwareSelectableBasedScope(outer, selectable, filter, type, ignoreCase);
 	}
 	
 	private final Predicate<IEObjectDescription> filter;
@@ -54,6 +58,51 @@ public class SelectableBasedScope extends AbstractScope {
 		return filterLocalElements(unfiltered);
 	}
 	
+	/**
+	 * If the selectable is a {@link ResourceDescriptionsData}, the candidates are looked up in the description of the
+	 * object's resource instead of iterating all the elements of this scope.
+	 * 
+	 * @since 2.11
+	 */
+	@Override
+	protected Iterable<IEObjectDescription> getLocalElementsByEObject(final EObject object, final URI uri) {
+		if (!(selectable instanceof ResourceDescriptionsData))
+			return super.getLocalElementsByEObject(object, uri);
+		Iterable<IEObjectDescription> candidates = filterLocalElements(selectable.getExportedObjectsByObject(object));
+		return Iterables.filter(candidates, new Predicate<IEObjectDescription>() {
+			@Override
+			public boolean apply(IEObjectDescription input) {
+				if (!EcoreUtil2.isAssignableFrom(type, input.getEClass()))
+					return false;
+				if (input.getEObjectOrProxy() != object && !uri.equals(input.getEObjectURI()))
+					return false;
+				IEObjectDescription lookUp = getSingleLocalElementByName(input.getName());
+				if (lookUp != null) {
+					if (lookUp == input)
+						return true;
+					if (lookUp.getEObjectOrProxy() == object)
+						return true;
+					if (uri.equals(lookUp.getEObjectURI()))
+						return true;
+				}
+				return false;
+			}
+		});
+	}
+	
+	/**
+	 * Delegates to the selectable if it is {@link ISelectable.IPrefixAware prefix aware}.
+	 * 
+	 * @since 2.11
+	 */
+	@Override
+	protected Iterable<IEObjectDescription> getLocalElementsByPrefix(String prefix) {
+		if (!(selectable instanceof ISelectable.IPrefixAware))
+			return super.getLocalElementsByPrefix(prefix);
+		Iterable<IEObjectDescription> unfiltered = ((ISelectable.IPrefixAware) selectable).getExportedObjectsByPrefix(type, prefix);
+		return filterLocalElements(unfiltered);
+	}
+	
 	protected ISelectable getSelectable() {
 		return selectable;
 	}
@@ -70,4 +119,20 @@ public class SelectableBasedScope extends AbstractScope {
 		return unfiltered;
 	}
 
+	/**
+	 * The scope that is created by the factory methods. The class is final, thus {@link #getAllElements()} cannot be
+	 * overridden and the elements that are looked up by prefix are the same.
+	 */
+	private static final class PrefixAwareSelectableBasedScope extends SelectableBasedScope implements IScope.IPrefixAware {
+
+		private PrefixAwareSelectableBasedScope(IScope outer, ISelectable selectable, Predicate<IEObjectDescription> filter, EClass type, boolean ignoreCase) {
+			super(outer, selectable, filter, type, ignoreCase);
+		}
+
+		@Override
+		public Iterable<IEObjectDescription> getElementsByPrefix(String prefix) {
+			return Iterables.concat(getLocalElementsByPrefix(prefix), getParentElementsByPrefix(prefix));
+		}
+	}
+
 }
\ No newline at end of file
@@ -7,6 +7,7 @@
  *******************************************************************************/
 package org.eclipse.xtext.serializer.analysis;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -221,7 +222,7 @@ public class ContextTypePDAProvider implements IContextTypePDAProvider {
 
 	private static Logger LOG = Logger.getLogger(ContextTypePDAProvider.class);
 
-	private Map<Grammar, Map<ISerializationContext, Pda<ISerState, RuleCall>>> cache = Maps.newHashMap();
+	private Map<Grammar, Map<ISerializationContext, Pda<ISerState, RuleCall>>> cache = Maps.newConcurrentMap();
 
 	@Inject
 	protected SerializerPDACloneFactory factory;
@@ -249,8 +250,21 @@ public class ContextTypePDAProvider implements IContextTypePDAProvider {
 		Map<ISerializationContext, Pda<ISerState, RuleCall>> result = cache.get(grammar);
 		if (result != null)
 			return result;
-		result = Maps.newLinkedHashMap();
-		cache.put(grammar, result);
+		synchronized (cache) {
+			result = cache.get(grammar);
+			if (result == null) {
+				result = Collections.unmodifiableMap(createContextTypePDAs(grammar));
+				cache.put(grammar, result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * @since 2.11
+	 */
+	protected Map<ISerializationContext, Pda<ISerState, RuleCall>> createContextTypePDAs(Grammar grammar) {
+		Map<ISerializationContext, Pda<ISerState, RuleCall>> result = Maps.newLinkedHashMap();
 		Map<ISerializationContext, Pda<ISerState, RuleCall>> contextPDAs = pdaProvider.getContextPDAs(grammar);
 		for (Entry<ISerializationContext, Pda<ISerState, RuleCall>> e : contextPDAs.entrySet()) {
 			ISerializationContext parent = e.getKey();
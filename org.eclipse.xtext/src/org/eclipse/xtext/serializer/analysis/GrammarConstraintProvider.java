@@ -52,10 +52,12 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 
 /**
  * @author Moritz Eysholdt - Initial contribution and API
  */
+@Singleton
 public class GrammarConstraintProvider implements IGrammarConstraintProvider {
 
 	protected static class Constraint implements IGrammarConstraintProvider.IConstraint {
@@ -153,7 +155,7 @@ public class GrammarConstraintProvider implements IGrammarConstraintProvider {
 					features = new IFeatureInfo[0];
 				} else {
 					int count = type.getFeatureCount();
-					features = new IFeatureInfo[count];
+					IFeatureInfo[] result = new IFeatureInfo[count];
 					int[] current = new int[count];
 					int[] min = new int[count];
 					int[] max = new int[count];
@@ -163,8 +165,9 @@ public class GrammarConstraintProvider implements IGrammarConstraintProvider {
 					collectBounds(nfa.getStart(), current, Sets.<ISemState> newHashSet(), min, max);
 					for (int i = 0; i < count; i++) {
 						EStructuralFeature feature = type.getEStructuralFeature(i);
-						features[i] = new FeatureInfo(this, feature, max[i], min[i]);
+						result[i] = new FeatureInfo(this, feature, max[i], min[i]);
 					}
+					features = result;
 				}
 			}
 			return features;
@@ -368,16 +371,17 @@ public class GrammarConstraintProvider implements IGrammarConstraintProvider {
 				if (body == null) {
 					assignments = Collections.emptyList();
 				} else {
-					assignments = Lists.newArrayList();
+					List<IConstraintElement> result = Lists.newArrayList();
 					LinkedList<IConstraintElement> stack = new LinkedList<IConstraintElement>();
 					stack.push(body);
 					while (!stack.isEmpty()) {
 						IConstraintElement element = stack.pop();
 						String name = ((ConstraintElement) element).getFeatureName();
 						if (feature.getName().equals(name))
-							assignments.add(element);
+							result.add(element);
 						stack.addAll(element.getChildren());
 					}
+					assignments = result;
 				}
 			}
 			return assignments;
@@ -407,7 +411,7 @@ public class GrammarConstraintProvider implements IGrammarConstraintProvider {
 
 	private final static IConstraintElement UNINITIALIZED = new ConstraintElement(null, null, (AbstractElement) null, false, false);
 
-	private Map<Grammar, Map<ISerializationContext, IConstraint>> cache = Maps.newHashMap();
+	private Map<Grammar, Map<ISerializationContext, IConstraint>> cache = Maps.newConcurrentMap();
 
 	@Inject
 	protected Context2NameFunction context2Name;
@@ -513,8 +517,21 @@ public class GrammarConstraintProvider implements IGrammarConstraintProvider {
 		Map<ISerializationContext, IConstraint> result = cache.get(grammar);
 		if (result != null)
 			return result;
-		result = Maps.newLinkedHashMap();
-		cache.put(grammar, result);
+		synchronized (cache) {
+			result = cache.get(grammar);
+			if (result == null) {
+				result = Collections.unmodifiableMap(createConstraints(grammar));
+				cache.put(grammar, result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * @since 2.11
+	 */
+	protected Map<ISerializationContext, IConstraint> createConstraints(Grammar grammar) {
+		Map<ISerializationContext, IConstraint> result = Maps.newLinkedHashMap();
 		GrammarElementDeclarationOrder.get(grammar);
 		Map<ISerializationContext, Nfa<ISemState>> nfas = nfaProvider.getSemanticSequencerNFAs(grammar);
 		ArrayList<ISerializationContext> contexts = Lists.newArrayList(nfas.keySet());
@@ -32,7 +32,7 @@ import com.google.common.collect.Maps;
  */
 public class GrammarElementDeclarationOrder extends AdapterImpl implements Comparator<EObject> {
 
-	public static GrammarElementDeclarationOrder get(Grammar grammar) {
+	public static synchronized GrammarElementDeclarationOrder get(Grammar grammar) {
 		for (Adapter a : grammar.eAdapters())
 			if (a instanceof GrammarElementDeclarationOrder)
 				return (GrammarElementDeclarationOrder) a;
@@ -199,7 +199,7 @@ public class SemanticSequencerNfaProvider implements ISemanticSequencerNfaProvid
 
 	private static Logger LOG = Logger.getLogger(SemanticSequencerNfaProvider.class);
 
-	protected Map<Grammar, Map<ISerializationContext, Nfa<ISemState>>> cache = Maps.newHashMap();
+	protected Map<Grammar, Map<ISerializationContext, Nfa<ISemState>>> cache = Maps.newConcurrentMap();
 
 	@Inject
 	protected ISyntacticSequencerPDAProvider pdaProvider;
@@ -237,8 +237,21 @@ public class SemanticSequencerNfaProvider implements ISemanticSequencerNfaProvid
 		Map<ISerializationContext, Nfa<ISemState>> result = cache.get(grammar);
 		if (result != null)
 			return result;
-		result = Maps.newLinkedHashMap();
-		cache.put(grammar, result);
+		synchronized (cache) {
+			result = cache.get(grammar);
+			if (result == null) {
+				result = Collections.unmodifiableMap(createSemanticSequencerNFAs(grammar));
+				cache.put(grammar, result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * @since 2.11
+	 */
+	protected Map<ISerializationContext, Nfa<ISemState>> createSemanticSequencerNFAs(Grammar grammar) {
+		Map<ISerializationContext, Nfa<ISemState>> result = Maps.newLinkedHashMap();
 		Map<ISerializationContext, ISynAbsorberState> PDAs = pdaProvider.getSyntacticSequencerPDAs(grammar);
 		for (Entry<ISerializationContext, ISynAbsorberState> e : PDAs.entrySet()) {
 			ISynAbsorberState synState = e.getValue();
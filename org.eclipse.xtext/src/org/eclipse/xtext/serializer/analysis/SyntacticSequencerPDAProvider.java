@@ -464,16 +464,17 @@ public class SyntacticSequencerPDAProvider implements ISyntacticSequencerPDAProv
 				return ambiguousSyntaxes;
 			if (!isSyntacticallyAmbiguous())
 				return ambiguousSyntaxes = Collections.emptyList();
-			ambiguousSyntaxes = Lists.newArrayList();
+			// don't publish the list before it is complete, the states are shared between threads
+			List<AbstractElementAlias> result = Lists.newArrayList();
 			AbstractElementAlias syntax = getAmbiguousSyntax();
 			if (syntax instanceof GroupAlias) {
 				GroupAlias group = (GroupAlias) syntax;
 				for (AbstractElementAlias child : group.getChildren())
 					if (child.isMany() || child.isOptional() || child instanceof AlternativeAlias)
-						ambiguousSyntaxes.add(child);
+						result.add(child);
 			} else
-				ambiguousSyntaxes.add(syntax);
-			return ambiguousSyntaxes;
+				result.add(syntax);
+			return ambiguousSyntaxes = result;
 		}
 
 		@Override
@@ -495,7 +496,7 @@ public class SyntacticSequencerPDAProvider implements ISyntacticSequencerPDAProv
 
 	private static Logger LOG = Logger.getLogger(SyntacticSequencerPDAProvider.class);
 
-	protected Map<Grammar, Map<ISerializationContext, ISynAbsorberState>> cache = Maps.newHashMap();
+	protected Map<Grammar, Map<ISerializationContext, ISynAbsorberState>> cache = Maps.newConcurrentMap();
 
 	//	protected SequencerPDAProvider pdaProvider = createSequencerPDAProvider();
 	@Inject
@@ -592,8 +593,21 @@ public class SyntacticSequencerPDAProvider implements ISyntacticSequencerPDAProv
 		Map<ISerializationContext, ISynAbsorberState> result = cache.get(grammar);
 		if (result != null)
 			return result;
-		result = Maps.newLinkedHashMap();
-		cache.put(grammar, result);
+		synchronized (cache) {
+			result = cache.get(grammar);
+			if (result == null) {
+				result = Collections.unmodifiableMap(createSyntacticSequencerPDAs(grammar));
+				cache.put(grammar, result);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * @since 2.11
+	 */
+	protected Map<ISerializationContext, ISynAbsorberState> createSyntacticSequencerPDAs(Grammar grammar) {
+		Map<ISerializationContext, ISynAbsorberState> result = Maps.newLinkedHashMap();
 		Map<ISerializationContext, Pda<ISerState, RuleCall>> typePDAs = pdaProvider.getContextTypePDAs(grammar);
 		List<Pair<List<ISerializationContext>, Pda<ISerState, RuleCall>>> grouped = SerializationContext.groupByEqualityAndSort(typePDAs);
 		for (Pair<List<ISerializationContext>, Pda<ISerState, RuleCall>> e : grouped) {
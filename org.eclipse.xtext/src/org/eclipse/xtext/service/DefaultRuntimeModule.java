@@ -40,6 +40,7 @@ import org.eclipse.xtext.resource.ILocationInFileProvider;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceFactory;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.NodesForFeatureIndex;
 import org.eclipse.xtext.resource.SynchronizedXtextResourceSet;
 import org.eclipse.xtext.resource.XtextResource;
 import org.eclipse.xtext.resource.XtextResourceFactory;
@@ -240,4 +241,14 @@ public abstract class DefaultRuntimeModule extends AbstractGenericModule {
 	public void configureUseIndexFragmentsForLazyLinking(com.google.inject.Binder binder) {
 		binder.bind(Boolean.TYPE).annotatedWith(Names.named(LazyURIEncoder.USE_INDEXED_FRAGMENTS_BINDING)).toInstance(Boolean.TRUE);
 	}
+	
+	/**
+	 * Languages that report many issues for the features of the same objects may bind {@link Boolean#TRUE} to keep the
+	 * nodes of the features in the {@link NodesForFeatureIndex}.
+	 * 
+	 * @since 2.11
+	 */
+	public void configureUseNodesForFeatureIndex(com.google.inject.Binder binder) {
+		binder.bind(Boolean.TYPE).annotatedWith(Names.named(NodesForFeatureIndex.USE_INDEX_BINDING)).toInstance(Boolean.FALSE);
+	}
 }
@@ -7,11 +7,16 @@
  *******************************************************************************/
 package org.eclipse.xtext.validation;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -85,11 +90,37 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 		private final Method method;
 		private final String s;
 		private final AbstractDeclarativeValidator instance;
+		private final CheckType checkType;
+		private final MethodHandle handle;
 
 		protected MethodWrapper(AbstractDeclarativeValidator instance, Method m) {
 			this.instance = instance;
 			this.method = m;
 			this.s = m.getName() + ":" + m.getParameterTypes()[0].getName();
+			Check annotation = m.getAnnotation(Check.class);
+			this.checkType = annotation != null ? annotation.value() : null;
+			this.handle = createHandle(instance, m);
+		}
+
+		/**
+		 * Creates a handle of type <code>(EObject)void</code> that invokes the given check method on the given
+		 * instance. Returns <code>null</code> if the method cannot be accessed that way; it is invoked reflectively
+		 * then.
+		 */
+		private static MethodHandle createHandle(AbstractDeclarativeValidator instance, Method m) {
+			try {
+				m.setAccessible(true);
+				MethodHandle result = MethodHandles.lookup().unreflect(m);
+				if (!Modifier.isStatic(m.getModifiers()))
+					result = result.bindTo(instance);
+				return result.asType(MethodType.methodType(void.class, EObject.class));
+			} catch (IllegalAccessException e) {
+				log.debug(e.getMessage(), e);
+				return null;
+			} catch (RuntimeException e) {
+				log.debug(e.getMessage(), e);
+				return null;
+			}
 		}
 
 		@Override
@@ -102,19 +133,26 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 		}
 
 		public void invoke(State state) {
-			if (instance.state.get() != null && instance.state.get() != state)
+			State instanceState = instance.state.get();
+			if (instanceState != null && instanceState != state)
 				throw new IllegalStateException("State is already assigned.");
-			boolean wasNull = instance.state.get() == null;
+			boolean wasNull = instanceState == null;
 			if (wasNull)
 				instance.state.set(state);
 			try {
-				Check annotation = method.getAnnotation(Check.class);
-				if (!state.checkMode.shouldCheck(annotation.value()))
+				if (!state.checkMode.shouldCheck(checkType))
 					return;
+				state.currentMethod = method;
+				state.currentCheckType = checkType;
+				if (handle != null) {
+					try {
+						handle.invokeExact(state.currentObject);
+					} catch (Throwable e) {
+						handleInvocationTargetException(e, state);
+					}
+					return;
+				}
 				try {
-					state.currentMethod = method;
-					state.currentCheckType = annotation.value();
-					method.setAccessible(true);
 					method.invoke(instance, state.currentObject);
 				} catch (IllegalArgumentException e) {
 					log.error(e.getMessage(), e);
@@ -152,6 +190,13 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 		public Method getMethod() {
 			return method;
 		}
+
+		/**
+		 * @since 2.11
+		 */
+		public CheckType getCheckType() {
+			return checkType;
+		}
 	}
 
 	private volatile Set<MethodWrapper> checkMethods = null;
@@ -256,6 +301,39 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 				}
 			});
 
+	/**
+	 * The checks of {@link #methodsForType} that are enabled in one of the predefined check modes. Other check modes
+	 * use the unfiltered checks, which skip themselves if they are disabled.
+	 */
+	private final Map<CheckMode, SimpleCache<Class<?>, List<MethodWrapper>>> methodsForTypeAndMode = createMethodsForTypeAndMode();
+
+	private Map<CheckMode, SimpleCache<Class<?>, List<MethodWrapper>>> createMethodsForTypeAndMode() {
+		Map<CheckMode, SimpleCache<Class<?>, List<MethodWrapper>>> result = new IdentityHashMap<CheckMode, SimpleCache<Class<?>, List<MethodWrapper>>>();
+		for (final CheckMode checkMode : new CheckMode[] { CheckMode.FAST_ONLY, CheckMode.NORMAL_ONLY,
+				CheckMode.EXPENSIVE_ONLY, CheckMode.NORMAL_AND_FAST }) {
+			result.put(checkMode, new SimpleCache<Class<?>, List<MethodWrapper>>(
+					new Function<Class<?>, List<MethodWrapper>>() {
+						@Override
+						public List<MethodWrapper> apply(Class<?> param) {
+							List<MethodWrapper> result = new ArrayList<MethodWrapper>();
+							for (MethodWrapper mw : methodsForType.get(param)) {
+								if (checkMode.shouldCheck(mw.getCheckType()))
+									result.add(mw);
+							}
+							return result;
+						}
+					}));
+		}
+		return result;
+	}
+
+	private List<MethodWrapper> getMethodsForType(Class<?> type, CheckMode checkMode) {
+		SimpleCache<Class<?>, List<MethodWrapper>> cache = methodsForTypeAndMode.get(checkMode);
+		if (cache != null)
+			return cache.get(type);
+		return methodsForType.get(type);
+	}
+
 	public static class State {
 		public DiagnosticChain chain = null;
 		public EObject currentObject = null;
@@ -301,6 +379,9 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 			}
 		}
 		CheckMode checkMode = CheckMode.getCheckMode(context);
+		List<MethodWrapper> methods = getMethodsForType(object.getClass(), checkMode);
+		if (methods.isEmpty())
+			return true;
 
 		State state = new State();
 		state.chain = diagnostics;
@@ -308,8 +389,17 @@ public abstract class AbstractDeclarativeValidator extends AbstractInjectableVal
 		state.checkMode = checkMode;
 		state.context = context;
 
-		for (MethodWrapper method : methodsForType.get(object.getClass())) {
-			method.invoke(state);
+		// assign the state once for all checks of this instance, the checks of composed validators assign it themselves
+		boolean wasNull = this.state.get() == null;
+		if (wasNull)
+			this.state.set(state);
+		try {
+			for (MethodWrapper method : methods) {
+				method.invoke(state);
+			}
+		} finally {
+			if (wasNull)
+				this.state.set(null);
 		}
 
 		return !state.hasErrors;
@@ -20,12 +20,15 @@ import org.eclipse.xtext.diagnostics.AbstractDiagnostic;
 import org.eclipse.xtext.diagnostics.Severity;
 import org.eclipse.xtext.nodemodel.INode;
 import org.eclipse.xtext.nodemodel.util.NodeModelUtils;
+import org.eclipse.xtext.resource.NodesForFeatureIndex;
 import org.eclipse.xtext.resource.XtextSyntaxDiagnostic;
 import org.eclipse.xtext.util.IAcceptor;
 import org.eclipse.xtext.util.ITextRegionWithLineInformation;
 import org.eclipse.xtext.util.LineAndColumn;
 import org.eclipse.xtext.validation.Issue.IssueImpl;
 
+import com.google.inject.Inject;
+
 /**
  * @author Sebastian Zarnekow - Initial contribution and API
  */
@@ -51,6 +54,9 @@ public class DiagnosticConverterImpl implements IDiagnosticConverter {
 		public Integer length;
 	}
 	
+	@Inject
+	private NodesForFeatureIndex nodesForFeatureIndex;
+	
 	@Override
 	public void convertResourceDiagnostic(Diagnostic diagnostic, Severity severity,	IAcceptor<Issue> acceptor) {
 		IssueImpl issue = new Issue.IssueImpl();
@@ -225,7 +231,7 @@ public class DiagnosticConverterImpl implements IDiagnosticConverter {
 		INode parserNode = NodeModelUtils.getNode(obj);
 		if (parserNode != null) {
 			if (structuralFeature != null) {
-				List<INode> nodes = NodeModelUtils.findNodesForFeature(obj, structuralFeature);
+				List<INode> nodes = findNodesForFeature(obj, structuralFeature);
 				if (index < 0) // insignificant index
 					index = 0;
 				if (nodes.size()>index)
@@ -247,6 +253,16 @@ public class DiagnosticConverterImpl implements IDiagnosticConverter {
 		return result;
 	}
 
+	/**
+	 * Returns the nodes of the given feature. The result must not be modified.
+	 * @since 2.11
+	 */
+	protected List<INode> findNodesForFeature(EObject obj, EStructuralFeature structuralFeature) {
+		if (nodesForFeatureIndex != null)
+			return nodesForFeatureIndex.findNodesForFeature(obj, structuralFeature);
+		return NodeModelUtils.findNodesForFeature(obj, structuralFeature);
+	}
+
 	protected IssueLocation getLocationForNode(INode node) {
 		ITextRegionWithLineInformation nodeRegion = node.getTextRegionWithLineInformation();
 		IssueLocation result = new IssueLocation();
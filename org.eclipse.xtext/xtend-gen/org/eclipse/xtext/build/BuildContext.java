@@ -14,6 +14,7 @@ import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.build.ClusteringStorageAwareResourceLoader;
 import org.eclipse.xtext.build.IndexState;
+import org.eclipse.xtext.build.ParallelResourceLoader;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
@@ -45,6 +46,12 @@ public class BuildContext {
   
   private ClusteringStorageAwareResourceLoader loader;
   
+  /**
+   * @since 2.11
+   */
+  @Accessors
+  private ParallelResourceLoader parallelLoader;
+  
   public <T extends Object> Iterable<T> executeClustered(final Iterable<URI> uri, final Function1<? super Resource, ? extends T> operation) {
     boolean _equals = Objects.equal(this.loader, null);
     if (_equals) {
@@ -59,6 +66,34 @@ public class BuildContext {
     return this.loader.<T>executeClustered(_filter, operation);
   }
   
+  /**
+   * Processes the given resources concurrently if a {@link ParallelResourceLoader} is configured,
+   * otherwise this is the same as {@link #executeClustered(Iterable, Function1)}. The results are
+   * returned in the order of the given URIs.
+   * 
+   * @since 2.11
+   */
+  public <T extends Object> Iterable<T> executeParallel(final Iterable<URI> uri, final Function1<? super Resource, ? extends T> operation) {
+    boolean _isParallel = this.isParallel();
+    boolean _not = (!_isParallel);
+    if (_not) {
+      return this.<T>executeClustered(uri, operation);
+    }
+    final Function1<URI, Boolean> _function = (URI it) -> {
+      IResourceServiceProvider _resourceServiceProvider = this.getResourceServiceProvider(it);
+      return Boolean.valueOf((!Objects.equal(_resourceServiceProvider, null)));
+    };
+    Iterable<URI> _filter = IterableExtensions.<URI>filter(uri, _function);
+    return this.parallelLoader.<T>executeParallel(_filter, operation);
+  }
+  
+  /**
+   * @since 2.11
+   */
+  public boolean isParallel() {
+    return (!Objects.equal(this.parallelLoader, null));
+  }
+  
   public IResourceServiceProvider getResourceServiceProvider(final URI uri) {
     final IResourceServiceProvider resourceServiceProvider = this.resourceServiceProviderProvider.apply(uri);
     return resourceServiceProvider;
@@ -92,4 +127,13 @@ public class BuildContext {
   public CancelIndicator getCancelIndicator() {
     return this.cancelIndicator;
   }
+  
+  @Pure
+  public ParallelResourceLoader getParallelLoader() {
+    return this.parallelLoader;
+  }
+  
+  public void setParallelLoader(final ParallelResourceLoader parallelLoader) {
+    this.parallelLoader = parallelLoader;
+  }
 }
@@ -22,6 +22,7 @@ import org.eclipse.xtext.util.UriUtil;
 import org.eclipse.xtext.util.internal.Log;
 import org.eclipse.xtext.validation.Issue;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Procedures.Procedure2;
 import org.eclipse.xtext.xbase.lib.Pure;
@@ -113,10 +114,44 @@ public class BuildRequest {
   
   private boolean indexOnly = false;
   
+  /**
+   * Whether the resources are not validated during the build, e.g. because the client validates them in the
+   * background afterwards. In that case {@link #getAfterValidate() afterValidate} is not called and the
+   * generation does not depend on the validation result.
+   * 
+   * @since 2.11
+   */
+  private boolean skipValidation = false;
+  
   private XtextResourceSet resourceSet;
   
   private CancelIndicator cancelIndicator = CancelIndicator.NullImpl;
   
+  /**
+   * The number of resources that are processed concurrently. A value greater than one only takes effect
+   * if a {@link #getResourceSetFactory() resource set factory} is configured, too.
+   * 
+   * @since 2.11
+   */
+  private int parallelism = 1;
+  
+  /**
+   * Creates the resource sets used by the worker threads of a parallel build. The created resource sets
+   * have to be configured like the {@link #getResourceSet() resource set} of this request, e.g. they
+   * have to see the same index.
+   * 
+   * @since 2.11
+   */
+  private Function0<? extends XtextResourceSet> resourceSetFactory;
+  
+  /**
+   * @return whether the affected resources should be processed concurrently.
+   * @since 2.11
+   */
+  public boolean isParallel() {
+    return ((this.parallelism > 1) && (!Objects.equal(this.resourceSetFactory, null)));
+  }
+  
   public void setBaseDir(final URI baseDir) {
     this.baseDir = baseDir;
   }
@@ -202,6 +237,15 @@ public class BuildRequest {
     this.indexOnly = indexOnly;
   }
   
+  @Pure
+  public boolean isSkipValidation() {
+    return this.skipValidation;
+  }
+  
+  public void setSkipValidation(final boolean skipValidation) {
+    this.skipValidation = skipValidation;
+  }
+  
   @Pure
   public XtextResourceSet getResourceSet() {
     return this.resourceSet;
@@ -219,4 +263,22 @@ public class BuildRequest {
   public void setCancelIndicator(final CancelIndicator cancelIndicator) {
     this.cancelIndicator = cancelIndicator;
   }
+  
+  @Pure
+  public int getParallelism() {
+    return this.parallelism;
+  }
+  
+  public void setParallelism(final int parallelism) {
+    this.parallelism = parallelism;
+  }
+  
+  @Pure
+  public Function0<? extends XtextResourceSet> getResourceSetFactory() {
+    return this.resourceSetFactory;
+  }
+  
+  public void setResourceSetFactory(final Function0<? extends XtextResourceSet> resourceSetFactory) {
+    this.resourceSetFactory = resourceSetFactory;
+  }
 }
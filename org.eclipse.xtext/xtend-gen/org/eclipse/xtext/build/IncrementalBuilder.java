@@ -30,6 +30,7 @@ import org.eclipse.xtext.build.BuildContext;
 import org.eclipse.xtext.build.BuildRequest;
 import org.eclipse.xtext.build.IndexState;
 import org.eclipse.xtext.build.Indexer;
+import org.eclipse.xtext.build.ParallelResourceLoader;
 import org.eclipse.xtext.build.Source2GeneratedMapping;
 import org.eclipse.xtext.generator.GeneratorContext;
 import org.eclipse.xtext.generator.GeneratorDelegate;
@@ -63,6 +64,7 @@ import org.eclipse.xtext.workspace.ISourceFolder;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Extension;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ObjectExtensions;
@@ -212,45 +214,104 @@ public class IncrementalBuilder {
         IResourceDescription _new = it.getNew();
         return Boolean.valueOf((!Objects.equal(_new, null)));
       };
-      Iterable<IResourceDescription.Delta> _filter_1 = IterableExtensions.<IResourceDescription.Delta>filter(_resourceDeltas_1, _function_2);
-      final Function1<IResourceDescription.Delta, URI> _function_3 = (IResourceDescription.Delta it) -> {
+      final Iterable<IResourceDescription.Delta> changedDeltas = IterableExtensions.<IResourceDescription.Delta>filter(_resourceDeltas_1, _function_2);
+      final Function1<IResourceDescription.Delta, Boolean> _function_3 = (IResourceDescription.Delta it) -> {
+        return Boolean.valueOf((this.request.isIndexOnly() && (it.getNew() instanceof SerializableResourceDescription)));
+      };
+      Iterable<IResourceDescription.Delta> _filter_1 = IterableExtensions.<IResourceDescription.Delta>filter(changedDeltas, _function_3);
+      final List<IResourceDescription.Delta> storedDeltas = IterableExtensions.<IResourceDescription.Delta>toList(_filter_1);
+      final Consumer<IResourceDescription.Delta> _function_4 = (IResourceDescription.Delta it) -> {
+        ResourceDescriptionsData _newIndex = result.getNewIndex();
+        URI _uri = it.getUri();
+        IResourceDescription _new = it.getNew();
+        _newIndex.addDescription(_uri, _new);
+      };
+      storedDeltas.forEach(_function_4);
+      Iterables.<IResourceDescription.Delta>addAll(resolvedDeltas, storedDeltas);
+      final Function1<IResourceDescription.Delta, Boolean> _function_5 = (IResourceDescription.Delta it) -> {
+        boolean _contains = storedDeltas.contains(it);
+        return Boolean.valueOf((!_contains));
+      };
+      Iterable<IResourceDescription.Delta> _filter_2 = IterableExtensions.<IResourceDescription.Delta>filter(changedDeltas, _function_5);
+      final Function1<IResourceDescription.Delta, URI> _function_6 = (IResourceDescription.Delta it) -> {
         return it.getUri();
       };
-      Iterable<URI> _map = IterableExtensions.<IResourceDescription.Delta, URI>map(_filter_1, _function_3);
-      final Function1<Resource, IResourceDescription.Delta> _function_4 = (Resource resource) -> {
+      final Iterable<URI> changedURIs = IterableExtensions.<IResourceDescription.Delta, URI>map(_filter_2, _function_6);
+      boolean _isParallel = this.context.isParallel();
+      if (_isParallel) {
+        final Function1<Resource, IResourceDescription.Delta> _function_7 = (Resource resource) -> {
+          final IResourceDescription.Delta delta = this.resolveAndDescribe(resource);
+          CancelIndicator _cancelIndicator_1 = this.request.getCancelIndicator();
+          this._operationCanceledManager.checkCanceled(_cancelIndicator_1);
+          this.validateAndGenerate(resource, newSource2GeneratedMapping);
+          return delta;
+        };
+        Iterable<IResourceDescription.Delta> _executeParallel = this.context.<IResourceDescription.Delta>executeParallel(changedURIs, _function_7);
+        final List<IResourceDescription.Delta> deltas = IterableExtensions.<IResourceDescription.Delta>toList(_executeParallel);
         CancelIndicator _cancelIndicator_1 = this.request.getCancelIndicator();
         this._operationCanceledManager.checkCanceled(_cancelIndicator_1);
-        resource.getContents();
-        EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
-        CancelIndicator _cancelIndicator_2 = this.request.getCancelIndicator();
-        this._operationCanceledManager.checkCanceled(_cancelIndicator_2);
-        URI _uRI = resource.getURI();
-        final IResourceServiceProvider serviceProvider = this.context.getResourceServiceProvider(_uRI);
-        final IResourceDescription.Manager manager = serviceProvider.getResourceDescriptionManager();
-        final IResourceDescription description = manager.getResourceDescription(resource);
-        final SerializableResourceDescription copiedDescription = SerializableResourceDescription.createCopy(description);
-        ResourceDescriptionsData _newIndex = result.getNewIndex();
-        URI _uRI_1 = resource.getURI();
-        _newIndex.addDescription(_uRI_1, copiedDescription);
-        CancelIndicator _cancelIndicator_3 = this.request.getCancelIndicator();
-        this._operationCanceledManager.checkCanceled(_cancelIndicator_3);
-        if ((((!this.request.isIndexOnly()) && this.validate(resource)) && serviceProvider.<IShouldGenerate>get(IShouldGenerate.class).shouldGenerate(resource, CancelIndicator.NullImpl))) {
-          CancelIndicator _cancelIndicator_4 = this.request.getCancelIndicator();
-          this._operationCanceledManager.checkCanceled(_cancelIndicator_4);
-          this.generate(resource, this.request, newSource2GeneratedMapping);
-        }
-        IndexState _oldState = this.context.getOldState();
-        ResourceDescriptionsData _resourceDescriptions = _oldState.getResourceDescriptions();
-        URI _uRI_2 = resource.getURI();
-        final IResourceDescription old = _resourceDescriptions.getResourceDescription(_uRI_2);
-        return manager.createDelta(old, copiedDescription);
-      };
-      Iterable<IResourceDescription.Delta> _executeClustered = this.context.<IResourceDescription.Delta>executeClustered(_map, _function_4);
-      Iterables.<IResourceDescription.Delta>addAll(resolvedDeltas, _executeClustered);
+        final Consumer<IResourceDescription.Delta> _function_8 = (IResourceDescription.Delta it) -> {
+          ResourceDescriptionsData _newIndex = result.getNewIndex();
+          URI _uri = it.getUri();
+          IResourceDescription _new = it.getNew();
+          _newIndex.addDescription(_uri, _new);
+        };
+        deltas.forEach(_function_8);
+        Iterables.<IResourceDescription.Delta>addAll(resolvedDeltas, deltas);
+      } else {
+        final Function1<Resource, IResourceDescription.Delta> _function_9 = (Resource resource) -> {
+          final IResourceDescription.Delta delta = this.resolveAndDescribe(resource);
+          ResourceDescriptionsData _newIndex = result.getNewIndex();
+          URI _uri = delta.getUri();
+          IResourceDescription _new = delta.getNew();
+          _newIndex.addDescription(_uri, _new);
+          CancelIndicator _cancelIndicator_2 = this.request.getCancelIndicator();
+          this._operationCanceledManager.checkCanceled(_cancelIndicator_2);
+          this.validateAndGenerate(resource, newSource2GeneratedMapping);
+          return delta;
+        };
+        Iterable<IResourceDescription.Delta> _executeClustered = this.context.<IResourceDescription.Delta>executeClustered(changedURIs, _function_9);
+        Iterables.<IResourceDescription.Delta>addAll(resolvedDeltas, _executeClustered);
+      }
       IndexState _state_1 = this.request.getState();
       return new IncrementalBuilder.Result(_state_1, resolvedDeltas);
     }
     
+    /**
+     * Resolves all cross references of the given resource and computes the delta to its previous description.
+     * 
+     * @since 2.11
+     */
+    protected IResourceDescription.Delta resolveAndDescribe(final Resource resource) {
+      CancelIndicator _cancelIndicator = this.request.getCancelIndicator();
+      this._operationCanceledManager.checkCanceled(_cancelIndicator);
+      resource.getContents();
+      EcoreUtil2.resolveLazyCrossReferences(resource, CancelIndicator.NullImpl);
+      CancelIndicator _cancelIndicator_1 = this.request.getCancelIndicator();
+      this._operationCanceledManager.checkCanceled(_cancelIndicator_1);
+      URI _uRI = resource.getURI();
+      final IResourceServiceProvider serviceProvider = this.context.getResourceServiceProvider(_uRI);
+      final IResourceDescription.Manager manager = serviceProvider.getResourceDescriptionManager();
+      final IResourceDescription description = manager.getResourceDescription(resource);
+      final SerializableResourceDescription copiedDescription = SerializableResourceDescription.createCopy(description);
+      IndexState _oldState = this.context.getOldState();
+      ResourceDescriptionsData _resourceDescriptions = _oldState.getResourceDescriptions();
+      URI _uRI_1 = resource.getURI();
+      final IResourceDescription old = _resourceDescriptions.getResourceDescription(_uRI_1);
+      return manager.createDelta(old, copiedDescription);
+    }
+    
+    /**
+     * @since 2.11
+     */
+    protected void validateAndGenerate(final Resource resource, final Source2GeneratedMapping newMappings) {
+      if ((((!this.request.isIndexOnly()) && (this.request.isSkipValidation() || this.validate(resource))) && this.context.getResourceServiceProvider(resource.getURI()).<IShouldGenerate>get(IShouldGenerate.class).shouldGenerate(resource, CancelIndicator.NullImpl))) {
+        CancelIndicator _cancelIndicator = this.request.getCancelIndicator();
+        this._operationCanceledManager.checkCanceled(_cancelIndicator);
+        this.generate(resource, this.request, newMappings);
+      }
+    }
+    
     protected boolean validate(final Resource resource) {
       URI _uRI = resource.getURI();
       IResourceServiceProvider _resourceServiceProvider = this.context.getResourceServiceProvider(_uRI);
@@ -265,9 +326,11 @@ public class IncrementalBuilder {
       String _plus_1 = (_plus + "\'");
       IncrementalBuilder.InternalStatefulIncrementalBuilder.LOG.info(_plus_1);
       final List<Issue> validationResult = resourceValidator.validate(resource, CheckMode.ALL, null);
-      BuildRequest.IPostValidationCallback _afterValidate = this.request.getAfterValidate();
-      URI _uRI_2 = resource.getURI();
-      return _afterValidate.afterValidate(_uRI_2, validationResult);
+      synchronized (this.request) {
+        BuildRequest.IPostValidationCallback _afterValidate = this.request.getAfterValidate();
+        URI _uRI_2 = resource.getURI();
+        return _afterValidate.afterValidate(_uRI_2, validationResult);
+      }
     }
     
     protected void generate(final Resource resource, final BuildRequest request, final Source2GeneratedMapping newMappings) {
@@ -278,24 +341,32 @@ public class IncrementalBuilder {
       if (_equals) {
         return;
       }
-      URI _uRI_1 = resource.getURI();
-      final Set<URI> previous = newMappings.deleteSource(_uRI_1);
+      Set<URI> _xsynchronizedexpression = null;
+      synchronized (request) {
+        URI _uRI_1 = resource.getURI();
+        _xsynchronizedexpression = newMappings.deleteSource(_uRI_1);
+      }
+      final Set<URI> previous = _xsynchronizedexpression;
       URIBasedFileSystemAccess _createFileSystemAccess = this.createFileSystemAccess(serviceProvider, resource);
       final Procedure1<URIBasedFileSystemAccess> _function = (URIBasedFileSystemAccess it) -> {
         final URIBasedFileSystemAccess.BeforeWrite _function_1 = (URI uri, String outputCfgName, InputStream contents) -> {
-          URI _uRI_2 = resource.getURI();
-          newMappings.addSource2Generated(_uRI_2, uri, outputCfgName);
-          previous.remove(uri);
-          Procedure2<? super URI, ? super URI> _afterGenerateFile = request.getAfterGenerateFile();
-          URI _uRI_3 = resource.getURI();
-          _afterGenerateFile.apply(_uRI_3, uri);
+          synchronized (request) {
+            URI _uRI_2 = resource.getURI();
+            newMappings.addSource2Generated(_uRI_2, uri, outputCfgName);
+            previous.remove(uri);
+            Procedure2<? super URI, ? super URI> _afterGenerateFile = request.getAfterGenerateFile();
+            URI _uRI_3 = resource.getURI();
+            _afterGenerateFile.apply(_uRI_3, uri);
+          }
           return contents;
         };
         it.setBeforeWrite(_function_1);
         final URIBasedFileSystemAccess.BeforeDelete _function_2 = (URI uri) -> {
-          newMappings.deleteGenerated(uri);
-          Procedure1<? super URI> _afterDeleteFile = request.getAfterDeleteFile();
-          _afterDeleteFile.apply(uri);
+          synchronized (request) {
+            newMappings.deleteGenerated(uri);
+            Procedure1<? super URI> _afterDeleteFile = request.getAfterDeleteFile();
+            _afterDeleteFile.apply(uri);
+          }
           return true;
         };
         it.setBeforeDelete(_function_2);
@@ -326,8 +397,10 @@ public class IncrementalBuilder {
           URIConverter _uRIConverter = _resourceSet.getURIConverter();
           Map<Object, Object> _emptyMap = CollectionLiterals.<Object, Object>emptyMap();
           _uRIConverter.delete(it, _emptyMap);
-          Procedure1<? super URI> _afterDeleteFile = request.getAfterDeleteFile();
-          _afterDeleteFile.apply(it);
+          synchronized (request) {
+            Procedure1<? super URI> _afterDeleteFile = request.getAfterDeleteFile();
+            _afterDeleteFile.apply(it);
+          }
         } catch (Throwable _e) {
           throw Exceptions.sneakyThrow(_e);
         }
@@ -423,6 +496,13 @@ public class IncrementalBuilder {
       final IndexState oldState = new IndexState(_copy, _copy_1);
       CancelIndicator _cancelIndicator = request.getCancelIndicator();
       final BuildContext context = new BuildContext(languages, resourceSet, oldState, clusteringPolicy, _cancelIndicator);
+      boolean _isParallel = request.isParallel();
+      if (_isParallel) {
+        int _parallelism = request.getParallelism();
+        Function0<? extends XtextResourceSet> _resourceSetFactory = request.getResourceSetFactory();
+        ParallelResourceLoader _parallelResourceLoader = new ParallelResourceLoader(context, _parallelism, _resourceSetFactory);
+        context.setParallelLoader(_parallelResourceLoader);
+      }
       final IncrementalBuilder.InternalStatefulIncrementalBuilder builder = this.provider.get();
       builder.context = context;
       builder.request = request;
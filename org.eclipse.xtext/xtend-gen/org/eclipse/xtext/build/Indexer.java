@@ -9,6 +9,7 @@ package org.eclipse.xtext.build;
 
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import com.google.inject.Inject;
 import java.util.ArrayList;
@@ -25,6 +26,7 @@ import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.xtend.lib.annotations.AccessorType;
 import org.eclipse.xtend.lib.annotations.Accessors;
@@ -33,6 +35,7 @@ import org.eclipse.xtend2.lib.StringConcatenation;
 import org.eclipse.xtext.build.BuildContext;
 import org.eclipse.xtext.build.BuildRequest;
 import org.eclipse.xtext.build.IndexState;
+import org.eclipse.xtext.build.ParallelResourceLoader;
 import org.eclipse.xtext.naming.QualifiedName;
 import org.eclipse.xtext.resource.CompilerPhases;
 import org.eclipse.xtext.resource.EObjectDescription;
@@ -41,16 +44,24 @@ import org.eclipse.xtext.resource.IReferenceDescription;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.IResourceServiceProviderExtension;
 import org.eclipse.xtext.resource.XtextResourceSet;
 import org.eclipse.xtext.resource.impl.AbstractResourceDescription;
 import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionDelta;
+import org.eclipse.xtext.resource.impl.DefaultResourceDescriptionManager;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
+import org.eclipse.xtext.resource.persistence.IResourceStorageFacade;
+import org.eclipse.xtext.resource.persistence.ResourceStorageFacade;
+import org.eclipse.xtext.resource.persistence.StorageAwareResourceDescriptionManager;
 import org.eclipse.xtext.service.OperationCanceledManager;
 import org.eclipse.xtext.util.CancelIndicator;
 import org.eclipse.xtext.util.internal.Log;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.Extension;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.Functions.Function2;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
 import org.eclipse.xtext.xbase.lib.ListExtensions;
 import org.eclipse.xtext.xbase.lib.Pure;
@@ -234,9 +245,6 @@ public class Indexer {
     List<URI> _dirtyFiles_1 = request.getDirtyFiles();
     List<IResourceDescription.Delta> _deltasForChangedResources = this.getDeltasForChangedResources(_dirtyFiles_1, previousIndex, context);
     deltas.addAll(_deltasForChangedResources);
-    for (final IResourceDescription.Delta delta : deltas) {
-      newIndex.register(delta);
-    }
     final HashSet<IResourceDescription.Delta> allDeltas = new HashSet<IResourceDescription.Delta>(deltas);
     List<IResourceDescription.Delta> _externalDeltas = request.getExternalDeltas();
     boolean _isEmpty = _externalDeltas.isEmpty();
@@ -256,14 +264,31 @@ public class Indexer {
     };
     List<URI> _map_1 = ListExtensions.<IResourceDescription.Delta, URI>map(deltas, _function_1);
     remainingURIs.removeAll(_map_1);
+    Set<URI> _xifexpression = null;
     final Function1<URI, Boolean> _function_2 = (URI it) -> {
+      IResourceServiceProvider _resourceServiceProvider = context.getResourceServiceProvider(it);
+      IResourceDescription.Manager _resourceDescriptionManager = _resourceServiceProvider.getResourceDescriptionManager();
+      return Boolean.valueOf(this.canSkipNonDependents(_resourceDescriptionManager));
+    };
+    boolean _exists = IterableExtensions.<URI>exists(remainingURIs, _function_2);
+    if (_exists) {
+      _xifexpression = newIndex.getDependentURIs(allDeltas);
+    }
+    final Set<URI> dependents = _xifexpression;
+    for (final IResourceDescription.Delta delta : deltas) {
+      newIndex.register(delta);
+    }
+    final Function1<URI, Boolean> _function_3 = (URI it) -> {
       IResourceServiceProvider _resourceServiceProvider = context.getResourceServiceProvider(it);
       final IResourceDescription.Manager manager = _resourceServiceProvider.getResourceDescriptionManager();
+      if ((((dependents != null) && (!dependents.contains(it))) && this.canSkipNonDependents(manager))) {
+        return Boolean.valueOf(false);
+      }
       final IResourceDescription resourceDescription = previousIndex.getResourceDescription(it);
       final boolean isAffected = this.isAffected(resourceDescription, manager, allDeltas, allDeltas, newIndex);
       return Boolean.valueOf(isAffected);
     };
-    Iterable<URI> _filter = IterableExtensions.<URI>filter(remainingURIs, _function_2);
+    Iterable<URI> _filter = IterableExtensions.<URI>filter(remainingURIs, _function_3);
     final List<URI> allAffected = IterableExtensions.<URI>toList(_filter);
     if ((Indexer.LOG.isInfoEnabled() && (!allAffected.isEmpty()))) {
       Set<URI> _set_2 = IterableExtensions.<URI>toSet(allAffected);
@@ -303,14 +328,56 @@ public class Indexer {
   }
   
   protected List<IResourceDescription.Delta> getDeltasForChangedResources(final Iterable<URI> affectedUris, final ResourceDescriptionsData oldIndex, @Extension final BuildContext context) {
+    final List<IResourceDescription.Delta> deltas = CollectionLiterals.<IResourceDescription.Delta>newArrayList();
+    final List<URI> urisToLoad = CollectionLiterals.<URI>newArrayList();
+    for (final URI uri : affectedUris) {
+      {
+        final IResourceDescription.Delta delta = this.addToIndexFromStorage(uri, oldIndex, context);
+        if ((delta != null)) {
+          deltas.add(delta);
+        } else {
+          urisToLoad.add(uri);
+        }
+      }
+    }
+    boolean _isParallel = context.isParallel();
+    if (_isParallel) {
+      final Function1<URI, Boolean> _function = (URI it) -> {
+        IResourceServiceProvider _resourceServiceProvider = context.getResourceServiceProvider(it);
+        return Boolean.valueOf((!Objects.equal(_resourceServiceProvider, null)));
+      };
+      final Iterable<URI> uris = IterableExtensions.<URI>filter(urisToLoad, _function);
+      ParallelResourceLoader _parallelLoader = context.getParallelLoader();
+      final Function1<Resource, IResourceDescription.Delta> _function_1 = (Resource it) -> {
+        return this.addToIndex(it, true, oldIndex, context);
+      };
+      final Function2<XtextResourceSet, Function0<? extends IResourceDescription.Delta>, IResourceDescription.Delta> _function_2 = (XtextResourceSet workerResourceSet, Function0<? extends IResourceDescription.Delta> load) -> {
+        IResourceDescription.Delta _xblockexpression = null;
+        {
+          this.compilerPhases.setIndexing(workerResourceSet, true);
+          IResourceDescription.Delta _xtrycatchfinallyexpression = null;
+          try {
+            _xtrycatchfinallyexpression = load.apply();
+          } finally {
+            this.compilerPhases.setIndexing(workerResourceSet, false);
+          }
+          _xblockexpression = _xtrycatchfinallyexpression;
+        }
+        return _xblockexpression;
+      };
+      Iterable<IResourceDescription.Delta> _executeParallel = _parallelLoader.<IResourceDescription.Delta>executeParallel(uris, _function_1, _function_2);
+      Iterables.<IResourceDescription.Delta>addAll(deltas, _executeParallel);
+      return deltas;
+    }
     try {
       XtextResourceSet _resourceSet = context.getResourceSet();
       this.compilerPhases.setIndexing(_resourceSet, true);
       final Function1<Resource, IResourceDescription.Delta> _function = (Resource it) -> {
         return this.addToIndex(it, true, oldIndex, context);
       };
-      Iterable<IResourceDescription.Delta> _executeClustered = context.<IResourceDescription.Delta>executeClustered(affectedUris, _function);
-      return IterableExtensions.<IResourceDescription.Delta>toList(_executeClustered);
+      Iterable<IResourceDescription.Delta> _executeClustered = context.<IResourceDescription.Delta>executeClustered(urisToLoad, _function);
+      Iterables.<IResourceDescription.Delta>addAll(deltas, _executeClustered);
+      return deltas;
     } finally {
       XtextResourceSet _resourceSet_1 = context.getResourceSet();
       this.compilerPhases.setIndexing(_resourceSet_1, false);
@@ -333,6 +400,68 @@ public class Indexer {
     return delta;
   }
   
+  /**
+   * Reads the description of a library resource from the storage next to it, e.g. in a jar, without loading the
+   * resource. This only applies to languages whose description manager returns the stored description of a
+   * resource that is loaded from storage, thus the delta is the same as if the resource was loaded.
+   * 
+   * @return the delta or <code>null</code> if the resource has to be loaded.
+   * @since 2.11
+   */
+  protected IResourceDescription.Delta addToIndexFromStorage(final URI uri, final ResourceDescriptionsData oldIndex, final BuildContext context) {
+    try {
+      final IResourceServiceProvider serviceProvider = context.getResourceServiceProvider(uri);
+      if ((((!(serviceProvider instanceof IResourceServiceProviderExtension)) || ((IResourceServiceProviderExtension) serviceProvider).isSource(uri)) || (context.getResourceSet().getResource(uri, false) != null))) {
+        return null;
+      }
+      final IResourceDescription.Manager manager = serviceProvider.getResourceDescriptionManager();
+      final IResourceStorageFacade storageFacade = serviceProvider.<IResourceStorageFacade>get(IResourceStorageFacade.class);
+      if (((!(manager instanceof StorageAwareResourceDescriptionManager)) || (!(storageFacade instanceof ResourceStorageFacade)))) {
+        return null;
+      }
+      CancelIndicator _cancelIndicator = context.getCancelIndicator();
+      this._operationCanceledManager.checkCanceled(_cancelIndicator);
+      XtextResourceSet _resourceSet = context.getResourceSet();
+      URIConverter _uRIConverter = _resourceSet.getURIConverter();
+      final IResourceDescription description = ((ResourceStorageFacade) storageFacade).loadResourceDescription(uri, _uRIConverter);
+      if ((description == null)) {
+        return null;
+      }
+      IResourceDescription _resourceDescription = null;
+      if (oldIndex!=null) {
+        _resourceDescription=oldIndex.getResourceDescription(uri);
+      }
+      return manager.createDelta(_resourceDescription, description);
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
+  /**
+   * Whether candidates that neither import a name exported by a delta nor refer to a changed resource are never
+   * affected from the perspective of the given manager.
+   * 
+   * @since 2.11
+   */
+  protected boolean canSkipNonDependents(final IResourceDescription.Manager manager) {
+    boolean _switchResult = false;
+    boolean _matched = false;
+    if (manager instanceof IResourceDescription.Manager.AllChangeAware) {
+      _matched=true;
+      _switchResult = false;
+    }
+    if (!_matched) {
+      if (manager instanceof DefaultResourceDescriptionManager) {
+        _matched=true;
+        _switchResult = ((DefaultResourceDescriptionManager)manager).isAffectedByDependenciesOnly();
+      }
+    }
+    if (!_matched) {
+      _switchResult = false;
+    }
+    return _switchResult;
+  }
+  
   protected boolean isAffected(final IResourceDescription affectionCandidate, final IResourceDescription.Manager manager, final Collection<IResourceDescription.Delta> newDeltas, final Collection<IResourceDescription.Delta> allDeltas, final IResourceDescriptions resourceDescriptions) {
     if ((manager instanceof IResourceDescription.Manager.AllChangeAware)) {
       return ((IResourceDescription.Manager.AllChangeAware)manager).isAffectedByAny(allDeltas, affectionCandidate, resourceDescriptions);
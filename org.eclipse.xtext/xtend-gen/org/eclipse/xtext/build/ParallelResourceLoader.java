@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2016 itemis AG (http://www.itemis.eu) and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.xtext.build;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.xtend.lib.annotations.AccessorType;
+import org.eclipse.xtend.lib.annotations.Accessors;
+import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
+import org.eclipse.xtext.build.BuildContext;
+import org.eclipse.xtext.resource.IResourceServiceProvider;
+import org.eclipse.xtext.resource.IResourceServiceProviderExtension;
+import org.eclipse.xtext.resource.XtextResourceSet;
+import org.eclipse.xtext.resource.clustering.IResourceClusteringPolicy;
+import org.eclipse.xtext.resource.persistence.SourceLevelURIsAdapter;
+import org.eclipse.xtext.resource.persistence.StorageAwareResource;
+import org.eclipse.xtext.util.internal.Log;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
+import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Extension;
+import org.eclipse.xtext.xbase.lib.Functions.Function0;
+import org.eclipse.xtext.xbase.lib.Functions.Function1;
+import org.eclipse.xtext.xbase.lib.Functions.Function2;
+import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.Pure;
+
+/**
+ * Loads and processes resources on a work-stealing {@link ForkJoinPool}.
+ * 
+ * A resource set is never used by two tasks at the same time. Each task borrows one from a pool
+ * that grows up to the configured parallelism. The resource sets are kept across invocations, such that
+ * resources loaded during indexing can be reused when they are resolved. The clustering policy of the
+ * build context is applied per resource set.
+ * 
+ * @since 2.11
+ */
+@FinalFieldsConstructor
+@Log
+@SuppressWarnings("all")
+public class ParallelResourceLoader {
+  private final static int TERMINATION_TIMEOUT_SECONDS = 30;
+  
+  @Extension
+  private final BuildContext context;
+  
+  @Accessors(AccessorType.PUBLIC_GETTER)
+  private final int parallelism;
+  
+  private final Function0<? extends XtextResourceSet> resourceSetFactory;
+  
+  private final Queue<XtextResourceSet> idleResourceSets = new ConcurrentLinkedQueue<XtextResourceSet>();
+  
+  public <T extends Object> List<T> executeParallel(final Iterable<URI> uris, final Function1<? super Resource, ? extends T> operation) {
+    final Function2<XtextResourceSet, Function0<? extends T>, T> _function = (XtextResourceSet resourceSet, Function0<? extends T> load) -> {
+      return load.apply();
+    };
+    return this.<T>executeParallel(uris, operation, _function);
+  }
+  
+  /**
+   * Processes the given resources and returns the results in the order of the URIs. If a task fails or the build
+   * is cancelled, the remaining tasks are cancelled and the tasks that are already running are awaited before the
+   * exception is rethrown, thus no worker outlives this method.
+   * 
+   * @param around
+   *            is invoked on the worker thread with the borrowed resource set and a function that loads and
+   *            processes the resource, e.g. to configure the resource set before the resource is loaded.
+   */
+  public <T extends Object> List<T> executeParallel(final Iterable<URI> uris, final Function1<? super Resource, ? extends T> operation, final Function2<? super XtextResourceSet, ? super Function0<? extends T>, ? extends T> around) {
+    final Function1<URI, Boolean> _function = (URI it) -> {
+      return Boolean.valueOf(this.isSource(it));
+    };
+    Iterable<URI> _filter = IterableExtensions.<URI>filter(uris, _function);
+    final ImmutableSet<URI> sourceLevelURIs = ImmutableSet.<URI>copyOf(_filter);
+    final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+    final ArrayList<ForkJoinTask<T>> tasks = CollectionLiterals.<ForkJoinTask<T>>newArrayList();
+    try {
+      for (final URI uri : uris) {
+        {
+          final Callable<T> _function_1 = () -> {
+            return this.<T>process(uri, sourceLevelURIs, operation, around);
+          };
+          final Callable<T> callable = _function_1;
+          ForkJoinTask<T> _adapt = ForkJoinTask.<T>adapt(callable);
+          ForkJoinTask<T> _submit = pool.<T>submit(_adapt);
+          tasks.add(_submit);
+        }
+      }
+      final ArrayList<T> result = CollectionLiterals.<T>newArrayList();
+      for (final ForkJoinTask<T> task : tasks) {
+        T _join = task.join();
+        result.add(_join);
+      }
+      return result;
+    } finally {
+      for (final ForkJoinTask<T> pending : tasks) {
+        pending.cancel(false);
+      }
+      pool.shutdownNow();
+      this.awaitTermination(pool);
+    }
+  }
+  
+  /**
+   * Waits until the tasks that are still running have finished. They check the cancel indicator of the build, thus
+   * after a cancellation this takes no longer than processing one resource per worker.
+   */
+  protected void awaitTermination(final ForkJoinPool pool) {
+    try {
+      boolean _awaitTermination = pool.awaitTermination(ParallelResourceLoader.TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      boolean _not = (!_awaitTermination);
+      if (_not) {
+        ParallelResourceLoader.LOG.warn((("The parallel build did not terminate within " + Integer.valueOf(ParallelResourceLoader.TERMINATION_TIMEOUT_SECONDS)) + " seconds."));
+      }
+    } catch (final Throwable _t) {
+      if (_t instanceof InterruptedException) {
+        final InterruptedException e = (InterruptedException)_t;
+        Thread.currentThread().interrupt();
+      } else {
+        throw Exceptions.sneakyThrow(_t);
+      }
+    }
+  }
+  
+  protected <T extends Object> T process(final URI uri, final ImmutableSet<URI> sourceLevelURIs, final Function1<? super Resource, ? extends T> operation, final Function2<? super XtextResourceSet, ? super Function0<? extends T>, ? extends T> around) {
+    XtextResourceSet _elvis = null;
+    XtextResourceSet _poll = this.idleResourceSets.poll();
+    if (_poll != null) {
+      _elvis = _poll;
+    } else {
+      XtextResourceSet _apply = this.resourceSetFactory.apply();
+      _elvis = _apply;
+    }
+    final XtextResourceSet resourceSet = _elvis;
+    try {
+      IResourceClusteringPolicy _clusteringPolicy = this.context.getClusteringPolicy();
+      EList<Resource> _resources = resourceSet.getResources();
+      int _size = _resources.size();
+      boolean _continueProcessing = _clusteringPolicy.continueProcessing(resourceSet, uri, _size);
+      boolean _not = (!_continueProcessing);
+      if (_not) {
+        this.clearResourceSet(resourceSet);
+      }
+      SourceLevelURIsAdapter.setSourceLevelUris(resourceSet, sourceLevelURIs);
+      boolean _contains = sourceLevelURIs.contains(uri);
+      if (_contains) {
+        final Resource existingResource = resourceSet.getResource(uri, false);
+        if ((existingResource instanceof StorageAwareResource)) {
+          boolean _isLoadedFromStorage = ((StorageAwareResource)existingResource).isLoadedFromStorage();
+          if (_isLoadedFromStorage) {
+            ((StorageAwareResource)existingResource).unload();
+          }
+        }
+      }
+      final Function0<T> _function = () -> {
+        Resource _resource = resourceSet.getResource(uri, true);
+        return operation.apply(_resource);
+      };
+      return around.apply(resourceSet, _function);
+    } finally {
+      this.idleResourceSets.add(resourceSet);
+    }
+  }
+  
+  protected boolean isSource(final URI uri) {
+    final IResourceServiceProvider provider = this.context.getResourceServiceProvider(uri);
+    return ((provider instanceof IResourceServiceProviderExtension) && 
+      ((IResourceServiceProviderExtension) provider).isSource(uri));
+  }
+  
+  protected void clearResourceSet(final XtextResourceSet resourceSet) {
+    final boolean wasDeliver = resourceSet.eDeliver();
+    try {
+      resourceSet.eSetDeliver(false);
+      EList<Resource> _resources = resourceSet.getResources();
+      _resources.clear();
+    } finally {
+      resourceSet.eSetDeliver(wasDeliver);
+    }
+  }
+  
+  private final static Logger LOG = Logger.getLogger(ParallelResourceLoader.class);
+  
+  public ParallelResourceLoader(final BuildContext context, final int parallelism, final Function0<? extends XtextResourceSet> resourceSetFactory) {
+    super();
+    this.context = context;
+    this.parallelism = parallelism;
+    this.resourceSetFactory = resourceSetFactory;
+  }
+  
+  @Pure
+  public int getParallelism() {
+    return this.parallelism;
+  }
+}
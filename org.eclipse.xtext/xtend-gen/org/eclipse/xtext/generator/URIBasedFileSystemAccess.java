@@ -16,6 +16,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Map;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.URIConverter;
@@ -86,6 +87,14 @@ public class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
     return $1;
   });
   
+  /**
+   * If set, generated files and their traces are only written if their contents differ from the existing files,
+   * thus the time stamps of unchanged files are kept.
+   * @since 2.11
+   */
+  @Accessors
+  private boolean skipUnchangedFiles = false;
+  
   @Override
   public void setPostProcessor(final IFilePostProcessor filePostProcessor) {
     super.setPostProcessor(filePostProcessor);
@@ -152,6 +161,21 @@ public class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
   public void generateFile(final String fileName, final String outputCfgName, final InputStream content) throws RuntimeIOException {
     try {
       final URI uri = this.getURI(fileName, outputCfgName);
+      if (this.skipUnchangedFiles) {
+        InputStream _beforeWrite = this.beforeWrite.beforeWrite(uri, outputCfgName, content);
+        final byte[] processedBytes = ByteStreams.toByteArray(_beforeWrite);
+        boolean _hasContents = this.hasContents(uri, processedBytes);
+        boolean _not = (!_hasContents);
+        if (_not) {
+          final OutputStream changedOut = this.converter.createOutputStream(uri);
+          try {
+            changedOut.write(processedBytes);
+          } finally {
+            changedOut.close();
+          }
+        }
+        return;
+      }
       final OutputStream out = this.converter.createOutputStream(uri);
       try {
         final InputStream processedContent = this.beforeWrite.beforeWrite(uri, outputCfgName, content);
@@ -164,6 +188,29 @@ public class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
     }
   }
   
+  /**
+   * @return <code>true</code> if the file exists and has exactly the given contents.
+   * @since 2.11
+   */
+  protected boolean hasContents(final URI uri, final byte[] contents) {
+    try {
+      boolean _exists = this.converter.exists(uri, CollectionLiterals.<Object, Object>emptyMap());
+      boolean _not = (!_exists);
+      if (_not) {
+        return false;
+      }
+      final InputStream input = this.converter.createInputStream(uri);
+      try {
+        byte[] _byteArray = ByteStreams.toByteArray(input);
+        return Arrays.equals(_byteArray, contents);
+      } finally {
+        input.close();
+      }
+    } catch (Throwable _e) {
+      throw Exceptions.sneakyThrow(_e);
+    }
+  }
+  
   @Override
   public InputStream readBinaryFile(final String fileName, final String outputCfgName) throws RuntimeIOException {
     try {
@@ -268,4 +315,13 @@ public class URIBasedFileSystemAccess extends AbstractFileSystemAccess2 {
   public void setBeforeRead(final URIBasedFileSystemAccess.BeforeRead beforeRead) {
     this.beforeRead = beforeRead;
   }
+  
+  @Pure
+  public boolean isSkipUnchangedFiles() {
+    return this.skipUnchangedFiles;
+  }
+  
+  public void setSkipUnchangedFiles(final boolean skipUnchangedFiles) {
+    this.skipUnchangedFiles = skipUnchangedFiles;
+  }
 }
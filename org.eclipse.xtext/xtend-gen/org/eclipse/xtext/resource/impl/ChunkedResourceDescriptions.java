@@ -10,19 +10,20 @@ package org.eclipse.xtext.resource.impl;
 import com.google.common.annotations.Beta;
 import com.google.common.base.Objects;
 import com.google.common.collect.Iterables;
+import java.io.ByteArrayOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
-import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Consumer;
 import org.eclipse.emf.common.notify.Adapter;
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.notify.impl.AdapterImpl;
@@ -33,10 +34,12 @@ import org.eclipse.xtext.resource.IResourceDescriptions;
 import org.eclipse.xtext.resource.ISelectable;
 import org.eclipse.xtext.resource.containers.ProjectDescriptionBasedContainerManager;
 import org.eclipse.xtext.resource.impl.AbstractCompoundSelectable;
+import org.eclipse.xtext.resource.impl.MappedResourceDescriptions;
+import org.eclipse.xtext.resource.impl.MappedResourceDescriptionsData;
+import org.eclipse.xtext.resource.impl.MappedResourceDescriptionsWriter;
 import org.eclipse.xtext.resource.impl.ResourceDescriptionsData;
-import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
 import org.eclipse.xtext.util.internal.EmfAdaptable;
-import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.ExclusiveRange;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
@@ -55,7 +58,7 @@ import org.eclipse.xtext.xbase.lib.IterableExtensions;
 @Beta
 @EmfAdaptable
 @SuppressWarnings("all")
-public class ChunkedResourceDescriptions extends AbstractCompoundSelectable implements IResourceDescriptions, Externalizable {
+public class ChunkedResourceDescriptions extends AbstractCompoundSelectable implements IResourceDescriptions.IReferrersAware, Externalizable {
   public static class ChunkedResourceDescriptionsAdapter extends AdapterImpl {
     private ChunkedResourceDescriptions element;
     
@@ -73,6 +76,12 @@ public class ChunkedResourceDescriptions extends AbstractCompoundSelectable impl
     }
   }
   
+  /**
+   * Marks a stream that holds the chunks in the binary format of the {@link MappedResourceDescriptions}. Streams
+   * that were written by older versions start with the number of chunks instead.
+   */
+  private final static int MAPPED_CHUNKS = (-1);
+  
   protected ConcurrentHashMap<String, ResourceDescriptionsData> chunk2resourceDescriptions = new ConcurrentHashMap<String, ResourceDescriptionsData>();
   
   protected ResourceSet resourceSet;
@@ -179,9 +188,33 @@ public class ChunkedResourceDescriptions extends AbstractCompoundSelectable impl
     return this.chunk2resourceDescriptions.get(containerHandle);
   }
   
+  /**
+   * @since 2.11
+   */
+  @Override
+  public Set<URI> getReferrers(final Collection<URI> targetResources) {
+    final HashSet<URI> result = CollectionLiterals.<URI>newHashSet();
+    Collection<ResourceDescriptionsData> _values = this.chunk2resourceDescriptions.values();
+    for (final ResourceDescriptionsData container : _values) {
+      Set<URI> _referrers = container.getReferrers(targetResources);
+      Iterables.<URI>addAll(result, _referrers);
+    }
+    return result;
+  }
+  
+  /**
+   * Reads the chunks that were written by {@link #writeExternal(ObjectOutput)}. The chunks are kept in direct byte
+   * buffers in the binary format of the {@link MappedResourceDescriptions}, thus the descriptions stay off the heap
+   * and are only decoded on demand. Streams that were written by older versions are read into plain
+   * {@link ResourceDescriptionsData}.
+   */
   @Override
   public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
     final int numChunks = in.readInt();
+    if ((numChunks == ChunkedResourceDescriptions.MAPPED_CHUNKS)) {
+      this.readMappedChunks(in);
+      return;
+    }
     ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, numChunks, true);
     for (final Integer i : _doubleDotLessThan) {
       {
@@ -199,44 +232,60 @@ public class ChunkedResourceDescriptions extends AbstractCompoundSelectable impl
     }
   }
   
+  /**
+   * @since 2.11
+   */
+  protected void readMappedChunks(final ObjectInput in) throws IOException {
+    final int numChunks = in.readInt();
+    final byte[] bytes = new byte[8192];
+    ExclusiveRange _doubleDotLessThan = new ExclusiveRange(0, numChunks, true);
+    for (final Integer i : _doubleDotLessThan) {
+      {
+        final String chunkName = in.readUTF();
+        int _readInt = in.readInt();
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(_readInt);
+        while (buffer.hasRemaining()) {
+          {
+            int _length = bytes.length;
+            int _remaining = buffer.remaining();
+            final int length = Math.min(_length, _remaining);
+            in.readFully(bytes, 0, length);
+            buffer.put(bytes, 0, length);
+          }
+        }
+        buffer.flip();
+        MappedResourceDescriptions _mappedResourceDescriptions = new MappedResourceDescriptions(buffer);
+        MappedResourceDescriptionsData _mappedResourceDescriptionsData = new MappedResourceDescriptionsData(_mappedResourceDescriptions);
+        this.chunk2resourceDescriptions.put(chunkName, _mappedResourceDescriptionsData);
+      }
+    }
+  }
+  
+  /**
+   * Writes the chunks in the binary format of the {@link MappedResourceDescriptions}.
+   */
   @Override
   public void writeExternal(final ObjectOutput out) throws IOException {
     final HashMap<String, ResourceDescriptionsData> copy = new HashMap<String, ResourceDescriptionsData>(this.chunk2resourceDescriptions);
+    out.writeInt(ChunkedResourceDescriptions.MAPPED_CHUNKS);
     Set<Map.Entry<String, ResourceDescriptionsData>> _entrySet = copy.entrySet();
     int _size = _entrySet.size();
     out.writeInt(_size);
     Set<Map.Entry<String, ResourceDescriptionsData>> _entrySet_1 = copy.entrySet();
-    final Consumer<Map.Entry<String, ResourceDescriptionsData>> _function = (Map.Entry<String, ResourceDescriptionsData> it) -> {
-      try {
-        String _key = it.getKey();
+    for (final Map.Entry<String, ResourceDescriptionsData> entry : _entrySet_1) {
+      {
+        String _key = entry.getKey();
         out.writeUTF(_key);
-        ResourceDescriptionsData _value = it.getValue();
-        Iterable<IResourceDescription> _allResourceDescriptions = _value.getAllResourceDescriptions();
-        final Function1<IResourceDescription, Object> _function_1 = (IResourceDescription it_1) -> {
-          Object _xifexpression = null;
-          if ((it_1 instanceof Serializable)) {
-            _xifexpression = ((Object)it_1);
-          } else {
-            _xifexpression = SerializableResourceDescription.createCopy(it_1);
-          }
-          return ((Object)_xifexpression);
-        };
-        final Iterable<Object> descriptions = IterableExtensions.<IResourceDescription, Object>map(_allResourceDescriptions, _function_1);
-        int _size_1 = IterableExtensions.size(descriptions);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MappedResourceDescriptionsWriter _mappedResourceDescriptionsWriter = new MappedResourceDescriptionsWriter();
+        ResourceDescriptionsData _value = entry.getValue();
+        _mappedResourceDescriptionsWriter.write(_value, bytes);
+        int _size_1 = bytes.size();
         out.writeInt(_size_1);
-        final Consumer<Object> _function_2 = (Object it_1) -> {
-          try {
-            out.writeObject(it_1);
-          } catch (Throwable _e) {
-            throw Exceptions.sneakyThrow(_e);
-          }
-        };
-        descriptions.forEach(_function_2);
-      } catch (Throwable _e) {
-        throw Exceptions.sneakyThrow(_e);
+        byte[] _byteArray = bytes.toByteArray();
+        out.write(_byteArray);
       }
-    };
-    _entrySet_1.forEach(_function);
+    }
   }
   
   public static ChunkedResourceDescriptions findInEmfObject(final Notifier emfObject) {
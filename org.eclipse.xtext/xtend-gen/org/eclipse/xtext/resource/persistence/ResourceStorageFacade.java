@@ -31,6 +31,7 @@ import org.eclipse.xtext.generator.AbstractFileSystemAccess2;
 import org.eclipse.xtext.generator.IContextualOutputConfigurationProvider;
 import org.eclipse.xtext.generator.IFileSystemAccessExtension3;
 import org.eclipse.xtext.generator.OutputConfiguration;
+import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.persistence.IResourceStorageFacade;
 import org.eclipse.xtext.resource.persistence.ResourceStorageLoadable;
 import org.eclipse.xtext.resource.persistence.ResourceStorageProviderAdapter;
@@ -70,6 +71,15 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
   @Accessors
   private boolean storeNodeModel = false;
   
+  /**
+   * Whether the node model of a resource that is loaded from storage is deserialized when its parse result is
+   * requested for the first time.
+   * 
+   * @since 2.11
+   */
+  @Accessors
+  private boolean loadNodeModelLazily = false;
+  
   /**
    * @return whether the given resource should be loaded from stored resource state
    */
@@ -169,7 +179,8 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
   @Override
   public ResourceStorageLoadable createResourceStorageLoadable(final InputStream in) {
     boolean _isStoreNodeModel = this.isStoreNodeModel();
-    return new ResourceStorageLoadable(in, _isStoreNodeModel);
+    boolean _isLoadNodeModelLazily = this.isLoadNodeModelLazily();
+    return new ResourceStorageLoadable(in, _isStoreNodeModel, _isLoadNodeModelLazily);
   }
   
   @Override
@@ -236,6 +247,26 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
     return _trimSegments.appendSegment("");
   }
   
+  /**
+   * Reads only the resource description from the storage next to the given resource, i.e. the storage in a jar.
+   * The resource itself is not loaded.
+   * 
+   * @return the stored resource description or <code>null</code> if there is no storage next to the resource.
+   * @since 2.11
+   */
+  public IResourceDescription loadResourceDescription(final URI uri, final URIConverter uriConverter) throws IOException {
+    final URI storageURI = this.getBinaryStorageURI(uri);
+    Map<Object, Object> _emptyMap = CollectionLiterals.<Object, Object>emptyMap();
+    boolean _exists = uriConverter.exists(storageURI, _emptyMap);
+    boolean _not = (!_exists);
+    if (_not) {
+      return null;
+    }
+    InputStream _createInputStream = uriConverter.createInputStream(storageURI);
+    ResourceStorageLoadable _createResourceStorageLoadable = this.createResourceStorageLoadable(_createInputStream);
+    return _createResourceStorageLoadable.loadResourceDescription(uri);
+  }
+  
   @Override
   public boolean hasStorageFor(final URI uri) {
     ExtensibleURIConverterImpl _extensibleURIConverterImpl = new ExtensibleURIConverterImpl();
@@ -260,4 +291,13 @@ public class ResourceStorageFacade implements IResourceStorageFacade {
   public void setStoreNodeModel(final boolean storeNodeModel) {
     this.storeNodeModel = storeNodeModel;
   }
+  
+  @Pure
+  public boolean isLoadNodeModelLazily() {
+    return this.loadNodeModelLazily;
+  }
+  
+  public void setLoadNodeModelLazily(final boolean loadNodeModelLazily) {
+    this.loadNodeModelLazily = loadNodeModelLazily;
+  }
 }
@@ -7,13 +7,17 @@
  */
 package org.eclipse.xtext.resource.persistence;
 
+import com.google.common.base.Objects;
+import com.google.common.io.ByteStreams;
 import com.google.common.io.CharStreams;
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.util.Map;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.EList;
@@ -23,20 +27,21 @@ import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.URIConverter;
 import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
-import org.eclipse.xtend.lib.annotations.FinalFieldsConstructor;
 import org.eclipse.xtext.nodemodel.impl.SerializableNodeModel;
 import org.eclipse.xtext.nodemodel.serialization.DeserializationConversionContext;
 import org.eclipse.xtext.parser.ParseResult;
+import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.persistence.SerializableResourceDescription;
 import org.eclipse.xtext.resource.persistence.StorageAwareResource;
+import org.eclipse.xtext.util.RuntimeIOException;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 
 /**
  * @author Sven Efftinge - Initial contribution and API
  */
-@FinalFieldsConstructor
 @SuppressWarnings("all")
 public class ResourceStorageLoadable {
   private final static Logger LOG = Logger.getLogger(ResourceStorageLoadable.class);
@@ -45,6 +50,51 @@ public class ResourceStorageLoadable {
   
   private final boolean storeNodeModel;
   
+  private final boolean loadNodeModelLazily;
+  
+  public ResourceStorageLoadable(final InputStream in, final boolean storeNodeModel) {
+    this(in, storeNodeModel, false);
+  }
+  
+  /**
+   * @param loadNodeModelLazily whether the node model is deserialized when the parse result of the resource is
+   *            requested for the first time, rather than when the resource is loaded.
+   * @since 2.11
+   */
+  public ResourceStorageLoadable(final InputStream in, final boolean storeNodeModel, final boolean loadNodeModelLazily) {
+    this.in = in;
+    this.storeNodeModel = storeNodeModel;
+    this.loadNodeModelLazily = loadNodeModelLazily;
+  }
+  
+  /**
+   * Reads only the resource description from the storage, e.g. to index a resource. The preceding EMF contents
+   * are skipped without being deserialized.
+   * 
+   * @return the resource description or <code>null</code> if the storage doesn't contain one.
+   * @since 2.11
+   */
+  public IResourceDescription loadResourceDescription(final URI resourceURI) throws IOException {
+    final ZipInputStream zin = new ZipInputStream(this.in);
+    try {
+      ZipEntry entry = zin.getNextEntry();
+      while ((!Objects.equal(entry, null))) {
+        {
+          String _name = entry.getName();
+          boolean _equals = Objects.equal(_name, "resource-description");
+          if (_equals) {
+            return this.readResourceDescription(resourceURI, zin);
+          }
+          ZipEntry _nextEntry = zin.getNextEntry();
+          entry = _nextEntry;
+        }
+      }
+      return null;
+    } finally {
+      zin.close();
+    }
+  }
+  
   protected void loadIntoResource(final StorageAwareResource resource) throws IOException {
     boolean _isLoadedFromStorage = resource.isLoadedFromStorage();
     boolean _not = (!_isLoadedFromStorage);
@@ -102,41 +152,99 @@ public class ResourceStorageLoadable {
   }
   
   protected void readResourceDescription(final StorageAwareResource resource, final InputStream inputStream) throws IOException {
+    URI _uRI = resource.getURI();
+    SerializableResourceDescription _readResourceDescription = this.readResourceDescription(_uRI, inputStream);
+    resource.setResourceDescription(_readResourceDescription);
+  }
+  
+  /**
+   * @since 2.11
+   */
+  protected SerializableResourceDescription readResourceDescription(final URI resourceURI, final InputStream inputStream) throws IOException {
     try {
       final ObjectInputStream objectIn = new ObjectInputStream(inputStream);
       Object _readObject = objectIn.readObject();
       final SerializableResourceDescription description = ((SerializableResourceDescription) _readObject);
-      URI _uRI = resource.getURI();
-      description.updateResourceURI(_uRI);
-      resource.setResourceDescription(description);
+      description.updateResourceURI(resourceURI);
+      return description;
     } catch (Throwable _e) {
       throw Exceptions.sneakyThrow(_e);
     }
   }
   
+  /**
+   * Reads the node model. The source text and the semantic objects it refers to are captured right away, even if
+   * the node model is loaded lazily.
+   */
   protected void readNodeModel(final StorageAwareResource resource, final InputStream inputStream) throws IOException {
-    final SerializableNodeModel serializableNodeModel = new SerializableNodeModel(resource);
-    ResourceSet _resourceSet = resource.getResourceSet();
-    URIConverter _uRIConverter = _resourceSet.getURIConverter();
-    URI _uRI = resource.getURI();
-    ResourceSet _resourceSet_1 = resource.getResourceSet();
-    Map<Object, Object> _loadOptions = _resourceSet_1.getLoadOptions();
-    boolean _exists = _uRIConverter.exists(_uRI, _loadOptions);
-    boolean _not = (!_exists);
-    if (_not) {
-      URI _uRI_1 = resource.getURI();
-      String _plus = ("Skipping loading node model for synthetic resource " + _uRI_1);
-      ResourceStorageLoadable.LOG.info(_plus);
+    final String completeContent = this.readSourceText(resource);
+    boolean _equals = Objects.equal(completeContent, null);
+    if (_equals) {
       return;
     }
-    ResourceSet _resourceSet_2 = resource.getResourceSet();
-    URIConverter _uRIConverter_1 = _resourceSet_2.getURIConverter();
-    URI _uRI_2 = resource.getURI();
-    final InputStream stream = _uRIConverter_1.createInputStream(_uRI_2);
-    String _encoding = resource.getEncoding();
-    final InputStreamReader in = new InputStreamReader(stream, _encoding);
-    final String completeContent = CharStreams.toString(in);
     final DeserializationConversionContext deserializationContext = new DeserializationConversionContext(resource, completeContent);
+    if (this.loadNodeModelLazily) {
+      final byte[] bytes = ByteStreams.toByteArray(inputStream);
+      EList<EObject> _contents = resource.getContents();
+      final EObject rootASTElement = IterableExtensions.<EObject>head(_contents);
+      final Procedure0 _function = () -> {
+        EList<EObject> _contents_1 = resource.getContents();
+        EObject _head = IterableExtensions.<EObject>head(_contents_1);
+        boolean _tripleNotEquals = (_head != rootASTElement);
+        if (_tripleNotEquals) {
+          URI _uRI = resource.getURI();
+          String _plus = ("The contents of " + _uRI);
+          String _plus_1 = (_plus + " were replaced before its node model was loaded.");
+          throw new IllegalStateException(_plus_1);
+        }
+        try {
+          ByteArrayInputStream _byteArrayInputStream = new ByteArrayInputStream(bytes);
+          this.loadNodeModel(resource, _byteArrayInputStream, deserializationContext);
+        } catch (final Throwable _t) {
+          if (_t instanceof IOException) {
+            final IOException e = (IOException)_t;
+            throw new RuntimeIOException(e);
+          } else {
+            throw Exceptions.sneakyThrow(_t);
+          }
+        }
+      };
+      resource.setDeferredNodeModel(_function);
+    } else {
+      this.loadNodeModel(resource, inputStream, deserializationContext);
+    }
+  }
+  
+  /**
+   * @return the complete source text of the resource or <code>null</code> if the resource is synthetic, i.e. it
+   *         has no resource set or its source does not exist.
+   * @since 2.11
+   */
+  protected String readSourceText(final StorageAwareResource resource) throws IOException {
+    final ResourceSet resourceSet = resource.getResourceSet();
+    if ((Objects.equal(resourceSet, null) || (!resourceSet.getURIConverter().exists(resource.getURI(), resourceSet.getLoadOptions())))) {
+      URI _uRI = resource.getURI();
+      String _plus = ("Skipping loading node model for synthetic resource " + _uRI);
+      ResourceStorageLoadable.LOG.info(_plus);
+      return null;
+    }
+    URIConverter _uRIConverter = resourceSet.getURIConverter();
+    URI _uRI_1 = resource.getURI();
+    InputStream _createInputStream = _uRIConverter.createInputStream(_uRI_1);
+    String _encoding = resource.getEncoding();
+    final InputStreamReader in = new InputStreamReader(_createInputStream, _encoding);
+    try {
+      return CharStreams.toString(in);
+    } finally {
+      in.close();
+    }
+  }
+  
+  /**
+   * @since 2.11
+   */
+  protected void loadNodeModel(final StorageAwareResource resource, final InputStream inputStream, final DeserializationConversionContext deserializationContext) throws IOException {
+    final SerializableNodeModel serializableNodeModel = new SerializableNodeModel();
     final DataInputStream dataIn = new DataInputStream(inputStream);
     serializableNodeModel.readObjectData(dataIn, deserializationContext);
     EList<EObject> _contents = resource.getContents();
@@ -145,10 +253,4 @@ public class ResourceStorageLoadable {
     ParseResult _parseResult = new ParseResult(_head, serializableNodeModel.root, _hasErrors);
     resource.setParseResult(_parseResult);
   }
-  
-  public ResourceStorageLoadable(final InputStream in, final boolean storeNodeModel) {
-    super();
-    this.in = in;
-    this.storeNodeModel = storeNodeModel;
-  }
 }
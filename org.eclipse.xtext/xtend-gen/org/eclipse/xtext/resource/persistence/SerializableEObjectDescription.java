@@ -13,6 +13,7 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.HashMap;
+import java.util.Set;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
@@ -67,12 +68,21 @@ public class SerializableEObjectDescription implements IEObjectDescription, Exte
   
   @Override
   public String getUserData(final String key) {
-    return this.userData.get(key);
+    String _get = null;
+    if (this.userData!=null) {
+      _get=this.userData.get(key);
+    }
+    return _get;
   }
   
   @Override
   public String[] getUserDataKeys() {
-    return ((String[])Conversions.unwrapArray(this.userData.keySet(), String.class));
+    boolean _equals = Objects.equal(this.userData, null);
+    if (_equals) {
+      return new String[0];
+    }
+    Set<String> _keySet = this.userData.keySet();
+    return ((String[])Conversions.unwrapArray(_keySet, String.class));
   }
   
   @Override
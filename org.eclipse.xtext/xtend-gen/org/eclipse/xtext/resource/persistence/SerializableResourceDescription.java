@@ -7,6 +7,7 @@
  */
 package org.eclipse.xtext.resource.persistence;
 
+import com.google.common.collect.ImmutableList;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -27,7 +28,6 @@ import org.eclipse.xtext.resource.persistence.SerializableEObjectDescription;
 import org.eclipse.xtext.resource.persistence.SerializableReferenceDescription;
 import org.eclipse.xtext.resource.persistence.SerializationExtensions;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
-import org.eclipse.xtext.xbase.lib.Conversions;
 import org.eclipse.xtext.xbase.lib.ExclusiveRange;
 import org.eclipse.xtext.xbase.lib.Functions.Function1;
 import org.eclipse.xtext.xbase.lib.IterableExtensions;
@@ -36,6 +36,10 @@ import org.eclipse.xtext.xbase.lib.Procedures.Procedure1;
 import org.eclipse.xtext.xbase.lib.Pure;
 
 /**
+ * The qualified names of the copies and of the deserialized descriptions are interned, thus equal names of different
+ * descriptions share one instance. URIs are already shared by the URI pool of EMF. Objects without user data don't
+ * allocate a map.
+ * 
  * @author Sven Efftinge - Initial contribution and API
  * 
  * @since 2.8
@@ -53,18 +57,22 @@ public class SerializableResourceDescription extends AbstractResourceDescription
         return SerializableResourceDescription.createCopy(it_1);
       };
       Iterable<SerializableEObjectDescription> _map = IterableExtensions.<IEObjectDescription, SerializableEObjectDescription>map(_exportedObjects, _function_1);
-      List<SerializableEObjectDescription> _list = IterableExtensions.<SerializableEObjectDescription>toList(_map);
-      it.descriptions = _list;
+      ImmutableList<SerializableEObjectDescription> _copyOf = ImmutableList.<SerializableEObjectDescription>copyOf(_map);
+      it.descriptions = _copyOf;
       Iterable<IReferenceDescription> _referenceDescriptions = desc.getReferenceDescriptions();
       final Function1<IReferenceDescription, SerializableReferenceDescription> _function_2 = (IReferenceDescription it_1) -> {
         return SerializableResourceDescription.createCopy(it_1);
       };
       Iterable<SerializableReferenceDescription> _map_1 = IterableExtensions.<IReferenceDescription, SerializableReferenceDescription>map(_referenceDescriptions, _function_2);
-      List<SerializableReferenceDescription> _list_1 = IterableExtensions.<SerializableReferenceDescription>toList(_map_1);
-      it.references = _list_1;
+      ImmutableList<SerializableReferenceDescription> _copyOf_1 = ImmutableList.<SerializableReferenceDescription>copyOf(_map_1);
+      it.references = _copyOf_1;
       Iterable<QualifiedName> _importedNames = desc.getImportedNames();
-      ArrayList<QualifiedName> _newArrayList = CollectionLiterals.<QualifiedName>newArrayList(((QualifiedName[])Conversions.unwrapArray(_importedNames, QualifiedName.class)));
-      it.importedNames = _newArrayList;
+      final Function1<QualifiedName, QualifiedName> _function_3 = (QualifiedName it_1) -> {
+        return SerializationExtensions.intern(it_1);
+      };
+      Iterable<QualifiedName> _map_2 = IterableExtensions.<QualifiedName, QualifiedName>map(_importedNames, _function_3);
+      ImmutableList<QualifiedName> _copyOf_2 = ImmutableList.<QualifiedName>copyOf(_map_2);
+      it.importedNames = _copyOf_2;
     };
     return ObjectExtensions.<SerializableResourceDescription>operator_doubleArrow(_serializableResourceDescription, _function);
   }
@@ -77,16 +85,20 @@ public class SerializableResourceDescription extends AbstractResourceDescription
       URI _eObjectURI = desc.getEObjectURI();
       it.setEObjectURI(_eObjectURI);
       QualifiedName _qualifiedName = desc.getQualifiedName();
-      it.setQualifiedName(_qualifiedName);
-      String[] _userDataKeys = desc.getUserDataKeys();
-      int _size = ((List<String>)Conversions.doWrapArray(_userDataKeys)).size();
-      HashMap<String, String> _hashMap = new HashMap<String, String>(_size);
-      it.setUserData(_hashMap);
-      String[] _userDataKeys_1 = desc.getUserDataKeys();
-      for (final String key : _userDataKeys_1) {
-        HashMap<String, String> _userData = it.getUserData();
-        String _userData_1 = desc.getUserData(key);
-        _userData.put(key, _userData_1);
+      QualifiedName _intern = SerializationExtensions.intern(_qualifiedName);
+      it.setQualifiedName(_intern);
+      final String[] keys = desc.getUserDataKeys();
+      int _length = keys.length;
+      boolean _notEquals = (_length != 0);
+      if (_notEquals) {
+        int _length_1 = keys.length;
+        HashMap<String, String> _hashMap = new HashMap<String, String>(_length_1);
+        it.setUserData(_hashMap);
+        for (final String key : keys) {
+          HashMap<String, String> _userData = it.getUserData();
+          String _userData_1 = desc.getUserData(key);
+          _userData.put(key, _userData_1);
+        }
       }
     };
     return ObjectExtensions.<SerializableEObjectDescription>operator_doubleArrow(_serializableEObjectDescription, _function);
@@ -8,6 +8,8 @@
 package org.eclipse.xtext.resource.persistence;
 
 import com.google.common.base.Objects;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
@@ -27,6 +29,19 @@ import org.eclipse.xtext.xbase.lib.Exceptions;
  */
 @SuppressWarnings("all")
 class SerializationExtensions {
+  private final static Interner<QualifiedName> NAMES = Interners.<QualifiedName>newWeakInterner();
+  
+  /**
+   * @since 2.11
+   */
+  public static QualifiedName intern(final QualifiedName name) {
+    boolean _equals = Objects.equal(name, null);
+    if (_equals) {
+      return null;
+    }
+    return SerializationExtensions.NAMES.intern(name);
+  }
+  
   public static <T extends ENamedElement> T readEcoreElement(final ObjectInput in) throws IOException {
     final URI uri = SerializationExtensions.readURI(in);
     URI _trimFragment = uri.trimFragment();
@@ -80,7 +95,8 @@ class SerializationExtensions {
   public static QualifiedName readQualifiedName(final ObjectInput in) throws IOException {
     try {
       Object _readObject = in.readObject();
-      return QualifiedName.create(((ArrayList<String>) _readObject));
+      QualifiedName _create = QualifiedName.create(((ArrayList<String>) _readObject));
+      return SerializationExtensions.intern(_create);
     } catch (Throwable _e) {
       throw Exceptions.sneakyThrow(_e);
     }
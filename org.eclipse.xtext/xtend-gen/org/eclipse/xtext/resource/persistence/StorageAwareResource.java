@@ -19,6 +19,7 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.xtend.lib.annotations.AccessorType;
 import org.eclipse.xtend.lib.annotations.Accessors;
 import org.eclipse.xtext.linking.lazy.LazyLinkingResource;
+import org.eclipse.xtext.parser.IParseResult;
 import org.eclipse.xtext.resource.IResourceDescription;
 import org.eclipse.xtext.resource.persistence.IResourceStorageFacade;
 import org.eclipse.xtext.resource.persistence.PortableURIs;
@@ -26,6 +27,7 @@ import org.eclipse.xtext.resource.persistence.ResourceStorageLoadable;
 import org.eclipse.xtext.util.internal.Stopwatches;
 import org.eclipse.xtext.xbase.lib.CollectionLiterals;
 import org.eclipse.xtext.xbase.lib.Exceptions;
+import org.eclipse.xtext.xbase.lib.Procedures.Procedure0;
 import org.eclipse.xtext.xbase.lib.Pure;
 
 /**
@@ -53,6 +55,10 @@ public class StorageAwareResource extends LazyLinkingResource {
   @Accessors
   private IResourceDescription resourceDescription = null;
   
+  private volatile Procedure0 deferredNodeModel = null;
+  
+  private boolean isLoadingNodeModel = false;
+  
   @Override
   public void load(final Map<?, ?> options) throws IOException {
     if (((((!this.isLoaded) && (!this.isLoading)) && (!Objects.equal(this.resourceStorageFacade, null))) && this.resourceStorageFacade.shouldLoadFromStorage(this))) {
@@ -99,15 +105,66 @@ public class StorageAwareResource extends LazyLinkingResource {
     }
   }
   
+  /**
+   * Defers loading the node model of a resource that was loaded from storage until its parse result is requested
+   * for the first time. The semantic contents must not be modified before, since the node model refers to them by
+   * their position.
+   * 
+   * @since 2.11
+   */
+  public void setDeferredNodeModel(final Procedure0 loader) {
+    this.deferredNodeModel = loader;
+  }
+  
+  @Override
+  public IParseResult getParseResult() {
+    boolean _notEquals = (!Objects.equal(this.deferredNodeModel, null));
+    if (_notEquals) {
+      this.loadDeferredNodeModel();
+    }
+    return super.getParseResult();
+  }
+  
+  /**
+   * Runs the deferred node model loader once. Concurrent callers wait until the node model is loaded, a nested
+   * call on the loading thread returns immediately.
+   */
+  private synchronized void loadDeferredNodeModel() {
+    final Procedure0 loader = this.deferredNodeModel;
+    if (((!Objects.equal(loader, null)) && (!this.isLoadingNodeModel))) {
+      this.isLoadingNodeModel = true;
+      try {
+        loader.apply();
+      } finally {
+        this.deferredNodeModel = null;
+        this.isLoadingNodeModel = false;
+      }
+    }
+  }
+  
+  @Override
+  public void relink() {
+    this.getParseResult();
+    super.relink();
+  }
+  
+  @Override
+  public void update(final int offset, final int replacedTextLength, final String newText) {
+    this.getParseResult();
+    super.update(offset, replacedTextLength, newText);
+  }
+  
   @Override
   protected void doUnload() {
     super.doUnload();
     this.isLoadedFromStorage = false;
+    this.deferredNodeModel = null;
   }
   
   @Override
   protected void clearInternalState() {
     this.isLoadedFromStorage = false;
+    this.deferredNodeModel = null;
     super.clearInternalState();
   }
   